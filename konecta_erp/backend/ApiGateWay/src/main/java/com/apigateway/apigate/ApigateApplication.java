@@ -2,10 +2,12 @@ package com.apigateway.apigate;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@ConfigurationPropertiesScan
 public class ApigateApplication {
 
 	private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ApigateApplication.class);
@@ -0,0 +1,274 @@
+package com.apigateway.apigate.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.apigateway.apigate.accesslog.AccessLogRing.Entry;
+import com.apigateway.apigate.config.AccessLogProperties;
+import com.apigateway.apigate.timing.RequestTiming.Phase;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Structured access log: one JSON line per exchange with route, principal,
+ * status, response bytes and the {@link Phase} timings in microseconds.
+ * <p>
+ * Event loops only copy a few fields into a preallocated {@link AccessLogRing}
+ * slot; formatting and file I/O happen on a single background writer thread,
+ * which drains the ring in batches, writes each batch with one call and
+ * rotates the file at {@code gateway.access-log.max-file-size}. When the
+ * writer falls behind, new records are dropped rather than slowing requests
+ * down; {@code gateway.accesslog.records{result}} counts written, dropped and
+ * failed records.
+ */
+@Component
+public class AccessLog implements SmartLifecycle {
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Logger logger = LoggerFactory.getLogger(AccessLog.class);
+
+    private final AccessLogProperties properties;
+    private final AccessLogRing ring;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final StringBuilder line = new StringBuilder(256);
+    private final StringBuilder batch = new StringBuilder(64 * 1024);
+    private FileChannel channel;
+    private long fileSize;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public AccessLog(AccessLogProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.ring = new AccessLogRing(properties.bufferSize());
+        FunctionCounter.builder("gateway.accesslog.records", written, LongAdder::sum)
+                .description("Access log records by outcome")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("gateway.accesslog.records", dropped, LongAdder::sum)
+                .tag("result", "dropped")
+                .register(registry);
+        FunctionCounter.builder("gateway.accesslog.records", failed, LongAdder::sum)
+                .tag("result", "failed")
+                .register(registry);
+        Gauge.builder("gateway.accesslog.pending", ring, AccessLogRing::pending)
+                .description("Records waiting for the access log writer")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && running;
+    }
+
+    /**
+     * Claims a slot for one exchange; returns null (and counts a drop) when
+     * the buffer is full. The caller fills the entry and passes it to
+     * {@link #publish(Entry)}.
+     */
+    Entry claim() {
+        long position = ring.claim();
+        if (position < 0) {
+            dropped.increment();
+            return null;
+        }
+        Entry entry = ring.entry(position);
+        entry.position = position;
+        return entry;
+    }
+
+    void publish(Entry entry) {
+        ring.publish(entry.position);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        long idleNanos = properties.idleWait().toNanos();
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        // whatever was published before shutdown still gets written
+        while (drain() > 0) {
+        }
+        close();
+    }
+
+    /**
+     * Formats and writes up to one batch; returns the number of records taken.
+     */
+    int drain() {
+        int count = 0;
+        Entry entry;
+        while (count < properties.batchSize() && (entry = ring.peek()) != null) {
+            format(entry, line);
+            ring.release();
+            batch.append(line);
+            count++;
+        }
+        if (count > 0) {
+            write(count);
+        }
+        return count;
+    }
+
+    private void write(int count) {
+        byte[] bytes = batch.toString().getBytes(StandardCharsets.UTF_8);
+        batch.setLength(0);
+        try {
+            if (channel == null || fileSize + bytes.length > properties.maxFileSize().toBytes()) {
+                rotate();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            fileSize += bytes.length;
+            written.add(count);
+        } catch (IOException ex) {
+            failed.add(count);
+            logger.warn("Could not write {} access log record(s) to {}: {}", count, properties.path(),
+                    ex.getMessage());
+            close();
+        }
+    }
+
+    private void rotate() throws IOException {
+        Path path = properties.path();
+        if (channel != null) {
+            close();
+            for (int i = properties.maxFiles() - 1; i >= 1; i--) {
+                Path older = rotated(path, i);
+                if (Files.exists(older)) {
+                    Files.move(older, rotated(path, i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (properties.maxFiles() > 0) {
+                Files.move(path, rotated(path, 1), StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.delete(path);
+            }
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private static Path rotated(Path path, int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                logger.debug("Closing the access log failed", ex);
+            }
+            channel = null;
+        }
+    }
+
+    static void format(Entry entry, StringBuilder out) {
+        out.setLength(0);
+        out.append("{\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(entry.epochMillis), out);
+        out.append("\",\"method\":");
+        string(entry.method, out);
+        out.append(",\"path\":");
+        string(entry.path, out);
+        out.append(",\"route\":");
+        string(entry.route, out);
+        out.append(",\"principal\":");
+        string(entry.principal, out);
+        out.append(",\"client\":");
+        string(entry.client, out);
+        out.append(",\"status\":").append(entry.status);
+        out.append(",\"bytes\":").append(entry.bytes);
+        out.append(",\"us\":{");
+        boolean first = true;
+        for (Phase phase : PHASES) {
+            long micros = entry.phaseMicros[phase.ordinal()];
+            if (micros < 0) {
+                continue;
+            }
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            out.append('"').append(phase.tag()).append("\":").append(micros);
+        }
+        out.append("}}\n");
+    }
+
+    private static void string(String value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,123 @@
+package com.apigateway.apigate.accesslog;
+
+import java.net.InetSocketAddress;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.apigateway.apigate.accesslog.AccessLogRing.Entry;
+import com.apigateway.apigate.timing.RequestTiming;
+import com.apigateway.apigate.timing.RequestTiming.Phase;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands one {@link AccessLog} record per exchange to the writer once the
+ * response is done. Runs just inside {@code ServerTimingFilter} so the
+ * request's phase timings are available; the principal is picked up at the
+ * end of the security chain by {@link #principal()}.
+ */
+@Component
+public class AccessLogFilter implements WebFilter, Ordered {
+    static final String PRINCIPAL_ATTR = AccessLogFilter.class.getName() + ".principal";
+    private static final Phase[] PHASES = Phase.values();
+
+    private final AccessLog accessLog;
+
+    public AccessLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    /**
+     * Remembers who the request was authenticated as; registered as the last
+     * filter of the {@code SecurityWebFilterChain}.
+     */
+    public static WebFilter principal() {
+        return (exchange, chain) -> exchange.getPrincipal()
+                .doOnNext(principal -> exchange.getAttributes().put(PRINCIPAL_ATTR, principal.getName()))
+                .then(chain.filter(exchange));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!accessLog.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long startMillis = System.currentTimeMillis();
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> log(exchange, response.bytes, startMillis));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    private void log(ServerWebExchange exchange, long bytes, long startMillis) {
+        long end = System.nanoTime();
+        Entry entry = accessLog.claim();
+        if (entry == null) {
+            return;
+        }
+        try {
+            ServerHttpRequest request = exchange.getRequest();
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            InetSocketAddress remote = request.getRemoteAddress();
+            entry.epochMillis = startMillis;
+            entry.method = request.getMethod().name();
+            entry.path = request.getPath().value();
+            entry.route = route == null ? null : route.getId();
+            entry.principal = exchange.getAttribute(PRINCIPAL_ATTR);
+            entry.client = remote == null ? null : remote.getHostString();
+            entry.status = status == null ? 0 : status.value();
+            entry.bytes = bytes;
+            RequestTiming timing = RequestTiming.of(exchange);
+            for (Phase phase : PHASES) {
+                long nanos = timing == null ? -1 : timing.nanos(phase, end);
+                entry.phaseMicros[phase.ordinal()] = nanos < 0 ? -1 : nanos / 1_000;
+            }
+        } finally {
+            // a claimed slot must always be published, or the writer stalls on it
+            accessLog.publish(entry);
+        }
+    }
+
+    /**
+     * Counts body bytes on their way to the client.
+     */
+    private static final class CountingResponse extends ServerHttpResponseDecorator {
+        private volatile long bytes;
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(this::count));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(part -> Flux.from(part).doOnNext(this::count)));
+        }
+
+        private void count(DataBuffer buffer) {
+            bytes += buffer.readableByteCount();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.apigateway.apigate.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.apigateway.apigate.timing.RequestTiming.Phase;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated
+ * {@link Entry} slots. Each slot carries a sequence number: a producer owns
+ * slot {@code p} once its sequence equals {@code p} and it wins the CAS on the
+ * tail, and hands it over by setting the sequence to {@code p + 1}; the
+ * consumer frees it again with {@code p + capacity}. Nothing blocks and
+ * nothing is allocated per record. A producer that finds the ring full gets
+ * -1 and drops its record.
+ */
+final class AccessLogRing {
+
+    /**
+     * One exchange; fields are overwritten in place each time the slot is
+     * reused.
+     */
+    static final class Entry {
+        long position;
+        long epochMillis;
+        String method;
+        String path;
+        String route;
+        String principal;
+        String client;
+        int status;
+        long bytes;
+        final long[] phaseMicros = new long[Phase.values().length];
+    }
+
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final int mask;
+    private volatile long head;
+
+    AccessLogRing(int requestedCapacity) {
+        int capacity = requestedCapacity <= 2 ? 2 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.entries = new Entry[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * Claims the next free slot, or returns -1 when the ring is full. The
+     * caller fills {@link #entry(long)} and then calls {@link #publish(long)}.
+     */
+    long claim() {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.getAcquire((int) (position & mask));
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    Entry entry(long position) {
+        return entries[(int) (position & mask)];
+    }
+
+    void publish(long position) {
+        sequences.setRelease((int) (position & mask), position + 1);
+    }
+
+    /**
+     * The oldest published entry, or null; consumer thread only. The entry
+     * stays valid until {@link #release()}.
+     */
+    Entry peek() {
+        return sequences.getAcquire((int) (head & mask)) == head + 1 ? entries[(int) (head & mask)] : null;
+    }
+
+    void release() {
+        sequences.setRelease((int) (head & mask), head + entries.length);
+        head++;
+    }
+
+    /**
+     * Records claimed but not yet consumed.
+     */
+    long pending() {
+        return Math.max(0, tail.get() - head);
+    }
+}
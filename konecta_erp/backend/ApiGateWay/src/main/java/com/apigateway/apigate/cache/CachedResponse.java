@@ -0,0 +1,20 @@
+package com.apigateway.apigate.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A captured upstream response, held until {@code ttl} after {@code storedAt}.
+ */
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, Instant storedAt, Duration ttl) {
+
+    public long ageSeconds(Instant now) {
+        return Math.max(0, Duration.between(storedAt, now).toSeconds());
+    }
+
+    int weight(String key) {
+        return body.length + key.length() + headers.size() * 64;
+    }
+}
@@ -0,0 +1,138 @@
+package com.apigateway.apigate.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.apigateway.apigate.config.ResponseCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Store behind the {@code ResponseCache} route filter. Entries live in one
+ * Caffeine cache bounded by body size (W-TinyLFU eviction), each with its own
+ * time to live. The {@code Vary} headers last seen for a request key are
+ * remembered so later lookups can add the matching request header values to it.
+ * Concurrent misses for one key share a single upstream call.
+ */
+@Component
+public class ResponseCache {
+    private static final String CACHE_NAME = "gateway.response";
+
+    private final Cache<String, CachedResponse> entries;
+    private final Cache<String, List<String>> varyHeaders;
+    private final Map<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ResponseCacheProperties properties;
+    private final MeterRegistry registry;
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(properties.maxBytes())
+                .weigher((String key, CachedResponse response) -> response.weight(key))
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                            long currentDuration) {
+                        return response.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.varyHeaders = Caffeine.newBuilder().maximumSize(10_000).build();
+        CaffeineCacheMetrics.monitor(registry, entries, CACHE_NAME);
+    }
+
+    public int maxEntryBytes() {
+        return properties.maxEntryBytes();
+    }
+
+    /**
+     * The full key for a request: the base key plus the values of the request
+     * headers named in the last {@code Vary} seen for it.
+     */
+    public String keyFor(String baseKey, HttpHeaders requestHeaders) {
+        List<String> vary = varyHeaders.getIfPresent(baseKey);
+        if (vary == null || vary.isEmpty()) {
+            return baseKey;
+        }
+        StringBuilder key = new StringBuilder(baseKey);
+        for (String header : vary) {
+            key.append('|').append(header).append('=').append(String.join(",", requestHeaders.getOrEmpty(header)));
+        }
+        return key.toString();
+    }
+
+    public void rememberVary(String baseKey, List<String> headers) {
+        if (headers.isEmpty()) {
+            varyHeaders.invalidate(baseKey);
+        } else {
+            varyHeaders.put(baseKey, headers);
+        }
+    }
+
+    public CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    /**
+     * Registers the caller as the one fetching {@code key}. Returns null when it
+     * is, or the pending fetch of whoever got there first; the owner must call
+     * {@link #release} once its response has been stored or abandoned.
+     */
+    public CompletableFuture<CachedResponse> claim(String key) {
+        return inFlight.putIfAbsent(key, new CompletableFuture<>());
+    }
+
+    /**
+     * Hands {@code response} (null when nothing was cached) to requests that
+     * waited on {@code key}.
+     */
+    public void release(String key, CachedResponse response) {
+        CompletableFuture<CachedResponse> pending = inFlight.remove(key);
+        if (pending != null) {
+            pending.complete(response);
+        }
+    }
+
+    /**
+     * Drops every entry cached for a route, after a write went through it.
+     */
+    public void invalidateRoute(String routeId) {
+        String prefix = routeId + ' ';
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    public void record(String routeId, String result) {
+        Counter.builder("gateway.response.cache.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,107 @@
+package com.apigateway.apigate.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.apigateway.apigate.config.ConcurrencyProperties;
+
+/**
+ * In-flight limit for one upstream, adjusted from observed latency in the
+ * style of a latency gradient. A long-term average round trip is the baseline
+ * of what the upstream does when it is not queueing; while the recent average
+ * stays within {@code tolerance} of it the limit grows by about its square root
+ * per sample, and once requests start to queue upstream the ratio of the two
+ * shrinks it. Failures and timeouts cut the limit by {@code backoffRatio}.
+ * Samples taken while less than half the limit was in use only feed the
+ * baselines: an idle upstream tells nothing about how much more it could take.
+ */
+public final class AdaptiveLimiter {
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+
+    private final ConcurrencyProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double longRtt;
+    private double shortRtt;
+
+    public AdaptiveLimiter(ConcurrencyProperties properties) {
+        this.properties = properties;
+        this.limit = properties.initialLimit();
+    }
+
+    /**
+     * Admits a request of the given priority if the in-flight count is below
+     * that priority's share of the limit.
+     *
+     * @return the in-flight count including this request, or -1 when shed
+     */
+    public int tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * properties.shareOf(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds the request's outcome into the limit.
+     *
+     * @param inFlightAtStart what {@link #tryAcquire} returned
+     * @param rttNanos        time until the upstream answered
+     * @param dropped         whether it failed, timed out or reported overload
+     */
+    public void release(int inFlightAtStart, long rttNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        update(inFlightAtStart, rttNanos, dropped);
+    }
+
+    /**
+     * Frees a permit without a sample, for requests cancelled by the client.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(int inFlightAtStart, long rttNanos, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = clamp(current * properties.backoffRatio());
+            return;
+        }
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            longRtt = rtt;
+            shortRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / LONG_WINDOW;
+            shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+        }
+        // a baseline far above recent latency is stale, e.g. after a slow warm-up; let it catch up
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, properties.tolerance() * longRtt / shortRtt));
+        double estimate = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - properties.smoothing()) + estimate * properties.smoothing());
+    }
+
+    private double clamp(double value) {
+        return Math.max(properties.minLimit(), Math.min(properties.maxLimit(), value));
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
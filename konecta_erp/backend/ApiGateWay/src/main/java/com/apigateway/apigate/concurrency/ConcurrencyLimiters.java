@@ -0,0 +1,53 @@
+package com.apigateway.apigate.concurrency;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.apigateway.apigate.config.ConcurrencyProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link AdaptiveLimiter} per upstream name, shared by every route that
+ * names it, with its limit and in-flight count exported as gauges.
+ */
+@Component
+public class ConcurrencyLimiters {
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+    private final ConcurrencyProperties properties;
+    private final MeterRegistry registry;
+
+    public ConcurrencyLimiters(ConcurrencyProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public AdaptiveLimiter forUpstream(String name) {
+        return limiters.computeIfAbsent(name, this::create);
+    }
+
+    private AdaptiveLimiter create(String name) {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties);
+        Gauge.builder("gateway.concurrency.limit", limiter, AdaptiveLimiter::limit)
+                .description("Current adaptive in-flight limit")
+                .tag("upstream", name)
+                .register(registry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, AdaptiveLimiter::inFlight)
+                .tag("upstream", name)
+                .register(registry);
+        return limiter;
+    }
+
+    public void recordShed(String name, Priority priority) {
+        Counter.builder("gateway.concurrency.shed")
+                .tag("upstream", name)
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,15 @@
+package com.apigateway.apigate.concurrency;
+
+/**
+ * Admission class of a route behind the {@code AdaptiveConcurrency} filter.
+ * When an upstream nears its limit, {@link #BULK} requests are shed first and
+ * {@link #CRITICAL} ones last.
+ */
+public enum Priority {
+    /** Sign-in and the CRUD calls screens are built from. */
+    CRITICAL,
+    /** Summaries and report reads, mostly served from cache anyway. */
+    NORMAL,
+    /** Document exports and other heavy, deferrable work. */
+    BULK
+}
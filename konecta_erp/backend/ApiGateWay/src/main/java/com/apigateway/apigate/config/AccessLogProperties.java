@@ -0,0 +1,33 @@
+package com.apigateway.apigate.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * One-line-per-exchange access log written off the request path.
+ *
+ * @param enabled     whether exchanges are recorded at all
+ * @param path        file the current log goes to; rotated files get a
+ *                    {@code .1}, {@code .2}, ... suffix
+ * @param bufferSize  records held between the event loops and the writer,
+ *                    rounded up to a power of two; records arriving while it
+ *                    is full are dropped and counted
+ * @param batchSize   records formatted and written per file write
+ * @param maxFileSize size at which the file is rotated
+ * @param maxFiles    rotated files kept besides the current one
+ * @param idleWait    how long the writer sleeps when there is nothing to write
+ */
+@ConfigurationProperties(prefix = "gateway.access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("logs/access.log") Path path,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("100MB") DataSize maxFileSize,
+        @DefaultValue("5") int maxFiles,
+        @DefaultValue("5ms") Duration idleWait) {
+}
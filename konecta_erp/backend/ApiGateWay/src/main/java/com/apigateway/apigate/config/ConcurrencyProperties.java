@@ -0,0 +1,50 @@
+package com.apigateway.apigate.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.apigateway.apigate.concurrency.Priority;
+
+/**
+ * Tuning shared by every upstream limited by the {@code AdaptiveConcurrency}
+ * filter.
+ *
+ * @param initialLimit   in-flight limit an upstream starts with
+ * @param minLimit       the limit never drops below this
+ * @param maxLimit       nor grows above this
+ * @param smoothing      weight of each new estimate in the limit (0..1)
+ * @param tolerance      how much the recent latency may exceed the long-term
+ *                       baseline before the limit shrinks
+ * @param backoffRatio   factor the limit is multiplied by when the upstream
+ *                       fails or times out
+ * @param priorityShares share of the limit each priority may fill; lower
+ *                       classes are therefore shed first as in-flight grows
+ */
+@ConfigurationProperties(prefix = "gateway.concurrency")
+public record ConcurrencyProperties(
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("500") int maxLimit,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue("0.9") double backoffRatio,
+        Map<Priority, Double> priorityShares) {
+
+    public ConcurrencyProperties {
+        Map<Priority, Double> shares = new EnumMap<>(Priority.class);
+        shares.put(Priority.CRITICAL, 1.0);
+        shares.put(Priority.NORMAL, 0.9);
+        shares.put(Priority.BULK, 0.6);
+        if (priorityShares != null) {
+            shares.putAll(priorityShares);
+        }
+        priorityShares = Map.copyOf(shares);
+    }
+
+    public double shareOf(Priority priority) {
+        return priorityShares.get(priority);
+    }
+}
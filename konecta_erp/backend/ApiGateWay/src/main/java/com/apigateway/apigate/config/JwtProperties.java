@@ -0,0 +1,28 @@
+package com.apigateway.apigate.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Caching of verified bearer tokens and of the signing keys they are checked
+ * against. The key set itself comes from
+ * {@code spring.security.oauth2.resourceserver.jwt.jwk-set-uri}.
+ *
+ * @param cacheMaxEntries        verified tokens kept at once
+ * @param cacheMaxTtl            longest a verified token is reused, even when its
+ *                               {@code exp} is further away
+ * @param jwksRefreshInterval    how often the key set is fetched in the background
+ * @param jwksMinRefreshInterval least time between two fetches, including the
+ *                               early ones triggered by an unknown key id
+ * @param jwksTimeout            limit on a single key set fetch
+ */
+@ConfigurationProperties(prefix = "gateway.jwt")
+public record JwtProperties(
+        @DefaultValue("10000") long cacheMaxEntries,
+        @DefaultValue("5m") Duration cacheMaxTtl,
+        @DefaultValue("5m") Duration jwksRefreshInterval,
+        @DefaultValue("30s") Duration jwksMinRefreshInterval,
+        @DefaultValue("5s") Duration jwksTimeout) {
+}
@@ -0,0 +1,39 @@
+package com.apigateway.apigate.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.consul.ConsulProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.apigateway.apigate.loadbalancer.CatalogSource;
+import com.apigateway.apigate.loadbalancer.ConsulCatalogSource;
+import com.apigateway.apigate.loadbalancer.P2cLoadBalancerConfiguration;
+import com.apigateway.apigate.loadbalancer.StaticCatalogSource;
+
+/**
+ * {@code lb://} routes resolve through the gateway's own catalog and
+ * power-of-two-choices balancer rather than the discovery client and round
+ * robin.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = P2cLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    /**
+     * Consul when it is enabled, otherwise the fixed
+     * {@code gateway.load-balancer.instances}.
+     */
+    @Bean
+    public CatalogSource catalogSource(ObjectProvider<ConsulProperties> consul, WebClient.Builder webClientBuilder,
+            LoadBalancerProperties properties) {
+        ConsulProperties consulProperties = consul.getIfAvailable();
+        if (consulProperties == null || !consulProperties.isEnabled()) {
+            return new StaticCatalogSource(properties.instances(), properties.catalogWait());
+        }
+        String baseUrl = consulProperties.getScheme() == null ? "http" : consulProperties.getScheme();
+        baseUrl += "://" + consulProperties.getHost() + ":" + consulProperties.getPort();
+        return new ConsulCatalogSource(webClientBuilder.clone(), baseUrl, properties.catalogWait());
+    }
+}
@@ -0,0 +1,41 @@
+package com.apigateway.apigate.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Instance selection for {@code lb://} routes.
+ *
+ * @param catalogWait        how long a Consul blocking query waits for a change
+ * @param catalogRetryMin    first back-off after a failed catalog query
+ * @param catalogRetryMax    longest back-off between failed catalog queries
+ * @param latencyDecay       time constant of the per-instance latency average
+ * @param failureThreshold   consecutive failures (errors or 5xx) that eject an
+ *                           instance
+ * @param baseEjection       how long a first ejection lasts; repeated ejections
+ *                           last proportionally longer
+ * @param maxEjectionPercent share of a service's instances that may be ejected
+ *                           at once
+ * @param instances          fixed instances per service, used instead of Consul
+ *                           when {@code spring.cloud.consul.enabled} is false
+ */
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public record LoadBalancerProperties(
+        @DefaultValue("55s") Duration catalogWait,
+        @DefaultValue("1s") Duration catalogRetryMin,
+        @DefaultValue("30s") Duration catalogRetryMax,
+        @DefaultValue("10s") Duration latencyDecay,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("30s") Duration baseEjection,
+        @DefaultValue("50") int maxEjectionPercent,
+        Map<String, List<URI>> instances) {
+
+    public LoadBalancerProperties {
+        instances = instances == null ? Map.of() : Map.copyOf(instances);
+    }
+}
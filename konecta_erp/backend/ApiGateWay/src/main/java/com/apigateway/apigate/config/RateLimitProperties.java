@@ -0,0 +1,23 @@
+package com.apigateway.apigate.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bucket storage shared by every route that declares the
+ * {@code RequestRateLimiter} filter; the limits themselves are filter args.
+ *
+ * @param idleTimeout  buckets untouched for this long are dropped (they would be
+ *                     full again anyway)
+ * @param maxBuckets   most buckets kept at once
+ * @param syncInterval how often consumption is exchanged with other instances,
+ *                     when a {@code RateLimitBackend} bean is present
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("1s") Duration syncInterval) {
+}
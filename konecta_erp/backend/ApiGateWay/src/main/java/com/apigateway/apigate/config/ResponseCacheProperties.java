@@ -0,0 +1,16 @@
+package com.apigateway.apigate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits shared by every route that declares the {@code ResponseCache} filter.
+ *
+ * @param maxBytes      total size of cached bodies before entries are evicted
+ * @param maxEntryBytes responses larger than this are passed through uncached
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("67108864") long maxBytes,
+        @DefaultValue("1048576") int maxEntryBytes) {
+}
@@ -0,0 +1,22 @@
+package com.apigateway.apigate.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Budget shared by hedged and retried requests across all routes.
+ *
+ * @param ratio        extra attempts allowed as a fraction of the requests seen
+ *                     over {@code window}
+ * @param minPerSecond attempts allowed regardless of traffic, so a quiet gateway
+ *                     can still retry
+ * @param window       how far back requests and extra attempts are counted
+ */
+@ConfigurationProperties(prefix = "gateway.retry-budget")
+public record RetryBudgetProperties(
+        @DefaultValue("0.1") double ratio,
+        @DefaultValue("5") int minPerSecond,
+        @DefaultValue("10s") Duration window) {
+}
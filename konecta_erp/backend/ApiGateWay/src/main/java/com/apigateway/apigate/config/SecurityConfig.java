@@ -1,15 +1,31 @@
 package com.apigateway.apigate.config;
 
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
 import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.apigateway.apigate.accesslog.AccessLogFilter;
+import com.apigateway.apigate.security.CachingJwtAuthenticationManager;
+import com.apigateway.apigate.security.JwksCache;
+import com.apigateway.apigate.timing.ServerTimingFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @EnableWebFluxSecurity
@@ -30,7 +46,8 @@ public class SecurityConfig {
     };
 
     @Bean
-    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http,
+            CachingJwtAuthenticationManager jwtAuthenticationManager) {
         return http
             .csrf(ServerHttpSecurity.CsrfSpec::disable)
             .authorizeExchange(exchanges -> exchanges
@@ -38,7 +55,9 @@ public class SecurityConfig {
                 .pathMatchers(HttpMethod.OPTIONS).permitAll()
                 .anyExchange().authenticated())
             .oauth2ResourceServer(oauth2 -> oauth2
-                .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
+                .jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager)))
+            .addFilterAt(ServerTimingFilter.authenticated(), SecurityWebFiltersOrder.LAST)
+            .addFilterAt(AccessLogFilter.principal(), SecurityWebFiltersOrder.LAST)
             .build();
     }
 
@@ -52,4 +71,30 @@ public class SecurityConfig {
         converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
         return new ReactiveJwtAuthenticationConverterAdapter(converter);
     }
+
+    @Bean
+    public JwksCache jwksCache(WebClient.Builder webClientBuilder, OAuth2ResourceServerProperties resourceServer,
+            JwtProperties properties, MeterRegistry registry) {
+        return new JwksCache(webClientBuilder, resourceServer.getJwt().getJwkSetUri(), properties, registry,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Verifies against the background-refreshed {@link JwksCache} instead of
+     * fetching the key set on demand.
+     */
+    @Bean
+    public ReactiveJwtDecoder jwtDecoder(JwksCache jwksCache, OAuth2ResourceServerProperties resourceServer) {
+        return NimbusReactiveJwtDecoder.withJwkSource(jwksCache::select)
+                .jwsAlgorithm(SignatureAlgorithm.from(resourceServer.getJwt().getJwsAlgorithms().get(0)))
+                .build();
+    }
+
+    @Bean
+    public CachingJwtAuthenticationManager jwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder,
+            JwtProperties properties, MeterRegistry registry) {
+        var manager = new JwtReactiveAuthenticationManager(jwtDecoder);
+        manager.setJwtAuthenticationConverter(jwtAuthenticationConverter());
+        return new CachingJwtAuthenticationManager(manager, properties, registry, Clock.systemUTC());
+    }
 }
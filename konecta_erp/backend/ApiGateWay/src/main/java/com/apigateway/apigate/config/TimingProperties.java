@@ -0,0 +1,17 @@
+package com.apigateway.apigate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-request latency breakdown.
+ *
+ * @param serverTimingHeader whether responses carry the breakdown in a
+ *                           {@code Server-Timing} header; the
+ *                           {@code gateway.request.phase} timers are recorded
+ *                           either way
+ */
+@ConfigurationProperties(prefix = "gateway.timing")
+public record TimingProperties(
+        @DefaultValue("true") boolean serverTimingHeader) {
+}
@@ -3,13 +3,15 @@ package com.apigateway.apigate.controller;
 import java.time.OffsetDateTime;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 
+import com.apigateway.apigate.filter.AdaptiveConcurrencyGatewayFilterFactory;
+
 import reactor.core.publisher.Mono;
 
 
@@ -17,48 +19,55 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/fallback")
 public class FallbackController {
 
-    @GetMapping("/authentication-service")
+    @RequestMapping("/authentication-service")
     public Mono<ResponseEntity<Map<String, Object>>> authenticationFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("authentication-service", exchange));
     }
 
-    @GetMapping("/hr-service")
+    @RequestMapping("/hr-service")
     public Mono<ResponseEntity<Map<String, Object>>> hrFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("hr-service", exchange));
     }
 
-    @GetMapping("/user-management-service")
+    @RequestMapping("/user-management-service")
     public Mono<ResponseEntity<Map<String, Object>>> userManagementFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("user-management-service", exchange));
     }
 
-    @GetMapping("/inventory-service")
+    @RequestMapping("/inventory-service")
     public Mono<ResponseEntity<Map<String, Object>>> inventoryFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("inventory-service", exchange));
     }
 
-    @GetMapping("/finance-service")
+    @RequestMapping("/finance-service")
     public Mono<ResponseEntity<Map<String, Object>>> financeFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("finance-service", exchange));
     }
 
-    @GetMapping("/reporting-service")
+    @RequestMapping("/reporting-service")
     public Mono<ResponseEntity<Map<String, Object>>> reportingFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("reporting-service", exchange));
     }
 
-    @GetMapping("/default")
+    @RequestMapping("/default")
     public Mono<ResponseEntity<Map<String, Object>>> defaultFallback(ServerWebExchange exchange) {
         return Mono.just(buildFallbackResponse("generic-service", exchange));
     }
 
     private ResponseEntity<Map<String, Object>> buildFallbackResponse(String service, ServerWebExchange exchange) {
+        boolean shed = exchange.getAttribute(AdaptiveConcurrencyGatewayFilterFactory.SHED_ATTR) != null;
         Map<String, Object> payload = Map.of(
                 "timestamp", OffsetDateTime.now().toString(),
                 "service", service,
                 "path", exchange.getRequest().getURI().getPath(),
-                "message", "Service temporarily unavailable. Request served from fallback."
+                "message", shed
+                        ? "Service is at capacity. Request shed by the gateway, retry shortly."
+                        : "Service temporarily unavailable. Request served from fallback."
         );
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(payload);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        if (shed) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(payload);
     }
 }
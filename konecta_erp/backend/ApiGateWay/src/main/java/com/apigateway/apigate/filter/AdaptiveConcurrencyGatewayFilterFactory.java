@@ -0,0 +1,168 @@
+package com.apigateway.apigate.filter;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.containsEncodedParts;
+
+import java.net.URI;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.DispatcherHandler;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.apigateway.apigate.concurrency.AdaptiveLimiter;
+import com.apigateway.apigate.concurrency.ConcurrencyLimiters;
+import com.apigateway.apigate.concurrency.Priority;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Caps in-flight requests to an upstream at a limit that adapts to its latency
+ * (see {@link AdaptiveLimiter}), and sheds by priority once it is reached:
+ *
+ * <pre>
+ * filters:
+ *   - name: AdaptiveConcurrency
+ *     args:
+ *       name: reportingService
+ *       priority: bulk
+ *       fallbackUri: forward:/fallback/reporting-service
+ * </pre>
+ *
+ * Routes naming the same upstream share its limit. A shed request is forwarded
+ * to {@code fallbackUri} at once, with {@link #SHED_ATTR} set, rather than being
+ * queued. Declare the filter before {@code CircuitBreaker} so fallback responses
+ * from the breaker count as failures.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+    public static final String SHED_ATTR = AdaptiveConcurrencyGatewayFilterFactory.class.getName() + ".shed";
+
+    private final ConcurrencyLimiters limiters;
+    private final ObjectProvider<DispatcherHandler> dispatcherHandler;
+
+    public AdaptiveConcurrencyGatewayFilterFactory(ConcurrencyLimiters limiters,
+            ObjectProvider<DispatcherHandler> dispatcherHandler) {
+        super(Config.class);
+        this.limiters = limiters;
+        this.dispatcherHandler = dispatcherHandler;
+    }
+
+    public static class Config {
+        private String name;
+        private Priority priority = Priority.NORMAL;
+        private URI fallbackUri;
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public Config setPriority(Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public URI getFallbackUri() {
+            return fallbackUri;
+        }
+
+        public Config setFallbackUri(URI fallbackUri) {
+            this.fallbackUri = fallbackUri;
+            return this;
+        }
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name", "priority", "fallbackUri");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        if (config.getName() == null || config.getName().isBlank()) {
+            throw new IllegalArgumentException("AdaptiveConcurrency needs the upstream name");
+        }
+        AdaptiveLimiter limiter = limiters.forUpstream(config.getName());
+
+        return new GatewayFilter() {
+            @Override
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                int inFlight = limiter.tryAcquire(config.getPriority());
+                if (inFlight < 0) {
+                    limiters.recordShed(config.getName(), config.getPriority());
+                    return shed(config, exchange);
+                }
+                long start = System.nanoTime();
+                return chain.filter(exchange)
+                        .doOnSuccess(ignored -> limiter.release(inFlight, System.nanoTime() - start,
+                                overloaded(exchange.getResponse().getStatusCode())))
+                        .doOnError(ex -> limiter.release(inFlight, System.nanoTime() - start, true))
+                        .doFinally(signal -> {
+                            if (signal == SignalType.CANCEL) {
+                                limiter.cancel();
+                            }
+                        });
+            }
+
+            @Override
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(AdaptiveConcurrencyGatewayFilterFactory.this)
+                        .append("name", config.getName())
+                        .append("priority", config.getPriority())
+                        .toString();
+            }
+        };
+    }
+
+    /**
+     * Responses that mean the upstream (or the breaker in front of it) could not
+     * keep up, as opposed to ordinary client or application errors.
+     */
+    private static boolean overloaded(HttpStatusCode status) {
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()
+                || status.value() == HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private Mono<Void> shed(Config config, ServerWebExchange exchange) {
+        exchange.getAttributes().put(SHED_ATTR, config.getName());
+        if (config.getFallbackUri() == null) {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        }
+        // same forward the CircuitBreaker filter performs for its fallback
+        URI uri = exchange.getRequest().getURI();
+        URI requestUrl = UriComponentsBuilder.fromUri(uri)
+                .host(null)
+                .port(null)
+                .uri(config.getFallbackUri())
+                .scheme(null)
+                .build(containsEncodedParts(uri))
+                .toUri();
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, requestUrl);
+        ServerWebExchangeUtils.reset(exchange);
+        ServerHttpRequest request = exchange.getRequest().mutate().uri(requestUrl).build();
+        return dispatcherHandler.getObject().handle(exchange.mutate().request(request).build());
+    }
+}
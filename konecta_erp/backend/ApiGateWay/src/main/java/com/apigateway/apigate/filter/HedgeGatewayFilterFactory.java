@@ -0,0 +1,381 @@
+package com.apigateway.apigate.filter;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.hedge.RetryBudget;
+import com.apigateway.apigate.hedge.RouteLatencies;
+import com.apigateway.apigate.loadbalancer.InstanceSelector;
+import com.apigateway.apigate.loadbalancer.ServiceCatalog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * Sends idempotent requests of the route it is declared on itself, hedging slow
+ * ones and retrying failed ones:
+ *
+ * <pre>
+ * filters:
+ *   - name: Hedge
+ *     args:
+ *       retries: 1
+ * </pre>
+ *
+ * A GET or HEAD with no response by the route's recent p95 (or a fixed
+ * {@code delay}) gets a second request on a fresh connection, and whichever
+ * answers first is used; the other is cancelled. A request that fails to
+ * connect or gets a 502/503/504 is retried up to {@code retries} times. Every
+ * extra attempt is taken from the shared {@link RetryBudget}; without budget
+ * the request just waits on what it has. Other methods go through the normal
+ * routing filter untouched.
+ * <p>
+ * On {@code lb://} routes hedges and retries go to a different instance than
+ * the one the load balancer picked, chosen the same way, and their outcome is
+ * fed back into the instance statistics.
+ * <p>
+ * The filter runs where the gateway's own routing filter would, after the
+ * request URL is final, and hands the winning connection to the response
+ * writing filter the same way, so bodies are streamed and the route's other
+ * filters behave as usual.
+ */
+@Component
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+    private static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY.value(), HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.GATEWAY_TIMEOUT.value());
+
+    private final HttpClient httpClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final HttpClientProperties httpClientProperties;
+    private final RetryBudget retryBudget;
+    private final RouteLatencies latencies;
+    private final ServiceCatalog catalog;
+    private final InstanceSelector selector;
+    private final MeterRegistry registry;
+
+    public HedgeGatewayFilterFactory(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+            HttpClientProperties httpClientProperties, RetryBudget retryBudget, RouteLatencies latencies,
+            ServiceCatalog catalog, InstanceSelector selector, MeterRegistry registry) {
+        super(Config.class);
+        this.httpClient = httpClient;
+        this.headersFilters = headersFilters;
+        this.httpClientProperties = httpClientProperties;
+        this.retryBudget = retryBudget;
+        this.latencies = latencies;
+        this.catalog = catalog;
+        this.selector = selector;
+        this.registry = registry;
+    }
+
+    public static class Config {
+        private Duration delay;
+        private Duration minDelay = Duration.ofMillis(20);
+        private int retries = 1;
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public Config setDelay(Duration delay) {
+            this.delay = delay;
+            return this;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public Config setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public Config setRetries(int retries) {
+            this.retries = retries;
+            return this;
+        }
+    }
+
+    private interface OrderedFilter extends GatewayFilter, Ordered {
+    }
+
+    /**
+     * One upstream response, still holding its connection for the body.
+     */
+    private record Attempt(HttpClientResponse response, Connection connection, boolean hedge) {
+        void discard() {
+            connection.dispose();
+        }
+    }
+
+    /**
+     * What an attempt sends, and where: {@code instance} is the load-balanced
+     * instance behind {@code url}, if any, and {@code tracked} marks an
+     * instance this filter picked itself and reports on.
+     */
+    private record Outbound(String routeId, URI url, io.netty.handler.codec.http.HttpMethod method,
+            HttpHeaders headers, Duration timeout, ServiceInstance instance, boolean tracked) {
+
+        Outbound to(ServiceInstance other) {
+            URI moved = UriComponentsBuilder.fromUri(url).host(other.getHost()).port(other.getPort()).build(true)
+                    .toUri();
+            return new Outbound(routeId, moved, method, headers, timeout, other, true);
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedFilter() {
+            @Override
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+                HttpMethod method = exchange.getRequest().getMethod();
+                if (isAlreadyRouted(exchange) || url == null
+                        || !("http".equals(url.getScheme()) || "https".equals(url.getScheme()))
+                        || !(HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method))) {
+                    return chain.filter(exchange);
+                }
+                setAlreadyRouted(exchange);
+                Outbound outbound = outbound(exchange, url, method);
+                return send(config, outbound, config.getRetries())
+                        .doOnNext(attempt -> use(attempt, exchange))
+                        .then(chain.filter(exchange));
+            }
+
+            @Override
+            public int getOrder() {
+                return ORDER;
+            }
+
+            @Override
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(HedgeGatewayFilterFactory.this)
+                        .append("delay", config.getDelay() == null ? "p95" : config.getDelay())
+                        .append("retries", config.getRetries())
+                        .toString();
+            }
+        };
+    }
+
+    private Outbound outbound(ServerWebExchange exchange, URI url, HttpMethod method) {
+        Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
+        // a copy: without a filter that rewrites them these are the request's own, read-only headers
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(List::of), exchange));
+        headers.remove(HttpHeaders.HOST);
+        if (exchange.getAttributeOrDefault(PRESERVE_HOST_HEADER_ATTRIBUTE, false)) {
+            headers.add(HttpHeaders.HOST, exchange.getRequest().getHeaders().getFirst(HttpHeaders.HOST));
+        }
+        Duration timeout = httpClientProperties.getResponseTimeout();
+        Object routeTimeout = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (routeTimeout instanceof Number millis) {
+            timeout = millis.longValue() < 0 ? null : Duration.ofMillis(millis.longValue());
+        }
+        Response<ServiceInstance> balanced = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        return new Outbound(route.getId(), url, io.netty.handler.codec.http.HttpMethod.valueOf(method.name()),
+                headers, timeout, balanced != null && balanced.hasServer() ? balanced.getServer() : null, false);
+    }
+
+    /**
+     * Where an extra attempt goes: another instance of the service when the
+     * route is load balanced and there is one, the same URL otherwise.
+     */
+    private Mono<Outbound> elsewhere(Outbound outbound) {
+        if (outbound.instance() == null) {
+            return Mono.just(outbound);
+        }
+        String serviceId = outbound.instance().getServiceId();
+        return catalog.instances(serviceId).map(instances -> {
+            ServiceInstance other = selector.choose(serviceId, instances, outbound.instance());
+            return other == null ? outbound : outbound.to(other);
+        });
+    }
+
+    private Mono<Attempt> send(Config config, Outbound outbound, int retriesLeft) {
+        return race(config, outbound)
+                .flatMap(attempt -> {
+                    if (retriesLeft > 0 && RETRYABLE_STATUSES.contains(attempt.response().status().code())
+                            && retryAllowed(outbound.routeId())) {
+                        attempt.discard();
+                        return elsewhere(outbound).flatMap(next -> send(config, next, retriesLeft - 1));
+                    }
+                    return Mono.just(attempt);
+                })
+                .onErrorResume(ex -> retriesLeft > 0 && isConnectFailure(ex) && retryAllowed(outbound.routeId())
+                        ? elsewhere(outbound).flatMap(next -> send(config, next, retriesLeft - 1))
+                        : Mono.error(unwrap(ex)));
+    }
+
+    /**
+     * The primary attempt, raced against a hedge fired after the route's hedge
+     * delay when the budget allows one.
+     */
+    private Mono<Attempt> race(Config config, Outbound outbound) {
+        AtomicBoolean decided = new AtomicBoolean();
+        Mono<Attempt> primary = attempt(outbound, false, decided);
+        Duration delay = config.getDelay() != null ? config.getDelay() : latencies.p95(outbound.routeId());
+        if (delay == null) {
+            return primary;
+        }
+        if (delay.compareTo(config.getMinDelay()) < 0) {
+            delay = config.getMinDelay();
+        }
+        Mono<Attempt> hedge = Mono.delay(delay).flatMap(tick -> {
+            if (!retryBudget.tryAcquire()) {
+                count("gateway.hedge.requests", outbound.routeId(), "budget_exhausted");
+                return Mono.empty();
+            }
+            count("gateway.hedge.requests", outbound.routeId(), "sent");
+            return elsewhere(outbound).flatMap(target -> attempt(target, true, decided));
+        });
+        return Mono.firstWithValue(primary, hedge);
+    }
+
+    private Mono<Attempt> attempt(Outbound outbound, boolean hedge, AtomicBoolean decided) {
+        long start = System.nanoTime();
+        AtomicBoolean reported = new AtomicBoolean();
+        Mono<Attempt> attempt = httpClient
+                .headers(headers -> outbound.headers().forEach(headers::add))
+                .request(outbound.method())
+                .uri(outbound.url())
+                .responseConnection((response, connection) -> {
+                    long rtt = System.nanoTime() - start;
+                    latencies.record(outbound.routeId(), rtt);
+                    report(outbound, reported, rtt, response.status().code() >= 500);
+                    Attempt result = new Attempt(response, connection, hedge);
+                    if (!decided.compareAndSet(false, true)) {
+                        // the other attempt already won; this one only frees its connection
+                        result.discard();
+                        return Mono.empty();
+                    }
+                    return Mono.just(result);
+                })
+                .next();
+        if (outbound.timeout() != null) {
+            attempt = attempt.timeout(outbound.timeout(),
+                    Mono.error(new TimeoutException("Response took longer than timeout: " + outbound.timeout())));
+        }
+        if (outbound.tracked()) {
+            attempt = attempt.doOnSubscribe(subscription -> selector.begin(outbound.instance()))
+                    .doOnError(ex -> report(outbound, reported, -1, true))
+                    .doOnCancel(() -> report(outbound, reported, -1, false));
+        }
+        return attempt.onErrorMap(TimeoutException.class,
+                ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex));
+    }
+
+    private void use(Attempt attempt, ServerWebExchange exchange) {
+        if (attempt.hedge()) {
+            Route route = exchange.getRequiredAttribute(GATEWAY_ROUTE_ATTR);
+            count("gateway.hedge.requests", route.getId(), "won");
+        }
+        HttpClientResponse upstream = attempt.response();
+        exchange.getAttributes().put(CLIENT_RESPONSE_ATTR, upstream);
+        exchange.getAttributes().put(CLIENT_RESPONSE_CONN_ATTR, attempt.connection());
+
+        HttpHeaders headers = new HttpHeaders();
+        upstream.responseHeaders().forEach(entry -> headers.add(entry.getKey(), entry.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentType)) {
+            exchange.getAttributes().put(ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(upstream.status().code()));
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters.getIfAvailable(List::of), headers, exchange,
+                HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        exchange.getAttributes().put(CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.getHeaders().addAll(filtered);
+    }
+
+    /**
+     * Reports a tracked attempt's outcome to the selector, once.
+     */
+    private void report(Outbound outbound, AtomicBoolean reported, long rttNanos, boolean failed) {
+        if (outbound.tracked() && reported.compareAndSet(false, true)) {
+            selector.complete(outbound.instance(), rttNanos, failed);
+        }
+    }
+
+    private boolean retryAllowed(String routeId) {
+        if (!retryBudget.tryAcquire()) {
+            count("gateway.retry.requests", routeId, "budget_exhausted");
+            return false;
+        }
+        count("gateway.retry.requests", routeId, "sent");
+        return true;
+    }
+
+    private static boolean isConnectFailure(Throwable ex) {
+        return unwrap(ex) instanceof IOException;
+    }
+
+    /**
+     * The first failure behind the composite {@code firstWithValue} reports when
+     * both attempts fail.
+     */
+    private static Throwable unwrap(Throwable ex) {
+        List<Throwable> causes = Exceptions.unwrapMultiple(ex);
+        return causes.isEmpty() ? ex : causes.get(0);
+    }
+
+    private void count(String name, String routeId, String result) {
+        Counter.builder(name)
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,391 @@
+package com.apigateway.apigate.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.cache.CachedResponse;
+import com.apigateway.apigate.cache.ResponseCache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches successful GET and HEAD responses of the route it is declared on:
+ *
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       ttl: 30s
+ *       scope: roles
+ * </pre>
+ *
+ * The filter orders itself ahead of the other route filters, so a hit
+ * short-circuits {@code StripPrefix}, {@code CircuitBreaker} and the upstream call,
+ * and circuit-breaker fallback responses are never cached.
+ * <p>
+ * Keys combine the route, path, sorted query and the caller's identity. With
+ * {@code principal} scope (the default) that is the JWT subject and roles; with
+ * {@code roles} scope it is the roles alone; and {@code public} scope adds no
+ * identity, so it is only for routes that need none. Upstream {@code Cache-Control}
+ * is honoured: {@code no-store}, {@code no-cache} and {@code max-age=0} responses
+ * are not cached, {@code private} ones only with {@code principal} scope, and
+ * {@code max-age}/{@code s-maxage} can shorten the route TTL. Responses carrying
+ * {@code Set-Cookie} or {@code Vary: *} are never cached. A request sent with
+ * {@code no-cache} skips the lookup and refreshes the entry; one sent with
+ * {@code no-store} bypasses the cache. A successful write through the route drops
+ * the route's entries.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    /**
+     * Ahead of the filter that writes the upstream body, so the decorated
+     * response is the one it writes to.
+     */
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+    private static final List<String> UNCACHED_HEADERS = List.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.SET_COOKIE,
+            HttpHeaders.CONTENT_LENGTH);
+
+    private final ResponseCache cache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache cache) {
+        super(Config.class);
+        this.cache = cache;
+    }
+
+    public enum Scope {
+        PRINCIPAL, ROLES, PUBLIC
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private Scope scope = Scope.PRINCIPAL;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public Config setScope(Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+    }
+
+    private interface OrderedFilter extends GatewayFilter, Ordered {
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "scope");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedFilter() {
+            @Override
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                return cached(config, exchange, chain);
+            }
+
+            @Override
+            public int getOrder() {
+                return ORDER;
+            }
+
+            @Override
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(ResponseCacheGatewayFilterFactory.this)
+                        .append("ttl", config.getTtl())
+                        .append("scope", config.getScope())
+                        .toString();
+            }
+        };
+    }
+
+    private Mono<Void> cached(Config config, ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String routeId = routeId(exchange);
+        HttpMethod method = request.getMethod();
+
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            if (HttpMethod.OPTIONS.equals(method)) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).doOnSuccess(done -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    cache.invalidateRoute(routeId);
+                }
+            });
+        }
+
+        List<String> requestDirectives = directives(request.getHeaders());
+        if (requestDirectives.contains("no-store")) {
+            cache.record(routeId, "bypass");
+            return chain.filter(exchange);
+        }
+        boolean refresh = requestDirectives.contains("no-cache")
+                || request.getHeaders().getOrEmpty(HttpHeaders.PRAGMA).contains("no-cache");
+
+        return identity(exchange, config.getScope()).flatMap(identity -> {
+            String baseKey = routeId + ' ' + method.name() + ' ' + request.getURI().getRawPath()
+                    + '?' + sortedQuery(request) + ' ' + identity;
+            String key = cache.keyFor(baseKey, request.getHeaders());
+
+            if (!refresh) {
+                CachedResponse hit = cache.get(key);
+                if (hit != null) {
+                    cache.record(routeId, "hit");
+                    return write(exchange, hit);
+                }
+            }
+
+            CompletableFuture<CachedResponse> pending = cache.claim(key);
+            if (pending != null) {
+                cache.record(routeId, "collapsed");
+                return Mono.fromFuture(pending)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> shared.map(response -> write(exchange, response))
+                                .orElseGet(() -> chain.filter(exchange)));
+            }
+
+            cache.record(routeId, "miss");
+            CapturingResponse capturing = new CapturingResponse(exchange, config, baseKey, key);
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doFinally(signal -> capturing.release(null));
+        });
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private static Mono<String> identity(ServerWebExchange exchange, Scope scope) {
+        if (scope == Scope.PUBLIC) {
+            return Mono.just("public");
+        }
+        return exchange.getPrincipal()
+                .map(principal -> scope == Scope.ROLES
+                        ? "roles=" + roles(principal)
+                        : "sub=" + principal.getName() + ";roles=" + roles(principal))
+                .defaultIfEmpty("anonymous");
+    }
+
+    private static String roles(Principal principal) {
+        if (principal instanceof Authentication authentication) {
+            return authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+        return "";
+    }
+
+    private static String sortedQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        String[] parameters = query.split("&");
+        Arrays.sort(parameters);
+        return String.join("&", parameters);
+    }
+
+    private static List<String> directives(HttpHeaders headers) {
+        List<String> directives = new ArrayList<>();
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String directive : value.split(",")) {
+                directives.add(directive.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return directives;
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(Instant.now())));
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        headers.setContentLength(cached.body().length);
+        if (HttpMethod.HEAD.equals(exchange.getRequest().getMethod())) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Copies the body while it streams to the client and stores it when the
+     * upstream completes, if the response turned out to be cacheable.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final Config config;
+        private final String baseKey;
+        private final String key;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        CapturingResponse(ServerWebExchange exchange, Config config, String baseKey, String key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.config = config;
+            this.baseKey = baseKey;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+            Duration ttl = cacheableFor();
+            if (ttl == null) {
+                release(null);
+                return super.writeWith(body);
+            }
+
+            ByteArrayOutputStream[] copy = { new ByteArrayOutputStream() };
+            Flux<? extends DataBuffer> tee = Flux.from(body)
+                    .doOnNext(buffer -> {
+                        if (copy[0] == null) {
+                            return;
+                        }
+                        int length = buffer.readableByteCount();
+                        if (copy[0].size() + length > cache.maxEntryBytes()) {
+                            copy[0] = null;
+                            return;
+                        }
+                        byte[] bytes = new byte[length];
+                        int position = buffer.readPosition();
+                        buffer.read(bytes);
+                        buffer.readPosition(position);
+                        copy[0].write(bytes, 0, length);
+                    })
+                    .doOnComplete(() -> release(copy[0] == null ? null : store(copy[0].toByteArray(), ttl)));
+            return super.writeWith(tee);
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            release(null);
+            return super.writeAndFlushWith(body);
+        }
+
+        void release(CachedResponse response) {
+            if (released.compareAndSet(false, true)) {
+                cache.release(key, response);
+            }
+        }
+
+        private CachedResponse store(byte[] body, Duration ttl) {
+            HttpHeaders headers = new HttpHeaders();
+            getHeaders().forEach((name, values) -> {
+                if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)
+                        && !name.equalsIgnoreCase(CACHE_STATUS_HEADER)) {
+                    headers.put(name, List.copyOf(values));
+                }
+            });
+            CachedResponse response = new CachedResponse(HttpStatus.OK.value(), HttpHeaders.readOnlyHttpHeaders(headers),
+                    body, Instant.now(), ttl);
+            List<String> vary = varyHeaders();
+            cache.rememberVary(baseKey, vary);
+            cache.put(cache.keyFor(baseKey, exchange.getRequest().getHeaders()), response);
+            return response;
+        }
+
+        /**
+         * How long this response may be cached, or null when it may not be.
+         */
+        private Duration cacheableFor() {
+            HttpHeaders headers = getHeaders();
+            if (!HttpStatus.OK.equals(getStatusCode()) || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+                return null;
+            }
+            if (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(headers.getContentType())
+                    || headers.getContentLength() > cache.maxEntryBytes()) {
+                return null;
+            }
+            if (varyHeaders().contains("*")) {
+                return null;
+            }
+            Duration ttl = config.getTtl();
+            for (String directive : directives(headers)) {
+                if (directive.equals("no-store") || directive.equals("no-cache")
+                        || (directive.equals("private") && config.getScope() != Scope.PRINCIPAL)) {
+                    return null;
+                }
+                if (directive.startsWith("max-age=") || directive.startsWith("s-maxage=")) {
+                    try {
+                        Duration maxAge = Duration.ofSeconds(Long.parseLong(directive.substring(directive.indexOf('=') + 1)));
+                        ttl = maxAge.compareTo(ttl) < 0 ? maxAge : ttl;
+                    } catch (NumberFormatException ex) {
+                        return null;
+                    }
+                }
+            }
+            return ttl.isZero() || ttl.isNegative() ? null : ttl;
+        }
+
+        private List<String> varyHeaders() {
+            List<String> vary = new ArrayList<>();
+            for (String value : getHeaders().getOrEmpty(HttpHeaders.VARY)) {
+                for (String header : value.split(",")) {
+                    if (!header.isBlank()) {
+                        vary.add(header.trim());
+                    }
+                }
+            }
+            return vary;
+        }
+    }
+}
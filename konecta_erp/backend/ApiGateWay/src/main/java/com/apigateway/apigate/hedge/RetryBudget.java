@@ -0,0 +1,119 @@
+package com.apigateway.apigate.hedge;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.config.RetryBudgetProperties;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caps hedges and retries at a fraction of the traffic going through the
+ * gateway, so that when an upstream is failing the extra attempts cannot
+ * multiply its load. Every routed request is counted (as a global filter);
+ * an extra attempt is allowed while the attempts in the window stay below
+ * {@code ratio} of those requests plus {@code minPerSecond} per second.
+ * Counts are kept in one-second slots over the window, without locks.
+ */
+@Component
+public class RetryBudget implements GlobalFilter, Ordered {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final RetryBudgetProperties properties;
+    private final LongSupplier ticker;
+    private final int slots;
+    private final AtomicLongArray slotSecond;
+    private final AtomicLongArray requests;
+    private final AtomicLongArray attempts;
+
+    @Autowired
+    public RetryBudget(RetryBudgetProperties properties, MeterRegistry registry) {
+        this(properties, System::nanoTime);
+        Gauge.builder("gateway.retry.budget.available", this, RetryBudget::available)
+                .description("Extra attempts the retry budget would currently allow")
+                .register(registry);
+    }
+
+    RetryBudget(RetryBudgetProperties properties, LongSupplier ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.slots = (int) Math.max(1, properties.window().toSeconds());
+        this.slotSecond = new AtomicLongArray(slots);
+        this.requests = new AtomicLongArray(slots);
+        this.attempts = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            slotSecond.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        recordRequest();
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    public void recordRequest() {
+        requests.incrementAndGet(slot(second()));
+    }
+
+    /**
+     * Takes one extra attempt from the budget if any is left.
+     */
+    public boolean tryAcquire() {
+        long now = second();
+        if (available(now) < 1) {
+            return false;
+        }
+        attempts.incrementAndGet(slot(now));
+        return true;
+    }
+
+    long available() {
+        return available(second());
+    }
+
+    private long available(long now) {
+        long seenRequests = 0;
+        long seenAttempts = 0;
+        for (int i = 0; i < slots; i++) {
+            long second = slotSecond.get(i);
+            if (second > now - slots && second <= now) {
+                seenRequests += requests.get(i);
+                seenAttempts += attempts.get(i);
+            }
+        }
+        long allowed = (long) (properties.ratio() * seenRequests) + (long) properties.minPerSecond() * slots;
+        return allowed - seenAttempts;
+    }
+
+    /**
+     * The slot for {@code second}, cleared first if it still holds an older second.
+     */
+    private int slot(long second) {
+        int index = (int) Math.floorMod(second, (long) slots);
+        long previous = slotSecond.get(index);
+        if (previous != second && slotSecond.compareAndSet(index, previous, second)) {
+            requests.set(index, 0);
+            attempts.set(index, 0);
+        }
+        return index;
+    }
+
+    private long second() {
+        return Math.floorDiv(ticker.getAsLong(), NANOS_PER_SECOND);
+    }
+}
@@ -0,0 +1,125 @@
+package com.apigateway.apigate.hedge;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/**
+ * Upstream response times of hedged routes, kept in a Micrometer timer per
+ * route ({@code gateway.hedge.upstream}) whose rolling window supplies the
+ * percentile a hedge waits for. The percentile is re-read at most once a
+ * second per route, and only used while the window holds enough samples: the
+ * timer's own count is cumulative, so the samples are also counted per slice
+ * of the window here, and a route that has gone quiet falls back to no hedge
+ * rather than to a percentile of a handful of requests.
+ */
+@Component
+public class RouteLatencies {
+    static final double PERCENTILE = 0.95;
+    static final Duration WINDOW = Duration.ofMinutes(2);
+    static final int SLICES = 3;
+    static final long MIN_SAMPLES = 20;
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private record Entry(Timer timer, WindowCount recent, long readAt, long percentileNanos) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final Clock clock;
+
+    public RouteLatencies(MeterRegistry registry) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+    }
+
+    public void record(String routeId, long nanos) {
+        Entry entry = entry(routeId);
+        entry.timer().record(nanos, TimeUnit.NANOSECONDS);
+        entry.recent().increment(clock.monotonicTime());
+    }
+
+    /**
+     * The route's recent p95, or null while its window has too few requests.
+     */
+    public Duration p95(String routeId) {
+        Entry entry = entry(routeId);
+        long now = clock.monotonicTime();
+        if (now - entry.readAt() > REFRESH_NANOS) {
+            entry = new Entry(entry.timer(), entry.recent(), now, read(entry, now));
+            entries.put(routeId, entry);
+        }
+        return entry.percentileNanos() > 0 ? Duration.ofNanos(entry.percentileNanos()) : null;
+    }
+
+    private Entry entry(String routeId) {
+        return entries.computeIfAbsent(routeId, id -> new Entry(Timer.builder("gateway.hedge.upstream")
+                .description("Upstream response time on hedged routes")
+                .tag("route", id)
+                .publishPercentiles(PERCENTILE)
+                .distributionStatisticExpiry(WINDOW)
+                .distributionStatisticBufferLength(SLICES)
+                .register(registry), new WindowCount(), clock.monotonicTime(), 0));
+    }
+
+    private static long read(Entry entry, long now) {
+        if (entry.recent().sum(now) < MIN_SAMPLES) {
+            return 0;
+        }
+        for (ValueAtPercentile value : entry.timer().takeSnapshot().percentileValues()) {
+            if (value.percentile() == PERCENTILE) {
+                return (long) value.value(TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Samples recorded over the last {@link #WINDOW}, in the same number of
+     * slices the timer rotates its percentile through, kept without locks the
+     * way {@link RetryBudget} keeps its counts.
+     */
+    private static final class WindowCount {
+        private static final long SLICE_NANOS = WINDOW.toNanos() / SLICES;
+
+        private final AtomicLongArray sliceIds = new AtomicLongArray(SLICES);
+        private final AtomicLongArray counts = new AtomicLongArray(SLICES);
+
+        WindowCount() {
+            for (int i = 0; i < SLICES; i++) {
+                sliceIds.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        void increment(long nanos) {
+            long slice = Math.floorDiv(nanos, SLICE_NANOS);
+            int index = (int) Math.floorMod(slice, (long) SLICES);
+            long previous = sliceIds.get(index);
+            if (previous != slice && sliceIds.compareAndSet(index, previous, slice)) {
+                counts.set(index, 0);
+            }
+            counts.incrementAndGet(index);
+        }
+
+        long sum(long nanos) {
+            long current = Math.floorDiv(nanos, SLICE_NANOS);
+            long total = 0;
+            for (int i = 0; i < SLICES; i++) {
+                long slice = sliceIds.get(i);
+                if (slice > current - SLICES && slice <= current) {
+                    total += counts.get(i);
+                }
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Serves a service's instances from the {@link ServiceCatalog} instead of
+ * asking the discovery client on every request.
+ */
+public class CatalogInstanceListSupplier implements ServiceInstanceListSupplier {
+    private final ServiceCatalog catalog;
+    private final String serviceId;
+
+    public CatalogInstanceListSupplier(ServiceCatalog catalog, String serviceId) {
+        this.catalog = catalog;
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return catalog.instances(serviceId).flux();
+    }
+}
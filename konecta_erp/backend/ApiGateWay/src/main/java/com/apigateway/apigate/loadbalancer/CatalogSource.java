@@ -0,0 +1,22 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.List;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Where {@link ServiceCatalog} gets instances from. {@link #watch} follows
+ * Consul's blocking query contract: called with the index of the last
+ * snapshot, it completes once the instances may have changed (or a wait
+ * elapses) with the new snapshot and its index. Index 0 asks for the current
+ * state straight away.
+ */
+public interface CatalogSource {
+
+    record Snapshot(long index, List<ServiceInstance> instances) {
+    }
+
+    Mono<Snapshot> watch(String serviceId, long index);
+}
@@ -0,0 +1,80 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Passing instances of a service from Consul's health API, using blocking
+ * queries ({@code ?index=&wait=}) so an unchanged catalog costs one
+ * long-lived request per service rather than a poll.
+ */
+public class ConsulCatalogSource implements CatalogSource {
+    private static final String INDEX_HEADER = "X-Consul-Index";
+
+    private final WebClient webClient;
+    private final Duration wait;
+
+    public ConsulCatalogSource(WebClient.Builder webClientBuilder, String baseUrl, Duration wait) {
+        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        this.wait = wait;
+    }
+
+    @Override
+    public Mono<Snapshot> watch(String serviceId, long index) {
+        return webClient.get()
+                .uri(uri -> uri.path("/v1/health/service/{service}")
+                        .queryParam("passing", "true")
+                        .queryParam("index", index)
+                        .queryParam("wait", wait.toSeconds() + "s")
+                        .build(serviceId))
+                .exchangeToMono(response -> {
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createError();
+                    }
+                    long next = index(response.headers().header(INDEX_HEADER));
+                    return response.bodyToMono(JsonNode.class)
+                            .map(body -> new Snapshot(next, instances(serviceId, body)));
+                })
+                // Consul adds up to wait/16 of jitter to the wait
+                .timeout(wait.plus(wait.dividedBy(16)).plusSeconds(5));
+    }
+
+    static List<ServiceInstance> instances(String serviceId, JsonNode body) {
+        List<ServiceInstance> instances = new ArrayList<>(body.size());
+        for (JsonNode entry : body) {
+            JsonNode service = entry.path("Service");
+            String host = service.path("Address").asText("");
+            if (host.isEmpty()) {
+                host = entry.path("Node").path("Address").asText();
+            }
+            Map<String, String> metadata = new HashMap<>();
+            service.path("Meta").fields()
+                    .forEachRemaining(field -> metadata.put(field.getKey(), field.getValue().asText()));
+            instances.add(new DefaultServiceInstance(service.path("ID").asText(), serviceId, host,
+                    service.path("Port").asInt(), "true".equals(metadata.get("secure")), metadata));
+        }
+        return instances;
+    }
+
+    private static long index(List<String> header) {
+        if (header.isEmpty()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(header.get(0));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import com.apigateway.apigate.config.LoadBalancerProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Power-of-two-choices over a service's instances: two distinct instances
+ * are drawn at random and the one with the lower {@link InstanceStats#cost}
+ * (latency average times requests in flight) wins. That avoids both the herd
+ * effect of always picking the best-looking instance and the blindness of
+ * round robin to a slow one.
+ * <p>
+ * An instance failing {@code failure-threshold} times in a row is ejected for
+ * {@code base-ejection} (longer on repeat offences) unless that would take
+ * more than {@code max-ejection-percent} of the service out; if every
+ * instance is ejected, selection falls back to all of them rather than
+ * failing the request.
+ */
+@Component
+public class InstanceSelector {
+    private final Logger logger = LoggerFactory.getLogger(InstanceSelector.class);
+
+    private final Map<String, Map<String, InstanceStats>> services = new ConcurrentHashMap<>();
+    private final LoadBalancerProperties properties;
+    private final MeterRegistry registry;
+    private final LongSupplier ticker;
+    private final double decayNanos;
+
+    @Autowired
+    public InstanceSelector(LoadBalancerProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    InstanceSelector(LoadBalancerProperties properties, MeterRegistry registry, LongSupplier ticker) {
+        this.properties = properties;
+        this.registry = registry;
+        this.ticker = ticker;
+        this.decayNanos = properties.latencyDecay().toNanos();
+    }
+
+    /**
+     * Picks an instance other than {@code exclude} (which may be null), or
+     * returns null when there is none.
+     */
+    public ServiceInstance choose(String serviceId, List<ServiceInstance> instances, ServiceInstance exclude) {
+        long now = ticker.getAsLong();
+        Map<String, InstanceStats> stats = stats(serviceId);
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!same(instance, exclude) && !stats(stats, instance).isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            for (ServiceInstance instance : instances) {
+                if (!same(instance, exclude)) {
+                    candidates.add(instance);
+                }
+            }
+        }
+        int size = candidates.size();
+        if (size <= 1) {
+            return size == 0 ? null : candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return stats(stats, a).cost(now, decayNanos) <= stats(stats, b).cost(now, decayNanos) ? a : b;
+    }
+
+    public void begin(ServiceInstance instance) {
+        stats(stats(instance.getServiceId()), instance).begin();
+    }
+
+    /**
+     * Records the outcome of a request started with {@link #begin}; a
+     * negative {@code rttNanos} means no usable latency (the request failed
+     * before a response).
+     */
+    public void complete(ServiceInstance instance, long rttNanos, boolean failed) {
+        long now = ticker.getAsLong();
+        Map<String, InstanceStats> stats = stats(instance.getServiceId());
+        InstanceStats instanceStats = stats(stats, instance);
+        if (instanceStats.complete(rttNanos, failed, now, decayNanos, properties.failureThreshold())
+                && ejectable(stats, now)) {
+            instanceStats.eject(now, properties.baseEjection().toNanos());
+            Counter.builder("gateway.lb.ejections")
+                    .description("Instances taken out of rotation after consecutive failures")
+                    .tag("service", instance.getServiceId())
+                    .register(registry)
+                    .increment();
+            logger.warn("Ejecting {} instance {} ({}:{}) after {} consecutive failures", instance.getServiceId(),
+                    instance.getInstanceId(), instance.getHost(), instance.getPort(), properties.failureThreshold());
+        }
+    }
+
+    /**
+     * Drops the statistics of instances that left the catalog.
+     */
+    void retain(String serviceId, List<ServiceInstance> instances) {
+        Set<String> ids = instances.stream().map(InstanceSelector::key).collect(Collectors.toSet());
+        stats(serviceId).keySet().retainAll(ids);
+    }
+
+    private boolean ejectable(Map<String, InstanceStats> stats, long now) {
+        long ejected = stats.values().stream().filter(instance -> instance.isEjected(now)).count();
+        return (ejected + 1) * 100 <= (long) stats.size() * properties.maxEjectionPercent();
+    }
+
+    private Map<String, InstanceStats> stats(String serviceId) {
+        return services.computeIfAbsent(serviceId, id -> {
+            Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+            Gauge.builder("gateway.lb.ejected", stats, map -> map.values().stream()
+                    .filter(instance -> instance.isEjected(ticker.getAsLong())).count())
+                    .description("Instances currently ejected")
+                    .tag("service", id)
+                    .register(registry);
+            return stats;
+        });
+    }
+
+    private static InstanceStats stats(Map<String, InstanceStats> stats, ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), key -> new InstanceStats());
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static boolean same(ServiceInstance instance, ServiceInstance other) {
+        return other != null && key(instance).equals(key(other));
+    }
+}
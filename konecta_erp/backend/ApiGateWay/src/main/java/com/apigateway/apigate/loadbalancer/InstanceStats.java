@@ -0,0 +1,85 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What the balancer knows about one instance: requests in flight, a
+ * time-decayed average of its response times, and its failure and ejection
+ * state. The average is a "peak" EWMA: a response slower than the average
+ * replaces it outright, so an instance that starts stalling is avoided at
+ * once and only earns traffic back gradually. A failure counts as a response
+ * of at least {@link #FAILURE_PENALTY_NANOS}, so an instance that fails fast
+ * (refused connections, instant 503s) does not look like the quickest one.
+ */
+final class InstanceStats {
+    static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double ewmaNanos;
+    private long updatedAt;
+    private boolean sampled;
+    private int consecutiveFailures;
+    private int ejections;
+    private volatile long ejectedUntil;
+
+    void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records a finished request; returns true when this failure should
+     * eject the instance (the caller decides whether the service can afford
+     * it and then calls {@link #eject}).
+     */
+    synchronized boolean complete(long rttNanos, boolean failed, long now, double decayNanos, int failureThreshold) {
+        inFlight.decrementAndGet();
+        if (failed) {
+            rttNanos = Math.max(rttNanos, FAILURE_PENALTY_NANOS);
+        }
+        if (rttNanos >= 0) {
+            if (rttNanos > ewmaNanos || !sampled) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-(now - updatedAt) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1 - weight);
+            }
+            updatedAt = now;
+            sampled = true;
+        }
+        if (!failed) {
+            consecutiveFailures = 0;
+            if (ejections > 0 && !isEjected(now)) {
+                ejections--;
+            }
+            return false;
+        }
+        consecutiveFailures++;
+        return consecutiveFailures >= failureThreshold && !isEjected(now);
+    }
+
+    synchronized void eject(long now, long baseEjectionNanos) {
+        ejections = Math.min(ejections + 1, 10);
+        consecutiveFailures = 0;
+        ejectedUntil = now + baseEjectionNanos * ejections;
+    }
+
+    boolean isEjected(long now) {
+        return ejectedUntil != 0 && now - ejectedUntil < 0;
+    }
+
+    /**
+     * Expected wait for a new request: the average response time scaled by
+     * the requests already queued in front of it. An average that has not
+     * been refreshed for a while fades, so an instance that was avoided gets
+     * probed again.
+     */
+    synchronized double cost(long now, double decayNanos) {
+        double ewma = sampled ? ewmaNanos * Math.exp(-(now - updatedAt) / decayNanos) : 0;
+        return ewma * (Math.max(0, inFlight.get()) + 1);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
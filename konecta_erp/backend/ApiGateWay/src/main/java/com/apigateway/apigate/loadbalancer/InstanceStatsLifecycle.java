@@ -0,0 +1,80 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.Map;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.http.HttpStatusCode;
+
+import com.apigateway.apigate.timing.RequestTiming;
+import com.apigateway.apigate.timing.RequestTiming.Phase;
+
+/**
+ * Feeds the outcome of every load-balanced request back to the
+ * {@link InstanceSelector}. The latency used is the upstream's time to first
+ * byte when the request was timed, so large or slow-to-read bodies do not
+ * count against the instance; errors and 5xx responses count as failures.
+ */
+public class InstanceStatsLifecycle
+        implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+    private static final String START_ATTR = InstanceStatsLifecycle.class.getName() + ".start";
+
+    private final InstanceSelector selector;
+
+    public InstanceStatsLifecycle(InstanceSelector selector) {
+        this.selector = selector;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> response) {
+        if (response.hasServer()) {
+            attributes(request).put(START_ATTR, System.nanoTime());
+            selector.begin(response.getServer());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+        Response<ServiceInstance> response = context.getLoadBalancerResponse();
+        if (context.status() == CompletionContext.Status.DISCARD || response == null || !response.hasServer()) {
+            return;
+        }
+        Map<String, Object> attributes = attributes(context.getLoadBalancerRequest());
+        HttpStatusCode status = context.getClientResponse() == null ? null
+                : context.getClientResponse().getHttpStatus();
+        boolean failed = context.status() == CompletionContext.Status.FAILED
+                || status != null && status.is5xxServerError();
+        selector.complete(response.getServer(), rtt(attributes), failed);
+    }
+
+    private static long rtt(Map<String, Object> attributes) {
+        long now = System.nanoTime();
+        if (attributes.get(RequestTiming.ATTR) instanceof RequestTiming timing) {
+            long upstream = timing.nanos(Phase.UPSTREAM, now);
+            if (upstream >= 0) {
+                return upstream;
+            }
+        }
+        return attributes.get(START_ATTR) instanceof Long start ? now - start : -1;
+    }
+
+    private static Map<String, Object> attributes(Request<RequestDataContext> request) {
+        return request.getContext().getClientRequest().getAttributes();
+    }
+}
@@ -0,0 +1,39 @@
+package com.apigateway.apigate.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Cloud LoadBalancer entry point for one service; the choice itself
+ * is made by {@link InstanceSelector}.
+ */
+public class P2cLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final InstanceSelector selector;
+    private final String serviceId;
+
+    public P2cLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, InstanceSelector selector,
+            String serviceId) {
+        this.suppliers = suppliers;
+        this.selector = selector;
+        this.serviceId = serviceId;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            ServiceInstance instance = selector.choose(serviceId, instances, null);
+            return instance == null ? new EmptyResponse() : new DefaultResponse(instance);
+        });
+    }
+}
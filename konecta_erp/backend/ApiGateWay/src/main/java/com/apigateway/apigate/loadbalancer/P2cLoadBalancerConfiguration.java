@@ -0,0 +1,35 @@
+package com.apigateway.apigate.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer beans, created in each service's child context
+ * through {@code @LoadBalancerClients(defaultConfiguration = ...)}. Not a
+ * {@code @Configuration}, so component scanning leaves it alone.
+ */
+public class P2cLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier catalogInstanceListSupplier(Environment environment, ServiceCatalog catalog) {
+        return new CatalogInstanceListSupplier(catalog,
+                environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME));
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> p2cLoadBalancer(Environment environment,
+            ObjectProvider<ServiceInstanceListSupplier> suppliers, InstanceSelector selector) {
+        return new P2cLoadBalancer(suppliers, selector,
+                environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME));
+    }
+
+    @Bean
+    public InstanceStatsLifecycle instanceStatsLifecycle(InstanceSelector selector) {
+        return new InstanceStatsLifecycle(selector);
+    }
+}
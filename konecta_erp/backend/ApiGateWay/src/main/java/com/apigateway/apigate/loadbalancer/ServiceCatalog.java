@@ -0,0 +1,123 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import com.apigateway.apigate.config.LoadBalancerProperties;
+import com.apigateway.apigate.loadbalancer.CatalogSource.Snapshot;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Local copy of the instances of every service an {@code lb://} route has
+ * asked for. The first request for a service starts a watch on the
+ * {@link CatalogSource} and waits for its first answer; from then on
+ * lookups are served from memory while the watch keeps the copy current.
+ * A failing source keeps the last known instances and is retried with
+ * back-off.
+ */
+@Component
+public class ServiceCatalog implements DisposableBean {
+    private final Logger logger = LoggerFactory.getLogger(ServiceCatalog.class);
+
+    private final Map<String, Watch> watches = new ConcurrentHashMap<>();
+    private final CatalogSource source;
+    private final InstanceSelector selector;
+    private final LoadBalancerProperties properties;
+    private final MeterRegistry registry;
+
+    public ServiceCatalog(CatalogSource source, InstanceSelector selector, LoadBalancerProperties properties,
+            MeterRegistry registry) {
+        this.source = source;
+        this.selector = selector;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public Mono<List<ServiceInstance>> instances(String serviceId) {
+        return watches.computeIfAbsent(serviceId, Watch::new).current();
+    }
+
+    @Override
+    public void destroy() {
+        watches.values().forEach(Watch::stop);
+    }
+
+    private final class Watch {
+        private final String serviceId;
+        private final Sinks.One<List<ServiceInstance>> first = Sinks.one();
+        private final Mono<List<ServiceInstance>> ready = first.asMono();
+        private final Disposable loop;
+        private volatile List<ServiceInstance> instances;
+        private volatile long index;
+
+        Watch(String serviceId) {
+            this.serviceId = serviceId;
+            Gauge.builder("gateway.lb.instances", this, watch -> watch.instances == null ? 0 : watch.instances.size())
+                    .description("Instances known for the service")
+                    .tag("service", serviceId)
+                    .register(registry);
+            this.loop = Mono.defer(() -> source.watch(serviceId, index))
+                    .doOnNext(this::update)
+                    .doOnError(this::failed)
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.catalogRetryMin())
+                            .maxBackoff(properties.catalogRetryMax()))
+                    .repeat()
+                    .subscribe();
+        }
+
+        Mono<List<ServiceInstance>> current() {
+            List<ServiceInstance> known = instances;
+            return known != null ? Mono.just(known) : ready;
+        }
+
+        private void update(Snapshot snapshot) {
+            // an index going backwards means the catalog was reset: start over
+            index = snapshot.index() < index ? 0 : snapshot.index();
+            List<ServiceInstance> previous = instances;
+            instances = List.copyOf(snapshot.instances());
+            if (previous == null || !ids(previous).equals(ids(instances))) {
+                logger.info("Catalog for {}: {} instance(s)", serviceId, instances.size());
+                selector.retain(serviceId, instances);
+            }
+            first.tryEmitValue(instances);
+        }
+
+        private void failed(Throwable ex) {
+            Counter.builder("gateway.lb.catalog.failures")
+                    .description("Failed catalog queries")
+                    .tag("service", serviceId)
+                    .register(registry)
+                    .increment();
+            logger.warn("Catalog query for {} failed, keeping {} known instance(s): {}", serviceId,
+                    instances == null ? 0 : instances.size(), ex.getMessage());
+            // requests waiting on the first answer fail fast instead of hanging
+            first.tryEmitValue(List.of());
+        }
+
+        void stop() {
+            loop.dispose();
+        }
+
+        private static Set<String> ids(List<ServiceInstance> instances) {
+            return instances.stream()
+                    .map(instance -> instance.getInstanceId() + "@" + instance.getHost() + ":" + instance.getPort())
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.apigateway.apigate.loadbalancer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fixed instances from {@code gateway.load-balancer.instances}, for running
+ * without Consul (local development, tests). The catalog never changes, so
+ * a watch past the first answer just waits and returns the same snapshot.
+ */
+public class StaticCatalogSource implements CatalogSource {
+    private final Map<String, List<ServiceInstance>> instances;
+    private final Duration wait;
+
+    public StaticCatalogSource(Map<String, List<URI>> instances, Duration wait) {
+        this.instances = instances.entrySet().stream().collect(Collectors.toUnmodifiableMap(
+                Map.Entry::getKey, entry -> entry.getValue().stream()
+                        .map(uri -> instance(entry.getKey(), uri))
+                        .toList()));
+        this.wait = wait;
+    }
+
+    @Override
+    public Mono<Snapshot> watch(String serviceId, long index) {
+        Snapshot snapshot = new Snapshot(1, instances.getOrDefault(serviceId, List.of()));
+        return index == 0 ? Mono.just(snapshot) : Mono.delay(wait).thenReturn(snapshot);
+    }
+
+    private static ServiceInstance instance(String serviceId, URI uri) {
+        boolean secure = "https".equals(uri.getScheme());
+        int port = uri.getPort() >= 0 ? uri.getPort() : secure ? 443 : 80;
+        return new DefaultServiceInstance(uri.getHost() + ":" + port, serviceId, uri.getHost(), port, secure);
+    }
+}
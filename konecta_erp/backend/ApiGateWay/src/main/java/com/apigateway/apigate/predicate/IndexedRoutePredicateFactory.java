@@ -0,0 +1,90 @@
+package com.apigateway.apigate.predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.gateway.handler.predicate.AbstractRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.GatewayPredicate;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.route.RouteIndex;
+
+/**
+ * Path predicate backed by the shared {@link RouteIndex}:
+ *
+ * <pre>
+ * predicates:
+ *   - Indexed=/api/employee/**,/api/department/**
+ * </pre>
+ *
+ * One lowercase pattern per resource is enough, because matching ignores case.
+ * Among all {@code Indexed} routes the most specific pattern wins, whatever the
+ * route order.
+ */
+@Component
+public class IndexedRoutePredicateFactory extends AbstractRoutePredicateFactory<IndexedRoutePredicateFactory.Config> {
+    private final RouteIndex routeIndex;
+
+    public IndexedRoutePredicateFactory(RouteIndex routeIndex) {
+        super(Config.class);
+        this.routeIndex = routeIndex;
+    }
+
+    public static class Config {
+        private List<String> patterns = new ArrayList<>();
+
+        public List<String> getPatterns() {
+            return patterns;
+        }
+
+        public Config setPatterns(List<String> patterns) {
+            this.patterns = patterns;
+            return this;
+        }
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("patterns");
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public Predicate<ServerWebExchange> apply(Config config) {
+        Set<String> patterns = config.getPatterns().stream()
+                .map(RouteIndex::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+        routeIndex.register(patterns);
+
+        return new GatewayPredicate() {
+            @Override
+            public boolean test(ServerWebExchange exchange) {
+                String match = routeIndex.resolve(exchange);
+                if (match == null || !patterns.contains(match)) {
+                    return false;
+                }
+                exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR, match);
+                return true;
+            }
+
+            @Override
+            public Object getConfig() {
+                return config;
+            }
+
+            @Override
+            public String toString() {
+                return String.format("Indexed: %s", config.getPatterns());
+            }
+        };
+    }
+}
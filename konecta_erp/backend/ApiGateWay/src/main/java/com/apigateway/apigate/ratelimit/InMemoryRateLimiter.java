@@ -0,0 +1,296 @@
+package com.apigateway.apigate.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import com.apigateway.apigate.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token bucket rate limiter for the {@code RequestRateLimiter} filter that keeps
+ * its buckets in memory instead of Redis. Limits are declared on the route:
+ *
+ * <pre>
+ * - name: RequestRateLimiter
+ *   args:
+ *     in-memory-rate-limiter.replenish-rate: 10
+ *     in-memory-rate-limiter.burst-capacity: 40
+ *     in-memory-rate-limiter.roles.Admin.replenish-rate: 20
+ *     in-memory-rate-limiter.roles.Admin.burst-capacity: 80
+ *     in-memory-rate-limiter.route-replenish-rate: 100
+ *     in-memory-rate-limiter.route-burst-capacity: 200
+ * </pre>
+ *
+ * Each principal gets a bucket per route, sized by the most generous of its
+ * roles' limits (or the route defaults). A route-wide bucket, when configured,
+ * caps all principals together. Keys come from {@link PrincipalKeyResolver}.
+ * Buckets left idle are evicted. When a {@link RateLimitBackend} bean exists,
+ * consumption is exchanged with the other instances every
+ * {@code gateway.rate-limit.sync-interval}.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> implements SmartLifecycle {
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    private final Logger logger = LoggerFactory.getLogger(InMemoryRateLimiter.class);
+    private final Cache<String, TokenBucket> buckets;
+    private final RateLimitProperties properties;
+    private final RateLimitBackend backend;
+    private final MeterRegistry registry;
+    private final LongSupplier ticker;
+    private final Config defaultConfig = new Config();
+    private volatile Disposable sync;
+
+    @Autowired
+    public InMemoryRateLimiter(ConfigurationService configurationService, RateLimitProperties properties,
+            ObjectProvider<RateLimitBackend> backend, MeterRegistry registry) {
+        this(configurationService, properties, backend.getIfAvailable(), registry, System::nanoTime);
+    }
+
+    InMemoryRateLimiter(ConfigurationService configurationService, RateLimitProperties properties,
+            RateLimitBackend backend, MeterRegistry registry, LongSupplier ticker) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.properties = properties;
+        this.backend = backend;
+        this.registry = registry;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(properties.idleTimeout())
+                .maximumSize(properties.maxBuckets())
+                .build();
+        Gauge.builder("gateway.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Token buckets currently held")
+                .register(registry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        int separator = id.indexOf('#');
+        String principal = separator < 0 ? id : id.substring(0, separator);
+        Limit limit = config.limitFor(separator < 0 ? new String[0] : id.substring(separator + 1).split(","));
+        long requested = config.getRequestedTokens();
+        long now = ticker.getAsLong();
+
+        TokenBucket bucket = buckets.get(routeId + '|' + principal,
+                key -> new TokenBucket(limit.getBurstCapacity(), now));
+        long remaining = bucket.tryTake(requested, limit.getReplenishRate(), limit.getBurstCapacity(), now);
+        if (remaining < 0) {
+            return Mono.just(deny(routeId, "principal_limited", config, limit, remaining));
+        }
+        if (config.getRouteReplenishRate() > 0) {
+            int routeCapacity = Math.max(config.getRouteBurstCapacity(), config.getRouteReplenishRate());
+            TokenBucket routeBucket = buckets.get(routeId, key -> new TokenBucket(routeCapacity, now));
+            long routeRemaining = routeBucket.tryTake(requested, config.getRouteReplenishRate(), routeCapacity, now);
+            if (routeRemaining < 0) {
+                bucket.refund(requested, limit.getBurstCapacity());
+                return Mono.just(deny(routeId, "route_limited", config, limit, routeRemaining));
+            }
+            remaining = Math.min(remaining, routeRemaining);
+        }
+        record(routeId, "allowed");
+        return Mono.just(new Response(true, headers(config, limit, remaining)));
+    }
+
+    private Response deny(String routeId, String result, Config config, Limit limit, long shortfall) {
+        record(routeId, result);
+        Map<String, String> headers = headers(config, limit, 0);
+        long waitNanos = -shortfall - 1;
+        headers.put(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        return new Response(false, headers);
+    }
+
+    private static Map<String, String> headers(Config config, Limit limit, long remaining) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(RedisRateLimiter.REMAINING_HEADER, Long.toString(remaining));
+        headers.put(RedisRateLimiter.REPLENISH_RATE_HEADER, Integer.toString(limit.getReplenishRate()));
+        headers.put(RedisRateLimiter.BURST_CAPACITY_HEADER, Integer.toString(limit.getBurstCapacity()));
+        headers.put(RedisRateLimiter.REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+        return headers;
+    }
+
+    private void record(String routeId, String result) {
+        Counter.builder("gateway.ratelimit.requests")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    Mono<Void> synchronize() {
+        Map<String, Long> consumed = new HashMap<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long taken = bucket.takeUnsynced();
+            if (taken != 0) {
+                consumed.put(key, taken);
+            }
+        });
+        return backend.exchange(consumed)
+                .doOnNext(remote -> remote.forEach((key, taken) -> {
+                    TokenBucket bucket = buckets.getIfPresent(key);
+                    if (bucket != null && taken > 0) {
+                        bucket.drain(taken);
+                    }
+                }))
+                .doOnError(ex -> logger.warn("Rate limit sync failed, enforcing local counts only: {}",
+                        ex.getMessage()))
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    @Override
+    public void start() {
+        if (backend == null) {
+            return;
+        }
+        Duration interval = properties.syncInterval();
+        sync = Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> synchronize())
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = sync;
+        if (current != null) {
+            current.dispose();
+        }
+        sync = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sync != null;
+    }
+
+    public static class Limit {
+        @Min(1)
+        private int replenishRate = 10;
+
+        @Min(1)
+        private int burstCapacity = 20;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Limit setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Limit setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+    }
+
+    @Validated
+    public static class Config extends Limit {
+        @Min(1)
+        private int requestedTokens = 1;
+
+        @Min(0)
+        private int routeReplenishRate;
+
+        @Min(0)
+        private int routeBurstCapacity;
+
+        private Map<String, Limit> roles = new HashMap<>();
+
+        @Override
+        public Config setReplenishRate(int replenishRate) {
+            super.setReplenishRate(replenishRate);
+            return this;
+        }
+
+        @Override
+        public Config setBurstCapacity(int burstCapacity) {
+            super.setBurstCapacity(burstCapacity);
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        public int getRouteReplenishRate() {
+            return routeReplenishRate;
+        }
+
+        public Config setRouteReplenishRate(int routeReplenishRate) {
+            this.routeReplenishRate = routeReplenishRate;
+            return this;
+        }
+
+        public int getRouteBurstCapacity() {
+            return routeBurstCapacity;
+        }
+
+        public Config setRouteBurstCapacity(int routeBurstCapacity) {
+            this.routeBurstCapacity = routeBurstCapacity;
+            return this;
+        }
+
+        public Map<String, Limit> getRoles() {
+            return roles;
+        }
+
+        public Config setRoles(Map<String, Limit> roles) {
+            this.roles = roles;
+            return this;
+        }
+
+        /**
+         * The most generous limit among the given roles' overrides, or the
+         * route's own limit when none of them has one.
+         */
+        Limit limitFor(String[] callerRoles) {
+            Limit best = this;
+            for (String role : callerRoles) {
+                for (Map.Entry<String, Limit> entry : roles.entrySet()) {
+                    if (entry.getKey().toLowerCase(Locale.ROOT).equals(role.toLowerCase(Locale.ROOT))
+                            && (best == this || entry.getValue().getReplenishRate() > best.getReplenishRate())) {
+                        best = entry.getValue();
+                    }
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.apigateway.apigate.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate limit key for the {@code RequestRateLimiter} filter: the JWT {@code sub}
+ * followed by the caller's roles ({@code alice#Admin,Hr}), so
+ * {@link InMemoryRateLimiter} can apply per-role limits. Unauthenticated
+ * requests are keyed by client address ({@code ip:10.0.0.5}).
+ */
+@Component
+public class PrincipalKeyResolver implements KeyResolver {
+    static final String ROLE_PREFIX = "ROLE_";
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(JwtAuthenticationToken.class::cast)
+                .map(PrincipalKeyResolver::key)
+                .switchIfEmpty(Mono.fromSupplier(() -> clientKey(exchange)));
+    }
+
+    private static String key(JwtAuthenticationToken authentication) {
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .sorted()
+                .collect(Collectors.joining(","));
+        return authentication.getName() + '#' + roles;
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote == null || remote.getAddress() == null ? ""
+                : "ip:" + remote.getAddress().getHostAddress();
+    }
+}
@@ -0,0 +1,21 @@
+package com.apigateway.apigate.ratelimit;
+
+import java.util.Map;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Shares rate limit consumption between gateway instances. Without a bean of
+ * this type every instance enforces its limits on its own traffic only.
+ * <p>
+ * Buckets are keyed {@code routeId|principal} and {@code routeId} (the
+ * route-wide bucket); amounts are thousandths of a token.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Publishes what this instance consumed since the previous call and returns
+     * what the other instances consumed over the same period.
+     */
+    Mono<Map<String, Long>> exchange(Map<String, Long> consumedLocally);
+}
@@ -0,0 +1,82 @@
+package com.apigateway.apigate.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket. Tokens are kept in thousandths so slow replenish rates
+ * still refill smoothly; refill is computed lazily from the elapsed time on each
+ * take, and the new state is published with a compare-and-set.
+ */
+final class TokenBucket {
+    static final long SCALE = 1000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private record State(long milliTokens, long refilledAt) {
+    }
+
+    private final AtomicReference<State> state;
+    private final LongAdder unsynced = new LongAdder();
+
+    TokenBucket(long capacity, long now) {
+        this.state = new AtomicReference<>(new State(capacity * SCALE, now));
+    }
+
+    /**
+     * Takes {@code tokens} if the bucket holds that many after refilling.
+     *
+     * @return the whole tokens left when allowed, or {@code -(nanos until enough
+     *         tokens) - 1} when not
+     */
+    long tryTake(long tokens, long replenishRate, long capacity, long now) {
+        long wanted = tokens * SCALE;
+        while (true) {
+            State current = state.get();
+            long available = refill(current, replenishRate, capacity, now);
+            if (available < wanted) {
+                long missing = wanted - available;
+                return -(missing * NANOS_PER_SECOND / (replenishRate * SCALE)) - 1;
+            }
+            if (state.compareAndSet(current, new State(available - wanted, now))) {
+                unsynced.add(wanted);
+                return (available - wanted) / SCALE;
+            }
+        }
+    }
+
+    /**
+     * Returns tokens taken by a request that another bucket then refused.
+     */
+    void refund(long tokens, long capacity) {
+        long returned = tokens * SCALE;
+        unsynced.add(-returned);
+        state.updateAndGet(current -> new State(Math.min(capacity * SCALE, current.milliTokens() + returned),
+                current.refilledAt()));
+    }
+
+    /**
+     * Removes tokens consumed through other gateway instances, down to empty.
+     */
+    void drain(long milliTokens) {
+        state.updateAndGet(current -> new State(Math.max(0, current.milliTokens() - milliTokens),
+                current.refilledAt()));
+    }
+
+    /**
+     * Thousandths of a token taken locally since the previous call.
+     */
+    long takeUnsynced() {
+        return unsynced.sumThenReset();
+    }
+
+    private static long refill(State current, long replenishRate, long capacity, long now) {
+        long elapsed = Math.max(0, now - current.refilledAt());
+        long limit = capacity * SCALE;
+        // saturate before multiplying so a long-idle bucket cannot overflow
+        if (elapsed >= NANOS_PER_SECOND * capacity / Math.max(1, replenishRate) + NANOS_PER_SECOND) {
+            return limit;
+        }
+        long added = elapsed * replenishRate * SCALE / NANOS_PER_SECOND;
+        return Math.min(limit, current.milliTokens() + added);
+    }
+}
@@ -0,0 +1,157 @@
+package com.apigateway.apigate.route;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the route table whenever routes are (re)loaded, which includes startup.
+ * It rebuilds the {@link RouteIndex} from the live {@code Indexed} patterns and
+ * logs a warning for every pattern no request can reach. That is either an
+ * {@code Indexed} pattern declared by two routes, or a pattern covered by an
+ * earlier route that matches on path alone.
+ */
+@Component
+public class RouteConflictDetector implements ApplicationListener<RefreshRoutesResultEvent> {
+    private static final String PATH = "Path";
+    private static final String INDEXED = "Indexed";
+    private static final String PREFIX_SUFFIX = "/**";
+
+    private final Logger logger = LoggerFactory.getLogger(RouteConflictDetector.class);
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private final RouteIndex routeIndex;
+
+    public RouteConflictDetector(RouteDefinitionLocator routeDefinitionLocator, RouteIndex routeIndex) {
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.routeIndex = routeIndex;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess()) {
+            return;
+        }
+        routeDefinitionLocator.getRouteDefinitions().collectList().subscribe(definitions -> {
+            routeIndex.replace(definitions.stream()
+                    .flatMap(definition -> definition.getPredicates().stream())
+                    .filter(predicate -> INDEXED.equals(predicate.getName()))
+                    .flatMap(predicate -> predicate.getArgs().values().stream())
+                    .toList());
+            List<String> conflicts = conflicts(definitions);
+            conflicts.forEach(logger::warn);
+            logger.info("Route table checked: {} route(s), {} conflict(s)", definitions.size(), conflicts.size());
+        });
+    }
+
+    private record Declared(String routeId, String kind, String pattern, boolean pathOnly) {
+        boolean indexed() {
+            return INDEXED.equals(kind);
+        }
+    }
+
+    /**
+     * One message per unreachable pattern, with routes taken in the order the
+     * gateway evaluates them.
+     */
+    static List<String> conflicts(List<RouteDefinition> definitions) {
+        List<RouteDefinition> ordered = definitions.stream()
+                .sorted(Comparator.comparingInt(RouteDefinition::getOrder))
+                .toList();
+        List<Declared> earlier = new ArrayList<>();
+        List<String> conflicts = new ArrayList<>();
+
+        for (RouteDefinition route : ordered) {
+            List<Declared> declared = declared(route);
+            for (Declared candidate : declared) {
+                for (Declared previous : earlier) {
+                    String conflict = conflict(previous, candidate);
+                    if (conflict != null) {
+                        conflicts.add(conflict);
+                        break;
+                    }
+                }
+            }
+            earlier.addAll(declared);
+        }
+        return conflicts;
+    }
+
+    private static List<Declared> declared(RouteDefinition route) {
+        List<PredicateDefinition> predicates = route.getPredicates();
+        boolean pathOnly = predicates.size() == 1;
+        List<Declared> declared = new ArrayList<>();
+        for (PredicateDefinition predicate : predicates) {
+            if (PATH.equals(predicate.getName()) || INDEXED.equals(predicate.getName())) {
+                for (String pattern : patterns(predicate.getArgs())) {
+                    declared.add(new Declared(route.getId(), predicate.getName(), pattern.trim(), pathOnly));
+                }
+            }
+        }
+        return declared;
+    }
+
+    private static List<String> patterns(Map<String, String> args) {
+        return args.entrySet().stream()
+                .filter(arg -> !arg.getKey().equals("matchTrailingSlash"))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    private static String conflict(Declared previous, Declared candidate) {
+        if (previous.routeId().equals(candidate.routeId())) {
+            return null;
+        }
+        boolean ignoreCase = previous.indexed() || candidate.indexed();
+        String earlier = ignoreCase ? previous.pattern().toLowerCase(Locale.ROOT) : previous.pattern();
+        String later = ignoreCase ? candidate.pattern().toLowerCase(Locale.ROOT) : candidate.pattern();
+
+        if (previous.indexed() && candidate.indexed()) {
+            // the index picks the most specific pattern, so only exact duplicates collide
+            return earlier.equals(later)
+                    ? String.format("Routes '%s' and '%s' both index %s; '%s' is unreachable for it",
+                            previous.routeId(), candidate.routeId(), candidate.pattern(), candidate.routeId())
+                    : null;
+        }
+        if (previous.pathOnly() && covers(earlier, later)) {
+            return String.format("Route '%s' pattern %s is shadowed by %s of earlier route '%s'",
+                    candidate.routeId(), candidate.pattern(), previous.pattern(), previous.routeId());
+        }
+        return null;
+    }
+
+    /**
+     * Whether every path matching {@code later} also matches {@code earlier}.
+     * Only literal patterns, optionally ending in {@code /**}, are compared.
+     */
+    static boolean covers(String earlier, String later) {
+        if (!isLiteral(earlier) || !isLiteral(later)) {
+            return false;
+        }
+        if (!earlier.endsWith(PREFIX_SUFFIX)) {
+            return earlier.equals(later);
+        }
+        String prefix = earlier.substring(0, earlier.length() - PREFIX_SUFFIX.length());
+        String target = later.endsWith(PREFIX_SUFFIX) ? later.substring(0, later.length() - PREFIX_SUFFIX.length())
+                : later;
+        return target.equals(prefix) || target.startsWith(prefix + "/");
+    }
+
+    private static boolean isLiteral(String pattern) {
+        String literal = pattern.endsWith(PREFIX_SUFFIX)
+                ? pattern.substring(0, pattern.length() - PREFIX_SUFFIX.length())
+                : pattern;
+        return !literal.contains("*") && !literal.contains("{") && !literal.contains("?");
+    }
+}
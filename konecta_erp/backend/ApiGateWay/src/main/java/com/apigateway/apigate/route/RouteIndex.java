@@ -0,0 +1,141 @@
+package com.apigateway.apigate.route;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Case-insensitive prefix trie over every {@code Indexed} route pattern. A request
+ * path is resolved once per exchange, in a single walk of its segments, to the
+ * most specific pattern that matches it: an exact pattern beats a {@code /**}
+ * prefix ending at the same segment, and a longer prefix beats a shorter one.
+ * The result is kept on the exchange, so each route's predicate only compares
+ * against it.
+ * <p>
+ * Patterns are literal segments with an optional trailing {@code /**}. The trie
+ * is rebuilt, copy-on-write, when patterns are registered or replaced.
+ */
+@Component
+public class RouteIndex {
+    static final String MATCH_ATTR = RouteIndex.class.getName() + ".match";
+    private static final String PREFIX_SUFFIX = "/**";
+
+    private final Set<String> patterns = new LinkedHashSet<>();
+    private volatile Node root = new Node();
+
+    private record Match(String path, String pattern) {
+    }
+
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        String exact;
+        String prefix;
+    }
+
+    /**
+     * Normalizes a pattern to its canonical lowercase form, rejecting anything the
+     * trie cannot represent.
+     */
+    public static String normalize(String pattern) {
+        String trimmed = pattern.trim();
+        if (!trimmed.startsWith("/")) {
+            throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+        }
+        String literal = trimmed.endsWith(PREFIX_SUFFIX)
+                ? trimmed.substring(0, trimmed.length() - PREFIX_SUFFIX.length())
+                : trimmed;
+        if (literal.contains("*") || literal.contains("{") || literal.contains("?")) {
+            throw new IllegalArgumentException(
+                    "Route pattern may only end in '/**' and otherwise be literal: " + pattern);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    public void register(Collection<String> newPatterns) {
+        synchronized (patterns) {
+            boolean changed = false;
+            for (String pattern : newPatterns) {
+                changed |= patterns.add(normalize(pattern));
+            }
+            if (changed) {
+                root = build(patterns);
+            }
+        }
+    }
+
+    /**
+     * Replaces the indexed patterns, dropping those no route declares any more.
+     */
+    public void replace(Collection<String> livePatterns) {
+        synchronized (patterns) {
+            patterns.clear();
+            livePatterns.forEach(pattern -> patterns.add(normalize(pattern)));
+            root = build(patterns);
+        }
+    }
+
+    /**
+     * The canonical pattern that wins for this exchange's path, or null.
+     */
+    public String resolve(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        Match match = exchange.getAttribute(MATCH_ATTR);
+        if (match == null || !match.path().equals(path)) {
+            // keyed by path: a forward (e.g. to a fallback) re-runs route lookup on the same exchange
+            match = new Match(path, resolve(path));
+            exchange.getAttributes().put(MATCH_ATTR, match);
+        }
+        return match.pattern();
+    }
+
+    public String resolve(String path) {
+        Node node = root;
+        String best = node.prefix;
+        int start = 1;
+        int length = path.length();
+        while (start <= length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            if (end > start) {
+                Node child = node.children.get(path.substring(start, end).toLowerCase(Locale.ROOT));
+                if (child == null) {
+                    return best;
+                }
+                node = child;
+                if (node.prefix != null) {
+                    best = node.prefix;
+                }
+            }
+            start = end + 1;
+        }
+        return node.exact != null ? node.exact : best;
+    }
+
+    private static Node build(Collection<String> patterns) {
+        Node root = new Node();
+        for (String pattern : patterns) {
+            boolean prefix = pattern.endsWith(PREFIX_SUFFIX);
+            String literal = prefix ? pattern.substring(0, pattern.length() - PREFIX_SUFFIX.length()) : pattern;
+            Node node = root;
+            for (String segment : literal.split("/")) {
+                if (!segment.isEmpty()) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            if (prefix) {
+                node.prefix = pattern;
+            } else {
+                node.exact = pattern;
+            }
+        }
+        return root;
+    }
+}
@@ -0,0 +1,124 @@
+package com.apigateway.apigate.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import com.apigateway.apigate.config.JwtProperties;
+import com.apigateway.apigate.timing.RequestTiming;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reuses the authentication built for a bearer token until the token expires,
+ * so a dashboard polling with one token pays for the signature check and the
+ * authorities conversion once. Entries are keyed by the SHA-256 of the token,
+ * live until its {@code exp} (capped by {@code gateway.jwt.cache-max-ttl}) and
+ * are bounded in number. Concurrent requests with an unseen token share one
+ * verification; failed verifications are not cached. The time a request spends
+ * here, cache hit or not, is its {@code jwt} phase in {@link RequestTiming}.
+ */
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+    private static final String CACHE_NAME = "gateway.jwt";
+
+    private final ReactiveAuthenticationManager delegate;
+    private final AsyncCache<String, Authentication> verified;
+    private final MeterRegistry registry;
+
+    public CachingJwtAuthenticationManager(ReactiveAuthenticationManager delegate, JwtProperties properties,
+            MeterRegistry registry, Clock clock) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(properties.cacheMaxEntries())
+                .expireAfter(new Expiry<String, Authentication>() {
+                    @Override
+                    public long expireAfterCreate(String key, Authentication authentication, long currentTime) {
+                        return lifetime(authentication, properties.cacheMaxTtl(), clock).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Authentication authentication, long currentTime,
+                            long currentDuration) {
+                        return lifetime(authentication, properties.cacheMaxTtl(), clock).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Authentication authentication, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, verified.synchronous(), CACHE_NAME);
+    }
+
+    static Duration lifetime(Authentication authentication, Duration maxTtl, Clock clock) {
+        if (authentication.getPrincipal() instanceof Jwt jwt && jwt.getExpiresAt() != null) {
+            Duration remaining = Duration.between(clock.instant(), jwt.getExpiresAt());
+            if (remaining.isNegative()) {
+                return Duration.ZERO;
+            }
+            return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+        }
+        return maxTtl;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerTokenAuthenticationToken bearer)) {
+            return delegate.authenticate(authentication);
+        }
+        return Mono.deferContextual(context -> {
+            long start = System.nanoTime();
+            CompletableFuture<Authentication> result = verified.get(digest(bearer.getToken()),
+                    (key, executor) -> verify(bearer).toFuture());
+            // one waiter cancelling must not cancel the verification the others share
+            return Mono.fromFuture(result, true).doOnTerminate(() -> {
+                RequestTiming timing = RequestTiming.of(context);
+                if (timing != null) {
+                    timing.jwtVerified(System.nanoTime() - start);
+                }
+            });
+        });
+    }
+
+    private Mono<Authentication> verify(BearerTokenAuthenticationToken bearer) {
+        Timer.Sample sample = Timer.start(registry);
+        return delegate.authenticate(bearer)
+                .doOnSuccess(result -> sample.stop(timer("success")))
+                .doOnError(ex -> sample.stop(timer("failure")));
+    }
+
+    private Timer timer(String result) {
+        return Timer.builder("gateway.jwt.verification")
+                .description("Bearer token decoding, signature check and authorities conversion")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
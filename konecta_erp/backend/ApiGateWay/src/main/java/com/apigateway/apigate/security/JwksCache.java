@@ -0,0 +1,176 @@
+package com.apigateway.apigate.security;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.apigateway.apigate.config.JwtProperties;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Signing keys for bearer token verification, fetched from the JWKS endpoint in
+ * the background so no request ever waits on it. The last good key set is kept
+ * when a fetch fails. A token signed with a key id not in the set is rejected
+ * straight away and schedules an early fetch, which is how a rotated key gets
+ * picked up before the next periodic refresh; those early fetches are spaced by
+ * {@code gateway.jwt.jwks-min-refresh-interval}.
+ */
+public class JwksCache implements SmartLifecycle {
+    private final Logger logger = LoggerFactory.getLogger(JwksCache.class);
+
+    private final WebClient webClient;
+    private final String jwkSetUri;
+    private final JwtProperties properties;
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final AtomicReference<JWKSet> keys = new AtomicReference<>(new JWKSet());
+    private final AtomicReference<Instant> lastAttempt = new AtomicReference<>(Instant.EPOCH);
+    private final AtomicBoolean fetching = new AtomicBoolean();
+    private volatile Instant lastSuccess;
+    private volatile Disposable schedule;
+
+    public JwksCache(WebClient.Builder webClientBuilder, String jwkSetUri, JwtProperties properties,
+            MeterRegistry registry, Clock clock) {
+        this.webClient = webClientBuilder.build();
+        this.jwkSetUri = jwkSetUri;
+        this.properties = properties;
+        this.registry = registry;
+        this.clock = clock;
+        Gauge.builder("gateway.jwks.keys", () -> keys.get().getKeys().size())
+                .description("Signing keys currently held")
+                .register(registry);
+        Gauge.builder("gateway.jwks.age", this::ageSeconds)
+                .description("Seconds since the key set was last fetched successfully")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * The keys that may have signed {@code jwt}; used as the decoder's JWK source.
+     */
+    public Flux<JWK> select(SignedJWT jwt) {
+        List<JWK> matches = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader())).select(keys.get());
+        if (matches.isEmpty()) {
+            logger.debug("No signing key matches kid {}; scheduling a key set refresh", jwt.getHeader().getKeyID());
+            refreshIfDue();
+        }
+        return Flux.fromIterable(matches);
+    }
+
+    /**
+     * Fetches the key set unless a fetch is running or one started less than the
+     * minimum refresh interval ago.
+     */
+    public void refreshIfDue() {
+        Instant now = clock.instant();
+        Instant previous = lastAttempt.get();
+        if (now.isBefore(previous.plus(properties.jwksMinRefreshInterval()))
+                || !lastAttempt.compareAndSet(previous, now)) {
+            return;
+        }
+        refresh().subscribe();
+    }
+
+    Mono<Void> refresh() {
+        return Mono.defer(() -> fetching.compareAndSet(false, true) ? fetch() : Mono.empty());
+    }
+
+    private Mono<Void> fetch() {
+        return webClient.get()
+                .uri(jwkSetUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(properties.jwksTimeout())
+                .map(JwksCache::parse)
+                .doOnNext(jwkSet -> {
+                    keys.set(jwkSet);
+                    lastSuccess = clock.instant();
+                    count("success");
+                    logger.debug("Fetched {} signing key(s) from {}", jwkSet.getKeys().size(), jwkSetUri);
+                })
+                .doOnError(ex -> {
+                    count("failure");
+                    logger.warn("Could not refresh signing keys from {}, keeping {} cached key(s): {}",
+                            jwkSetUri, keys.get().getKeys().size(), ex.getMessage());
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .doFinally(signal -> fetching.set(false))
+                .then();
+    }
+
+    private static JWKSet parse(String body) {
+        try {
+            return JWKSet.parse(body);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Malformed JWK set: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder("gateway.jwks.refresh")
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    private double ageSeconds() {
+        Instant success = lastSuccess;
+        return success == null ? Double.NaN : Duration.between(success, clock.instant()).toSeconds();
+    }
+
+    /**
+     * The first fetch completes (or times out) before the web server starts
+     * taking requests; later ones run in the background.
+     */
+    @Override
+    public void start() {
+        lastAttempt.set(clock.instant());
+        refresh().block();
+        schedule = Flux.interval(properties.jwksRefreshInterval(), properties.jwksRefreshInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    lastAttempt.set(clock.instant());
+                    return refresh();
+                })
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = schedule;
+        if (current != null) {
+            current.dispose();
+        }
+        schedule = null;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return schedule != null;
+    }
+}
@@ -0,0 +1,127 @@
+package com.apigateway.apigate.timing;
+
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.util.context.ContextView;
+
+/**
+ * Timestamps taken as one request moves through the gateway, from which the
+ * {@link Phase} durations are derived. Every mark is taken once; later calls
+ * (a hedged second attempt, say) keep the first value. The instance is stored
+ * in the exchange attributes and in the Reactor context, so code without
+ * access to the exchange (the JWT manager, the Netty client hooks) can reach
+ * it.
+ */
+public final class RequestTiming {
+    public static final String ATTR = RequestTiming.class.getName();
+
+    /**
+     * Segments of a request. {@code jwt} is part of {@code auth}; the others
+     * follow one another and add up to {@code total}.
+     */
+    public enum Phase {
+        AUTH("auth"),
+        JWT("jwt"),
+        ROUTE("route"),
+        FILTERS("filters"),
+        UPSTREAM("upstream"),
+        TRANSFER("transfer"),
+        TOTAL("total");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final long start;
+    private volatile long authenticated;
+    private volatile long jwtNanos;
+    private volatile long routed;
+    private volatile long upstreamSent;
+    private volatile long upstreamFirstByte;
+    private volatile long committed;
+
+    RequestTiming(long start) {
+        this.start = start;
+    }
+
+    public static RequestTiming of(ServerWebExchange exchange) {
+        return exchange.getAttribute(ATTR);
+    }
+
+    public static RequestTiming of(ContextView context) {
+        return context.getOrDefault(RequestTiming.class, null);
+    }
+
+    public void authenticated() {
+        if (authenticated == 0) {
+            authenticated = System.nanoTime();
+        }
+    }
+
+    public void jwtVerified(long nanos) {
+        jwtNanos = nanos;
+    }
+
+    public void routed() {
+        if (routed == 0) {
+            routed = System.nanoTime();
+        }
+    }
+
+    public void upstreamSent() {
+        if (upstreamSent == 0) {
+            upstreamSent = System.nanoTime();
+        }
+    }
+
+    public void upstreamFirstByte() {
+        if (upstreamFirstByte == 0 && upstreamSent != 0) {
+            upstreamFirstByte = System.nanoTime();
+        }
+    }
+
+    void committed() {
+        if (committed == 0) {
+            committed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Duration of {@code phase} for a request that ended (or, for the
+     * {@code Server-Timing} header, was committed) at {@code end}, or -1 when
+     * the request never went through that phase.
+     */
+    public long nanos(Phase phase, long end) {
+        long authEnd = first(authenticated, routed, committed, end);
+        long filtersEnd = first(upstreamSent, committed, end);
+        return switch (phase) {
+            case AUTH -> authEnd - start;
+            case JWT -> jwtNanos > 0 ? jwtNanos : -1;
+            case ROUTE -> routed != 0 && authenticated != 0 ? routed - authenticated : -1;
+            case FILTERS -> routed != 0 ? filtersEnd - routed : -1;
+            case UPSTREAM -> upstreamFirstByte != 0 ? upstreamFirstByte - upstreamSent : -1;
+            case TRANSFER -> upstreamFirstByte != 0 ? end - upstreamFirstByte : -1;
+            case TOTAL -> end - start;
+        };
+    }
+
+    long committedAt() {
+        return committed;
+    }
+
+    private static long first(long... marks) {
+        for (long mark : marks) {
+            if (mark != 0) {
+                return mark;
+            }
+        }
+        return 0;
+    }
+}
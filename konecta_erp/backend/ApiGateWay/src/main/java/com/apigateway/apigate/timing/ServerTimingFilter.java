@@ -0,0 +1,140 @@
+package com.apigateway.apigate.timing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.apigateway.apigate.config.TimingProperties;
+import com.apigateway.apigate.timing.RequestTiming.Phase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every request through the gateway. As the outermost web filter it
+ * starts the clock and, once the response is done, records one
+ * {@code gateway.request.phase} timer sample per {@link Phase} tagged with the
+ * route id and status class; as the first global filter it marks the end of
+ * route matching. The end of the security chain, JWT verification and the
+ * upstream exchange are marked by {@link #authenticated()},
+ * {@code CachingJwtAuthenticationManager} and {@link UpstreamTimingCustomizer}.
+ * <p>
+ * When enabled, the breakdown known at commit time (everything but the body
+ * transfer) is added to the response as a {@code Server-Timing} header.
+ */
+@Component
+public class ServerTimingFilter implements WebFilter, GlobalFilter, Ordered {
+    public static final String HEADER = "Server-Timing";
+    private static final Phase[] HEADER_PHASES = { Phase.AUTH, Phase.JWT, Phase.ROUTE, Phase.FILTERS,
+            Phase.UPSTREAM, Phase.TOTAL };
+    private static final String[] STATUS_CLASSES = { "unknown", "1xx", "2xx", "3xx", "4xx", "5xx" };
+    private static final String NO_ROUTE = "none";
+
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+    private final TimingProperties properties;
+
+    public ServerTimingFilter(MeterRegistry registry, TimingProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    /**
+     * Marks the end of the security chain; registered as the last filter of
+     * the {@code SecurityWebFilterChain}.
+     */
+    public static WebFilter authenticated() {
+        return (exchange, chain) -> {
+            RequestTiming timing = RequestTiming.of(exchange);
+            if (timing != null) {
+                timing.authenticated();
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        exchange.getAttributes().put(RequestTiming.ATTR, timing);
+        exchange.getResponse().beforeCommit(() -> {
+            timing.committed();
+            if (properties.serverTimingHeader()) {
+                exchange.getResponse().getHeaders().add(HEADER, header(timing, timing.committedAt()));
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(RequestTiming.class, timing))
+                .doFinally(signal -> record(exchange, timing, System.nanoTime()));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        RequestTiming timing = RequestTiming.of(exchange);
+        if (timing != null) {
+            timing.routed();
+        }
+        return chain.filter(exchange);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    static String header(RequestTiming timing, long end) {
+        StringBuilder header = new StringBuilder(96);
+        for (Phase phase : HEADER_PHASES) {
+            long nanos = timing.nanos(phase, end);
+            if (nanos < 0) {
+                continue;
+            }
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            // milliseconds with two decimals
+            header.append(phase.tag()).append(";dur=").append(Math.round(nanos / 10_000.0) / 100.0);
+        }
+        return header.toString();
+    }
+
+    private void record(ServerWebExchange exchange, RequestTiming timing, long end) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        int statusClass = status == null ? 0 : status.value() / 100;
+        String routeId = route == null ? NO_ROUTE : route.getId();
+        String statusTag = STATUS_CLASSES[statusClass >= 1 && statusClass <= 5 ? statusClass : 0];
+        Timer[] phases = timers.computeIfAbsent(routeId + ' ' + statusTag, key -> new Timer[Phase.values().length]);
+        for (Phase phase : Phase.values()) {
+            long nanos = timing.nanos(phase, end);
+            if (nanos < 0) {
+                continue;
+            }
+            // registered on first use, so phases a route never goes through add no series
+            Timer timer = phases[phase.ordinal()];
+            if (timer == null) {
+                timer = Timer.builder("gateway.request.phase")
+                        .description("Time spent in each part of a gateway request")
+                        .tag("route", routeId)
+                        .tag("status", statusTag)
+                        .tag("phase", phase.tag())
+                        .register(registry);
+                phases[phase.ordinal()] = timer;
+            }
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
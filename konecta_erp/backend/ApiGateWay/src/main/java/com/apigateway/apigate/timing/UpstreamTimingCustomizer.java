@@ -0,0 +1,33 @@
+package com.apigateway.apigate.timing;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.stereotype.Component;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Marks when the proxied request goes out and when the upstream's response
+ * headers arrive, for both the Netty routing filter and hedged attempts. The
+ * {@link RequestTiming} is found in the subscriber context the gateway filter
+ * chain runs in.
+ */
+@Component
+public class UpstreamTimingCustomizer implements HttpClientCustomizer {
+
+    @Override
+    public HttpClient customize(HttpClient httpClient) {
+        return httpClient
+                .doOnRequest((request, connection) -> {
+                    RequestTiming timing = RequestTiming.of(request.currentContextView());
+                    if (timing != null) {
+                        timing.upstreamSent();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    RequestTiming timing = RequestTiming.of(response.currentContextView());
+                    if (timing != null) {
+                        timing.upstreamFirstByte();
+                    }
+                });
+    }
+}
@@ -0,0 +1,95 @@
+package com.apigateway.apigate.accesslog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import com.apigateway.apigate.accesslog.AccessLogRing.Entry;
+import com.apigateway.apigate.config.AccessLogProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AccessLogTests {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void dropsRecordsWhileTheBufferIsFull() {
+        AccessLog accessLog = accessLog(4, DataSize.ofMegabytes(1));
+        for (int i = 0; i < 6; i++) {
+            Entry entry = accessLog.claim();
+            if (entry != null) {
+                fill(entry, "/api/reports/" + i);
+                accessLog.publish(entry);
+            }
+        }
+        assertThat(count("dropped")).isEqualTo(2);
+
+        assertThat(accessLog.drain()).isEqualTo(4);
+        assertThat(accessLog.claim()).isNotNull();
+    }
+
+    @Test
+    void writesOneJsonLinePerExchange() throws IOException {
+        AccessLog accessLog = accessLog(16, DataSize.ofMegabytes(1));
+        Entry entry = accessLog.claim();
+        fill(entry, "/api/reports/\"overview\"");
+        entry.phaseMicros[0] = 410;
+        entry.phaseMicros[6] = 12_500;
+        accessLog.publish(entry);
+        accessLog.drain();
+
+        assertThat(Files.readAllLines(dir.resolve("access.log"))).containsExactly(
+                "{\"ts\":\"2026-01-01T00:00:00Z\",\"method\":\"GET\",\"path\":\"/api/reports/\\\"overview\\\"\","
+                        + "\"route\":\"reporting-service\",\"principal\":\"alice\",\"client\":\"10.0.0.7\","
+                        + "\"status\":200,\"bytes\":512,\"us\":{\"auth\":410,\"total\":12500}}");
+        assertThat(count("written")).isEqualTo(1);
+    }
+
+    @Test
+    void rotatesWhenTheFileIsFull() throws IOException {
+        AccessLog accessLog = accessLog(16, DataSize.ofBytes(400));
+        for (int i = 0; i < 4; i++) {
+            Entry entry = accessLog.claim();
+            fill(entry, "/api/reports/" + i);
+            accessLog.publish(entry);
+            accessLog.drain();
+        }
+
+        assertThat(Files.readAllLines(dir.resolve("access.log"))).hasSize(2);
+        assertThat(Files.readAllLines(dir.resolve("access.log.1"))).hasSize(2);
+        assertThat(Files.readAllLines(dir.resolve("access.log.1")).get(0)).contains("/api/reports/0");
+    }
+
+    private AccessLog accessLog(int bufferSize, DataSize maxFileSize) {
+        return new AccessLog(new AccessLogProperties(true, dir.resolve("access.log"), bufferSize, 64, maxFileSize, 2,
+                Duration.ofMillis(5)), registry);
+    }
+
+    private double count(String result) {
+        return registry.get("gateway.accesslog.records").tag("result", result).functionCounter().count();
+    }
+
+    private static void fill(Entry entry, String path) {
+        entry.epochMillis = 1_767_225_600_000L;
+        entry.method = "GET";
+        entry.path = path;
+        entry.route = "reporting-service";
+        entry.principal = "alice";
+        entry.client = "10.0.0.7";
+        entry.status = 200;
+        entry.bytes = 512;
+        Arrays.fill(entry.phaseMicros, -1);
+    }
+}
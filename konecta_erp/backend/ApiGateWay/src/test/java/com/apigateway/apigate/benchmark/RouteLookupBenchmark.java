@@ -0,0 +1,164 @@
+package com.apigateway.apigate.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.predicate.IndexedRoutePredicateFactory;
+import com.apigateway.apigate.route.RouteIndex;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Route lookup through the gateway's own {@link RoutePredicateHandlerMapping},
+ * over the route table as it was (every resource listed in two casings on
+ * {@code Path}) and as {@code Indexed} routes.
+ * <p>
+ * Run {@link #main} from the IDE (or with the test classpath) after
+ * {@code mvn test-compile}. The paths hit the first route, a late route, and no
+ * route at all, which is the worst case for a linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteLookupBenchmark {
+
+    /** Resource patterns per route, in declaration order. */
+    private static final Map<String, List<String>> TABLE = new LinkedHashMap<>();
+
+    static {
+        TABLE.put("authentication-service", List.of("/api/auth/**"));
+        TABLE.put("hr-service", List.of("/api/hr/**"));
+        TABLE.put("hr-summary", List.of("/api/hrsummary/**"));
+        TABLE.put("hr-service-direct", List.of("/api/attendance/**", "/api/department/**", "/api/employee/**",
+                "/api/employees/**", "/api/interviews/**", "/api/jobapplications/**", "/api/jobopenings/**",
+                "/api/leaverequests/**", "/api/resignationrequests/**"));
+        TABLE.put("user-management-service", List.of("/api/users/api/**"));
+        TABLE.put("user-management-service-direct", List.of("/api/users/**", "/api/roles/**", "/api/permissions/**"));
+        TABLE.put("inventory-service", List.of("/api/inventory/**"));
+        TABLE.put("inventory-summary", List.of("/api/inventory-summary/**"));
+        TABLE.put("inventory-service-direct", List.of("/api/inventoryitems/**", "/api/stock-operations/**",
+                "/api/stocktransactions/**", "/api/warehouses/**"));
+        TABLE.put("finance-service", List.of("/api/finance/**"));
+        TABLE.put("finance-summary", List.of("/api/financesummary/**"));
+        TABLE.put("finance-service-direct", List.of("/api/budgets/**", "/api/expenses/**", "/api/invoices/**",
+                "/api/payrollruns/**", "/api/employeecompensation/**"));
+        TABLE.put("reporting-service", List.of("/api/reports/api/**"));
+        TABLE.put("reporting-service-direct", List.of("/api/reports/**"));
+    }
+
+    @Param({ "/api/auth/login", "/api/EmployeeCompensation/42", "/api/unknown/resource" })
+    public String path;
+
+    private ServerWebExchange exchange;
+    private ExposedMapping pathMapping;
+    private ExposedMapping indexedMapping;
+
+    @Setup
+    public void setUp() {
+        // without a logback config every lookup would log its route match at DEBUG
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        List<Route> pathRoutes = new ArrayList<>();
+        List<Route> indexedRoutes = new ArrayList<>();
+        PathRoutePredicateFactory pathFactory = new PathRoutePredicateFactory();
+        IndexedRoutePredicateFactory indexedFactory = new IndexedRoutePredicateFactory(new RouteIndex());
+
+        TABLE.forEach((id, patterns) -> {
+            List<String> casings = new ArrayList<>();
+            for (String pattern : patterns) {
+                casings.add(pascalCase(pattern));
+                casings.add(pattern);
+            }
+            pathRoutes.add(route(id, pathFactory.apply(new PathRoutePredicateFactory.Config().setPatterns(casings))));
+            indexedRoutes.add(route(id, indexedFactory.apply(new IndexedRoutePredicateFactory.Config()
+                    .setPatterns(patterns))));
+        });
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        pathMapping = new ExposedMapping(pathRoutes);
+        indexedMapping = new ExposedMapping(indexedRoutes);
+    }
+
+    @Benchmark
+    public Route pathPredicates() {
+        return pathMapping.lookup(exchange());
+    }
+
+    @Benchmark
+    public Route indexedPredicates() {
+        return indexedMapping.lookup(exchange());
+    }
+
+    /**
+     * Building a mock exchange costs more than the lookup itself, so one is reused
+     * with its attributes (including the memoized index match) cleared.
+     */
+    private ServerWebExchange exchange() {
+        exchange.getAttributes().clear();
+        return exchange;
+    }
+
+    private static Route route(String id, Predicate<ServerWebExchange> predicate) {
+        return Route.async().id(id).uri("http://localhost").predicate(predicate).build();
+    }
+
+    /** The old table listed e.g. /api/EmployeeCompensation/** next to the lowercase form. */
+    private static String pascalCase(String pattern) {
+        String[] segments = pattern.split("/");
+        String resource = segments[2];
+        segments[2] = Character.toUpperCase(resource.charAt(0)) + resource.substring(1);
+        return String.join("/", segments);
+    }
+
+    private static final class ExposedMapping extends RoutePredicateHandlerMapping {
+        ExposedMapping(List<Route> routes) {
+            super(new FilteringWebHandler(List.of()), () -> Flux.fromIterable(routes), new GlobalCorsProperties(),
+                    new StandardEnvironment());
+        }
+
+        Route lookup(ServerWebExchange exchange) {
+            return lookupRoute(exchange).block();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RouteLookupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
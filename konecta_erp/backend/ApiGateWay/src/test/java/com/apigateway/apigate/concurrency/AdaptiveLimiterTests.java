@@ -0,0 +1,79 @@
+package com.apigateway.apigate.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.apigateway.apigate.config.ConcurrencyProperties;
+
+class AdaptiveLimiterTests {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final ConcurrencyProperties properties = new ConcurrencyProperties(20, 4, 500, 0.2, 1.5, 0.9, null);
+
+    @Test
+    void shedsLowerPrioritiesFirst() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties);
+
+        List<Integer> held = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            held.add(limiter.tryAcquire(Priority.BULK));
+        }
+        assertThat(held).allMatch(permit -> permit > 0);
+        assertThat(limiter.tryAcquire(Priority.BULK)).isNegative();
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire(Priority.NORMAL)).isPositive();
+        }
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isNegative();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isPositive();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isPositive();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isNegative();
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties);
+
+        for (int i = 0; i < 200; i++) {
+            int inFlight = limiter.tryAcquire(Priority.CRITICAL);
+            limiter.release(Math.max(inFlight, limiter.limit()), 10 * MILLIS, false);
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            int inFlight = limiter.tryAcquire(Priority.CRITICAL);
+            limiter.release(Math.max(inFlight, limiter.limit()), 80 * MILLIS, false);
+        }
+        assertThat(limiter.limit()).isLessThan(grown / 2);
+    }
+
+    @Test
+    void idleUpstreamKeepsItsLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.tryAcquire(Priority.CRITICAL), 10 * MILLIS, false);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void failuresBackOffDownToTheMinimum() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(properties);
+
+        limiter.release(limiter.tryAcquire(Priority.CRITICAL), 5 * MILLIS, true);
+        assertThat(limiter.limit()).isEqualTo(18);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.release(limiter.tryAcquire(Priority.CRITICAL), 5 * MILLIS, true);
+        }
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,46 @@
+package com.apigateway.apigate.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class ConfigServerCopyTests {
+    private static final Path CONFIG_SERVER_COPY = Path.of("../config/src/main/resources/config/api-gateway.yml");
+    private static final List<String> SHARED_PREFIXES = List.of(
+            "spring.cloud.gateway.", "gateway.", "management.", "resilience4j.", "logging.");
+
+    @Test
+    void configServerCopyHasTheSameRoutesAndGatewaySettings() throws IOException {
+        assumeTrue(Files.exists(CONFIG_SERVER_COPY), "config server module is not checked out next to the gateway");
+
+        assertThat(shared(new FileSystemResource(CONFIG_SERVER_COPY)))
+                .isEqualTo(shared(new ClassPathResource("application.yml")));
+    }
+
+    private static Map<String, String> shared(Resource yaml) throws IOException {
+        Map<String, String> properties = new TreeMap<>();
+        for (PropertySource<?> source : new YamlPropertySourceLoader().load(yaml.getFilename(), yaml)) {
+            EnumerablePropertySource<?> enumerable = (EnumerablePropertySource<?>) source;
+            for (String name : enumerable.getPropertyNames()) {
+                if (SHARED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                    properties.put(name, String.valueOf(enumerable.getProperty(name)));
+                }
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,282 @@
+package com.apigateway.apigate.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.ResolvableType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.config.LoadBalancerProperties;
+import com.apigateway.apigate.config.RetryBudgetProperties;
+import com.apigateway.apigate.hedge.RetryBudget;
+import com.apigateway.apigate.hedge.RouteLatencies;
+import com.apigateway.apigate.loadbalancer.InstanceSelector;
+import com.apigateway.apigate.loadbalancer.ServiceCatalog;
+import com.apigateway.apigate.loadbalancer.StaticCatalogSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+class HedgeGatewayFilterFactoryTests {
+    private static final String SERVICE = "reporting-service";
+    private static final Duration SLOW = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoadBalancerProperties lbProperties = new LoadBalancerProperties(Duration.ofSeconds(55),
+            Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(10), 5, Duration.ofSeconds(30), 50,
+            Map.of());
+    private final InstanceSelector selector = new InstanceSelector(lbProperties, registry);
+    private final List<DisposableServer> upstreams = new ArrayList<>();
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+    private final CountDownLatch slowAttemptClosed = new CountDownLatch(1);
+    private final AtomicReference<String> body = new AtomicReference<>();
+    private ServiceCatalog catalog;
+
+    @AfterEach
+    void tearDown() {
+        if (catalog != null) {
+            catalog.destroy();
+        }
+        upstreams.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void aSlowRequestIsHedgedAfterTheDelayAndTheFirstResponseWins() throws InterruptedException {
+        DisposableServer upstream = upstream((attempt, response) -> attempt == 1
+                ? slow(response, "primary")
+                : response.sendString(Mono.just("hedge")));
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofMillis(100)),
+                new RetryBudgetProperties(0.1, 5, Duration.ofSeconds(10)));
+
+        ServerWebExchange exchange = get(upstream);
+        filter.filter(exchange, readBody()).block(Duration.ofSeconds(3));
+
+        assertThat(body).hasValue("hedge");
+        assertThat(exchange.getResponse().getStatusCode().value()).isEqualTo(200);
+        assertThat(arrivals).hasSize(2);
+        assertThat(arrivals.get(1) - arrivals.get(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(80));
+        // the losing attempt's connection is closed rather than left waiting for its response
+        assertThat(slowAttemptClosed.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(requests("gateway.hedge.requests", "sent")).isEqualTo(1.0);
+        assertThat(requests("gateway.hedge.requests", "won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void aRequestAnsweredBeforeTheDelayIsNotHedged() throws InterruptedException {
+        DisposableServer upstream = upstream((attempt, response) -> response.sendString(Mono.just("primary")));
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofMillis(200)),
+                new RetryBudgetProperties(0.1, 5, Duration.ofSeconds(10)));
+
+        filter.filter(get(upstream), readBody()).block(Duration.ofSeconds(3));
+        Thread.sleep(400);
+
+        assertThat(body).hasValue("primary");
+        assertThat(arrivals).hasSize(1);
+        assertThat(registry.find("gateway.hedge.requests").counter()).isNull();
+    }
+
+    @Test
+    void withoutBudgetTheRequestWaitsForItsOnlyAttempt() {
+        DisposableServer upstream = upstream((attempt, response) -> response
+                .sendString(Mono.delay(Duration.ofMillis(300)).thenReturn("primary")));
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofMillis(50)),
+                new RetryBudgetProperties(0, 0, Duration.ofSeconds(10)));
+
+        filter.filter(get(upstream), readBody()).block(Duration.ofSeconds(3));
+
+        assertThat(body).hasValue("primary");
+        assertThat(arrivals).hasSize(1);
+        assertThat(requests("gateway.hedge.requests", "budget_exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void nonIdempotentRequestsAreLeftToTheRoutingFilter() throws InterruptedException {
+        DisposableServer upstream = upstream((attempt, response) -> slow(response, "created"));
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofMillis(20)),
+                new RetryBudgetProperties(0.1, 5, Duration.ofSeconds(10)));
+        AtomicInteger passedOn = new AtomicInteger();
+
+        ServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/reports/export/jobs"), upstream);
+        filter.filter(exchange, next -> {
+            assertThat(isAlreadyRouted(next)).isFalse();
+            assertThat(next.<Connection>getAttribute(CLIENT_RESPONSE_CONN_ATTR)).isNull();
+            passedOn.incrementAndGet();
+            return Mono.empty();
+        }).block(Duration.ofSeconds(3));
+        Thread.sleep(100);
+
+        assertThat(passedOn).hasValue(1);
+        assertThat(arrivals).isEmpty();
+    }
+
+    @Test
+    void gatewayErrorsAreRetriedOnceAndOtherFailuresArePassedOn() {
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofSeconds(10)),
+                new RetryBudgetProperties(0.1, 5, Duration.ofSeconds(10)));
+
+        for (HttpResponseStatus failure : List.of(HttpResponseStatus.BAD_GATEWAY,
+                HttpResponseStatus.SERVICE_UNAVAILABLE, HttpResponseStatus.GATEWAY_TIMEOUT)) {
+            arrivals.clear();
+            DisposableServer upstream = upstream((attempt, response) -> attempt == 1
+                    ? response.status(failure).send()
+                    : response.sendString(Mono.just("retried")));
+            ServerWebExchange exchange = get(upstream);
+            filter.filter(exchange, readBody()).block(Duration.ofSeconds(3));
+
+            assertThat(exchange.getResponse().getStatusCode().value()).as(failure.toString()).isEqualTo(200);
+            assertThat(body).as(failure.toString()).hasValue("retried");
+            assertThat(arrivals).as(failure.toString()).hasSize(2);
+        }
+        assertThat(requests("gateway.retry.requests", "sent")).isEqualTo(3.0);
+
+        arrivals.clear();
+        DisposableServer failing = upstream((attempt, response) -> response
+                .status(attempt == 1 ? HttpResponseStatus.INTERNAL_SERVER_ERROR : HttpResponseStatus.OK).send());
+        ServerWebExchange exchange = get(failing);
+        filter.filter(exchange, readBody()).block(Duration.ofSeconds(3));
+        assertThat(exchange.getResponse().getStatusCode().value()).isEqualTo(500);
+        assertThat(arrivals).hasSize(1);
+
+        arrivals.clear();
+        DisposableServer down = upstream((attempt, response) -> response
+                .status(HttpResponseStatus.SERVICE_UNAVAILABLE).send());
+        exchange = get(down);
+        filter.filter(exchange, readBody()).block(Duration.ofSeconds(3));
+        assertThat(exchange.getResponse().getStatusCode().value()).isEqualTo(503);
+        assertThat(arrivals).hasSize(2);
+    }
+
+    @Test
+    void onALoadBalancedRouteTheHedgeGoesToAnotherInstance() throws InterruptedException {
+        DisposableServer picked = upstream((attempt, response) -> slow(response, "picked"));
+        DisposableServer other = upstream((attempt, response) -> response.sendString(Mono.just("other")));
+        catalog = new ServiceCatalog(new StaticCatalogSource(Map.of(SERVICE,
+                List.of(base(picked), base(other))), Duration.ofSeconds(30)), selector, lbProperties, registry);
+        ServiceInstance pickedInstance = catalog.instances(SERVICE).block().stream()
+                .filter(instance -> instance.getPort() == picked.port())
+                .findFirst().orElseThrow();
+        GatewayFilter filter = filter(new HedgeGatewayFilterFactory.Config().setDelay(Duration.ofMillis(50)),
+                new RetryBudgetProperties(0.1, 5, Duration.ofSeconds(10)));
+
+        ServerWebExchange exchange = get(picked);
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, new DefaultResponse(pickedInstance));
+        filter.filter(exchange, readBody()).block(Duration.ofSeconds(3));
+
+        assertThat(body).hasValue("other");
+        assertThat(arrivals).hasSize(2);
+        assertThat(slowAttemptClosed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private GatewayFilter filter(HedgeGatewayFilterFactory.Config config, RetryBudgetProperties budget) {
+        ObjectProvider<List<HttpHeadersFilter>> headersFilters = new DefaultListableBeanFactory()
+                .getBeanProvider(ResolvableType.forClassWithGenerics(List.class, HttpHeadersFilter.class));
+        if (catalog == null) {
+            catalog = new ServiceCatalog(new StaticCatalogSource(Map.of(), Duration.ofSeconds(30)), selector,
+                    lbProperties, registry);
+        }
+        return new HedgeGatewayFilterFactory(HttpClient.create(), headersFilters, new HttpClientProperties(),
+                new RetryBudget(budget, registry), new RouteLatencies(registry), catalog, selector, registry)
+                .apply(config);
+    }
+
+    /**
+     * A local upstream that records when each attempt arrives and answers it
+     * as {@code behaviour} says, given the attempt's number from 1.
+     */
+    private DisposableServer upstream(BiFunction<Integer, HttpServerResponse, Publisher<Void>> behaviour) {
+        AtomicInteger attempts = new AtomicInteger();
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    arrivals.add(System.nanoTime());
+                    return behaviour.apply(attempts.incrementAndGet(), response);
+                })
+                .bindNow();
+        upstreams.add(server);
+        return server;
+    }
+
+    /**
+     * An answer that takes longer than any test waits, noting when the
+     * caller gives up on it and closes the connection.
+     */
+    private Publisher<Void> slow(HttpServerResponse response, String answer) {
+        return response.sendString(Mono.delay(SLOW).thenReturn(answer)
+                .doOnCancel(slowAttemptClosed::countDown));
+    }
+
+    /**
+     * Stands in for the response writing filter: reads the body off the
+     * connection the hedge filter handed over, once it has been handed over,
+     * as that filter does.
+     */
+    private GatewayFilterChain readBody() {
+        return exchange -> Mono.defer(() -> {
+            Connection connection = exchange.getRequiredAttribute(CLIENT_RESPONSE_CONN_ATTR);
+            return connection.inbound().receive().aggregate().asString()
+                    .defaultIfEmpty("")
+                    .doOnNext(body::set)
+                    .doFinally(signal -> connection.dispose())
+                    .then();
+        });
+    }
+
+    private ServerWebExchange get(DisposableServer upstream) {
+        return exchange(MockServerHttpRequest.get("/api/reports/overview"), upstream);
+    }
+
+    private static ServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request,
+            DisposableServer upstream) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async().id(SERVICE).uri("lb://" + SERVICE).predicate(ignored -> true).build();
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR,
+                base(upstream).resolve(exchange.getRequest().getURI().getRawPath()));
+        return exchange;
+    }
+
+    private static URI base(DisposableServer upstream) {
+        return URI.create("http://127.0.0.1:" + upstream.port());
+    }
+
+    private double requests(String name, String result) {
+        return registry.get(name).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,159 @@
+package com.apigateway.apigate.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.apigateway.apigate.cache.ResponseCache;
+import com.apigateway.apigate.config.ResponseCacheProperties;
+import com.apigateway.apigate.filter.ResponseCacheGatewayFilterFactory.Scope;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTests {
+    private static final Route ROUTE = Route.async().id("reporting-service").uri("http://reporting")
+            .predicate(exchange -> true).build();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private ResponseCacheGatewayFilterFactory factory;
+    private String cacheControl;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCache cache = new ResponseCache(new ResponseCacheProperties(1 << 20, 1 << 16),
+                new SimpleMeterRegistry());
+        factory = new ResponseCacheGatewayFilterFactory(cache);
+        cacheControl = null;
+    }
+
+    @Test
+    void repeatedRequestIsServedFromCache() {
+        GatewayFilter filter = filter(Scope.PRINCIPAL);
+
+        ServerWebExchange first = get("/api/reports/overview?b=2&a=1", "alice", "ROLE_Admin");
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        ServerWebExchange second = get("/api/reports/overview?a=1&b=2", "alice", "ROLE_Admin");
+        filter.filter(second, upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(body(second)).isEqualTo("overview");
+    }
+
+    @Test
+    void principalScopeKeepsUsersApartAndRolesScopeSharesByRole() {
+        GatewayFilter perUser = filter(Scope.PRINCIPAL);
+        perUser.filter(get("/api/reports/hr", "alice", "ROLE_Hr"), upstream(Duration.ZERO)).block();
+        perUser.filter(get("/api/reports/hr", "bob", "ROLE_Hr"), upstream(Duration.ZERO)).block();
+        assertThat(upstreamCalls).hasValue(2);
+
+        GatewayFilter perRole = filter(Scope.ROLES);
+        perRole.filter(get("/api/reports/finance", "alice", "ROLE_Hr"), upstream(Duration.ZERO)).block();
+        perRole.filter(get("/api/reports/finance", "bob", "ROLE_Hr"), upstream(Duration.ZERO)).block();
+        perRole.filter(get("/api/reports/finance", "carol", "ROLE_Finance"), upstream(Duration.ZERO)).block();
+        assertThat(upstreamCalls).hasValue(4);
+    }
+
+    @Test
+    void uncacheableResponsesAreNotStored() {
+        GatewayFilter filter = filter(Scope.ROLES);
+        cacheControl = "no-store";
+
+        filter.filter(get("/api/reports/export/pdf", "alice", "ROLE_Admin"), upstream(Duration.ZERO)).block();
+        filter.filter(get("/api/reports/export/pdf", "alice", "ROLE_Admin"), upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void noStoreAndPrivateResponsesAreNeverReplayedToAnotherUserOfTheRole() {
+        GatewayFilter filter = filter(Scope.ROLES);
+
+        for (String directive : new String[] { "no-store", "private, max-age=60" }) {
+            cacheControl = directive;
+            upstreamCalls.set(0);
+            ServerWebExchange alice = get("/api/reports/export/jobs/42", "alice", "ROLE_Admin");
+            filter.filter(alice, upstream(Duration.ZERO)).block();
+            ServerWebExchange bob = get("/api/reports/export/jobs/42", "bob", "ROLE_Admin");
+            filter.filter(bob, upstream(Duration.ZERO)).block();
+
+            assertThat(upstreamCalls).as(directive).hasValue(2);
+            assertThat(bob.getResponse().getHeaders().getFirst("X-Cache")).as(directive).isEqualTo("MISS");
+        }
+    }
+
+    @Test
+    void concurrentMissesShareOneUpstreamCall() {
+        GatewayFilter filter = filter(Scope.ROLES);
+        ServerWebExchange leader = get("/api/reports/inventory", "alice", "ROLE_Admin");
+        ServerWebExchange follower = get("/api/reports/inventory", "bob", "ROLE_Admin");
+
+        Mono.when(filter.filter(leader, upstream(Duration.ofMillis(200))),
+                filter.filter(follower, upstream(Duration.ofMillis(200)))).block();
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(body(follower)).isEqualTo("inventory");
+    }
+
+    @Test
+    void writeThroughRouteInvalidatesItsEntries() {
+        GatewayFilter filter = filter(Scope.ROLES);
+        filter.filter(get("/api/reports/overview", "alice", "ROLE_Admin"), upstream(Duration.ZERO)).block();
+
+        ServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/reports/export/jobs"));
+        post.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        filter.filter(post, exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.ACCEPTED);
+            return exchange.getResponse().setComplete();
+        }).block();
+        filter.filter(get("/api/reports/overview", "alice", "ROLE_Admin"), upstream(Duration.ZERO)).block();
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private GatewayFilter filter(Scope scope) {
+        return factory.apply(new ResponseCacheGatewayFilterFactory.Config().setTtl(Duration.ofMinutes(1))
+                .setScope(scope));
+    }
+
+    private static ServerWebExchange get(String uri, String user, String role) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        TestingAuthenticationToken principal = new TestingAuthenticationToken(user, "n/a", role);
+        return exchange.mutate().principal(Mono.just(principal)).build();
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            String path = exchange.getRequest().getURI().getPath();
+            byte[] body = path.substring(path.lastIndexOf('/') + 1).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            if (cacheControl != null) {
+                exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        }));
+    }
+
+    private static String body(ServerWebExchange exchange) {
+        return ((MockServerHttpResponse) exchange.getResponse()).getBodyAsString().block();
+    }
+}
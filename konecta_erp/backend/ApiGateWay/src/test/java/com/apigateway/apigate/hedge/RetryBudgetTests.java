@@ -0,0 +1,52 @@
+package com.apigateway.apigate.hedge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.apigateway.apigate.config.RetryBudgetProperties;
+
+class RetryBudgetTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(100 * SECOND);
+    private final RetryBudget budget = new RetryBudget(new RetryBudgetProperties(0.1, 1, Duration.ofSeconds(10)),
+            now::get);
+
+    @Test
+    void allowsTheFloorWithoutTraffic() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void growsWithTraffic() {
+        for (int i = 0; i < 200; i++) {
+            budget.recordRequest();
+        }
+        for (int i = 0; i < 30; i++) {
+            assertThat(budget.tryAcquire()).isTrue();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void forgetsAttemptsOlderThanTheWindow() {
+        for (int i = 0; i < 10; i++) {
+            budget.tryAcquire();
+        }
+        assertThat(budget.tryAcquire()).isFalse();
+
+        now.addAndGet(3 * SECOND);
+        assertThat(budget.tryAcquire()).isFalse();
+
+        now.addAndGet(8 * SECOND);
+        assertThat(budget.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,65 @@
+package com.apigateway.apigate.hedge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RouteLatenciesTests {
+
+    private final MockClock clock = new MockClock();
+    private final RouteLatencies latencies = new RouteLatencies(new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock));
+
+    @Test
+    void noPercentileUntilTheWindowHasEnoughSamples() {
+        record("reporting", RouteLatencies.MIN_SAMPLES - 1, 100);
+        assertThat(p95("reporting")).isNull();
+
+        record("reporting", 1, 100);
+        assertThat(p95("reporting")).isNotNull();
+        assertThat(p95("reporting").toMillis()).isBetween(90L, 110L);
+    }
+
+    @Test
+    void aRouteThatWentQuietStopsHedgingInsteadOfUsingAFewFreshSamples() {
+        record("reporting", 50, 100);
+        assertThat(p95("reporting")).isNotNull();
+
+        clock.add(RouteLatencies.WINDOW.plusSeconds(1));
+        assertThat(p95("reporting")).isNull();
+
+        // the timer's cumulative count is well past the minimum, the window's is not
+        record("reporting", 3, 10);
+        assertThat(p95("reporting")).isNull();
+
+        record("reporting", RouteLatencies.MIN_SAMPLES, 10);
+        assertThat(p95("reporting").toMillis()).isBetween(9L, 11L);
+    }
+
+    @Test
+    void routesAreTrackedSeparately() {
+        record("finance", 30, 200);
+        assertThat(p95("finance")).isNotNull();
+        assertThat(p95("hr")).isNull();
+    }
+
+    private void record(String routeId, long samples, long millis) {
+        for (int i = 0; i < samples; i++) {
+            latencies.record(routeId, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    /**
+     * The percentile after its once-a-second refresh.
+     */
+    private Duration p95(String routeId) {
+        clock.add(Duration.ofMillis(1_001));
+        return latencies.p95(routeId);
+    }
+}
@@ -0,0 +1,83 @@
+package com.apigateway.apigate.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import com.apigateway.apigate.config.LoadBalancerProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstanceSelectorTests {
+    private static final ServiceInstance A = instance("a");
+    private static final ServiceInstance B = instance("b");
+    private static final ServiceInstance C = instance("c");
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    private final InstanceSelector selector = new InstanceSelector(new LoadBalancerProperties(Duration.ofSeconds(55),
+            Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(10), 5, Duration.ofSeconds(30), 50,
+            Map.of()), new SimpleMeterRegistry(), now::get);
+
+    @Test
+    void prefersTheFasterInstance() {
+        for (int i = 0; i < 10; i++) {
+            request(A, 100, false);
+            request(B, 5, false);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(selector.choose("hr-service", List.of(A, B), null)).isEqualTo(B);
+        }
+    }
+
+    @Test
+    void avoidsAnInstanceWithRequestsQueued() {
+        request(A, 10, false);
+        request(B, 10, false);
+        selector.begin(A);
+        selector.begin(A);
+
+        assertThat(selector.choose("hr-service", List.of(A, B), null)).isEqualTo(B);
+    }
+
+    @Test
+    void ejectsAnInstanceAfterConsecutiveFailuresUntilItsTimeIsUp() {
+        for (int i = 0; i < 5; i++) {
+            request(A, 1, true);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertThat(selector.choose("hr-service", List.of(A, B, C), null)).isNotEqualTo(A);
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertThat(selector.choose("hr-service", List.of(A), B)).isEqualTo(A);
+    }
+
+    @Test
+    void neverEjectsMoreThanTheAllowedShare() {
+        for (int i = 0; i < 5; i++) {
+            request(A, 1, true);
+            request(B, 1, true);
+        }
+
+        // A went first and took the 50% allowance; B stays in rotation
+        assertThat(selector.choose("hr-service", List.of(A, B), null)).isEqualTo(B);
+        assertThat(selector.choose("hr-service", List.of(A, B), B)).isEqualTo(A);
+    }
+
+    private void request(ServiceInstance instance, long millis, boolean failed) {
+        selector.begin(instance);
+        selector.complete(instance, TimeUnit.MILLISECONDS.toNanos(millis), failed);
+    }
+
+    private static ServiceInstance instance(String id) {
+        return new DefaultServiceInstance(id, "hr-service", id + ".internal", 5005, false);
+    }
+}
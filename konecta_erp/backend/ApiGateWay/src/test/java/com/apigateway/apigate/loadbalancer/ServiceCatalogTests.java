@@ -0,0 +1,105 @@
+package com.apigateway.apigate.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import com.apigateway.apigate.config.LoadBalancerProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ServiceCatalogTests {
+    private static final ServiceInstance A = new DefaultServiceInstance("a", "finance-service", "a.internal", 5003,
+            false);
+    private static final ServiceInstance B = new DefaultServiceInstance("b", "finance-service", "b.internal", 5003,
+            false);
+
+    private final LoadBalancerProperties properties = new LoadBalancerProperties(Duration.ofSeconds(55),
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(10), 5, Duration.ofSeconds(30), 50,
+            Map.of());
+    private final StubCatalog source = new StubCatalog();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServiceCatalog catalog = new ServiceCatalog(source, new InstanceSelector(properties, registry),
+            properties, registry);
+
+    @AfterEach
+    void tearDown() {
+        catalog.destroy();
+    }
+
+    @Test
+    void followsTheCatalogWithBlockingQueries() {
+        source.answer(0, new CatalogSource.Snapshot(7, List.of(A)));
+        assertThat(catalog.instances("finance-service").block()).containsExactly(A);
+
+        source.answer(7, new CatalogSource.Snapshot(9, List.of(A, B)));
+        eventually(() -> assertThat(catalog.instances("finance-service").block()).containsExactly(A, B));
+        eventually(() -> assertThat(source.asked(9)).isTrue());
+    }
+
+    @Test
+    void keepsTheLastKnownInstancesWhileTheSourceFails() {
+        source.answer(0, new CatalogSource.Snapshot(3, List.of(A, B)));
+        assertThat(catalog.instances("finance-service").block()).containsExactly(A, B);
+
+        source.fail(3);
+        eventually(() -> assertThat(registry.get("gateway.lb.catalog.failures").counter().count()).isPositive());
+        assertThat(catalog.instances("finance-service").block()).containsExactly(A, B);
+    }
+
+    private static void eventually(Runnable assertion) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError ex) {
+                if (System.nanoTime() > deadline) {
+                    throw ex;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+    }
+
+    /**
+     * A catalog answering each index when told to, like a Consul blocking
+     * query that returns once something changes.
+     */
+    private static final class StubCatalog implements CatalogSource {
+        private final Map<Long, Sinks.One<Snapshot>> answers = new ConcurrentHashMap<>();
+
+        @Override
+        public Mono<Snapshot> watch(String serviceId, long index) {
+            return sink(index).asMono();
+        }
+
+        void answer(long index, Snapshot snapshot) {
+            sink(index).tryEmitValue(snapshot);
+        }
+
+        void fail(long index) {
+            sink(index).tryEmitError(new IllegalStateException("consul unavailable"));
+        }
+
+        boolean asked(long index) {
+            return answers.containsKey(index);
+        }
+
+        private Sinks.One<Snapshot> sink(long index) {
+            return answers.computeIfAbsent(index, key -> Sinks.one());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.apigateway.apigate.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.http.HttpHeaders;
+
+import com.apigateway.apigate.config.RateLimitProperties;
+import com.apigateway.apigate.ratelimit.InMemoryRateLimiter.Config;
+import com.apigateway.apigate.ratelimit.InMemoryRateLimiter.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class InMemoryRateLimiterTests {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(SECOND);
+    private final RateLimitProperties properties = new RateLimitProperties(Duration.ofMinutes(10), 1000,
+            Duration.ofSeconds(1));
+
+    @Test
+    void allowsBurstThenRefillsAtReplenishRate() {
+        InMemoryRateLimiter limiter = limiter(null, new Config().setReplenishRate(2).setBurstCapacity(3));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(allowed(limiter, "alice#Hr")).isTrue();
+        }
+        Response denied = limiter.isAllowed("reports", "alice#Hr").block();
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getHeaders())
+                .containsEntry(RedisRateLimiter.REMAINING_HEADER, "0")
+                .containsEntry(RedisRateLimiter.BURST_CAPACITY_HEADER, "3")
+                .containsEntry(HttpHeaders.RETRY_AFTER, "1");
+
+        now.addAndGet(SECOND / 2);
+        assertThat(allowed(limiter, "alice#Hr")).isTrue();
+        assertThat(allowed(limiter, "alice#Hr")).isFalse();
+    }
+
+    @Test
+    void principalsHaveSeparateBucketsSizedByRole() {
+        Config config = new Config().setReplenishRate(1).setBurstCapacity(1)
+                .setRoles(Map.of("Admin", new Limit().setReplenishRate(5).setBurstCapacity(5)));
+        InMemoryRateLimiter limiter = limiter(null, config);
+
+        assertThat(allowed(limiter, "carol#Hr")).isTrue();
+        assertThat(allowed(limiter, "carol#Hr")).isFalse();
+        for (int i = 0; i < 5; i++) {
+            assertThat(allowed(limiter, "alice#Admin,Hr")).isTrue();
+        }
+        assertThat(allowed(limiter, "alice#Admin,Hr")).isFalse();
+        assertThat(allowed(limiter, "ip:10.0.0.5")).isTrue();
+    }
+
+    @Test
+    void routeBucketCapsAllPrincipalsAndRefundsTheirTokens() {
+        Config config = new Config().setReplenishRate(1).setBurstCapacity(2)
+                .setRouteReplenishRate(1).setRouteBurstCapacity(2);
+        InMemoryRateLimiter limiter = limiter(null, config);
+
+        assertThat(allowed(limiter, "alice#")).isTrue();
+        assertThat(allowed(limiter, "bob#")).isTrue();
+        assertThat(allowed(limiter, "carol#")).isFalse();
+
+        // carol's own bucket was refunded, so both her tokens are there once the route refills
+        now.addAndGet(2 * SECOND);
+        assertThat(allowed(limiter, "carol#")).isTrue();
+        assertThat(allowed(limiter, "carol#")).isTrue();
+    }
+
+    @Test
+    void drainsConsumptionReportedByOtherInstances() {
+        RateLimitBackend backend = consumed -> Mono.just(Map.of("reports|alice", 2 * TokenBucket.SCALE));
+        InMemoryRateLimiter limiter = limiter(backend, new Config().setReplenishRate(1).setBurstCapacity(3));
+
+        assertThat(allowed(limiter, "alice#")).isTrue();
+        limiter.synchronize().block();
+
+        assertThat(allowed(limiter, "alice#")).isFalse();
+    }
+
+    private InMemoryRateLimiter limiter(RateLimitBackend backend, Config config) {
+        InMemoryRateLimiter limiter = new InMemoryRateLimiter(null, properties, backend,
+                new SimpleMeterRegistry(), now::get);
+        limiter.getConfig().put("reports", config);
+        return limiter;
+    }
+
+    private static boolean allowed(InMemoryRateLimiter limiter, String key) {
+        return limiter.isAllowed("reports", key).block().isAllowed();
+    }
+}
@@ -0,0 +1,132 @@
+package com.apigateway.apigate.route;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.cloud.gateway.handler.predicate.PredicateDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+class RouteIndexTests {
+
+    private final RouteIndex index = new RouteIndex();
+
+    @Test
+    void matchesIgnoringCase() {
+        index.register(List.of("/api/employeecompensation/**"));
+
+        assertThat(index.resolve("/api/EmployeeCompensation/42")).isEqualTo("/api/employeecompensation/**");
+        assertThat(index.resolve("/API/employeecompensation")).isEqualTo("/api/employeecompensation/**");
+    }
+
+    @Test
+    void mostSpecificPatternWins() {
+        index.register(List.of("/api/reports/**", "/api/reports/api/**", "/api/reports/api/export"));
+
+        assertThat(index.resolve("/api/reports/overview")).isEqualTo("/api/reports/**");
+        assertThat(index.resolve("/api/reports/api/reports/overview")).isEqualTo("/api/reports/api/**");
+        assertThat(index.resolve("/api/reports/api/export")).isEqualTo("/api/reports/api/export");
+        assertThat(index.resolve("/api/reports/api/export/pdf")).isEqualTo("/api/reports/api/**");
+    }
+
+    @Test
+    void unmatchedPathsResolveToNull() {
+        index.register(List.of("/api/users/**", "/api/roles"));
+
+        assertThat(index.resolve("/api/usersx/1")).isNull();
+        assertThat(index.resolve("/api/roles/1")).isNull();
+        assertThat(index.resolve("/api")).isNull();
+    }
+
+    @Test
+    void replaceDropsPatternsNoLongerDeclared() {
+        index.register(List.of("/api/hr/**"));
+        index.replace(List.of("/api/finance/**"));
+
+        assertThat(index.resolve("/api/hr/employees")).isNull();
+        assertThat(index.resolve("/api/finance/budgets")).isEqualTo("/api/finance/**");
+    }
+
+    @Test
+    void rejectsPatternsTheTrieCannotRepresent() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteIndex.normalize("/api/{id}/**"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteIndex.normalize("api/users/**"));
+    }
+
+    @Test
+    void reportsShadowedAndDuplicatePatterns() {
+        List<String> conflicts = RouteConflictDetector.conflicts(List.of(
+                route("reporting-service", "Path=/api/reports/**"),
+                route("reporting-service-direct", "Path=/api/reports/**"),
+                route("users", "Indexed=/api/users/**"),
+                route("users-again", "Indexed=/API/Users/**"),
+                route("users-prefixed", "Indexed=/api/users/api/**")));
+
+        assertThat(conflicts).hasSize(2);
+        assertThat(conflicts.get(0)).contains("'reporting-service-direct'", "shadowed");
+        assertThat(conflicts.get(1)).contains("'users-again'", "unreachable");
+    }
+
+    @Test
+    void reportingPathsTakeTheirOwnRoutesBeforeTheCachedOne() throws IOException {
+        List<RouteDefinition> routes = configuredRoutes();
+        Map<String, String> routeByPattern = new HashMap<>();
+        for (RouteDefinition route : routes) {
+            for (PredicateDefinition predicate : route.getPredicates()) {
+                if (predicate.getName().equals("Indexed")) {
+                    predicate.getArgs().values().forEach(pattern -> routeByPattern.put(pattern, route.getId()));
+                }
+            }
+        }
+        index.register(routeByPattern.keySet());
+
+        assertThat(routeByPattern.get(index.resolve("/api/reports/export/jobs"))).isEqualTo("reporting-export");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/export/pdf"))).isEqualTo("reporting-export");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/export/jobs/42")))
+                .isEqualTo("reporting-export-jobs");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/export/jobs/42/download")))
+                .isEqualTo("reporting-export-jobs");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/overview"))).isEqualTo("reporting-service-direct");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/query"))).isEqualTo("reporting-query");
+        assertThat(routeByPattern.get(index.resolve("/api/reports/query/datasets"))).isEqualTo("reporting-query");
+        assertThat(RouteConflictDetector.conflicts(routes)).isEmpty();
+    }
+
+    /**
+     * The route table declared in the gateway's application.yml.
+     */
+    private static List<RouteDefinition> configuredRoutes() throws IOException {
+        PropertySource<?> yaml = new YamlPropertySourceLoader()
+                .load("application.yml", new ClassPathResource("application.yml")).get(0);
+        List<RouteDefinition> routes = new ArrayList<>();
+        for (int i = 0; yaml.containsProperty("spring.cloud.gateway.routes[" + i + "].id"); i++) {
+            String prefix = "spring.cloud.gateway.routes[" + i + "]";
+            List<PredicateDefinition> predicates = new ArrayList<>();
+            for (int j = 0; yaml.containsProperty(prefix + ".predicates[" + j + "]"); j++) {
+                Object predicate = yaml.getProperty(prefix + ".predicates[" + j + "]");
+                predicates.add(new PredicateDefinition(String.valueOf(predicate)));
+            }
+            RouteDefinition definition = new RouteDefinition();
+            definition.setId(String.valueOf(yaml.getProperty(prefix + ".id")));
+            definition.setPredicates(predicates);
+            routes.add(definition);
+        }
+        return routes;
+    }
+
+    private static RouteDefinition route(String id, String predicate) {
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId(id);
+        definition.setPredicates(List.of(new PredicateDefinition(predicate)));
+        return definition;
+    }
+}
@@ -0,0 +1,108 @@
+package com.apigateway.apigate.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import com.apigateway.apigate.config.JwtProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class CachingJwtAuthenticationManagerTests {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    private final JwtProperties properties = new JwtProperties(100, Duration.ofMinutes(5), Duration.ofMinutes(5),
+            Duration.ofSeconds(30), Duration.ofSeconds(5));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void verifiesEachTokenOnce() {
+        var manager = new CachingJwtAuthenticationManager(authentication -> {
+            verifications.incrementAndGet();
+            return Mono.just(authenticated(NOW.plusSeconds(600)));
+        }, properties, registry, clock);
+
+        Authentication first = manager.authenticate(bearer("token-a")).block();
+        Authentication second = manager.authenticate(bearer("token-a")).block();
+        manager.authenticate(bearer("token-b")).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(2);
+        assertThat(registry.get("gateway.jwt.verification").tag("result", "success").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentRequestsShareOneVerification() {
+        Sinks.One<Authentication> pending = Sinks.one();
+        var manager = new CachingJwtAuthenticationManager(authentication -> {
+            verifications.incrementAndGet();
+            return pending.asMono();
+        }, properties, registry, clock);
+
+        Mono<List<Authentication>> all = Flux.range(0, 5)
+                .flatMap(i -> manager.authenticate(bearer("token-a")))
+                .collectList();
+        var result = all.toFuture();
+        pending.tryEmitValue(authenticated(NOW.plusSeconds(600)));
+
+        assertThat(result.join()).hasSize(5);
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void failedVerificationsAreNotCached() {
+        var manager = new CachingJwtAuthenticationManager(authentication -> {
+            verifications.incrementAndGet();
+            return Mono.error(new BadCredentialsException("bad signature"));
+        }, properties, registry, clock);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(manager.authenticate(bearer("forged")).onErrorResume(ex -> Mono.empty()).block()).isNull();
+        }
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void lifetimeFollowsExpiryCappedByMaxTtl() {
+        Duration maxTtl = properties.cacheMaxTtl();
+
+        assertThat(CachingJwtAuthenticationManager.lifetime(authenticated(NOW.plusSeconds(90)), maxTtl, clock))
+                .isEqualTo(Duration.ofSeconds(90));
+        assertThat(CachingJwtAuthenticationManager.lifetime(authenticated(NOW.plusSeconds(3600)), maxTtl, clock))
+                .isEqualTo(maxTtl);
+        assertThat(CachingJwtAuthenticationManager.lifetime(authenticated(NOW.minusSeconds(1)), maxTtl, clock))
+                .isZero();
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token) {
+        return new BearerTokenAuthenticationToken(token);
+    }
+
+    private static JwtAuthenticationToken authenticated(Instant expiresAt) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("alice")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+}
@@ -0,0 +1,89 @@
+package com.apigateway.apigate.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.apigateway.apigate.config.TimingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ServerTimingFilterTests {
+    private static final Route ROUTE = Route.async().id("reporting-service").uri("http://reporting")
+            .predicate(exchange -> true).build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void proxiedRequestReportsEveryPhase() {
+        MockServerWebExchange exchange = get();
+        new ServerTimingFilter(registry, new TimingProperties(true)).filter(exchange, proxied()).block();
+
+        String header = exchange.getResponse().getHeaders().getFirst(ServerTimingFilter.HEADER);
+        assertThat(header).matches("auth;dur=[0-9.]+, jwt;dur=[0-9.]+, route;dur=[0-9.]+, "
+                + "filters;dur=[0-9.]+, upstream;dur=[0-9.]+, total;dur=[0-9.]+");
+        for (String phase : new String[] { "auth", "jwt", "route", "filters", "upstream", "transfer", "total" }) {
+            assertThat(registry.get("gateway.request.phase").tags("route", "reporting-service", "status", "2xx",
+                    "phase", phase).timer().count()).as(phase).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void rejectedRequestOnlyReportsWhatItWentThrough() {
+        MockServerWebExchange exchange = get();
+        WebFilterChain unauthorized = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return ex.getResponse().setComplete();
+        };
+        new ServerTimingFilter(registry, new TimingProperties(true)).filter(exchange, unauthorized).block();
+
+        assertThat(exchange.getResponse().getHeaders().getFirst(ServerTimingFilter.HEADER))
+                .matches("auth;dur=[0-9.]+, total;dur=[0-9.]+");
+        assertThat(registry.find("gateway.request.phase").tags("route", "none", "status", "4xx").timers())
+                .extracting(timer -> timer.getId().getTag("phase"))
+                .containsExactlyInAnyOrder("auth", "total");
+    }
+
+    @Test
+    void headerCanBeTurnedOff() {
+        MockServerWebExchange exchange = get();
+        new ServerTimingFilter(registry, new TimingProperties(false)).filter(exchange, proxied()).block();
+
+        assertThat(exchange.getResponse().getHeaders().containsKey(ServerTimingFilter.HEADER)).isFalse();
+        assertThat(registry.find("gateway.request.phase").tag("phase", "upstream").timer().count()).isEqualTo(1);
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/reports/overview"));
+    }
+
+    /**
+     * Walks the request through the marks the security chain, the JWT
+     * manager, the gateway and the HTTP client would set.
+     */
+    private static WebFilterChain proxied() {
+        return exchange -> Mono.deferContextual(context -> {
+            RequestTiming timing = RequestTiming.of(context);
+            timing.jwtVerified(1_000);
+            timing.authenticated();
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+            timing.routed();
+            timing.upstreamSent();
+            timing.upstreamFirstByte();
+            return respond(exchange);
+        });
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,252 @@
+package com.reporting.ReportingService.cache;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.RenderCacheProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Content-addressed cache of rendered exports held in direct buffers, so a
+ * large cache does not add to heap pressure or GC pause times. Entries are
+ * evicted least recently used first once {@code maxBytes} is exceeded.
+ * <p>
+ * A miss renders into direct buffers, publishes the artifact and only then
+ * copies it to the caller, so concurrent requests for a key that is being
+ * rendered wait for the render alone, never for the first caller's network.
+ * An export that outgrows {@code maxEntryBytes} is not cached: what was buffered
+ * is passed on and the rest streamed to the caller as it is rendered, and the
+ * requests waiting for it render for themselves at once.
+ */
+@Component
+public class RenderCache {
+    private final RenderCacheProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Artifact> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<Artifact>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RenderCache(RenderCacheProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.hits = Counter.builder("reporting.render.cache.requests").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("reporting.render.cache.requests").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("reporting.render.cache.evictions").register(registry);
+        Gauge.builder("reporting.render.cache.bytes", cachedBytes, AtomicLong::get).register(registry);
+    }
+
+    @FunctionalInterface
+    public interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    /**
+     * When {@code key} was first rendered, if it is still cached.
+     */
+    public Optional<Instant> renderedAt(String key) {
+        lock.lock();
+        try {
+            Artifact artifact = entries.get(key);
+            return artifact == null ? Optional.empty() : Optional.of(artifact.renderedAt());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Copies the cached artifact for {@code key} to {@code out}, or renders it to {@code out} and caches it.
+     */
+    public void writeTo(String key, Renderer renderer, OutputStream out) throws IOException {
+        Artifact artifact = lookup(key);
+        if (artifact != null) {
+            hits.increment();
+            artifact.writeTo(out);
+            out.flush();
+            return;
+        }
+        misses.increment();
+
+        CompletableFuture<Artifact> pending = new CompletableFuture<>();
+        CompletableFuture<Artifact> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            artifact = existing.join();
+            if (artifact != null) {
+                artifact.writeTo(out);
+            } else {
+                renderer.render(out);
+            }
+            out.flush();
+            return;
+        }
+
+        try {
+            Capture capture = new Capture(out, properties.maxEntryBytes(), () -> settle(key, pending, null));
+            renderer.render(capture);
+            artifact = capture.toArtifact(Instant.now());
+            if (artifact != null) {
+                store(key, artifact);
+            }
+        } finally {
+            settle(key, pending, artifact);
+        }
+        if (artifact != null) {
+            artifact.writeTo(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Hands the render's outcome to the requests waiting for it; null tells them to render for themselves.
+     */
+    private void settle(String key, CompletableFuture<Artifact> pending, Artifact artifact) {
+        pending.complete(artifact);
+        inFlight.remove(key, pending);
+    }
+
+    private Artifact lookup(String key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, Artifact artifact) {
+        lock.lock();
+        try {
+            Artifact previous = entries.put(key, artifact);
+            if (previous != null) {
+                cachedBytes.addAndGet(-previous.size());
+            }
+            cachedBytes.addAndGet(artifact.size());
+
+            Iterator<Artifact> eldest = entries.values().iterator();
+            while (cachedBytes.get() > properties.maxBytes() && eldest.hasNext()) {
+                Artifact evicted = eldest.next();
+                eldest.remove();
+                cachedBytes.addAndGet(-evicted.size());
+                evictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps writes in direct chunks until they would exceed {@code limit}. At
+     * that point it runs {@code onOverflow}, passes what it holds on to the
+     * caller's stream and from then on only writes through.
+     */
+    private static final class Capture extends FilterOutputStream {
+        private static final int CHUNK_BYTES = 64 * 1024;
+
+        private final long limit;
+        private final Runnable onOverflow;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private long size;
+        private boolean overflowed;
+
+        Capture(OutputStream out, long limit, Runnable onOverflow) {
+            super(out);
+            this.limit = limit;
+            this.onOverflow = onOverflow;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (overflowed) {
+                out.write(b, off, len);
+                return;
+            }
+            size += len;
+            if (size > limit) {
+                overflowed = true;
+                onOverflow.run();
+                WritableByteChannel channel = Channels.newChannel(out);
+                for (ByteBuffer chunk : chunks) {
+                    channel.write(chunk.flip());
+                }
+                chunks.clear();
+                out.write(b, off, len);
+                return;
+            }
+            while (len > 0) {
+                ByteBuffer tail = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+                if (tail == null || !tail.hasRemaining()) {
+                    tail = ByteBuffer.allocateDirect(CHUNK_BYTES);
+                    chunks.add(tail);
+                }
+                int count = Math.min(len, tail.remaining());
+                tail.put(b, off, count);
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // nothing reaches the caller before the artifact is complete or known to be too large
+            if (overflowed) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        Artifact toArtifact(Instant renderedAt) {
+            if (overflowed) {
+                return null;
+            }
+            List<ByteBuffer> content = new ArrayList<>(chunks.size());
+            for (ByteBuffer chunk : chunks) {
+                content.add(chunk.flip().asReadOnlyBuffer());
+            }
+            if (!content.isEmpty()) {
+                // trim the partly filled last chunk so small artifacts do not hold a full chunk
+                ByteBuffer last = content.remove(content.size() - 1);
+                content.add(ByteBuffer.allocateDirect(last.remaining()).put(last).flip().asReadOnlyBuffer());
+            }
+            return new Artifact(List.copyOf(content), size, renderedAt);
+        }
+    }
+
+    private record Artifact(List<ByteBuffer> content, long size, Instant renderedAt) {
+        void writeTo(OutputStream out) throws IOException {
+            WritableByteChannel channel = Channels.newChannel(out);
+            for (ByteBuffer chunk : content) {
+                channel.write(chunk.duplicate());
+            }
+        }
+    }
+}
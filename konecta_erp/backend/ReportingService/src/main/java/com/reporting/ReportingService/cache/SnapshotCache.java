@@ -0,0 +1,235 @@
+package com.reporting.ReportingService.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Snapshot cache with stale-while-revalidate and request coalescing. Keys are a
+ * small fixed set, one per summary, so entries are never evicted.
+ * <p>
+ * A snapshot younger than the TTL is served as is. Past the TTL, but inside the
+ * stale window, the old snapshot is still served and a single background refresh
+ * is started. Older snapshots are loaded on the caller's thread, and concurrent
+ * callers for the same key wait on that one load instead of starting their own.
+ */
+public class SnapshotCache<K, V> {
+    private final String name;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+    private final Map<K, Snapshot<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter refreshes;
+    private final Counter refreshFailures;
+    private final Logger logger = LoggerFactory.getLogger(SnapshotCache.class);
+
+    public SnapshotCache(String name, Duration ttl, Duration staleWhileRevalidate, Executor refreshExecutor,
+            MeterRegistry registry) {
+        this(name, ttl, staleWhileRevalidate, refreshExecutor, registry, System::nanoTime);
+    }
+
+    SnapshotCache(String name, Duration ttl, Duration staleWhileRevalidate, Executor refreshExecutor,
+            MeterRegistry registry, LongSupplier ticker) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+        this.hits = counter(registry, "reporting.snapshot.cache.requests", "result", "hit");
+        this.staleHits = counter(registry, "reporting.snapshot.cache.requests", "result", "stale");
+        this.misses = counter(registry, "reporting.snapshot.cache.requests", "result", "miss");
+        this.coalesced = counter(registry, "reporting.snapshot.cache.requests", "result", "coalesced");
+        this.refreshes = counter(registry, "reporting.snapshot.cache.refreshes", "outcome", "success");
+        this.refreshFailures = counter(registry, "reporting.snapshot.cache.refreshes", "outcome", "failure");
+        Gauge.builder("reporting.snapshot.cache.size", entries, Map::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Returns the snapshot for {@code key}, loading it with {@code loader} when absent or too old.
+     * Loader failures are rethrown to every caller waiting on that load and nothing is cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        V cached = cached(key, () -> refreshInBackground(key, loader));
+        if (cached != null) {
+            return cached;
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    /**
+     * Non-blocking variant of {@link #get} for loaders that already return a future.
+     * Misses and refreshes share the same coalescing as blocking loads.
+     */
+    public CompletableFuture<V> getAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        V cached = cached(key, () -> refreshAsync(key, loader));
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        misses.increment();
+        return loadAsync(key, loader);
+    }
+
+    /**
+     * Replaces the snapshot for {@code key} without going through a loader.
+     */
+    public void put(K key, V value) {
+        store(key, value);
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Fresh or stale-but-servable snapshot, or null on a miss. {@code onStale} starts the refresh.
+     */
+    private V cached(K key, Runnable onStale) {
+        Snapshot<V> snapshot = entries.get(key);
+        if (snapshot == null) {
+            return null;
+        }
+        long now = ticker.getAsLong();
+        long age = now - snapshot.loadedAt;
+        if (age < ttlNanos) {
+            hits.increment();
+            return snapshot.value;
+        }
+        if (age < ttlNanos + staleNanos) {
+            staleHits.increment();
+            onStale.run();
+            return snapshot.value;
+        }
+        return null;
+    }
+
+    private V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            store(key, value);
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private CompletableFuture<V> loadAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        try {
+            loader.get().whenComplete((value, ex) -> {
+                if (ex == null) {
+                    store(key, value);
+                    pending.complete(value);
+                } else {
+                    pending.completeExceptionally(ex);
+                }
+                inFlight.remove(key, pending);
+            });
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            inFlight.remove(key, pending);
+        }
+        return pending;
+    }
+
+    private void refreshInBackground(K key, Supplier<V> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, loader);
+                    refreshes.increment();
+                } catch (RuntimeException ex) {
+                    refreshFailures.increment();
+                    logger.warn("Background refresh of {} snapshot failed: {}", name, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // refresh pool is busy; the next stale read will try again
+        }
+    }
+
+    private void refreshAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        if (inFlight.containsKey(key)) {
+            return;
+        }
+        loadAsync(key, loader).whenComplete((value, ex) -> {
+            if (ex == null) {
+                refreshes.increment();
+            } else {
+                refreshFailures.increment();
+                logger.warn("Background refresh of {} snapshot failed: {}", name, ex.getMessage());
+            }
+        });
+    }
+
+    private void store(K key, V value) {
+        entries.put(key, new Snapshot<>(value, ticker.getAsLong()));
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(MeterRegistry registry, String meter, String tagKey, String tagValue) {
+        return Counter.builder(meter).tag("cache", name).tag(tagKey, tagValue).register(registry);
+    }
+
+    private record Snapshot<V>(V value, long loadedAt) {
+    }
+}
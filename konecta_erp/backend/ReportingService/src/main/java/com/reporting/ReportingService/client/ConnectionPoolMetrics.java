@@ -0,0 +1,96 @@
+package com.reporting.ReportingService.client;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.ConnPoolControl;
+import org.apache.hc.core5.pool.PoolStats;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Per-downstream gauges over the pooled Feign transport.
+ * <p>
+ * For each summary client the leased, idle and pending connection counts towards its
+ * host are published as {@code reporting.http.pool.connections}, and the share of the
+ * per-route limit in use as {@code reporting.http.pool.saturation}. A saturation of 1
+ * with pending callers means the route limit, not the downstream, is the bottleneck.
+ * The gauges hold this binder strongly since nothing else keeps it reachable.
+ */
+public class ConnectionPoolMetrics implements MeterBinder {
+    private final ConnPoolControl<HttpRoute> pool;
+    private final Map<String, URI> clients;
+
+    /**
+     * @param pool    the connection manager shared by the Feign clients
+     * @param clients base URL of each client, keyed by the {@code client} tag value
+     */
+    public ConnectionPoolMetrics(ConnPoolControl<HttpRoute> pool, Map<String, URI> clients) {
+        this.pool = pool;
+        this.clients = Map.copyOf(clients);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        clients.forEach((client, url) -> {
+            HttpHost target = new HttpHost(url.getScheme(), url.getHost(), port(url));
+            gauge(registry, client, "leased", target, PoolStats::getLeased);
+            gauge(registry, client, "idle", target, PoolStats::getAvailable);
+            gauge(registry, client, "pending", target, PoolStats::getPending);
+            Gauge.builder("reporting.http.pool.saturation", this, metrics -> metrics.saturation(target))
+                    .tag("client", client)
+                    .strongReference(true)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Leased connections towards {@code target} over the per-route limit.
+     */
+    double saturation(HttpHost target) {
+        int leased = 0;
+        int max = 0;
+        for (HttpRoute route : pool.getRoutes()) {
+            if (target.equals(route.getTargetHost())) {
+                PoolStats stats = pool.getStats(route);
+                leased += stats.getLeased();
+                max += stats.getMax();
+            }
+        }
+        if (max == 0) {
+            max = pool.getDefaultMaxPerRoute();
+        }
+        return max == 0 ? 0 : (double) leased / max;
+    }
+
+    int count(HttpHost target, ToIntFunction<PoolStats> field) {
+        int total = 0;
+        for (HttpRoute route : pool.getRoutes()) {
+            if (target.equals(route.getTargetHost())) {
+                total += field.applyAsInt(pool.getStats(route));
+            }
+        }
+        return total;
+    }
+
+    private void gauge(MeterRegistry registry, String client, String state, HttpHost target,
+            ToIntFunction<PoolStats> field) {
+        Gauge.builder("reporting.http.pool.connections", this, metrics -> metrics.count(target, field))
+                .tag("client", client)
+                .tag("state", state)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    private static int port(URI url) {
+        if (url.getPort() != -1) {
+            return url.getPort();
+        }
+        return "https".equalsIgnoreCase(url.getScheme()) ? 443 : 80;
+    }
+}
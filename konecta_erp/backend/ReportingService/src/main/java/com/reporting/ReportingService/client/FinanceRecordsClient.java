@@ -0,0 +1,21 @@
+package com.reporting.ReportingService.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import feign.Response;
+
+/**
+ * Finance list endpoints read by the detail reports and the column store. The raw response is returned
+ * so its body can be parsed while it streams in; callers must close it.
+ */
+@FeignClient(name = "financeRecordsClient", url = "${services.finance.url}")
+public interface FinanceRecordsClient {
+    @GetMapping("/api/invoices")
+    Response invoices(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+
+    @GetMapping("/api/expenses")
+    Response expenses(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+}
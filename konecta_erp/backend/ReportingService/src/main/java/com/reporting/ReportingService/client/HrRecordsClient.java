@@ -0,0 +1,17 @@
+package com.reporting.ReportingService.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import feign.Response;
+
+/**
+ * HR list endpoints read by the detail reports; see {@link FinanceRecordsClient}.
+ */
+@FeignClient(name = "hrRecordsClient", url = "${services.hr.url}")
+public interface HrRecordsClient {
+    @GetMapping("/api/employees")
+    Response employees(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+}
@@ -0,0 +1,22 @@
+package com.reporting.ReportingService.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import feign.Response;
+
+/**
+ * Inventory list endpoints read by the detail reports; see {@link FinanceRecordsClient}.
+ */
+@FeignClient(name = "inventoryRecordsClient", url = "${services.inventory.url}")
+public interface InventoryRecordsClient {
+    @GetMapping("/api/InventoryItems")
+    Response items(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+
+    @GetMapping("/api/StockTransactions")
+    Response stockTransactions(@RequestParam("page") int page, @RequestParam("pageSize") int pageSize,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization);
+}
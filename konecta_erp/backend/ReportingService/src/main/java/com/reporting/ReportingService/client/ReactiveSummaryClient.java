@@ -0,0 +1,73 @@
+package com.reporting.ReportingService.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.reporting.ReportingService.config.ReactiveClientProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of {@link FinanceClient}, {@link HrClient} and
+ * {@link InventoryClient}, calling the same endpoints over Reactor Netty.
+ */
+@Component
+@ConditionalOnProperty(name = "reporting.read-path", havingValue = "reactive")
+public class ReactiveSummaryClient {
+    private final WebClient financeClient;
+    private final WebClient hrClient;
+    private final WebClient inventoryClient;
+    private final ReactiveClientProperties properties;
+
+    public ReactiveSummaryClient(WebClient.Builder builder, ReactiveClientProperties properties,
+            @Value("${services.finance.url}") String financeUrl,
+            @Value("${services.hr.url}") String hrUrl,
+            @Value("${services.inventory.url}") String inventoryUrl) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout());
+        WebClient.Builder configured = builder.clone().clientConnector(new ReactorClientHttpConnector(httpClient));
+
+        this.financeClient = configured.clone().baseUrl(financeUrl).build();
+        this.hrClient = configured.clone().baseUrl(hrUrl).build();
+        this.inventoryClient = configured.clone().baseUrl(inventoryUrl).build();
+        this.properties = properties;
+    }
+
+    public Mono<FinanceSummaryDto> getFinanceSummary() {
+        return get(financeClient, "/api/finance-summary", FinanceSummaryDto.class);
+    }
+
+    public Mono<HrSummaryDto> getHrSummary() {
+        return get(hrClient, "/api/hr-summary", HrSummaryDto.class);
+    }
+
+    public Mono<InventorySummaryDto> getInventorySummary() {
+        return get(inventoryClient, "/api/inventory-summary", InventorySummaryDto.class);
+    }
+
+    private <T> Mono<T> get(WebClient client, String path, Class<T> type) {
+        return client.get()
+                .uri(path)
+                .retrieve()
+                .bodyToMono(type)
+                .retryWhen(Retry.backoff(properties.retries(), properties.retryBackoff())
+                        .filter(ReactiveSummaryClient::isTransient));
+    }
+
+    private static boolean isTransient(Throwable ex) {
+        return ex instanceof WebClientRequestException
+                || (ex instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError());
+    }
+}
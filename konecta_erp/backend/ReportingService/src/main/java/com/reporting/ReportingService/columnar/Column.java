@@ -0,0 +1,13 @@
+package com.reporting.ReportingService.columnar;
+
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * One column of a {@link Dataset}. {@code extractor} reads the value from an
+ * upstream record: a {@code String}, a {@code BigDecimal} or an {@code Instant}
+ * according to {@code type}, or null.
+ */
+public record Column(String name, ColumnType type, Function<ObjectNode, Object> extractor) {
+}
@@ -0,0 +1,255 @@
+package com.reporting.ReportingService.columnar;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A declarative aggregation over one dataset: keep the rows every filter accepts,
+ * group them by up to three string columns and compute the aggregates per group,
+ * then return the top {@code limit} groups in {@code orderBy} order.
+ * <ul>
+ * <li>filters are {@code column:op:value}, with {@code op} one of {@code eq}, {@code ne},
+ * {@code gt}, {@code ge}, {@code lt}, {@code le} or {@code contains} (strings only);
+ * strings compare case-insensitively, times take an ISO date or date-time</li>
+ * <li>aggregates are {@code count}, or {@code sum}, {@code avg}, {@code min} or
+ * {@code max} followed by {@code :column} of a number column ({@code min}/{@code max}
+ * also take time columns)</li>
+ * <li>{@code orderBy} names a group column or an aggregate, optionally followed by
+ * {@code asc} or {@code desc}; by default groups are ranked by the first aggregate,
+ * largest first</li>
+ * </ul>
+ */
+public final class ColumnQuery {
+    static final int MAX_GROUP_COLUMNS = 3;
+
+    private final Dataset dataset;
+    private final List<Filter> filters;
+    private final List<String> groupBy;
+    private final List<Aggregate> aggregates;
+    private final int orderColumn;
+    private final boolean descending;
+    private final int limit;
+
+    private ColumnQuery(Dataset dataset, List<Filter> filters, List<String> groupBy, List<Aggregate> aggregates,
+            int orderColumn, boolean descending, int limit) {
+        this.dataset = dataset;
+        this.filters = filters;
+        this.groupBy = groupBy;
+        this.aggregates = aggregates;
+        this.orderColumn = orderColumn;
+        this.descending = descending;
+        this.limit = limit;
+    }
+
+    /**
+     * @param limit most groups returned; must be between 1 and {@code maxLimit}
+     * @throws IllegalArgumentException naming the first part of the query the dataset cannot answer
+     */
+    public static ColumnQuery parse(Dataset dataset, List<String> filters, List<String> groupBy,
+            List<String> aggregates, String orderBy, int limit, int maxLimit) {
+        List<Filter> parsedFilters = new ArrayList<>();
+        for (String expression : filters) {
+            String[] parts = expression.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Filter must be column:op:value, got " + expression);
+            }
+            Column column = column(dataset, parts[0]);
+            Operator operator = Operator.fromValue(parts[1]);
+            if (operator == Operator.CONTAINS && column.type() != ColumnType.STRING) {
+                throw new IllegalArgumentException("contains applies to string columns only, not " + column.name());
+            }
+            parsedFilters.add(new Filter(column.name(), operator, parts[2]));
+        }
+
+        Set<String> groups = new LinkedHashSet<>();
+        for (String name : groupBy) {
+            Column column = column(dataset, name);
+            if (column.type() != ColumnType.STRING) {
+                throw new IllegalArgumentException("Only string columns can be grouped on, not " + column.name());
+            }
+            groups.add(column.name());
+        }
+        if (groups.size() > MAX_GROUP_COLUMNS) {
+            throw new IllegalArgumentException("At most " + MAX_GROUP_COLUMNS + " group columns are supported");
+        }
+
+        List<Aggregate> parsedAggregates = new ArrayList<>();
+        for (String expression : aggregates.isEmpty() ? List.of("count") : aggregates) {
+            Aggregate aggregate = Aggregate.parse(dataset, expression);
+            if (!parsedAggregates.contains(aggregate)) {
+                parsedAggregates.add(aggregate);
+            }
+        }
+
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+
+        List<String> groupColumns = List.copyOf(groups);
+        int orderColumn = groupColumns.size();
+        boolean descending = true;
+        if (orderBy != null && !orderBy.isBlank()) {
+            String[] parts = orderBy.trim().split("\\s+");
+            if (parts.length > 2 || (parts.length == 2 && !parts[1].equalsIgnoreCase("asc")
+                    && !parts[1].equalsIgnoreCase("desc"))) {
+                throw new IllegalArgumentException("orderBy must be <column or aggregate> [asc|desc], got " + orderBy);
+            }
+            orderColumn = orderIndex(dataset, groupColumns, parsedAggregates, parts[0]);
+            descending = parts.length == 2 ? parts[1].equalsIgnoreCase("desc") : orderColumn >= groupColumns.size();
+        }
+        return new ColumnQuery(dataset, List.copyOf(parsedFilters), groupColumns, List.copyOf(parsedAggregates),
+                orderColumn, descending, limit);
+    }
+
+    public Dataset dataset() {
+        return dataset;
+    }
+
+    /**
+     * Names of the result columns: the group columns, then one per aggregate.
+     */
+    public List<String> columns() {
+        List<String> names = new ArrayList<>(groupBy);
+        for (Aggregate aggregate : aggregates) {
+            names.add(aggregate.toString());
+        }
+        return names;
+    }
+
+    List<Filter> filters() {
+        return filters;
+    }
+
+    List<String> groupBy() {
+        return groupBy;
+    }
+
+    List<Aggregate> aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Index into {@link #columns()} of the column results are ordered by.
+     */
+    int orderColumn() {
+        return orderColumn;
+    }
+
+    boolean descending() {
+        return descending;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    private static int orderIndex(Dataset dataset, List<String> groupColumns, List<Aggregate> aggregates,
+            String expression) {
+        for (int i = 0; i < groupColumns.size(); i++) {
+            if (groupColumns.get(i).equalsIgnoreCase(expression)) {
+                return i;
+            }
+        }
+        int index;
+        try {
+            index = aggregates.indexOf(Aggregate.parse(dataset, expression));
+        } catch (IllegalArgumentException ex) {
+            index = -1;
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("orderBy must name a group column or a requested aggregate, got "
+                    + expression);
+        }
+        return groupColumns.size() + index;
+    }
+
+    private static Column column(Dataset dataset, String name) {
+        String trimmed = name.trim();
+        for (Column column : dataset.columns()) {
+            if (column.name().equalsIgnoreCase(trimmed)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Dataset " + dataset.value() + " has no column " + trimmed);
+    }
+
+    record Filter(String column, Operator operator, String value) {
+    }
+
+    record Aggregate(Operation operation, String column) {
+
+        static Aggregate parse(Dataset dataset, String expression) {
+            String[] parts = expression.trim().split(":", 2);
+            Operation operation = Operation.fromValue(parts[0]);
+            if (operation == Operation.COUNT) {
+                if (parts.length != 1) {
+                    throw new IllegalArgumentException("count takes no column, got " + expression);
+                }
+                return new Aggregate(operation, null);
+            }
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(operation.value() + " needs a column, e.g. "
+                        + operation.value() + ":amount");
+            }
+            Column column = ColumnQuery.column(dataset, parts[1]);
+            boolean allowed = column.type() == ColumnType.NUMBER
+                    || (column.type() == ColumnType.TIME && (operation == Operation.MIN || operation == Operation.MAX));
+            if (!allowed) {
+                throw new IllegalArgumentException(operation.value() + " does not apply to "
+                        + column.type().value() + " column " + column.name());
+            }
+            return new Aggregate(operation, column.name());
+        }
+
+        @Override
+        public String toString() {
+            return column == null ? operation.value() : operation.value() + ":" + column;
+        }
+    }
+
+    enum Operation {
+        COUNT, SUM, AVG, MIN, MAX;
+
+        String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Operation fromValue(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported aggregate: " + value);
+            }
+        }
+    }
+
+    enum Operator {
+        EQ, NE, GT, GE, LT, LE, CONTAINS;
+
+        static Operator fromValue(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported filter operator: " + value);
+            }
+        }
+
+        /**
+         * Whether a value comparing {@code comparison} against the filter value passes.
+         */
+        boolean accepts(int comparison) {
+            return switch (this) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case GT -> comparison > 0;
+                case GE -> comparison >= 0;
+                case LT -> comparison < 0;
+                case LE -> comparison <= 0;
+                case CONTAINS -> throw new IllegalStateException("contains is not a comparison");
+            };
+        }
+    }
+}
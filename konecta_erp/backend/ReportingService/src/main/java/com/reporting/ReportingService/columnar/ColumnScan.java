@@ -0,0 +1,215 @@
+package com.reporting.ReportingService.columnar;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.reporting.ReportingService.columnar.ColumnQuery.Aggregate;
+import com.reporting.ReportingService.columnar.ColumnQuery.Filter;
+import com.reporting.ReportingService.columnar.ColumnQuery.Operation;
+import com.reporting.ReportingService.columnar.ColumnQuery.Operator;
+import com.reporting.ReportingService.util.DotNetDates;
+
+/**
+ * One execution of a {@link ColumnQuery} against a {@link ColumnTable}. Filters
+ * are compiled against the table first: a string filter becomes a per-code
+ * verdict, evaluated once per distinct value rather than once per row, and a
+ * number or time filter a comparison of longs. The row range is then split in
+ * halves on a fork-join pool down to {@code leafRows} rows; each leaf groups into
+ * its own {@link GroupTable} and the tables are merged on the way back up.
+ * <p>
+ * Must be created and run while holding the table's read lock.
+ */
+final class ColumnScan {
+    private final RowFilter[] filters;
+    private final int[][] groupCodes;
+    private final int[] groupNullCodes;
+    private final long[] groupRadix;
+    private final long[][] aggregateValues;
+    private final boolean[] summed;
+    private final BitSet deleted;
+    private final int leafRows;
+
+    ColumnScan(ColumnTable table, ColumnQuery query, int leafRows) {
+        this.leafRows = leafRows;
+        this.deleted = table.deleted();
+
+        List<Filter> queryFilters = query.filters();
+        filters = new RowFilter[queryFilters.size()];
+        for (int i = 0; i < filters.length; i++) {
+            filters[i] = compile(table, queryFilters.get(i));
+        }
+
+        List<String> groupBy = query.groupBy();
+        groupCodes = new int[groupBy.size()][];
+        groupNullCodes = new int[groupBy.size()];
+        groupRadix = new long[groupBy.size()];
+        long combinations = 1;
+        for (int i = 0; i < groupCodes.length; i++) {
+            int column = table.columnIndex(groupBy.get(i));
+            groupCodes[i] = table.codes(column);
+            // rows missing the value get the code after the last dictionary code
+            groupNullCodes[i] = table.dictionary(column).size();
+            groupRadix[i] = combinations;
+            try {
+                combinations = Math.multiplyExact(combinations, groupNullCodes[i] + 1L);
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Too many distinct value combinations to group on " + groupBy);
+            }
+        }
+
+        List<Aggregate> aggregates = query.aggregates();
+        aggregateValues = new long[aggregates.size()][];
+        summed = new boolean[aggregates.size()];
+        for (int i = 0; i < aggregateValues.length; i++) {
+            Aggregate aggregate = aggregates.get(i);
+            aggregateValues[i] = aggregate.column() == null
+                    ? null
+                    : table.numbers(table.columnIndex(aggregate.column()));
+            // only sums and averages need the running total, which for times could overflow
+            summed[i] = aggregate.operation() == Operation.SUM || aggregate.operation() == Operation.AVG;
+        }
+    }
+
+    GroupTable run(ForkJoinPool pool, int rows) {
+        return pool.invoke(new Scan(0, rows));
+    }
+
+    /**
+     * Decodes a packed group key into one dictionary code per group column;
+     * {@link Dictionary#NULL} for a missing value.
+     */
+    int[] groupCodes(long key) {
+        int[] codes = new int[groupCodes.length];
+        for (int i = groupCodes.length - 1; i >= 0; i--) {
+            int code = (int) (key / groupRadix[i]);
+            key %= groupRadix[i];
+            codes[i] = code == groupNullCodes[i] ? Dictionary.NULL : code;
+        }
+        return codes;
+    }
+
+    private GroupTable scan(int from, int to) {
+        GroupTable groups = new GroupTable(aggregateValues.length);
+        rows:
+        for (int row = from; row < to; row++) {
+            if (deleted != null && deleted.get(row)) {
+                continue;
+            }
+            for (RowFilter filter : filters) {
+                if (!filter.test(row)) {
+                    continue rows;
+                }
+            }
+            long key = 0;
+            for (int i = 0; i < groupCodes.length; i++) {
+                int code = groupCodes[i][row];
+                key += (code == Dictionary.NULL ? groupNullCodes[i] : code) * groupRadix[i];
+            }
+            long[] accumulator = groups.accumulator(key);
+            accumulator[0]++;
+            for (int a = 0; a < aggregateValues.length; a++) {
+                long[] values = aggregateValues[a];
+                if (values == null || values[row] == ColumnTable.NULL) {
+                    continue;
+                }
+                long value = values[row];
+                int base = 1 + a * 4;
+                if (summed[a]) {
+                    accumulator[base] = Math.addExact(accumulator[base], value);
+                }
+                accumulator[base + 1]++;
+                if (value < accumulator[base + 2]) {
+                    accumulator[base + 2] = value;
+                }
+                if (value > accumulator[base + 3]) {
+                    accumulator[base + 3] = value;
+                }
+            }
+        }
+        return groups;
+    }
+
+    private static RowFilter compile(ColumnTable table, Filter filter) {
+        int column = table.columnIndex(filter.column());
+        Operator operator = filter.operator();
+        boolean matchesMissing = operator == Operator.NE;
+        if (table.column(column).type() == ColumnType.STRING) {
+            Dictionary dictionary = table.dictionary(column);
+            boolean[] accepted = new boolean[dictionary.size()];
+            String expected = filter.value().toLowerCase(Locale.ROOT);
+            for (int code = 0; code < accepted.length; code++) {
+                String value = dictionary.decode(code);
+                accepted[code] = operator == Operator.CONTAINS
+                        ? value.toLowerCase(Locale.ROOT).contains(expected)
+                        : operator.accepts(value.compareToIgnoreCase(filter.value()));
+            }
+            int[] codes = table.codes(column);
+            return row -> {
+                int code = codes[row];
+                return code == Dictionary.NULL ? matchesMissing : accepted[code];
+            };
+        }
+        long expected = table.column(column).type() == ColumnType.NUMBER
+                ? number(filter)
+                : time(filter);
+        long[] values = table.numbers(column);
+        return row -> {
+            long value = values[row];
+            return value == ColumnTable.NULL ? matchesMissing : operator.accepts(Long.compare(value, expected));
+        };
+    }
+
+    private static long number(Filter filter) {
+        try {
+            long value = ColumnTable.fixedPoint(new BigDecimal(filter.value().trim()));
+            if (value != ColumnTable.NULL) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(filter.column() + " takes a number, got " + filter.value());
+    }
+
+    private static long time(Filter filter) {
+        Instant instant = DotNetDates.instant(filter.value().trim());
+        if (instant == null) {
+            throw new IllegalArgumentException(filter.column() + " takes an ISO date or date-time, got "
+                    + filter.value());
+        }
+        return instant.toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface RowFilter {
+        boolean test(int row);
+    }
+
+    private final class Scan extends RecursiveTask<GroupTable> {
+        private final int from;
+        private final int to;
+
+        Scan(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= leafRows) {
+                return scan(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Scan left = new Scan(from, middle);
+            left.fork();
+            GroupTable groups = new Scan(middle, to).compute();
+            groups.merge(left.join());
+            return groups;
+        }
+    }
+}
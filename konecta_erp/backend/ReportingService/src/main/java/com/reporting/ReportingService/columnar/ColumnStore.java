@@ -0,0 +1,175 @@
+package com.reporting.ReportingService.columnar;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.columnar.ColumnQuery.Aggregate;
+import com.reporting.ReportingService.columnar.ColumnTable.RefreshResult;
+import com.reporting.ReportingService.config.ColumnStoreProperties;
+import com.reporting.ReportingService.detail.RowCursor;
+import com.reporting.ReportingService.dto.AggregationResultDto;
+import com.reporting.ReportingService.dto.DatasetDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Holds one {@link ColumnTable} per {@link Dataset} and answers
+ * {@link ColumnQuery aggregation queries} against them, so a new figure is a
+ * query rather than a new summary field in every service. Tables are filled and
+ * kept current by the {@link ColumnStoreRefresher}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.column-store", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ColumnStore {
+    private final Map<Dataset, ColumnTable> tables = new EnumMap<>(Dataset.class);
+    private final ForkJoinPool scanPool;
+    private final ColumnStoreProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ColumnStore(@Qualifier("columnScanPool") ForkJoinPool scanPool, ColumnStoreProperties properties,
+            MeterRegistry meterRegistry) {
+        this.scanPool = scanPool;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (Dataset dataset : Dataset.values()) {
+            ColumnTable table = new ColumnTable(dataset, properties.batchRows());
+            tables.put(dataset, table);
+            Gauge.builder("reporting.column.store.rows", table, ColumnTable::rowCount)
+                    .tag("dataset", dataset.value())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Applies the current upstream records of {@code dataset}; see {@link ColumnTable#refresh}.
+     */
+    public RefreshResult refresh(Dataset dataset, RowCursor records) throws IOException {
+        return tables.get(dataset).refresh(records);
+    }
+
+    public boolean loaded(Dataset dataset) {
+        return tables.get(dataset).refreshedAt() != null;
+    }
+
+    public DatasetDto describe(Dataset dataset) {
+        ColumnTable table = tables.get(dataset);
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (Column column : dataset.columns()) {
+            columns.put(column.name(), column.type().value());
+        }
+        return new DatasetDto(dataset.value(), table.rowCount(), columns, table.version(), table.refreshedAt());
+    }
+
+    public AggregationResultDto query(ColumnQuery query) {
+        long started = System.nanoTime();
+        ColumnTable table = tables.get(query.dataset());
+        List<String> groupBy = query.groupBy();
+        List<Aggregate> aggregates = query.aggregates();
+        List<List<Object>> rows = new ArrayList<>();
+        long scanned;
+        long[] matched = new long[1];
+        int groupCount;
+        long version;
+        Instant refreshedAt;
+
+        table.readLock().lock();
+        try {
+            version = table.version();
+            refreshedAt = table.refreshedAt();
+            int size = table.size();
+            scanned = size - (table.deleted() == null ? 0 : table.deleted().cardinality());
+            ColumnScan scan = new ColumnScan(table, query, properties.leafRows());
+            GroupTable groups = scan.run(scanPool, size);
+            List<Dictionary> dictionaries = groupBy.stream()
+                    .map(column -> table.dictionary(table.columnIndex(column)))
+                    .toList();
+            List<ColumnType> types = aggregates.stream()
+                    .map(aggregate -> aggregate.column() == null
+                            ? ColumnType.NUMBER
+                            : table.column(table.columnIndex(aggregate.column())).type())
+                    .toList();
+            groups.forEach((key, accumulator) -> {
+                matched[0] += accumulator[0];
+                List<Object> row = new ArrayList<>(groupBy.size() + aggregates.size());
+                int[] codes = scan.groupCodes(key);
+                for (int i = 0; i < codes.length; i++) {
+                    row.add(dictionaries.get(i).decode(codes[i]));
+                }
+                for (int a = 0; a < aggregates.size(); a++) {
+                    row.add(value(aggregates.get(a), types.get(a), accumulator, 1 + a * 4));
+                }
+                rows.add(row);
+            });
+            groupCount = groups.size();
+        } finally {
+            table.readLock().unlock();
+        }
+        if (groupBy.isEmpty() && rows.isEmpty()) {
+            // no row matched: still one result row, as SQL does for an ungrouped aggregate
+            List<Object> row = new ArrayList<>();
+            for (Aggregate aggregate : aggregates) {
+                row.add(aggregate.operation() == ColumnQuery.Operation.COUNT ? 0L : null);
+            }
+            rows.add(row);
+        }
+
+        rows.sort(order(query));
+        List<List<Object>> top = rows.size() > query.limit() ? List.copyOf(rows.subList(0, query.limit())) : rows;
+        long elapsed = System.nanoTime() - started;
+        Timer.builder("reporting.column.store.queries")
+                .tag("dataset", query.dataset().value())
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        return new AggregationResultDto(query.dataset().value(), query.columns(), top, scanned, matched[0],
+                groupCount, version, refreshedAt, elapsed / 1_000_000.0);
+    }
+
+    private static Object value(Aggregate aggregate, ColumnType type, long[] accumulator, int base) {
+        long count = accumulator[base + 1];
+        return switch (aggregate.operation()) {
+            case COUNT -> accumulator[0];
+            case SUM -> ColumnTable.decimal(accumulator[base]);
+            case AVG -> count == 0 ? null : BigDecimal.valueOf(accumulator[base], ColumnTable.SCALE)
+                    .divide(BigDecimal.valueOf(count), ColumnTable.SCALE, RoundingMode.HALF_UP).stripTrailingZeros();
+            case MIN -> count == 0 ? null : typed(type, accumulator[base + 2]);
+            case MAX -> count == 0 ? null : typed(type, accumulator[base + 3]);
+        };
+    }
+
+    private static Object typed(ColumnType type, long value) {
+        return type == ColumnType.TIME ? Instant.ofEpochMilli(value) : ColumnTable.decimal(value);
+    }
+
+    /**
+     * Orders by the requested column, missing values last, then by the group columns.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparator<List<Object>> order(ColumnQuery query) {
+        Comparator<Comparable> values = Comparator.naturalOrder();
+        Comparator<List<Object>> primary = Comparator.comparing(
+                row -> (Comparable) row.get(query.orderColumn()),
+                Comparator.nullsLast(query.descending() ? values.reversed() : values));
+        for (int i = 0; i < query.groupBy().size(); i++) {
+            int column = i;
+            primary = primary.thenComparing(row -> (Comparable) row.get(column), Comparator.nullsLast(values));
+        }
+        return primary;
+    }
+}
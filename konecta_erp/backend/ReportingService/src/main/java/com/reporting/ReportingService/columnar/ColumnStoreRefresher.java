@@ -0,0 +1,72 @@
+package com.reporting.ReportingService.columnar;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.columnar.ColumnTable.RefreshResult;
+import com.reporting.ReportingService.config.ColumnStoreProperties;
+import com.reporting.ReportingService.detail.RecordSource;
+import com.reporting.ReportingService.detail.RowCursor;
+import com.reporting.ReportingService.exception.DetailSourceException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reloads every dataset of the {@link ColumnStore} from its upstream list on a
+ * fixed delay. Records stream through the {@link RecordSource} used by the detail
+ * reports, and only rows whose values changed are written. A dataset whose
+ * service fails keeps its last rows until the next round.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.column-store", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ColumnStoreRefresher {
+    private final Logger logger = LoggerFactory.getLogger(ColumnStoreRefresher.class);
+    private final ColumnStore store;
+    private final RecordSource recordSource;
+    private final String authorization;
+    private final MeterRegistry meterRegistry;
+
+    public ColumnStoreRefresher(ColumnStore store, RecordSource recordSource, ColumnStoreProperties properties,
+            MeterRegistry meterRegistry) {
+        this.store = store;
+        this.recordSource = recordSource;
+        this.authorization = properties.authorization().isBlank() ? null : properties.authorization();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(initialDelayString = "${reporting.column-store.initial-delay:15s}",
+            fixedDelayString = "${reporting.column-store.refresh-interval:5m}")
+    public void refresh() {
+        for (Dataset dataset : Dataset.values()) {
+            refresh(dataset);
+        }
+    }
+
+    void refresh(Dataset dataset) {
+        String outcome = "failed";
+        try (RowCursor records = recordSource.open(dataset.source(), authorization)) {
+            RefreshResult result = store.refresh(dataset, records);
+            count(dataset, "inserted", result.inserted());
+            count(dataset, "updated", result.updated());
+            count(dataset, "deleted", result.deleted());
+            outcome = result.inserted() + result.updated() + result.deleted() > 0 ? "changed" : "unchanged";
+            logger.debug("Refreshed {}: {}", dataset.value(), result);
+        } catch (DetailSourceException | IOException ex) {
+            logger.warn("Could not refresh {}: {}", dataset.value(), ex.getMessage());
+        } finally {
+            meterRegistry.counter("reporting.column.store.refreshes", "dataset", dataset.value(), "outcome", outcome)
+                    .increment();
+        }
+    }
+
+    private void count(Dataset dataset, String change, long rows) {
+        meterRegistry.counter("reporting.column.store.rows.changed", "dataset", dataset.value(), "change", change)
+                .increment(rows);
+    }
+}
@@ -0,0 +1,357 @@
+package com.reporting.ReportingService.columnar;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.detail.RowCursor;
+
+/**
+ * The rows of one {@link Dataset} held column by column in primitive arrays:
+ * an {@code int[]} of dictionary codes per string column and a {@code long[]} per
+ * number or time column. A scan touches only the arrays of the columns a query
+ * names.
+ * <p>
+ * A refresh reads the upstream list and changes only what changed: rows are
+ * matched on the dataset key, an unchanged row is left alone, a changed one is
+ * overwritten in its slot, a new one is appended and a missing one is marked
+ * deleted. Records are decoded outside the lock and applied in batches under the
+ * write lock, so queries, which hold the read lock, wait for one batch at most.
+ * Deleted slots are reclaimed, and unused dictionary values dropped, once they
+ * make up a quarter of the table.
+ */
+final class ColumnTable {
+    /** Decimal places kept for number columns. */
+    static final int SCALE = 4;
+    /** Marks a missing number or time. */
+    static final long NULL = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Dataset dataset;
+    private final List<Column> columns;
+    private final int batchRows;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMonitor = new Object();
+
+    private Dictionary[] dictionaries;
+    private int[][] codes;
+    private long[][] numbers;
+    private String[] keys;
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int size;
+    private int deletedCount;
+    private long version;
+    private Instant refreshedAt;
+
+    ColumnTable(Dataset dataset, int batchRows) {
+        this.dataset = dataset;
+        this.columns = dataset.columns();
+        this.batchRows = batchRows;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    Dataset dataset() {
+        return dataset;
+    }
+
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Slots in use, deleted ones included; scans run over {@code [0, size)}. Read under the read lock.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Deleted slots, or null when there are none. Read under the read lock.
+     */
+    BitSet deleted() {
+        return deletedCount == 0 ? null : deleted;
+    }
+
+    int[] codes(int column) {
+        return codes[column];
+    }
+
+    long[] numbers(int column) {
+        return numbers[column];
+    }
+
+    Dictionary dictionary(int column) {
+        return dictionaries[column];
+    }
+
+    int columnIndex(String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equalsIgnoreCase(name.trim())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    Column column(int index) {
+        return columns.get(index);
+    }
+
+    long rowCount() {
+        lock.readLock().lock();
+        try {
+            return size - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Incremented by every refresh that changed at least one row.
+     */
+    long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * When the last complete refresh finished, or null before the first one.
+     */
+    Instant refreshedAt() {
+        lock.readLock().lock();
+        try {
+            return refreshedAt;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the table in line with the upstream records under {@code records}.
+     * If reading fails part-way, the batches already applied stay and nothing is
+     * deleted; the next refresh completes the picture.
+     */
+    RefreshResult refresh(RowCursor records) throws IOException {
+        synchronized (refreshMonitor) {
+            BitSet seen = new BitSet();
+            long[] counts = new long[3];
+            List<Staged> batch = new ArrayList<>(batchRows);
+            ObjectNode record;
+            while ((record = records.next()) != null) {
+                for (ObjectNode row : dataset.rows(record)) {
+                    String key = dataset.key(row);
+                    if (key != null) {
+                        batch.add(stage(key, row));
+                    }
+                }
+                if (batch.size() >= batchRows) {
+                    apply(batch, seen, counts);
+                    batch.clear();
+                }
+            }
+            apply(batch, seen, counts);
+            return new RefreshResult(counts[0], counts[1], counts[2], finish(seen, counts[0] + counts[1] > 0));
+        }
+    }
+
+    private Staged stage(String key, ObjectNode row) {
+        String[] strings = new String[columns.size()];
+        long[] values = new long[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            Object value = column.extractor().apply(row);
+            switch (column.type()) {
+                case STRING -> strings[i] = (String) value;
+                case NUMBER -> values[i] = fixedPoint((BigDecimal) value);
+                case TIME -> values[i] = value == null ? NULL : ((Instant) value).toEpochMilli();
+            }
+        }
+        return new Staged(key, strings, values);
+    }
+
+    private void apply(List<Staged> batch, BitSet seen, long[] counts) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Staged row : batch) {
+                Integer slot = slots.get(row.key());
+                if (slot == null) {
+                    slot = append(row.key());
+                    write(slot, row);
+                    counts[0]++;
+                } else if (!matches(slot, row)) {
+                    write(slot, row);
+                    counts[1]++;
+                } else {
+                    counts[2]++;
+                }
+                seen.set(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long finish(BitSet seen, boolean changed) {
+        lock.writeLock().lock();
+        try {
+            long removed = 0;
+            for (int slot = seen.nextClearBit(0); slot < size; slot = seen.nextClearBit(slot + 1)) {
+                if (!deleted.get(slot)) {
+                    deleted.set(slot);
+                    slots.remove(keys[slot]);
+                    keys[slot] = null;
+                    deletedCount++;
+                    removed++;
+                }
+            }
+            if (changed || removed > 0) {
+                version++;
+            }
+            if (deletedCount > 0 && deletedCount >= size / 4) {
+                compact();
+            }
+            refreshedAt = Instant.now();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean matches(int slot, Staged row) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).type() == ColumnType.STRING) {
+                int code = dictionaries[i].find(row.strings()[i]);
+                if (code != codes[i][slot]) {
+                    return false;
+                }
+            } else if (numbers[i][slot] != row.values()[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int append(String key) {
+        if (size == keys.length) {
+            grow(keys.length * 2);
+        }
+        int slot = size++;
+        keys[slot] = key;
+        slots.put(key, slot);
+        return slot;
+    }
+
+    private void write(int slot, Staged row) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).type() == ColumnType.STRING) {
+                codes[i][slot] = dictionaries[i].encode(row.strings()[i]);
+            } else {
+                numbers[i][slot] = row.values()[i];
+            }
+        }
+    }
+
+    /**
+     * Moves live rows down over deleted slots and re-encodes string columns so
+     * values no longer used leave their dictionaries.
+     */
+    private void compact() {
+        int live = size - deletedCount;
+        Dictionary[] oldDictionaries = dictionaries;
+        int[][] oldCodes = codes;
+        long[][] oldNumbers = numbers;
+        String[] oldKeys = keys;
+        allocate(Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, live)) * 2));
+        slots.clear();
+        int target = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (deleted.get(slot)) {
+                continue;
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                if (oldCodes[i] != null) {
+                    codes[i][target] = dictionaries[i].encode(oldDictionaries[i].decode(oldCodes[i][slot]));
+                } else {
+                    numbers[i][target] = oldNumbers[i][slot];
+                }
+            }
+            keys[target] = oldKeys[slot];
+            slots.put(oldKeys[slot], target);
+            target++;
+        }
+        size = target;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private void allocate(int capacity) {
+        dictionaries = new Dictionary[columns.size()];
+        codes = new int[columns.size()][];
+        numbers = new long[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).type() == ColumnType.STRING) {
+                dictionaries[i] = new Dictionary();
+                codes[i] = new int[capacity];
+            } else {
+                numbers[i] = new long[capacity];
+            }
+        }
+        keys = new String[capacity];
+    }
+
+    private void grow(int capacity) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (codes[i] != null) {
+                codes[i] = Arrays.copyOf(codes[i], capacity);
+            } else {
+                numbers[i] = Arrays.copyOf(numbers[i], capacity);
+            }
+        }
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    static long fixedPoint(BigDecimal value) {
+        if (value == null) {
+            return NULL;
+        }
+        try {
+            return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException ex) {
+            // beyond what a fixed-point long holds: treated as missing
+            return NULL;
+        }
+    }
+
+    static BigDecimal decimal(long fixedPoint) {
+        BigDecimal value = BigDecimal.valueOf(fixedPoint, SCALE).stripTrailingZeros();
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+
+    /**
+     * What a refresh did: rows added, rows changed in place, rows left as they were and rows removed.
+     */
+    record RefreshResult(long inserted, long updated, long unchanged, long deleted) {
+    }
+
+    private record Staged(String key, String[] strings, long[] values) {
+    }
+}
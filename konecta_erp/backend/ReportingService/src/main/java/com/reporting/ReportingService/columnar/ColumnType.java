@@ -0,0 +1,16 @@
+package com.reporting.ReportingService.columnar;
+
+import java.util.Locale;
+
+/**
+ * How a column is held in a {@link ColumnTable}: strings as dictionary codes in an
+ * {@code int[]}, numbers as fixed-point longs with {@link ColumnTable#SCALE} decimal
+ * places, and times as epoch milliseconds.
+ */
+public enum ColumnType {
+    STRING, NUMBER, TIME;
+
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
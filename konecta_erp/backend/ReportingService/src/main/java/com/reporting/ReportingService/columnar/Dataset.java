@@ -0,0 +1,177 @@
+package com.reporting.ReportingService.columnar;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.detail.RecordSet;
+import com.reporting.ReportingService.util.DotNetDates;
+
+/**
+ * The record lists loaded into the column store, the key that identifies a row
+ * across refreshes, and the columns kept of each record. Free-text fields are
+ * left out; month columns ({@code yyyy-MM}) are derived so time can be grouped on.
+ */
+public enum Dataset {
+    INVOICES("invoices", RecordSet.INVOICES, record -> text(record, "id"), List.of(
+            string("customerName"), string("status"), string("currency"),
+            month("issueMonth", "issueDate"), month("dueMonth", "dueDate"),
+            time("issueDate"), time("dueDate"),
+            number("subtotal"), number("taxAmount"), number("totalAmount"), number("paidAmount"),
+            new Column("balanceDue", ColumnType.NUMBER, invoice -> difference(invoice, "totalAmount", "paidAmount")))),
+    EXPENSES("expenses", RecordSet.EXPENSES, record -> text(record, "id"), List.of(
+            string("category"), string("vendor"), string("status"), string("paymentMethod"),
+            month("incurredMonth", "incurredOn"), time("incurredOn"), number("amount"))),
+    STOCK_LEVELS("stock-levels", RecordSet.INVENTORY_ITEMS,
+            record -> text(record, "id") + "@" + text(record, "warehouseId"), List.of(
+            string("sku"), string("itemName"), string("category"), string("itemStatus"), string("unitOfMeasure"),
+            string("warehouseCode"), string("warehouseName"),
+            number("quantityOnHand"), number("quantityReserved"), number("availableQuantity"),
+            number("reorderQuantity"), number("safetyStockLevel"), number("reorderPoint"),
+            number("standardCost"), number("unitPrice"),
+            new Column("stockValue", ColumnType.NUMBER, level -> product(level, "quantityOnHand", "standardCost")))) {
+        /**
+         * One row per item and warehouse, carrying the item's fields.
+         */
+        @Override
+        List<ObjectNode> rows(ObjectNode item) {
+            List<ObjectNode> rows = new ArrayList<>();
+            for (JsonNode level : item.path("stockLevels")) {
+                if (level instanceof ObjectNode stockLevel) {
+                    ObjectNode row = item.deepCopy();
+                    row.remove("stockLevels");
+                    row.set("itemName", item.get("name"));
+                    row.set("itemStatus", item.get("status"));
+                    row.setAll(stockLevel);
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+    },
+    EMPLOYEES("employees", RecordSet.EMPLOYEES, record -> text(record, "id"), List.of(
+            string("departmentName"), string("position"),
+            new Column("status", ColumnType.STRING, employee -> employmentStatus(employee.get("status"))),
+            month("hireMonth", "hireDate"), time("hireDate"), time("exitDate"), number("salary")));
+
+    // EmploymentStatus as HrService serializes it: ordinals, or names with a string enum converter
+    private static final List<String> EMPLOYMENT_STATUSES = List.of("Active", "OnLeave", "Resigned", "Terminated");
+
+    private final String value;
+    private final RecordSet source;
+    private final Function<ObjectNode, String> key;
+    private final List<Column> columns;
+
+    Dataset(String value, RecordSet source, Function<ObjectNode, String> key, List<Column> columns) {
+        this.value = value;
+        this.source = source;
+        this.key = key;
+        this.columns = columns;
+    }
+
+    /**
+     * Splits one upstream record into the rows it contributes; one row by default.
+     */
+    List<ObjectNode> rows(ObjectNode record) {
+        return List.of(record);
+    }
+
+    String key(ObjectNode row) {
+        return key.apply(row);
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public RecordSet source() {
+        return source;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    /**
+     * Accepts the dataset name, e.g. {@code stock-levels}, or the enum name, case-insensitively.
+     */
+    public static Dataset fromValue(String value) {
+        String normalized = value.trim();
+        for (Dataset dataset : values()) {
+            if (dataset.value.equalsIgnoreCase(normalized) || dataset.name().equalsIgnoreCase(normalized)) {
+                return dataset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown dataset: " + value);
+    }
+
+    private static Column string(String field) {
+        return new Column(field, ColumnType.STRING, record -> text(record, field));
+    }
+
+    private static Column number(String field) {
+        return new Column(field, ColumnType.NUMBER, record -> decimal(record, field));
+    }
+
+    private static Column time(String field) {
+        return new Column(field, ColumnType.TIME, record -> DotNetDates.instant(text(record, field)));
+    }
+
+    private static Column month(String name, String field) {
+        return new Column(name, ColumnType.STRING, record -> {
+            Instant instant = DotNetDates.instant(text(record, field));
+            return instant == null ? null : YearMonth.from(instant.atOffset(ZoneOffset.UTC)).toString();
+        });
+    }
+
+    private static String text(ObjectNode record, String field) {
+        JsonNode value = record.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static BigDecimal decimal(ObjectNode record, String field) {
+        JsonNode value = record.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            return value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText().trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static BigDecimal difference(ObjectNode record, String minuend, String subtrahend) {
+        BigDecimal left = decimal(record, minuend);
+        BigDecimal right = decimal(record, subtrahend);
+        return left == null ? null : right == null ? left : left.subtract(right);
+    }
+
+    private static BigDecimal product(ObjectNode record, String left, String right) {
+        BigDecimal a = decimal(record, left);
+        BigDecimal b = decimal(record, right);
+        return a == null || b == null ? null : a.multiply(b);
+    }
+
+    private static String employmentStatus(JsonNode status) {
+        if (status == null || status.isNull()) {
+            return null;
+        }
+        if (status.isInt() && status.intValue() >= 0 && status.intValue() < EMPLOYMENT_STATUSES.size()) {
+            return EMPLOYMENT_STATUSES.get(status.intValue());
+        }
+        String name = status.asText();
+        for (String known : EMPLOYMENT_STATUSES) {
+            if (known.equalsIgnoreCase(name)) {
+                return known;
+            }
+        }
+        return name;
+    }
+}
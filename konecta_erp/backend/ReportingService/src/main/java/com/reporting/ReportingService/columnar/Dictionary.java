@@ -0,0 +1,51 @@
+package com.reporting.ReportingService.columnar;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for one string column: each distinct value is stored once
+ * and rows hold its code. Codes are dense, so per-value state can be kept in an
+ * array indexed by code. Not thread-safe; {@link ColumnTable} guards it.
+ */
+final class Dictionary {
+    static final int NULL = -1;
+    static final int ABSENT = -2;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code of {@code value} without adding it, or {@link #ABSENT} when it has none.
+     */
+    int find(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        return code == null ? ABSENT : code;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
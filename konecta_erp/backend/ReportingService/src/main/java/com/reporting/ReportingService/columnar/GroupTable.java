@@ -0,0 +1,110 @@
+package com.reporting.ReportingService.columnar;
+
+/**
+ * Open-addressing map from a packed group key to its accumulator row, so the
+ * per-row work of a scan is a multiply-shift hash and a few array writes with no
+ * boxing. Accumulator layout: {@code [rows, (sum, count, min, max) per aggregate]}.
+ */
+final class GroupTable {
+    private final int aggregates;
+    private long[] keys;
+    private long[][] accumulators;
+    private int size;
+
+    GroupTable(int aggregates) {
+        this.aggregates = aggregates;
+        this.keys = new long[16];
+        this.accumulators = new long[16][];
+    }
+
+    /**
+     * Returns the accumulator row of {@code key}, creating an empty one on first use.
+     */
+    long[] accumulator(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (accumulators[index] != null) {
+            if (keys[index] == key) {
+                return accumulators[index];
+            }
+            index = (index + 1) & mask;
+        }
+        long[] accumulator = empty();
+        keys[index] = key;
+        accumulators[index] = accumulator;
+        if (++size * 2 > keys.length) {
+            resize();
+        }
+        return accumulator;
+    }
+
+    /**
+     * Folds {@code other}'s groups into this table.
+     */
+    void merge(GroupTable other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            long[] source = other.accumulators[i];
+            if (source == null) {
+                continue;
+            }
+            long[] target = accumulator(other.keys[i]);
+            target[0] += source[0];
+            for (int a = 0; a < aggregates; a++) {
+                int base = 1 + a * 4;
+                target[base] = Math.addExact(target[base], source[base]);
+                target[base + 1] += source[base + 1];
+                target[base + 2] = Math.min(target[base + 2], source[base + 2]);
+                target[base + 3] = Math.max(target[base + 3], source[base + 3]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(GroupConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (accumulators[i] != null) {
+                consumer.accept(keys[i], accumulators[i]);
+            }
+        }
+    }
+
+    private long[] empty() {
+        long[] accumulator = new long[1 + aggregates * 4];
+        for (int a = 0; a < aggregates; a++) {
+            accumulator[1 + a * 4 + 2] = Long.MAX_VALUE;
+            accumulator[1 + a * 4 + 3] = Long.MIN_VALUE;
+        }
+        return accumulator;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[][] oldAccumulators = accumulators;
+        keys = new long[oldKeys.length * 2];
+        accumulators = new long[oldKeys.length * 2][];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldAccumulators[i] != null) {
+                int index = hash(oldKeys[i]) & mask;
+                while (accumulators[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                accumulators[index] = oldAccumulators[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    @FunctionalInterface
+    interface GroupConsumer {
+        void accept(long key, long[] accumulator);
+    }
+}
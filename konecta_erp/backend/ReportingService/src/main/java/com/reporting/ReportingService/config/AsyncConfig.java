@@ -0,0 +1,215 @@
+package com.reporting.ReportingService.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Executors for the overview fan-out, snapshot refreshes, overview stream writes
+ * and scheduling, export rendering, report section preparation, detail report page prefetching
+ * and column store scans.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime the fan-out
+ * and refresh executors start a virtual thread per task, and export workers are
+ * virtual threads. On Java 17, or with the property off, the bounded platform pools
+ * are used.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bounded pool used to call the finance, HR and inventory services concurrently.
+     * When it is saturated the requesting thread makes the call itself rather than
+     * queueing without limit.
+     */
+    @Bean(name = "overviewExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor overviewExecutor(OverviewProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("overview-");
+        executor.setCorePoolSize(properties.poolSize());
+        executor.setMaxPoolSize(properties.poolSize());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool for stale-while-revalidate refreshes of the summary snapshots.
+     * Refreshes are skipped, not queued, when it is busy.
+     */
+    @Bean(name = "snapshotRefreshExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor snapshotRefreshExecutor(SnapshotCacheProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("snapshot-refresh-");
+        executor.setCorePoolSize(properties.refreshPoolSize());
+        executor.setMaxPoolSize(properties.refreshPoolSize());
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Virtual-thread fan-out. Each section call gets its own virtual thread, so there
+     * is no pool to saturate; the per-source and overall timeouts still apply.
+     */
+    @Bean(name = "overviewExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualOverviewExecutor() {
+        return virtualExecutor("overview-");
+    }
+
+    /**
+     * Virtual-thread refreshes. Refreshes are already coalesced per snapshot key,
+     * so at most one runs per cached summary.
+     */
+    @Bean(name = "snapshotRefreshExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualSnapshotRefreshExecutor() {
+        return virtualExecutor("snapshot-refresh-");
+    }
+
+    /**
+     * Export render workers. The queue orders jobs by priority; its capacity is
+     * enforced by the job service, which rejects submissions when it is full.
+     * The worker count stays bounded in virtual mode because rendering is CPU bound.
+     */
+    @Bean(name = "exportExecutor", destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor exportExecutor(ExportProperties properties, Environment environment) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("export-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("export-");
+        return new ThreadPoolExecutor(properties.workerThreads(), properties.workerThreads(), 0L,
+                TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), threadFactory);
+    }
+
+    /**
+     * Writes overview stream events. Each subscriber has at most one task queued or
+     * running, so the queue never holds more than the subscriber limit.
+     */
+    @Bean(name = "overviewStreamExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor overviewStreamExecutor(OverviewStreamProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("overview-stream-");
+        executor.setCorePoolSize(properties.senderThreads());
+        executor.setMaxPoolSize(properties.senderThreads());
+        executor.setQueueCapacity(properties.maxSubscribers() + 1);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the overview stream's refreshes and heartbeats apart from the shared
+     * scheduler, whose single thread the column store, pre-render, KPI and trend
+     * jobs can hold for tens of seconds. With two threads a slow refresh does not
+     * hold up heartbeats and slow-consumer eviction either. It is not a default
+     * candidate, so Boot still sets up the shared {@code taskScheduler}.
+     */
+    @Bean(name = "overviewStreamScheduler", defaultCandidate = false)
+    public ThreadPoolTaskScheduler overviewStreamScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("overview-stream-scheduler-");
+        scheduler.setPoolSize(2);
+        return scheduler;
+    }
+
+    /**
+     * Virtual-thread stream writes, so a subscriber stuck in a blocking write does
+     * not hold up the others.
+     */
+    @Bean(name = "overviewStreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualOverviewStreamExecutor() {
+        return virtualExecutor("overview-stream-");
+    }
+
+    /**
+     * Prepares report sections. With every worker busy the section is prepared by
+     * the thread assembling the report instead.
+     */
+    @Bean(name = "reportSectionExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor reportSectionExecutor(ReportSectionProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("report-section-");
+        executor.setCorePoolSize(properties.threads());
+        executor.setMaxPoolSize(properties.threads());
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "reportSectionExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualReportSectionExecutor() {
+        return virtualExecutor("report-section-");
+    }
+
+    /**
+     * Fetches the next page of a paged detail report source. With every worker busy
+     * the page is fetched by the writing thread when it is needed instead.
+     */
+    @Bean(name = "detailPageExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor detailPageExecutor(DetailReportProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("detail-page-");
+        executor.setCorePoolSize(properties.prefetchThreads());
+        executor.setMaxPoolSize(properties.prefetchThreads());
+        executor.setQueueCapacity(0);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "detailPageExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualDetailPageExecutor() {
+        return virtualExecutor("detail-page-");
+    }
+
+    /**
+     * Scans column store tables. Scans are CPU bound, so the pool stays sized to the
+     * processors in virtual mode too.
+     */
+    @Bean(name = "columnScanPool", destroyMethod = "shutdownNow")
+    public ForkJoinPool columnScanPool(ColumnStoreProperties properties) {
+        int parallelism = properties.parallelism() > 0
+                ? properties.parallelism()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threads = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("column-scan-" + threads.incrementAndGet());
+            return thread;
+        }, null, false);
+    }
+
+    private static SimpleAsyncTaskExecutor virtualExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory column store behind {@code /api/reports/query}.
+ *
+ * @param enabled         whether the upstream lists are loaded and the query endpoint answers
+ * @param authorization   Authorization header value sent with refresh reads, e.g. a service account's
+ *                        bearer token; the list endpoints authorize those reads like any other
+ * @param initialDelay    delay before the first load after startup
+ * @param refreshInterval pause between the end of one refresh of every dataset and the next
+ * @param batchRows       rows applied per write-lock acquisition during a refresh
+ * @param parallelism     fork-join workers scanning a table; 0 for one per available processor
+ * @param leafRows        rows below which a scan stops splitting and runs on one worker
+ * @param maxLimit        most groups one query may return
+ */
+@ConfigurationProperties(prefix = "reporting.column-store")
+public record ColumnStoreProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("") String authorization,
+        @DefaultValue("15s") Duration initialDelay,
+        @DefaultValue("5m") Duration refreshInterval,
+        @DefaultValue("4096") int batchRows,
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("16384") int leafRows,
+        @DefaultValue("10000") int maxLimit) {
+}
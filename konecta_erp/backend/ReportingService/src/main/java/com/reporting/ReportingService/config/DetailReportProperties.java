@@ -0,0 +1,20 @@
+package com.reporting.ReportingService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Detail reports streamed from {@code /api/reports/details/{report}}.
+ *
+ * @param pageSize       records requested per page from paged upstream endpoints
+ * @param prefetchThreads platform threads fetching the next page while the current one is written
+ * @param flushRows      rows written between flushes; a flush is also where a disconnected client is noticed
+ * @param maxRows        rows after which a report is cut off; the body then ends with a truncation marker
+ */
+@ConfigurationProperties(prefix = "reporting.details")
+public record DetailReportProperties(
+        @DefaultValue("200") int pageSize,
+        @DefaultValue("4") int prefetchThreads,
+        @DefaultValue("256") int flushRows,
+        @DefaultValue("1000000") long maxRows) {
+}
@@ -0,0 +1,27 @@
+package com.reporting.ReportingService.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Asynchronous export jobs and the local store their artifacts are written to.
+ *
+ * @param workerThreads   concurrent renders
+ * @param queueCapacity   jobs allowed to wait for a worker before submissions are rejected
+ * @param storageDir      directory holding rendered artifacts, emptied on startup; defaults to a temp directory
+ * @param retention       how long a finished artifact stays downloadable
+ * @param maxStorageBytes total artifact size kept before the oldest are evicted
+ * @param cleanupInterval how often retention and size limits are enforced
+ */
+@ConfigurationProperties(prefix = "reporting.export")
+public record ExportProperties(
+        @DefaultValue("2") int workerThreads,
+        @DefaultValue("32") int queueCapacity,
+        Path storageDir,
+        @DefaultValue("1h") Duration retention,
+        @DefaultValue("536870912") long maxStorageBytes,
+        @DefaultValue("5m") Duration cleanupInterval) {
+}
@@ -0,0 +1,51 @@
+package com.reporting.ReportingService.config;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.reporting.ReportingService.client.ConnectionPoolMetrics;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Metrics for the Feign transport selected under {@code spring.cloud.openfeign}.
+ * <p>
+ * The default transport is Apache HttpClient 5 with one keep-alive pool shared by the
+ * finance, HR and inventory clients; its totals and per-client saturation are
+ * published here. Request timers come from the Feign Micrometer capability
+ * ({@code http.client.requests}). With {@code http2client.enabled} the JDK client is
+ * used instead, and only the request timers are recorded because it exposes no pool.
+ */
+@Configuration
+public class FeignTransportConfig {
+    private static final List<String> CLIENTS = List.of("finance", "hr", "inventory");
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager,
+            Environment environment) {
+        return registry -> {
+            if (!(connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool)) {
+                return;
+            }
+            new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            Map<String, URI> clients = new LinkedHashMap<>();
+            for (String client : CLIENTS) {
+                String url = environment.getProperty("services." + client + ".url");
+                if (url != null) {
+                    clients.put(client, URI.create(url));
+                }
+            }
+            new ConnectionPoolMetrics(pool, clients).bindTo(registry);
+        };
+    }
+}
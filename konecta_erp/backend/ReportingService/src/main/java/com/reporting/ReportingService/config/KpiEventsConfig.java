@@ -0,0 +1,60 @@
+package com.reporting.ReportingService.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.reporting.ReportingService.kpi.KpiEventListener;
+
+/**
+ * Queue and listener feeding the KPI ledger. The queue is durable and bound to the
+ * {@code konecta.erp} topic exchange the other services publish to, so events sent
+ * while this service is down are applied when it comes back.
+ * <p>
+ * Messages are acknowledged after they are applied. Redelivered ones are
+ * recognized by the ledger, so nothing is done twice.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class KpiEventsConfig {
+
+    @Bean
+    public Declarables kpiEventBindings(KpiEventsProperties properties) {
+        // declared the way the publishers declare it, or the broker rejects the redeclaration
+        TopicExchange exchange = new TopicExchange(properties.exchange(), true, false);
+        Queue queue = QueueBuilder.durable(properties.queue()).build();
+        List<Declarable> declarables = new ArrayList<>(List.of(exchange, queue));
+        for (String pattern : KpiEventListener.BINDINGS) {
+            Binding binding = BindingBuilder.bind(queue).to(exchange).with(pattern);
+            declarables.add(binding);
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public SimpleMessageListenerContainer kpiEventListenerContainer(ConnectionFactory connectionFactory,
+            KpiEventListener listener, KpiEventsProperties properties) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer(connectionFactory);
+        container.setQueueNames(properties.queue());
+        container.setMessageListener(listener);
+        container.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        container.setConcurrentConsumers(properties.concurrency());
+        container.setPrefetchCount(250);
+        // keep retrying while the broker is unreachable instead of failing startup
+        container.setMissingQueuesFatal(false);
+        return container;
+    }
+}
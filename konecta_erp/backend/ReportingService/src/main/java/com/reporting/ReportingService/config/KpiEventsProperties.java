@@ -0,0 +1,33 @@
+package com.reporting.ReportingService.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Incremental KPI figures maintained from domain events on the {@code konecta.erp} exchange.
+ *
+ * @param enabled                 whether events are consumed and summaries are served from the ledger
+ * @param exchange                topic exchange the domain events are published on
+ * @param queue                   durable queue bound for this service; events published while it is down wait there
+ * @param concurrency             listener threads; events only add to or subtract from figures, so delivery order does not matter
+ * @param reconcileInitialDelay   delay before the first reconciliation after startup
+ * @param reconcileInterval       how often the ledger is replaced by the figures from the summary endpoints
+ * @param checkpointPath          file the ledger is snapshotted to and restored from on startup
+ * @param checkpointInterval      how often a changed ledger is written to the checkpoint
+ * @param dedupeCapacity          most recent event keys remembered to drop redelivered events
+ */
+@ConfigurationProperties(prefix = "reporting.kpi-events")
+public record KpiEventsProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("konecta.erp") String exchange,
+        @DefaultValue("reporting.kpi-events") String queue,
+        @DefaultValue("1") int concurrency,
+        @DefaultValue("5s") Duration reconcileInitialDelay,
+        @DefaultValue("5m") Duration reconcileInterval,
+        Path checkpointPath,
+        @DefaultValue("30s") Duration checkpointInterval,
+        @DefaultValue("50000") int dedupeCapacity) {
+}
@@ -0,0 +1,22 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Deadlines and pool sizing for the parallel overview fan-out.
+ *
+ * @param sourceTimeout  how long a single downstream summary call may take before its section is reported partial
+ * @param overallTimeout upper bound for the whole overview, regardless of per-source deadlines
+ * @param poolSize       worker threads shared by all fan-out calls
+ * @param queueCapacity  pending calls allowed before new ones are rejected and made on the requesting thread
+ */
+@ConfigurationProperties(prefix = "reporting.overview")
+public record OverviewProperties(
+        @DefaultValue("5s") Duration sourceTimeout,
+        @DefaultValue("6s") Duration overallTimeout,
+        @DefaultValue("12") int poolSize,
+        @DefaultValue("64") int queueCapacity) {
+}
@@ -0,0 +1,30 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Server-Sent Events push of overview changes on {@code /api/reports/overview/stream}.
+ *
+ * @param refreshInterval     how often the overview is rebuilt while anyone is subscribed
+ * @param heartbeatInterval   idle subscribers get a comment line this often to keep proxies from closing them
+ * @param reconnectDelay      {@code retry} hint sent to clients for reconnecting after a drop
+ * @param maxConnectionAge    streams are closed after this long; clients reconnect with {@code Last-Event-ID}
+ * @param maxSubscribers      open streams allowed at once; further subscriptions get 503
+ * @param senderThreads       platform threads writing events to subscribers; a write stalled on a client holds
+ *                            its thread until the container's write timeout, even once the subscriber has
+ *                            been dropped as slow, so this must exceed the clients expected to stall at once
+ * @param slowConsumerTimeout a subscriber still busy with one write after this long is disconnected
+ */
+@ConfigurationProperties(prefix = "reporting.overview-stream")
+public record OverviewStreamProperties(
+        @DefaultValue("30s") Duration refreshInterval,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("5s") Duration reconnectDelay,
+        @DefaultValue("30m") Duration maxConnectionAge,
+        @DefaultValue("10000") int maxSubscribers,
+        @DefaultValue("4") int senderThreads,
+        @DefaultValue("10s") Duration slowConsumerTimeout) {
+}
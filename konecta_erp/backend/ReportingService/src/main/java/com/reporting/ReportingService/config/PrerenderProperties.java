@@ -0,0 +1,22 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Pre-rendering of the standard PDF and Excel exports into the render cache.
+ *
+ * @param enabled       whether the reports are rendered at startup and on {@code cron}
+ * @param cron          when to render them again; {@code -} renders at startup only
+ * @param zone          time zone {@code cron} is read in
+ * @param warmUpTimeout longest the service reports out of service while the startup render runs
+ */
+@ConfigurationProperties(prefix = "reporting.prerender")
+public record PrerenderProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 */15 * * * *") String cron,
+        @DefaultValue("UTC") String zone,
+        @DefaultValue("2m") Duration warmUpTimeout) {
+}
@@ -0,0 +1,22 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * WebClient settings used when {@code reporting.read-path=reactive}.
+ *
+ * @param connectTimeout  TCP connect timeout towards the summary services
+ * @param responseTimeout time allowed for a response once connected
+ * @param retries         extra attempts after a connection failure or 5xx
+ * @param retryBackoff    first backoff between attempts; doubles with jitter afterwards
+ */
+@ConfigurationProperties(prefix = "reporting.reactive")
+public record ReactiveClientProperties(
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("10s") Duration responseTimeout,
+        @DefaultValue("1") int retries,
+        @DefaultValue("100ms") Duration retryBackoff) {
+}
@@ -0,0 +1,17 @@
+package com.reporting.ReportingService.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Off-heap cache of rendered export files, keyed by report content.
+ *
+ * @param maxBytes      total size of cached artifacts before the least recently used are dropped
+ * @param maxEntryBytes artifacts larger than this are streamed to the caller but not cached; it also
+ *                      bounds what a miss buffers before any of it is sent
+ */
+@ConfigurationProperties(prefix = "reporting.render-cache")
+public record RenderCacheProperties(
+        @DefaultValue("67108864") long maxBytes,
+        @DefaultValue("8388608") long maxEntryBytes) {
+}
@@ -0,0 +1,19 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Preparation of the exported report's sections.
+ *
+ * @param threads worker threads preparing sections; with all of them busy a section is prepared by the caller,
+ *                which {@code timeout} does not bound
+ * @param timeout how long the report waits for its sections; sections not ready by then are left out
+ */
+@ConfigurationProperties(prefix = "reporting.sections")
+public record ReportSectionProperties(
+        @DefaultValue("4") int threads,
+        @DefaultValue("10s") Duration timeout) {
+}
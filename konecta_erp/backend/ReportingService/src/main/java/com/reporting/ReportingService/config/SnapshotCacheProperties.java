@@ -0,0 +1,20 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Caching of the per-source summary snapshots.
+ *
+ * @param ttl                  age up to which a snapshot is served without contacting the source
+ * @param staleWhileRevalidate extra age during which the old snapshot is still served while a background refresh runs
+ * @param refreshPoolSize      threads available for background refreshes
+ */
+@ConfigurationProperties(prefix = "reporting.snapshot-cache")
+public record SnapshotCacheProperties(
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("2m") Duration staleWhileRevalidate,
+        @DefaultValue("3") int refreshPoolSize) {
+}
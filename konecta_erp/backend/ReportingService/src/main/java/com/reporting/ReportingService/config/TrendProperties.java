@@ -0,0 +1,29 @@
+package com.reporting.ReportingService.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Local history of the overview figures behind the trend endpoints.
+ *
+ * @param enabled        whether overviews are sampled into the store
+ * @param storageDir     directory holding the segment files; kept across restarts
+ * @param initialDelay   delay before the first sample after startup
+ * @param sampleInterval how often an overview is recorded
+ * @param segmentRows    samples per segment file before a new one is started
+ * @param retention      segments whose newest sample is older than this are deleted
+ * @param maxPoints      most buckets a single trend query may return
+ */
+@ConfigurationProperties(prefix = "reporting.trends")
+public record TrendProperties(
+        @DefaultValue("true") boolean enabled,
+        Path storageDir,
+        @DefaultValue("30s") Duration initialDelay,
+        @DefaultValue("5m") Duration sampleInterval,
+        @DefaultValue("8192") int segmentRows,
+        @DefaultValue("400d") Duration retention,
+        @DefaultValue("2000") int maxPoints) {
+}
@@ -0,0 +1,18 @@
+package com.reporting.ReportingService.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Diagnostics for the virtual-thread execution mode.
+ *
+ * @param pinnedThreshold a virtual thread pinned to its carrier for at least this long is recorded
+ * @param maxLoggedStacks distinct pinning stacks logged in full; later ones are only counted
+ */
+@ConfigurationProperties(prefix = "reporting.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("20ms") Duration pinnedThreshold,
+        @DefaultValue("32") int maxLoggedStacks) {
+}
@@ -0,0 +1,88 @@
+package com.reporting.ReportingService.controller;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.reporting.ReportingService.detail.DetailFormat;
+import com.reporting.ReportingService.detail.DetailReport;
+import com.reporting.ReportingService.detail.DetailReportService;
+import com.reporting.ReportingService.detail.DetailReportService.OpenReport;
+import com.reporting.ReportingService.detail.RowQuery;
+import com.reporting.ReportingService.dto.DetailReportDto;
+import com.reporting.ReportingService.exception.DetailSourceException;
+
+@RestController
+@RequestMapping("/api/reports/details")
+public class DetailReportsController {
+    private final DetailReportService detailReportService;
+
+    public DetailReportsController(DetailReportService detailReportService) {
+        this.detailReportService = detailReportService;
+    }
+
+    @GetMapping
+    public List<DetailReportDto> list() {
+        return Arrays.stream(DetailReport.values())
+                .map(report -> new DetailReportDto(report.value(), report.description(), report.columns()))
+                .toList();
+    }
+
+    /**
+     * Streams one row per line as NDJSON, or CSV with a header row. Rows can be
+     * narrowed with {@code filter=column:op:value} (repeatable) and
+     * {@code fields=a,b,c}; both are applied here, before anything is written.
+     * Filters are read as sent, never split on commas, which values may contain.
+     * A report longer than {@code reporting.details.max-rows} ends with a
+     * truncation marker line rather than an error, as the 200 is already sent.
+     */
+    @GetMapping("/{report}")
+    public ResponseEntity<StreamingResponseBody> stream(@PathVariable String report,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam MultiValueMap<String, String> parameters,
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization)
+            throws IOException {
+        DetailReport detailReport;
+        DetailFormat detailFormat;
+        RowQuery query;
+        List<String> filters = parameters.getOrDefault("filter", List.of());
+        try {
+            detailReport = DetailReport.fromValue(report);
+            detailFormat = DetailFormat.fromValue(format);
+            query = RowQuery.parse(detailReport, filters, fields);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+
+        OpenReport rows;
+        try {
+            rows = detailReportService.open(detailReport, query, authorization);
+        } catch (DetailSourceException ex) {
+            if (ex.status() == HttpStatus.UNAUTHORIZED.value() || ex.status() == HttpStatus.FORBIDDEN.value()) {
+                throw new ResponseStatusException(HttpStatus.valueOf(ex.status()), ex.getMessage());
+            }
+            throw ex;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(detailFormat.mediaType());
+        if (detailFormat == DetailFormat.CSV) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=" + detailReport.value() + "." + detailFormat.extension());
+        }
+        return response.body(out -> rows.writeTo(detailFormat, out));
+    }
+}
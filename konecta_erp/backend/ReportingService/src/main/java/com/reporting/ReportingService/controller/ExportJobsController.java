@@ -0,0 +1,102 @@
+package com.reporting.ReportingService.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Optional;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.reporting.ReportingService.dto.ExportJobDto;
+import com.reporting.ReportingService.export.ExportFormat;
+import com.reporting.ReportingService.export.ExportJob;
+import com.reporting.ReportingService.export.ExportPriority;
+import com.reporting.ReportingService.export.ExportStatus;
+import com.reporting.ReportingService.export.ReportJobService;
+
+/**
+ * Job status and artifacts belong to the caller who submitted the job and change
+ * while it runs, so every response is sent {@code no-store}; shared caches such
+ * as the gateway's must neither keep nor replay them.
+ */
+@RestController
+@RequestMapping("/api/reports/export/jobs")
+public class ExportJobsController {
+    private final ReportJobService jobService;
+
+    public ExportJobsController(ReportJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ExportJobDto> submit(@RequestParam String format,
+            @RequestParam(defaultValue = "normal") String priority) {
+        ExportJob job = jobService.submit(parseFormat(format), parsePriority(priority));
+        return ResponseEntity.accepted()
+                .cacheControl(CacheControl.noStore())
+                .location(URI.create("/api/reports/export/jobs/" + job.id()))
+                .body(job.toDto());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobDto> status(@PathVariable String id) {
+        return jobService.find(id)
+                .map(job -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(job.toDto()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Serves a finished artifact. The file is opened before the response is
+     * built, so eviction running while it streams cannot cut the download short;
+     * a job evicted between the lookup and the open is reported as gone.
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<?> download(@PathVariable String id) throws IOException {
+        ExportJob job = jobService.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (job.status() != ExportStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).cacheControl(CacheControl.noStore()).body(job.toDto());
+        }
+
+        Optional<InputStream> artifact = jobService.openArtifact(job);
+        if (artifact.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=ERP_Report." + job.format().extension())
+                .contentType(job.format().mediaType())
+                .contentLength(job.sizeBytes())
+                .body(new InputStreamResource(artifact.get()));
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.fromValue(format);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private static ExportPriority parsePriority(String priority) {
+        try {
+            return ExportPriority.valueOf(priority.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported priority: " + priority);
+        }
+    }
+}
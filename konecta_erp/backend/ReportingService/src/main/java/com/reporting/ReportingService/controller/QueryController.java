@@ -0,0 +1,84 @@
+package com.reporting.ReportingService.controller;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.reporting.ReportingService.columnar.ColumnQuery;
+import com.reporting.ReportingService.columnar.ColumnStore;
+import com.reporting.ReportingService.columnar.Dataset;
+import com.reporting.ReportingService.config.ColumnStoreProperties;
+import com.reporting.ReportingService.dto.AggregationRequestDto;
+import com.reporting.ReportingService.dto.AggregationResultDto;
+import com.reporting.ReportingService.dto.DatasetDto;
+
+@RestController
+@RequestMapping("/api/reports/query")
+public class QueryController {
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final ObjectProvider<ColumnStore> columnStore;
+    private final ColumnStoreProperties properties;
+
+    public QueryController(ObjectProvider<ColumnStore> columnStore, ColumnStoreProperties properties) {
+        this.columnStore = columnStore;
+        this.properties = properties;
+    }
+
+    @GetMapping("/datasets")
+    public List<DatasetDto> datasets() {
+        ColumnStore store = store();
+        return Arrays.stream(Dataset.values()).map(store::describe).toList();
+    }
+
+    /**
+     * Ad-hoc aggregation over one dataset, e.g.
+     * {@code {"dataset":"invoices","filters":["status:ne:Paid"],"groupBy":["customerName"],
+     * "aggregates":["sum:balanceDue","count"],"limit":10}} for the ten customers owing
+     * the most. See {@link ColumnQuery} for the expression syntax.
+     */
+    @PostMapping
+    public AggregationResultDto query(@RequestBody AggregationRequestDto request) {
+        ColumnStore store = store();
+        ColumnQuery query;
+        try {
+            if (request.dataset() == null) {
+                throw new IllegalArgumentException("dataset is required");
+            }
+            query = ColumnQuery.parse(Dataset.fromValue(request.dataset()),
+                    request.filters() == null ? List.of() : request.filters(),
+                    request.groupBy() == null ? List.of() : request.groupBy(),
+                    request.aggregates() == null ? List.of() : request.aggregates(),
+                    request.orderBy(),
+                    request.limit() == null ? DEFAULT_LIMIT : request.limit(),
+                    properties.maxLimit());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+        if (!store.loaded(query.dataset())) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Dataset " + query.dataset().value() + " has not been loaded yet");
+        }
+        try {
+            return store.query(query);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private ColumnStore store() {
+        ColumnStore store = columnStore.getIfAvailable();
+        if (store == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The column store is disabled");
+        }
+        return store;
+    }
+}
@@ -0,0 +1,48 @@
+package com.reporting.ReportingService.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.reporting.ReportingService.dto.*;
+import com.reporting.ReportingService.service.ReactiveReportReadService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * JSON endpoints on the {@code reactive} read path. The request thread is
+ * released while the summaries are fetched and the response is completed from
+ * Reactor Netty's event loop.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@ConditionalOnProperty(name = "reporting.read-path", havingValue = "reactive")
+public class ReactiveSummaryController {
+    private final ReactiveReportReadService readService;
+
+    public ReactiveSummaryController(ReactiveReportReadService readService) {
+        this.readService = readService;
+    }
+
+    @GetMapping("/overview")
+    public Mono<ResponseEntity<OverviewDto>> getOverview() {
+        return readService.overview().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/finance")
+    public Mono<ResponseEntity<FinanceSummaryDto>> getFinanceSummary() {
+        return readService.finance().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/hr")
+    public Mono<ResponseEntity<HrSummaryDto>> getHrSummary() {
+        return readService.hr().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/inventory")
+    public Mono<ResponseEntity<InventorySummaryDto>> getInventorySummary() {
+        return readService.inventory().map(ResponseEntity::ok);
+    }
+}
@@ -1,75 +1,72 @@
 package com.reporting.ReportingService.controller;
 
-import java.io.ByteArrayInputStream;
-
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import com.reporting.ReportingService.dto.*;
-import com.reporting.ReportingService.service.ReportingService;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.reporting.ReportingService.export.ExportFormat;
+import com.reporting.ReportingService.export.ReportExporter;
+import com.reporting.ReportingService.export.ReportExporter.PreparedReport;
+import com.reporting.ReportingService.stream.OverviewStream;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportsController {
-    private final ReportingService reportingService;
+    private final ReportExporter reportExporter;
+    private final OverviewStream overviewStream;
 
-    public ReportsController(ReportingService reportingService) {
-        this.reportingService = reportingService;
+    public ReportsController(ReportExporter reportExporter, OverviewStream overviewStream) {
+        this.reportExporter = reportExporter;
+        this.overviewStream = overviewStream;
     }
 
-    @GetMapping("/overview")
-    public ResponseEntity<OverviewDto> getOverview() {
-        OverviewDto dto = reportingService.buildOverview();
-        return ResponseEntity.ok(dto);
-    }
-
-    @GetMapping("/finance")
-    public ResponseEntity<FinanceSummaryDto> getFinanceSummary() {
-        return ResponseEntity.ok(reportingService.getFinanceSummary());
-    }
-
-    @GetMapping("/hr")
-    public ResponseEntity<HrSummaryDto> getHrSummary() {
-        return ResponseEntity.ok(reportingService.getHrSummary());
-    }
-
-    @GetMapping("/inventory")
-    public ResponseEntity<InventorySummaryDto> getInventorySummary() {
-        return ResponseEntity.ok(reportingService.getInventorySummary());
+    /**
+     * Server-Sent Events: a {@code snapshot} event with the full overview, then a
+     * {@code diff} event with only the changed fields whenever the figures change.
+     */
+    @GetMapping(path = "/overview/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOverview(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return overviewStream.subscribe(lastEventId);
     }
 
     // PDF
     @GetMapping("/export/pdf")
-    public ResponseEntity<InputStreamResource> exportPdf() {
-        ByteArrayInputStream bis = reportingService.generatePdfReport();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "inline; filename=ERP_Report.pdf");
-
-        return ResponseEntity.ok()
-                .headers(headers)
-                .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(bis));
+    public ResponseEntity<StreamingResponseBody> exportPdf(WebRequest request) {
+        return export(reportExporter.prepare(ExportFormat.PDF), "inline; filename=ERP_Report.pdf", request);
     }
 
     // Excel
     @GetMapping("/export/excel")
-    public ResponseEntity<InputStreamResource> exportExcel() {
-        ByteArrayInputStream bis = reportingService.generateExcelReport();
+    public ResponseEntity<StreamingResponseBody> exportExcel(WebRequest request) {
+        return export(reportExporter.prepare(ExportFormat.EXCEL), "attachment; filename=ERP_Report.xlsx", request);
+    }
+
+    /**
+     * Answers 304 when the client already holds this rendition; the report is
+     * only rendered (or read from the render cache) when the body is written.
+     */
+    private ResponseEntity<StreamingResponseBody> export(PreparedReport report, String disposition,
+            WebRequest request) {
+        if (request.checkNotModified(report.etag(), report.lastModified().toEpochMilli())) {
+            return null;
+        }
 
         HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-Disposition", "attachment; filename=ERP_Report.xlsx");
+        headers.add("Content-Disposition", disposition);
 
         return ResponseEntity.ok()
                 .headers(headers)
-                .contentType(
-                        MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(new InputStreamResource(bis));
+                .cacheControl(CacheControl.noCache())
+                .contentType(report.format().mediaType())
+                .body(report::writeTo);
     }
 
     // @GetMapping("/export/pdf")
@@ -0,0 +1,47 @@
+package com.reporting.ReportingService.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.reporting.ReportingService.dto.*;
+import com.reporting.ReportingService.service.ReportingService;
+
+/**
+ * JSON endpoints on the default {@code servlet} read path: the blocking
+ * {@link ReportingService} runs on the request thread and the response is
+ * written without an async dispatch.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@ConditionalOnProperty(name = "reporting.read-path", havingValue = "servlet", matchIfMissing = true)
+public class SummaryController {
+    private final ReportingService reportingService;
+
+    public SummaryController(ReportingService reportingService) {
+        this.reportingService = reportingService;
+    }
+
+    @GetMapping("/overview")
+    public ResponseEntity<OverviewDto> getOverview() {
+        OverviewDto dto = reportingService.buildOverview();
+        return ResponseEntity.ok(dto);
+    }
+
+    @GetMapping("/finance")
+    public ResponseEntity<FinanceSummaryDto> getFinanceSummary() {
+        return ResponseEntity.ok(reportingService.getFinanceSummary());
+    }
+
+    @GetMapping("/hr")
+    public ResponseEntity<HrSummaryDto> getHrSummary() {
+        return ResponseEntity.ok(reportingService.getHrSummary());
+    }
+
+    @GetMapping("/inventory")
+    public ResponseEntity<InventorySummaryDto> getInventorySummary() {
+        return ResponseEntity.ok(reportingService.getInventorySummary());
+    }
+}
@@ -0,0 +1,90 @@
+package com.reporting.ReportingService.controller;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.reporting.ReportingService.config.TrendProperties;
+import com.reporting.ReportingService.dto.TrendDto;
+import com.reporting.ReportingService.dto.TrendPointDto;
+import com.reporting.ReportingService.trend.KpiMetric;
+import com.reporting.ReportingService.trend.TrendStore;
+
+@RestController
+@RequestMapping("/api/reports/trends")
+public class TrendsController {
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(1);
+
+    private final TrendStore trendStore;
+    private final TrendProperties properties;
+
+    public TrendsController(TrendStore trendStore, TrendProperties properties) {
+        this.trendStore = trendStore;
+        this.properties = properties;
+    }
+
+    /**
+     * History of one overview figure. {@code from} and {@code to} take an ISO-8601
+     * instant or a duration before now ({@code 7d}); {@code step} is a duration
+     * ({@code 1h}, {@code PT15M}) and defaults to the sample interval.
+     */
+    @GetMapping
+    public ResponseEntity<TrendDto> trend(@RequestParam String metric,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String step) {
+        Instant now = Instant.now();
+        KpiMetric kpi = parseMetric(metric);
+        Instant end = to == null ? now : parseInstant(to, now);
+        Instant start = from == null ? end.minus(DEFAULT_RANGE) : parseInstant(from, now);
+        Duration bucket = step == null ? properties.sampleInterval() : parseDuration(step);
+
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+        }
+        if (bucket.toMillis() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "step must be positive");
+        }
+        if (Duration.between(start, end).dividedBy(bucket) >= properties.maxPoints()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Range holds more than " + properties.maxPoints() + " steps; use a larger step");
+        }
+
+        List<TrendPointDto> points = trendStore.query(kpi, start, end, bucket);
+        return ResponseEntity.ok(new TrendDto(kpi.value(), start, end, bucket.toString(), points));
+    }
+
+    private static KpiMetric parseMetric(String metric) {
+        try {
+            return KpiMetric.fromValue(metric);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private static Instant parseInstant(String value, Instant now) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ex) {
+            return now.minus(parseDuration(value));
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        try {
+            return DurationStyle.detectAndParse(value);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported time value: " + value);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Wire formats for detail reports. Both are written row by row and need nothing
+ * but the current row in memory; decimals are written in plain notation. A
+ * report cut off at the row limit ends with a marker line, since the status and
+ * headers have long been sent by then: {@code {"truncated":true,"rowLimit":n}}
+ * in NDJSON, {@code # truncated at n rows} in CSV.
+ */
+public enum DetailFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")) {
+        @Override
+        RowWriter writer(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN.mappedFeature());
+            generator.setRootValueSeparator(null);
+            return new RowWriter() {
+                @Override
+                public void write(ObjectNode row) throws IOException {
+                    objectMapper.writeTree(generator, row);
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void truncated(long rowLimit) throws IOException {
+                    generator.writeStartObject();
+                    generator.writeBooleanField("truncated", true);
+                    generator.writeNumberField("rowLimit", rowLimit);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    generator.flush();
+                }
+            };
+        }
+    },
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8")) {
+        @Override
+        RowWriter writer(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeLine(writer, columns);
+            return new RowWriter() {
+                @Override
+                public void write(ObjectNode row) throws IOException {
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writeField(writer, text(row.get(columns.get(i))));
+                    }
+                    writer.write("\r\n");
+                }
+
+                @Override
+                public void truncated(long rowLimit) throws IOException {
+                    writer.write("# truncated at " + rowLimit + " rows\r\n");
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+
+        private static void writeLine(Writer writer, List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(writer, values.get(i));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String text(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return "";
+            }
+            return value.isBigDecimal() ? value.decimalValue().toPlainString() : value.asText();
+        }
+
+        /**
+         * RFC 4180: a field holding a comma, quote or line break is quoted, with quotes doubled.
+         */
+        private static void writeField(Writer writer, String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    };
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    DetailFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Starts writing rows with the given columns to {@code out}; the caller flushes and closes {@code out}.
+     */
+    abstract RowWriter writer(OutputStream out, List<String> columns, ObjectMapper objectMapper) throws IOException;
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Accepts the enum name or the file extension, case-insensitively.
+     */
+    public static DetailFormat fromValue(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (DetailFormat format : values()) {
+            if (format.name().equals(normalized) || format.extension.equalsIgnoreCase(normalized)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported detail format: " + value);
+    }
+
+    interface RowWriter {
+        void write(ObjectNode row) throws IOException;
+
+        /**
+         * Marks the end of a report that had more rows than {@code rowLimit}.
+         */
+        void truncated(long rowLimit) throws IOException;
+
+        void flush() throws IOException;
+    }
+}
@@ -0,0 +1,235 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.util.DotNetDates;
+
+/**
+ * The detail reports and how each turns upstream records into rows. Row reports
+ * map records one at a time through {@link #eachRecord}, keeping or dropping
+ * each; {@link #HEADCOUNT_BY_DEPARTMENT} folds the employee list into one row per
+ * department, holding only the running counts. Inclusion rules match the figures
+ * of the corresponding summary endpoint.
+ */
+public enum DetailReport {
+    OVERDUE_INVOICES("overdue-invoices", "Invoices past their due date with a balance left",
+            RecordSet.INVOICES, List.of("invoiceNumber", "customerName", "customerEmail", "issueDate", "dueDate",
+                    "daysOverdue", "status", "totalAmount", "paidAmount", "balanceDue", "currency")) {
+        @Override
+        RowCursor rows(RowCursor invoices, Instant now) {
+            return eachRecord(invoices, invoice -> {
+                BigDecimal balance = decimal(invoice, "totalAmount").subtract(decimal(invoice, "paidAmount"));
+                Instant due = DotNetDates.instant(invoice.path("dueDate").asText(null));
+                if (balance.signum() <= 0 || due == null || !due.isBefore(now)) {
+                    return null;
+                }
+                ObjectNode row = copy(invoice, "invoiceNumber", "customerName", "customerEmail", "issueDate",
+                        "dueDate");
+                row.put("daysOverdue", Duration.between(due, now).toDays());
+                copy(row, invoice, "status", "totalAmount", "paidAmount");
+                row.put("balanceDue", balance);
+                copy(row, invoice, "currency");
+                return row;
+            });
+        }
+    },
+    ITEMS_BELOW_SAFETY_STOCK("items-below-safety-stock", "Items whose stock on hand is under their safety level",
+            RecordSet.INVENTORY_ITEMS, List.of("sku", "name", "category", "status", "unitOfMeasure",
+                    "safetyStockLevel", "reorderPoint", "totalOnHand", "totalReserved", "totalAvailable",
+                    "shortfall")) {
+        @Override
+        RowCursor rows(RowCursor items, Instant now) {
+            return eachRecord(items, item -> {
+                BigDecimal safetyStock = decimal(item, "safetyStockLevel");
+                BigDecimal onHand = decimal(item, "totalOnHand");
+                if (onHand.compareTo(safetyStock) >= 0) {
+                    return null;
+                }
+                ObjectNode row = copy(item, "sku", "name", "category", "status", "unitOfMeasure",
+                        "safetyStockLevel", "reorderPoint", "totalOnHand", "totalReserved", "totalAvailable");
+                row.put("shortfall", safetyStock.subtract(onHand));
+                return row;
+            });
+        }
+    },
+    HEADCOUNT_BY_DEPARTMENT("headcount-by-department", "Employees per department by employment status",
+            RecordSet.EMPLOYEES, List.of("departmentId", "departmentName", "totalEmployees", "activeEmployees",
+                    "onLeaveEmployees", "exitedEmployees")) {
+        // EmploymentStatus as HrService serializes it: ordinals, or names with a string enum converter
+        private static final List<String> STATUSES = List.of("Active", "OnLeave", "Resigned", "Terminated");
+
+        /**
+         * Reads the whole employee list on the first {@code next()}, keeping one row per department.
+         */
+        @Override
+        RowCursor rows(RowCursor employees, Instant now) {
+            return new RowCursor() {
+                private Iterator<ObjectNode> departments;
+
+                @Override
+                public ObjectNode next() throws IOException {
+                    if (departments == null) {
+                        departments = group(employees).values().iterator();
+                    }
+                    return departments.hasNext() ? departments.next() : null;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    employees.close();
+                }
+            };
+        }
+
+        private static Map<String, ObjectNode> group(RowCursor employees) throws IOException {
+            Map<String, ObjectNode> departments = new TreeMap<>();
+            ObjectNode next;
+            while ((next = employees.next()) != null) {
+                ObjectNode employee = next;
+                String key = employee.path("departmentName").asText("").toLowerCase(Locale.ROOT) + '\0'
+                        + employee.path("departmentId").asText("");
+                ObjectNode department = departments.computeIfAbsent(key, ignored -> copy(employee, "departmentId",
+                        "departmentName").put("totalEmployees", 0).put("activeEmployees", 0)
+                        .put("onLeaveEmployees", 0).put("exitedEmployees", 0));
+                increment(department, "totalEmployees");
+                switch (status(employee.path("status"))) {
+                    case "Active" -> increment(department, "activeEmployees");
+                    case "OnLeave" -> increment(department, "onLeaveEmployees");
+                    case "Resigned", "Terminated" -> increment(department, "exitedEmployees");
+                    default -> {
+                        // unknown status: counted in the total only
+                    }
+                }
+            }
+            return departments;
+        }
+
+        private static String status(JsonNode status) {
+            if (status.isInt() && status.intValue() >= 0 && status.intValue() < STATUSES.size()) {
+                return STATUSES.get(status.intValue());
+            }
+            return status.asText("");
+        }
+
+        private static void increment(ObjectNode row, String field) {
+            row.put(field, row.get(field).intValue() + 1);
+        }
+    },
+    STOCK_TRANSACTIONS("stock-transactions", "Stock movements, most recent first",
+            RecordSet.STOCK_TRANSACTIONS, List.of("occurredAtUtc", "transactionType", "itemSku", "itemName",
+                    "warehouseCode", "quantity", "referenceNumber", "performedBy")) {
+        @Override
+        RowCursor rows(RowCursor transactions, Instant now) {
+            String[] fields = columns().toArray(String[]::new);
+            return eachRecord(transactions, transaction -> copy(transaction, fields));
+        }
+    };
+
+    private final String value;
+    private final String description;
+    private final RecordSet source;
+    private final List<String> columns;
+
+    DetailReport(String value, String description, RecordSet source, List<String> columns) {
+        this.value = value;
+        this.description = description;
+        this.source = source;
+        this.columns = columns;
+    }
+
+    /**
+     * Turns the cursor over upstream records into a cursor over report rows;
+     * closing it closes {@code records}.
+     */
+    abstract RowCursor rows(RowCursor records, Instant now);
+
+    /**
+     * Report rows that each come from one upstream record, as {@code mapper}
+     * maps them; records it maps to null are not part of the report.
+     */
+    private static RowCursor eachRecord(RowCursor records, RowMapper mapper) {
+        return new RowCursor() {
+            @Override
+            public ObjectNode next() throws IOException {
+                ObjectNode record;
+                while ((record = records.next()) != null) {
+                    ObjectNode row = mapper.row(record);
+                    if (row != null) {
+                        return row;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                records.close();
+            }
+        };
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public RecordSet source() {
+        return source;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    /**
+     * Accepts the report name, e.g. {@code overdue-invoices}, or the enum name, case-insensitively.
+     */
+    public static DetailReport fromValue(String value) {
+        String normalized = value.trim();
+        for (DetailReport report : values()) {
+            if (report.value.equalsIgnoreCase(normalized) || report.name().equalsIgnoreCase(normalized)) {
+                return report;
+            }
+        }
+        throw new IllegalArgumentException("Unknown detail report: " + value);
+    }
+
+    private static ObjectNode copy(ObjectNode record, String... fields) {
+        return copy(JsonNodeFactory.instance.objectNode(), record, fields);
+    }
+
+    private static ObjectNode copy(ObjectNode row, ObjectNode record, String... fields) {
+        for (String field : fields) {
+            JsonNode value = record.get(field);
+            row.set(field, value == null ? JsonNodeFactory.instance.nullNode() : value);
+        }
+        return row;
+    }
+
+    private static BigDecimal decimal(ObjectNode record, String field) {
+        JsonNode value = record.get(field);
+        if (value == null || value.isNull()) {
+            return BigDecimal.ZERO;
+        }
+        return value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText());
+    }
+
+    @FunctionalInterface
+    private interface RowMapper {
+        ObjectNode row(ObjectNode record);
+    }
+}
@@ -0,0 +1,120 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.config.DetailReportProperties;
+import com.reporting.ReportingService.detail.DetailFormat.RowWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Streams detail reports from the upstream record lists to the client. Opening a
+ * report reaches the upstream service before anything is written, so an upstream
+ * failure still becomes an error status; from then on rows go out as they are
+ * read and are flushed every {@code flushRows} rows. A write to a client that has
+ * gone away fails at the next flush, which closes the cursor and with it the
+ * upstream response and any page being fetched ahead.
+ */
+@Service
+public class DetailReportService {
+    private final Logger logger = LoggerFactory.getLogger(DetailReportService.class);
+
+    private final RecordSource recordSource;
+    private final ObjectMapper objectMapper;
+    private final DetailReportProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public DetailReportService(RecordSource recordSource, ObjectMapper objectMapper,
+            DetailReportProperties properties, MeterRegistry meterRegistry) {
+        this.recordSource = recordSource;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param authorization the caller's Authorization header, relayed to the upstream service
+     * @throws com.reporting.ReportingService.exception.DetailSourceException when the upstream service
+     *                                                                        fails or cannot be reached
+     */
+    public OpenReport open(DetailReport report, RowQuery query, String authorization) throws IOException {
+        RowCursor records = recordSource.open(report.source(), authorization);
+        RowCursor rows = query.apply(report.rows(records, Instant.now()), report.columns());
+        return new OpenReport(report, query.columns(), rows);
+    }
+
+    /**
+     * A report whose upstream response has been opened but whose rows have not been read.
+     */
+    public final class OpenReport {
+        private final DetailReport report;
+        private final List<String> columns;
+        private final RowCursor rows;
+
+        private OpenReport(DetailReport report, List<String> columns, RowCursor rows) {
+            this.report = report;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        public List<String> columns() {
+            return columns;
+        }
+
+        /**
+         * Writes every row in {@code format}, up to {@code maxRows} followed by
+         * the format's truncation marker; the cursor is closed however this ends.
+         */
+        public void writeTo(DetailFormat format, OutputStream out) throws IOException {
+            String outcome = "failed";
+            long written = 0;
+            boolean truncated = false;
+            try (rows) {
+                RowWriter writer = format.writer(out, columns, objectMapper);
+                ObjectNode row;
+                while ((row = rows.next()) != null) {
+                    if (written == properties.maxRows()) {
+                        logger.warn("Detail report {} cut off at {} rows", report.value(), written);
+                        truncated = true;
+                        break;
+                    }
+                    try {
+                        writer.write(row);
+                        if (++written % properties.flushRows() == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException ex) {
+                        outcome = "cancelled";
+                        throw ex;
+                    }
+                }
+                try {
+                    if (truncated) {
+                        writer.truncated(properties.maxRows());
+                    }
+                    writer.flush();
+                } catch (IOException ex) {
+                    outcome = "cancelled";
+                    throw ex;
+                }
+                outcome = truncated ? "truncated" : "completed";
+            } finally {
+                meterRegistry.counter("reporting.details.rows", "report", report.value()).increment(written);
+                meterRegistry.counter("reporting.details.streams", "report", report.value(), "outcome", outcome)
+                        .increment();
+                if (!"completed".equals(outcome) && !"truncated".equals(outcome)) {
+                    logger.debug("Detail report {} {} after {} rows", report.value(), outcome, written);
+                }
+            }
+        }
+    }
+}
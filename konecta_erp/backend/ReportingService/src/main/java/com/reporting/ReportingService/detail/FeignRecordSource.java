@@ -0,0 +1,87 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reporting.ReportingService.client.FinanceRecordsClient;
+import com.reporting.ReportingService.client.HrRecordsClient;
+import com.reporting.ReportingService.client.InventoryRecordsClient;
+import com.reporting.ReportingService.config.DetailReportProperties;
+import com.reporting.ReportingService.exception.DetailSourceException;
+
+import feign.FeignException;
+import feign.Response;
+
+/**
+ * Reads the upstream list endpoints through the pooled Feign transport. Whole-list
+ * endpoints are parsed from the response stream; the paged stock transaction
+ * endpoint is read through a {@link PagedCursor}. Amounts are read as decimals,
+ * never as doubles.
+ */
+@Component
+public class FeignRecordSource implements RecordSource {
+    private final FinanceRecordsClient financeClient;
+    private final HrRecordsClient hrClient;
+    private final InventoryRecordsClient inventoryClient;
+    private final ObjectReader reader;
+    private final Executor prefetchExecutor;
+    private final int pageSize;
+
+    public FeignRecordSource(FinanceRecordsClient financeClient, HrRecordsClient hrClient,
+            InventoryRecordsClient inventoryClient, ObjectMapper objectMapper,
+            @Qualifier("detailPageExecutor") Executor prefetchExecutor, DetailReportProperties properties) {
+        this.financeClient = financeClient;
+        this.hrClient = hrClient;
+        this.inventoryClient = inventoryClient;
+        this.reader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.prefetchExecutor = prefetchExecutor;
+        this.pageSize = properties.pageSize();
+    }
+
+    @Override
+    public RowCursor open(RecordSet records, String authorization) throws IOException {
+        String service = records.service();
+        return switch (records) {
+            case INVOICES -> stream(service, call(service, () -> financeClient.invoices(authorization)));
+            case EXPENSES -> stream(service, call(service, () -> financeClient.expenses(authorization)));
+            case EMPLOYEES -> stream(service, call(service, () -> hrClient.employees(authorization)));
+            case INVENTORY_ITEMS -> stream(service, call(service, () -> inventoryClient.items(authorization)));
+            case STOCK_TRANSACTIONS -> new PagedCursor((page, size) -> stream(service,
+                    call(service, () -> inventoryClient.stockTransactions(page, size, authorization))),
+                    pageSize, prefetchExecutor);
+        };
+    }
+
+    private RowCursor stream(String service, Response response) throws IOException {
+        try {
+            return new JsonArrayCursor(body(service, response), response, reader);
+        } catch (JsonProcessingException ex) {
+            throw new DetailSourceException(service, ex);
+        }
+    }
+
+    private static InputStream body(String service, Response response) throws IOException {
+        if (response.status() < 200 || response.status() >= 300 || response.body() == null) {
+            response.close();
+            throw new DetailSourceException(service, response.status());
+        }
+        return response.body().asInputStream();
+    }
+
+    private static Response call(String service, Supplier<Response> request) {
+        try {
+            return request.get();
+        } catch (FeignException ex) {
+            throw new DetailSourceException(service, ex);
+        }
+    }
+}
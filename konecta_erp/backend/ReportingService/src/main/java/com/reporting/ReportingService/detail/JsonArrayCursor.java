@@ -0,0 +1,84 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Reads the objects of a top-level JSON array one at a time from a response body,
+ * so a list of any length is never materialized. Closing the cursor before the
+ * end of the array aborts the transfer: closing an HttpClient 5 response as such
+ * would read the rest of the body first so the connection could be reused.
+ */
+final class JsonArrayCursor implements RowCursor {
+    private final InputStream body;
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private final Closeable response;
+    private boolean finished;
+
+    JsonArrayCursor(InputStream body, Closeable response, ObjectReader reader) throws IOException {
+        this.body = body;
+        this.reader = reader;
+        this.response = response;
+        this.parser = reader.createParser(body);
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array");
+            }
+        } catch (IOException ex) {
+            close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public ObjectNode next() throws IOException {
+        while (!finished) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                finished = true;
+            } else if (token == JsonToken.START_OBJECT) {
+                JsonNode record = reader.readTree(parser);
+                return (ObjectNode) record;
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Closes the connection under the body, which also fails a read blocked on it
+     * in another thread; the connection is not reused.
+     */
+    @Override
+    public void abort() throws IOException {
+        if (body instanceof EofSensorInputStream stream) {
+            stream.abort();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        boolean complete = finished;
+        finished = true;
+        try {
+            if (!complete) {
+                abort();
+            }
+            parser.close();
+        } finally {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Cursor over a paged upstream list that fetches one page ahead: as soon as a page
+ * is handed out, the next one is requested on {@code executor}, so writing a page
+ * and fetching the following one overlap. At most two pages are held at a time.
+ * <p>
+ * The first page is fetched on the calling thread, so an upstream error is raised
+ * before the response is committed. A page shorter than {@code pageSize} is the last.
+ * <p>
+ * Closing the cursor aborts the page being fetched ahead, which frees its worker
+ * and drops its connection at once. A page whose response has not started yet
+ * is aborted as soon as it does, so it still holds the worker until then, at
+ * most the client's read timeout.
+ */
+final class PagedCursor implements RowCursor {
+    private final PageLoader loader;
+    private final int pageSize;
+    private final Executor executor;
+    private Iterator<ObjectNode> rows = Collections.emptyIterator();
+    private FutureTask<List<ObjectNode>> nextPage;
+    private int page;
+    private volatile RowCursor inFlight;
+    private volatile boolean closed;
+
+    PagedCursor(PageLoader loader, int pageSize, Executor executor) throws IOException {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        accept(read(1));
+    }
+
+    @Override
+    public ObjectNode next() throws IOException {
+        while (!closed) {
+            if (rows.hasNext()) {
+                return rows.next();
+            }
+            if (nextPage == null) {
+                return null;
+            }
+            accept(await(nextPage));
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        RowCursor fetching = inFlight;
+        if (fetching != null) {
+            fetching.abort();
+        }
+        if (nextPage != null) {
+            nextPage.cancel(true);
+        }
+    }
+
+    private void accept(List<ObjectNode> rows) {
+        this.rows = rows.iterator();
+        page++;
+        nextPage = rows.size() < pageSize ? null : prefetch(page + 1);
+    }
+
+    private FutureTask<List<ObjectNode>> prefetch(int number) {
+        FutureTask<List<ObjectNode>> task = new FutureTask<>(() -> read(number));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            // prefetch workers saturated: fetch it on this thread instead
+            task.run();
+        }
+        return task;
+    }
+
+    /**
+     * Reads one page completely, leaving it where {@link #close} can abort it
+     * while it is being read.
+     */
+    private List<ObjectNode> read(int number) throws IOException {
+        List<ObjectNode> rows = new ArrayList<>(pageSize);
+        try (RowCursor records = loader.open(number, pageSize)) {
+            inFlight = records;
+            // closed while the request was under way: the page is not wanted any more
+            if (closed) {
+                return rows;
+            }
+            ObjectNode row;
+            while ((row = records.next()) != null) {
+                rows.add(row);
+            }
+        } finally {
+            inFlight = null;
+        }
+        return rows;
+    }
+
+    private static List<ObjectNode> await(FutureTask<List<ObjectNode>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the next page");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Requests one page, 1-based, returning a cursor over its records.
+     */
+    @FunctionalInterface
+    interface PageLoader {
+        RowCursor open(int page, int pageSize) throws IOException;
+    }
+}
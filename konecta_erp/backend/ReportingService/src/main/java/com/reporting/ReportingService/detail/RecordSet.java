@@ -0,0 +1,31 @@
+package com.reporting.ReportingService.detail;
+
+/**
+ * Upstream list endpoints read by the detail reports and the column store. Only
+ * stock transactions are paged upstream; the others return the whole list in one
+ * response, which is parsed record by record as it arrives rather than read into
+ * memory first.
+ */
+public enum RecordSet {
+    INVOICES("finance", false),
+    EXPENSES("finance", false),
+    EMPLOYEES("hr", false),
+    INVENTORY_ITEMS("inventory", false),
+    STOCK_TRANSACTIONS("inventory", true);
+
+    private final String service;
+    private final boolean paged;
+
+    RecordSet(String service, boolean paged) {
+        this.service = service;
+        this.paged = paged;
+    }
+
+    public String service() {
+        return service;
+    }
+
+    public boolean paged() {
+        return paged;
+    }
+}
@@ -0,0 +1,19 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+
+import com.reporting.ReportingService.exception.DetailSourceException;
+
+/**
+ * Opens a cursor over the records of one upstream list endpoint.
+ */
+public interface RecordSource {
+
+    /**
+     * Starts fetching {@code records} on behalf of the caller whose {@code Authorization}
+     * header is given; the upstream services authorize the read themselves.
+     *
+     * @throws DetailSourceException when the upstream service refuses or fails the request
+     */
+    RowCursor open(RecordSet records, String authorization) throws IOException;
+}
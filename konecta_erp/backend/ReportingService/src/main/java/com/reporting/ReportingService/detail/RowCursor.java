@@ -0,0 +1,28 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Pull-based sequence of report rows. Rows are produced as they are read, so only
+ * the row in hand, and at most a page of upstream records, is held in memory.
+ * Closing a cursor before the end abandons whatever is still being fetched.
+ */
+public interface RowCursor extends Closeable {
+
+    /**
+     * Returns the next row, or null when there are no more.
+     */
+    ObjectNode next() throws IOException;
+
+    /**
+     * Drops whatever is still being transferred without reading it, from any
+     * thread; a {@code next()} blocked on that transfer then fails. The cursor
+     * still has to be closed by the thread reading it. Cursors with nothing in
+     * transit do nothing.
+     */
+    default void abort() throws IOException {
+    }
+}
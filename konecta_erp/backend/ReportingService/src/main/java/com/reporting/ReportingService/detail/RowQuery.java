@@ -0,0 +1,167 @@
+package com.reporting.ReportingService.detail;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Server-side filter and projection over report rows.
+ * <p>
+ * Filters are {@code column:op:value} with {@code op} one of {@code eq}, {@code ne},
+ * {@code gt}, {@code ge}, {@code lt}, {@code le} or {@code contains}; all must hold.
+ * Numbers compare as numbers and everything else as case-insensitive text, which
+ * orders ISO dates correctly. A filter may name a column left out of the projection.
+ */
+public final class RowQuery {
+    private final List<Filter> filters;
+    private final List<String> columns;
+
+    private RowQuery(List<Filter> filters, List<String> columns) {
+        this.filters = filters;
+        this.columns = columns;
+    }
+
+    /**
+     * @param filters {@code column:op:value} expressions, may be empty
+     * @param fields  comma-separated columns to return, in order; null or blank for all of them
+     * @throws IllegalArgumentException naming the first column or operator the report does not have
+     */
+    public static RowQuery parse(DetailReport report, List<String> filters, String fields) {
+        List<Filter> parsed = new ArrayList<>();
+        for (String expression : filters) {
+            String[] parts = expression.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Filter must be column:op:value, got " + expression);
+            }
+            parsed.add(new Filter(column(report, parts[0]), Operator.fromValue(parts[1]), parts[2]));
+        }
+        List<String> columns = report.columns();
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = new LinkedHashSet<>();
+            for (String field : fields.split(",")) {
+                if (!field.isBlank()) {
+                    selected.add(column(report, field));
+                }
+            }
+            columns = List.copyOf(selected);
+        }
+        return new RowQuery(List.copyOf(parsed), columns);
+    }
+
+    /**
+     * Columns of the rows {@link #apply} produces, in order.
+     */
+    public List<String> columns() {
+        return columns;
+    }
+
+    RowCursor apply(RowCursor rows, List<String> reportColumns) {
+        boolean project = !columns.equals(reportColumns);
+        return new RowCursor() {
+            @Override
+            public ObjectNode next() throws IOException {
+                ObjectNode row;
+                while ((row = rows.next()) != null) {
+                    if (matches(row)) {
+                        return project ? project(row) : row;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public void close() throws IOException {
+                rows.close();
+            }
+        };
+    }
+
+    private boolean matches(ObjectNode row) {
+        for (Filter filter : filters) {
+            if (!filter.test(row.get(filter.column()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ObjectNode project(ObjectNode row) {
+        ObjectNode projected = JsonNodeFactory.instance.objectNode();
+        for (String column : columns) {
+            projected.set(column, row.get(column));
+        }
+        return projected;
+    }
+
+    private static String column(DetailReport report, String name) {
+        String trimmed = name.trim();
+        for (String column : report.columns()) {
+            if (column.equalsIgnoreCase(trimmed)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException("Report " + report.value() + " has no column " + trimmed
+                + "; columns are " + report.columns());
+    }
+
+    private record Filter(String column, Operator operator, String value) {
+
+        boolean test(JsonNode actual) {
+            if (actual == null || actual.isNull()) {
+                return operator == Operator.NE;
+            }
+            if (operator == Operator.CONTAINS) {
+                return actual.asText().toLowerCase(Locale.ROOT).contains(value.toLowerCase(Locale.ROOT));
+            }
+            int comparison = compare(actual);
+            return switch (operator) {
+                case EQ -> comparison == 0;
+                case NE -> comparison != 0;
+                case GT -> comparison > 0;
+                case GE -> comparison >= 0;
+                case LT -> comparison < 0;
+                case LE -> comparison <= 0;
+                case CONTAINS -> throw new IllegalStateException();
+            };
+        }
+
+        private int compare(JsonNode actual) {
+            BigDecimal expected = number(value);
+            if (expected != null) {
+                BigDecimal number = actual.isNumber() ? actual.decimalValue() : number(actual.asText());
+                if (number != null) {
+                    return number.compareTo(expected);
+                }
+            }
+            return actual.asText().compareToIgnoreCase(value);
+        }
+
+        private static BigDecimal number(String text) {
+            try {
+                return new BigDecimal(text.trim());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+    }
+
+    private enum Operator {
+        EQ, NE, GT, GE, LT, LE, CONTAINS;
+
+        static Operator fromValue(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported filter operator: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.reporting.ReportingService.diagnostics;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.VirtualThreadProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event while virtual threads are
+ * enabled. A virtual thread that blocks inside a {@code synchronized} block or a
+ * native frame keeps its carrier thread, which with iText or POI on the render
+ * path would quietly cap concurrency at the carrier count.
+ * <p>
+ * Each pinning is counted in {@code reporting.virtual.pinned}, tagged with the
+ * first frame outside the JDK, and the first occurrence of each distinct stack is
+ * logged with its frames.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private final VirtualThreadProperties properties;
+    private final MeterRegistry registry;
+    private final Set<String> loggedStacks = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public PinnedThreadMonitor(VirtualThreadProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.pinnedThreshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        logger.info("Virtual-thread pinning monitor started, threshold {}", properties.pinnedThreshold());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .map(PinnedThreadMonitor::describe)
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+        Counter.builder("reporting.virtual.pinned").tag("site", site).register(registry).increment();
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> describe(frame) + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (loggedStacks.size() < properties.maxLoggedStacks() && loggedStacks.add(stack)) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n\tat {}",
+                    event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+}
@@ -0,0 +1,12 @@
+package com.reporting.ReportingService.dto;
+
+import java.util.List;
+
+public record AggregationRequestDto(
+    String dataset,
+    List<String> filters,
+    List<String> groupBy,
+    List<String> aggregates,
+    String orderBy,
+    Integer limit
+) {}
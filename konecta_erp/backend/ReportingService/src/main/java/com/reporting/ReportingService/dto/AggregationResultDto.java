@@ -0,0 +1,16 @@
+package com.reporting.ReportingService.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record AggregationResultDto(
+    String dataset,
+    List<String> columns,
+    List<List<Object>> rows,
+    long scannedRows,
+    long matchedRows,
+    int groups,
+    long version,
+    Instant refreshedAtUtc,
+    double elapsedMillis
+) {}
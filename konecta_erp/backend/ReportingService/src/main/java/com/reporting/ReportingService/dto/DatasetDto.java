@@ -0,0 +1,12 @@
+package com.reporting.ReportingService.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record DatasetDto(
+    String name,
+    long rows,
+    Map<String, String> columns,
+    long version,
+    Instant refreshedAtUtc
+) {}
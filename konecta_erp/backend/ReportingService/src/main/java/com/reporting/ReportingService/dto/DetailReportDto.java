@@ -0,0 +1,9 @@
+package com.reporting.ReportingService.dto;
+
+import java.util.List;
+
+public record DetailReportDto(
+    String name,
+    String description,
+    List<String> columns
+) {}
@@ -0,0 +1,14 @@
+package com.reporting.ReportingService.dto;
+
+import java.time.Instant;
+
+public record ExportJobDto(
+    String id,
+    String format,
+    String priority,
+    String status,
+    Instant submittedUtc,
+    Instant completedUtc,
+    Long sizeBytes,
+    String error
+) {}
@@ -0,0 +1,9 @@
+package com.reporting.ReportingService.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record OverviewDiffDto(
+    Instant lastUpdatedUtc,
+    Map<String, Object> changes
+) {}
@@ -1,10 +1,12 @@
 package com.reporting.ReportingService.dto;
 
 import java.time.Instant;
+import java.util.List;
 
 public record OverviewDto(
     FinanceSummaryDto finance,
     HrSummaryDto hr,
     InventorySummaryDto inventory,
-    Instant lastUpdatedUtc
+    Instant lastUpdatedUtc,
+    List<String> partialSections
 ) {}
@@ -0,0 +1,12 @@
+package com.reporting.ReportingService.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record TrendDto(
+    String metric,
+    Instant fromUtc,
+    Instant toUtc,
+    String step,
+    List<TrendPointDto> points
+) {}
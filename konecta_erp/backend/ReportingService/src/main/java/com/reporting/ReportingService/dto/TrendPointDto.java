@@ -0,0 +1,13 @@
+package com.reporting.ReportingService.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record TrendPointDto(
+    Instant bucketStartUtc,
+    int samples,
+    BigDecimal min,
+    BigDecimal max,
+    BigDecimal avg,
+    BigDecimal last
+) {}
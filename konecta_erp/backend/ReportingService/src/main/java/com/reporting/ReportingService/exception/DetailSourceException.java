@@ -0,0 +1,38 @@
+package com.reporting.ReportingService.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an upstream list endpoint cannot be reached or answers a detail
+ * report request with an error status. Raised before any row is written, so the
+ * caller gets a status code rather than a truncated body.
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class DetailSourceException extends RuntimeException {
+    private final String service;
+    private final int status;
+
+    public DetailSourceException(String service, int status) {
+        super("The " + service + " service answered " + status);
+        this.service = service;
+        this.status = status;
+    }
+
+    public DetailSourceException(String service, Throwable cause) {
+        super("The " + service + " service could not be reached or its answer read", cause);
+        this.service = service;
+        this.status = 0;
+    }
+
+    public String service() {
+        return service;
+    }
+
+    /**
+     * The upstream status code, or 0 when no usable response was received.
+     */
+    public int status() {
+        return status;
+    }
+}
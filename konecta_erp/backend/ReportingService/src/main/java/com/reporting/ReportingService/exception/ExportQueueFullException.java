@@ -0,0 +1,15 @@
+package com.reporting.ReportingService.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when every export worker is busy and the wait queue is at capacity.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ExportQueueFullException extends RuntimeException {
+
+    public ExportQueueFullException(int capacity) {
+        super("Export queue is full (" + capacity + " jobs waiting), retry later");
+    }
+}
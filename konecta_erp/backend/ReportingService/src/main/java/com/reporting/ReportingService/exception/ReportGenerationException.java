@@ -0,0 +1,12 @@
+package com.reporting.ReportingService.exception;
+
+/**
+ * Raised when a report cannot be laid out, as opposed to an I/O failure
+ * while writing it to the client.
+ */
+public class ReportGenerationException extends RuntimeException {
+
+    public ReportGenerationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reporting.ReportingService.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the overview stream already has as many subscribers as it accepts.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StreamCapacityException extends RuntimeException {
+
+    public StreamCapacityException(int capacity) {
+        super("Overview stream is full (" + capacity + " subscribers), retry later");
+    }
+}
@@ -0,0 +1,70 @@
+package com.reporting.ReportingService.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.ExportProperties;
+
+/**
+ * Local directory of rendered export files. Artifacts are written under a
+ * temporary name and moved into place, so a reader never sees a partial file.
+ */
+@Component
+public class ArtifactStore {
+    private final Path directory;
+    private final Logger logger = LoggerFactory.getLogger(ArtifactStore.class);
+
+    public ArtifactStore(ExportProperties properties) throws IOException {
+        this.directory = properties.storageDir() != null
+                ? properties.storageDir()
+                : Path.of(System.getProperty("java.io.tmpdir"), "reporting-exports");
+        Files.createDirectories(directory);
+        purge();
+    }
+
+    @FunctionalInterface
+    public interface ArtifactWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public Path write(String fileName, ArtifactWriter writer) throws IOException {
+        Path target = directory.resolve(fileName);
+        Path partial = directory.resolve(fileName + ".part");
+        try (OutputStream out = Files.newOutputStream(partial)) {
+            writer.write(out);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(partial);
+            throw ex;
+        }
+        return Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public void delete(Path artifact) {
+        try {
+            Files.deleteIfExists(artifact);
+        } catch (IOException ex) {
+            logger.warn("Could not delete export artifact {}: {}", artifact, ex.getMessage());
+        }
+    }
+
+    /**
+     * Removes artifacts left over from a previous run; their jobs no longer exist.
+     */
+    private void purge() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    delete(file);
+                }
+            }
+        }
+    }
+}
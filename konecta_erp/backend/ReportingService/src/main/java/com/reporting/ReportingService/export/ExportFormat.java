@@ -0,0 +1,57 @@
+package com.reporting.ReportingService.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.reporting.ReportingService.report.ReportDocument;
+import com.reporting.ReportingService.util.ExcelReportGenerator;
+import com.reporting.ReportingService.util.PdfReportGenerator;
+
+public enum ExportFormat {
+    PDF("pdf", MediaType.APPLICATION_PDF) {
+        @Override
+        public void render(ReportDocument report, OutputStream out) throws IOException {
+            PdfReportGenerator.writePdf(report, out);
+        }
+    },
+    EXCEL("xlsx", MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")) {
+        @Override
+        public void render(ReportDocument report, OutputStream out) throws IOException {
+            ExcelReportGenerator.writeExcel(report, out);
+        }
+    };
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public abstract void render(ReportDocument report, OutputStream out) throws IOException;
+
+    public String extension() {
+        return extension;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Accepts the enum name or the file extension, case-insensitively.
+     */
+    public static ExportFormat fromValue(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        for (ExportFormat format : values()) {
+            if (format.name().equals(normalized) || format.extension.equalsIgnoreCase(normalized)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
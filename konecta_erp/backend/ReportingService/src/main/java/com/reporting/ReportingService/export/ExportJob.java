@@ -0,0 +1,102 @@
+package com.reporting.ReportingService.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import com.reporting.ReportingService.dto.ExportJobDto;
+
+/**
+ * A single render request. Status fields are written by the worker and read by
+ * pollers, hence volatile. {@code evicted} is guarded by the job's monitor so
+ * that opening the artifact and deleting it never interleave.
+ */
+public class ExportJob {
+    private final String id;
+    private final String queueKey;
+    private final ExportFormat format;
+    private final ExportPriority priority;
+    private final Instant submittedAt;
+    private volatile ExportStatus status = ExportStatus.QUEUED;
+    private volatile Instant completedAt;
+    private volatile Path artifact;
+    private volatile long sizeBytes;
+    private volatile String error;
+    private boolean evicted;
+
+    ExportJob(String id, String queueKey, ExportFormat format, ExportPriority priority, Instant submittedAt) {
+        this.id = id;
+        this.queueKey = queueKey;
+        this.format = format;
+        this.priority = priority;
+        this.submittedAt = submittedAt;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public String queueKey() {
+        return queueKey;
+    }
+
+    public ExportFormat format() {
+        return format;
+    }
+
+    public ExportPriority priority() {
+        return priority;
+    }
+
+    public ExportStatus status() {
+        return status;
+    }
+
+    public Instant completedAt() {
+        return completedAt;
+    }
+
+    public Path artifact() {
+        return artifact;
+    }
+
+    public long sizeBytes() {
+        return sizeBytes;
+    }
+
+    public boolean isFinished() {
+        ExportStatus current = status;
+        return current == ExportStatus.COMPLETED || current == ExportStatus.FAILED;
+    }
+
+    void markRunning() {
+        status = ExportStatus.RUNNING;
+    }
+
+    void markCompleted(Path artifact, long sizeBytes, Instant completedAt) {
+        this.artifact = artifact;
+        this.sizeBytes = sizeBytes;
+        this.completedAt = completedAt;
+        this.status = ExportStatus.COMPLETED;
+    }
+
+    synchronized boolean isEvicted() {
+        return evicted;
+    }
+
+    synchronized void markEvicted() {
+        evicted = true;
+    }
+
+    void markFailed(String error, Instant completedAt) {
+        this.error = error;
+        this.completedAt = completedAt;
+        this.status = ExportStatus.FAILED;
+    }
+
+    public ExportJobDto toDto() {
+        ExportStatus current = status;
+        return new ExportJobDto(id, format.name().toLowerCase(), priority.name().toLowerCase(),
+                current.name().toLowerCase(), submittedAt, completedAt,
+                current == ExportStatus.COMPLETED ? sizeBytes : null, error);
+    }
+}
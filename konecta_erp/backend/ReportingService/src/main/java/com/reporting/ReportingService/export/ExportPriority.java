@@ -0,0 +1,10 @@
+package com.reporting.ReportingService.export;
+
+/**
+ * Scheduling class of an export job; workers always pick the highest waiting priority first.
+ */
+public enum ExportPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
@@ -0,0 +1,8 @@
+package com.reporting.ReportingService.export;
+
+public enum ExportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,36 @@
+package com.reporting.ReportingService.export;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance out of service until the startup pre-render has finished,
+ * so Consul, which checks {@code /actuator/health}, routes no exports to a cold
+ * instance. A failed pre-render does not keep the instance out; exports are then
+ * rendered on request as before.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.prerender", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class PrerenderHealthIndicator implements HealthIndicator {
+    private final ReportPrerenderer prerenderer;
+
+    public PrerenderHealthIndicator(ReportPrerenderer prerenderer) {
+        this.prerenderer = prerenderer;
+    }
+
+    @Override
+    public Health health() {
+        if (!prerenderer.warmedUp()) {
+            return Health.outOfService().withDetail("reason", "Pre-rendering the standard reports").build();
+        }
+        Health.Builder health = Health.up();
+        for (ExportFormat format : ExportFormat.values()) {
+            prerenderer.renderedAt(format)
+                    .ifPresent(renderedAt -> health.withDetail(format.extension(), renderedAt.toString()));
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.reporting.ReportingService.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.cache.RenderCache;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.ReportDocument;
+import com.reporting.ReportingService.report.ReportPipeline;
+import com.reporting.ReportingService.service.ReportingService;
+
+/**
+ * Resolves an export to its content hash before anything is rendered, so
+ * callers can answer conditional requests and reuse earlier renders of the
+ * same figures. The sections are prepared up front by the {@link ReportPipeline};
+ * the hash covers what they show.
+ */
+@Component
+public class ReportExporter {
+    private final ReportingService reportingService;
+    private final RenderCache renderCache;
+    private final ReportPipeline pipeline;
+
+    public ReportExporter(ReportingService reportingService, RenderCache renderCache, ReportPipeline pipeline) {
+        this.reportingService = reportingService;
+        this.renderCache = renderCache;
+        this.pipeline = pipeline;
+    }
+
+    public PreparedReport prepare(ExportFormat format) {
+        return prepare(format, reportingService.buildOverview());
+    }
+
+    public PreparedReport prepare(ExportFormat format, OverviewDto overview) {
+        ReportDocument document = pipeline.prepare(overview);
+        String key = format.extension() + "-" + document.fingerprint();
+        Instant lastModified = renderCache.renderedAt(key).orElse(document.generatedAt())
+                .truncatedTo(ChronoUnit.SECONDS);
+        return new PreparedReport(format, "\"" + key + "\"", lastModified, document, key);
+    }
+
+    /**
+     * An export whose validators are known but whose bytes may not be rendered yet.
+     */
+    public final class PreparedReport {
+        private final ExportFormat format;
+        private final String etag;
+        private final Instant lastModified;
+        private final ReportDocument document;
+        private final String key;
+
+        private PreparedReport(ExportFormat format, String etag, Instant lastModified, ReportDocument document,
+                String key) {
+            this.format = format;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.document = document;
+            this.key = key;
+        }
+
+        public ExportFormat format() {
+            return format;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public Instant lastModified() {
+            return lastModified;
+        }
+
+        String key() {
+            return key;
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            renderCache.writeTo(key, buffer -> format.render(document, buffer), out);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.reporting.ReportingService.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.reporting.ReportingService.config.ExportProperties;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.exception.ExportQueueFullException;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Renders exports off the request thread. Jobs wait in a bounded priority
+ * queue; submissions beyond its capacity are rejected rather than queued.
+ * The overview is fetched by the worker when the job starts, so a submission
+ * costs no upstream calls; one matching a job of the same format and priority
+ * that has not started yet is answered with that job, since both would render
+ * the same figures.
+ */
+@Service
+public class ReportJobService {
+    private final ReportingService reportingService;
+    private final ReportExporter reportExporter;
+    private final ArtifactStore artifactStore;
+    private final ExportProperties properties;
+    private final Executor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ExportJob> pendingByKey = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter submitted;
+    private final Counter deduplicated;
+    private final Counter rejected;
+    private final Counter failed;
+    private final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public ReportJobService(ReportingService reportingService, ReportExporter reportExporter,
+            ArtifactStore artifactStore,
+            ExportProperties properties, @Qualifier("exportExecutor") Executor executor, MeterRegistry registry) {
+        this.reportingService = reportingService;
+        this.reportExporter = reportExporter;
+        this.artifactStore = artifactStore;
+        this.properties = properties;
+        this.executor = executor;
+        this.submitted = Counter.builder("reporting.export.jobs").tag("outcome", "submitted").register(registry);
+        this.deduplicated = Counter.builder("reporting.export.jobs").tag("outcome", "deduplicated").register(registry);
+        this.rejected = Counter.builder("reporting.export.jobs").tag("outcome", "rejected").register(registry);
+        this.failed = Counter.builder("reporting.export.jobs").tag("outcome", "failed").register(registry);
+        Gauge.builder("reporting.export.queue.depth", queued, AtomicInteger::get).register(registry);
+    }
+
+    /**
+     * Queues a render of the current overview, or returns the matching job that is still waiting.
+     *
+     * @throws ExportQueueFullException when the wait queue is at capacity
+     */
+    public ExportJob submit(ExportFormat format, ExportPriority priority) {
+        String queueKey = format.name() + ":" + priority.name();
+        ExportJob candidate = new ExportJob(UUID.randomUUID().toString(), queueKey, format, priority, Instant.now());
+        ExportJob job = pendingByKey.computeIfAbsent(queueKey, key -> {
+            if (queued.incrementAndGet() > properties.queueCapacity()) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw new ExportQueueFullException(properties.queueCapacity());
+            }
+            return candidate;
+        });
+
+        if (job != candidate) {
+            deduplicated.increment();
+            return job;
+        }
+
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(new QueuedJob(job, sequence.incrementAndGet(), () -> render(job)));
+        } catch (RejectedExecutionException ex) {
+            queued.decrementAndGet();
+            jobs.remove(job.id());
+            pendingByKey.remove(queueKey, job);
+            rejected.increment();
+            throw new ExportQueueFullException(properties.queueCapacity());
+        }
+        submitted.increment();
+        return job;
+    }
+
+    public Optional<ExportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Opens a completed job's artifact for download. Eviction deletes the file
+     * under the same lock, so the caller either gets a stream that stays readable
+     * after the file is unlinked or nothing if the job has already gone.
+     */
+    public Optional<InputStream> openArtifact(ExportJob job) throws IOException {
+        synchronized (job) {
+            if (job.isEvicted() || job.status() != ExportStatus.COMPLETED) {
+                return Optional.empty();
+            }
+            return Optional.of(Files.newInputStream(job.artifact()));
+        }
+    }
+
+    private void render(ExportJob job) {
+        queued.decrementAndGet();
+        pendingByKey.remove(job.queueKey(), job);
+        job.markRunning();
+        try {
+            OverviewDto overview = reportingService.buildOverview();
+            Path artifact = artifactStore.write(job.id() + "." + job.format().extension(),
+                    reportExporter.prepare(job.format(), overview)::writeTo);
+            job.markCompleted(artifact, Files.size(artifact), Instant.now());
+        } catch (IOException | RuntimeException ex) {
+            failed.increment();
+            logger.warn("Export job {} ({}) failed: {}", job.id(), job.format(), ex.getMessage());
+            job.markFailed(ex.getMessage(), Instant.now());
+        }
+        evictExpired();
+    }
+
+    /**
+     * Drops finished jobs past their retention, then the oldest ones until
+     * the stored artifacts fit in {@code maxStorageBytes}.
+     */
+    @Scheduled(fixedDelayString = "${reporting.export.cleanup-interval:5m}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(properties.retention());
+        List<ExportJob> finished = jobs.values().stream()
+                .filter(ExportJob::isFinished)
+                .sorted(Comparator.comparing(ExportJob::completedAt))
+                .toList();
+
+        long storedBytes = finished.stream().mapToLong(ExportJob::sizeBytes).sum();
+        for (ExportJob job : finished) {
+            if (job.completedAt().isAfter(cutoff) && storedBytes <= properties.maxStorageBytes()) {
+                break;
+            }
+            if (jobs.remove(job.id(), job)) {
+                storedBytes -= job.sizeBytes();
+                synchronized (job) {
+                    job.markEvicted();
+                    if (job.artifact() != null) {
+                        artifactStore.delete(job.artifact());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Orders waiting jobs by priority, then by submission order.
+     */
+    private record QueuedJob(ExportJob job, long sequence, Runnable work)
+            implements Runnable, Comparable<QueuedJob> {
+
+        private static final Comparator<QueuedJob> ORDER = Comparator
+                .comparing((QueuedJob queuedJob) -> queuedJob.job().priority())
+                .thenComparingLong(QueuedJob::sequence);
+
+        @Override
+        public void run() {
+            work.run();
+        }
+
+        @Override
+        public int compareTo(QueuedJob other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.reporting.ReportingService.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.cache.RenderCache;
+import com.reporting.ReportingService.config.PrerenderProperties;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.export.ReportExporter.PreparedReport;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Renders the standard exports into the {@link RenderCache} once the application
+ * is ready and then on {@code reporting.prerender.cron}, so the first download
+ * after a deploy or a quiet spell neither warms up the renderers nor waits for
+ * the downstream services. Unchanged figures hash to the cached artifact and are
+ * not rendered again. Until the startup round finishes the
+ * {@link PrerenderHealthIndicator} keeps the instance out of service.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.prerender", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ReportPrerenderer {
+    private final ReportingService reportingService;
+    private final ReportExporter reportExporter;
+    private final RenderCache renderCache;
+    private final TaskScheduler taskScheduler;
+    private final PrerenderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<ExportFormat, String> latestKeys = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Instant createdAt = Instant.now();
+    private volatile boolean warmedUp;
+    private final Logger logger = LoggerFactory.getLogger(ReportPrerenderer.class);
+
+    public ReportPrerenderer(ReportingService reportingService, ReportExporter reportExporter,
+            RenderCache renderCache, TaskScheduler taskScheduler, PrerenderProperties properties,
+            MeterRegistry meterRegistry) {
+        this.reportingService = reportingService;
+        this.reportExporter = reportExporter;
+        this.renderCache = renderCache;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (ExportFormat format : ExportFormat.values()) {
+            TimeGauge.builder("reporting.prerender.artifact.age", this, TimeUnit.MILLISECONDS,
+                    prerenderer -> prerenderer.ageMillis(format))
+                    .tag("format", format.extension())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts the startup round on the scheduler thread, leaving the main thread free.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        taskScheduler.schedule(() -> prerender("startup"), Instant.now());
+    }
+
+    @Scheduled(cron = "${reporting.prerender.cron:0 */15 * * * *}", zone = "${reporting.prerender.zone:UTC}")
+    public void refresh() {
+        prerender("scheduled");
+    }
+
+    /**
+     * Whether the startup round has finished, or has run past {@code warm-up-timeout}.
+     */
+    public boolean warmedUp() {
+        return warmedUp || Duration.between(createdAt, Instant.now()).compareTo(properties.warmUpTimeout()) > 0;
+    }
+
+    /**
+     * When the newest pre-rendered artifact of {@code format} was rendered, while it is still cached.
+     */
+    public Optional<Instant> renderedAt(ExportFormat format) {
+        String key = latestKeys.get(format);
+        return key == null ? Optional.empty() : renderCache.renderedAt(key);
+    }
+
+    void prerender(String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Skipping {} pre-render, the previous one is still running", trigger);
+            return;
+        }
+        try {
+            // one fan-out serves every format
+            OverviewDto overview = reportingService.buildOverview();
+            for (ExportFormat format : ExportFormat.values()) {
+                prerender(format, overview, trigger);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Pre-rendering reports failed: {}", ex.getMessage());
+        } finally {
+            warmedUp = true;
+            running.set(false);
+        }
+    }
+
+    private void prerender(ExportFormat format, OverviewDto overview, String trigger) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failed";
+        try {
+            PreparedReport report = reportExporter.prepare(format, overview);
+            boolean cached = renderCache.renderedAt(report.key()).isPresent();
+            report.writeTo(OutputStream.nullOutputStream());
+            latestKeys.put(format, report.key());
+            outcome = cached ? "cached" : "rendered";
+            logger.debug("Pre-rendered the {} report ({})", format.extension(), outcome);
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Could not pre-render the {} report: {}", format.extension(), ex.getMessage());
+        } finally {
+            sample.stop(Timer.builder("reporting.prerender.duration")
+                    .tag("format", format.extension())
+                    .tag("trigger", trigger)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private double ageMillis(ExportFormat format) {
+        return renderedAt(format)
+                .map(renderedAt -> (double) Duration.between(renderedAt, Instant.now()).toMillis())
+                .orElse(Double.NaN);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reporting.ReportingService.kpi;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+
+/**
+ * Ledger state written to disk by {@link KpiCheckpointer}. A section is null when it had not been seeded;
+ * {@code recentKeys} lets events redelivered after a restart still be recognized.
+ */
+record KpiCheckpoint(
+        Instant lastUpdatedUtc,
+        FinanceSummaryDto finance,
+        HrSummaryDto hr,
+        InventorySummaryDto inventory,
+        List<String> recentKeys) {
+}
@@ -0,0 +1,104 @@
+package com.reporting.ReportingService.kpi;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reporting.ReportingService.config.KpiEventsProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Snapshots the {@link KpiLedger} to {@code checkpoint-path} and seeds it from there
+ * on startup, so a restarted instance serves the overview from memory straight away
+ * and only has to apply the events queued while it was down.
+ * <p>
+ * The file is written next to its final name and moved into place, so a crash
+ * mid-write leaves the previous checkpoint intact. Events applied after the last
+ * checkpoint and before a crash are lost; the first reconciliation corrects them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class KpiCheckpointer {
+    private final Logger logger = LoggerFactory.getLogger(KpiCheckpointer.class);
+    private final KpiLedger ledger;
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final Counter written;
+    private final Counter failed;
+    private long savedRevision = -1;
+
+    public KpiCheckpointer(KpiLedger ledger, ObjectMapper objectMapper, KpiEventsProperties properties,
+            MeterRegistry registry) {
+        this.ledger = ledger;
+        this.objectMapper = objectMapper;
+        this.path = properties.checkpointPath() != null
+                ? properties.checkpointPath()
+                : Path.of(System.getProperty("java.io.tmpdir"), "reporting-kpi", "checkpoint.json");
+        this.written = Counter.builder("reporting.kpi.checkpoints").tag("outcome", "written").register(registry);
+        this.failed = Counter.builder("reporting.kpi.checkpoints").tag("outcome", "failed").register(registry);
+        restore();
+    }
+
+    /**
+     * Writes the ledger when it changed since the last checkpoint.
+     */
+    @Scheduled(initialDelayString = "${reporting.kpi-events.checkpoint-interval:30s}",
+            fixedDelayString = "${reporting.kpi-events.checkpoint-interval:30s}")
+    public synchronized void checkpoint() {
+        long revision = ledger.revision();
+        if (revision == savedRevision) {
+            return;
+        }
+        try {
+            write(ledger.checkpoint());
+            savedRevision = revision;
+            written.increment();
+        } catch (IOException ex) {
+            failed.increment();
+            logger.error("Could not write KPI checkpoint to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        checkpoint();
+    }
+
+    private void restore() {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            KpiCheckpoint checkpoint = objectMapper.readValue(path.toFile(), KpiCheckpoint.class);
+            ledger.restore(checkpoint);
+            savedRevision = ledger.revision();
+            logger.info("KPI ledger restored from checkpoint of {}", checkpoint.lastUpdatedUtc());
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Ignoring unreadable KPI checkpoint {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private void write(KpiCheckpoint checkpoint) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        objectMapper.writeValue(temporary.toFile(), checkpoint);
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
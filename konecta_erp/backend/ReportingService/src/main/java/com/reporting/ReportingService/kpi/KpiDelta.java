@@ -0,0 +1,11 @@
+package com.reporting.ReportingService.kpi;
+
+import java.math.BigDecimal;
+
+/**
+ * One change to one figure. {@code key} identifies the business fact behind it,
+ * e.g. {@code employee:<id>:exit}, so the same fact arriving twice, or through two
+ * different events, is applied once.
+ */
+record KpiDelta(String key, KpiField field, BigDecimal amount) {
+}
@@ -0,0 +1,82 @@
+package com.reporting.ReportingService.kpi;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Applies domain events from the {@code reporting.kpi-events} queue to the {@link KpiLedger}.
+ * <p>
+ * Delivery is at least once, so the same event may arrive again after a broker
+ * or consumer restart; the ledger drops facts it has already applied. An event
+ * that cannot be read is counted and acknowledged rather than redelivered, since
+ * it would fail the same way every time.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class KpiEventListener implements MessageListener {
+    /**
+     * Routing key patterns the queue is bound with on the topic exchange.
+     */
+    public static final List<String> BINDINGS = List.of(
+            "hr.employee.#", "finance.invoice.#", "finance.expense.#", "inventory.stock.#");
+
+    private final Logger logger = LoggerFactory.getLogger(KpiEventListener.class);
+    private final KpiLedger ledger;
+    private final ObjectMapper objectMapper;
+    private final Counter invalid;
+
+    public KpiEventListener(KpiLedger ledger, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.ledger = ledger;
+        this.objectMapper = objectMapper;
+        this.invalid = Counter.builder("reporting.kpi.events").tag("outcome", "invalid").register(registry);
+    }
+
+    @Override
+    public void onMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String routingKey = properties.getReceivedRoutingKey();
+        try {
+            JsonNode body = objectMapper.readTree(message.getBody());
+            ledger.apply(KpiEventTranslator.translate(routingKey, body, messageId(properties, message.getBody()),
+                    Instant.now()));
+        } catch (IOException | IllegalArgumentException ex) {
+            invalid.increment();
+            logger.warn("Dropping unreadable {} event: {}", routingKey, ex.getMessage());
+        }
+    }
+
+    /**
+     * The AMQP message id, or a digest of the body when the publisher set none; HrService sets none.
+     */
+    private static String messageId(MessageProperties properties, byte[] body) {
+        if (properties.getMessageId() != null) {
+            return properties.getMessageId();
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(properties.getReceivedRoutingKey()).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
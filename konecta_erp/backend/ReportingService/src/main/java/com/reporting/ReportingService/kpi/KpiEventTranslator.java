@@ -0,0 +1,162 @@
+package com.reporting.ReportingService.kpi;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.reporting.ReportingService.util.DotNetDates;
+
+/**
+ * Turns a domain event into the figure changes it implies. Payloads are the
+ * camelCase JSON the publishers write.
+ * <p>
+ * HR events are the contracts HrService publishes today. It publishes nothing
+ * when a resignation is submitted, so pending resignations are left to
+ * reconciliation rather than counted down on approval alone. The finance and
+ * inventory keys are the contracts agreed for FinanceService and
+ * InventoryService, which do not publish yet; until they do, those figures move
+ * only on reconciliation.
+ */
+final class KpiEventTranslator {
+    static final String EMPLOYEE_CREATED = "hr.employee.created";
+    static final String RESIGNATION_APPROVED = "hr.employee.resignation.approved";
+    static final String EMPLOYEE_TERMINATED = "hr.employee.terminated";
+    static final String EMPLOYEE_EXITED = "hr.employee.exited";
+    static final String INVOICE_ISSUED = "finance.invoice.issued";
+    static final String INVOICE_PAYMENT_RECORDED = "finance.invoice.payment.recorded";
+    static final String EXPENSE_RECORDED = "finance.expense.recorded";
+    static final String STOCK_TRANSACTION_RECORDED = "inventory.stock.transaction.recorded";
+
+    private static final BigDecimal ONE = BigDecimal.ONE;
+    private static final BigDecimal MINUS_ONE = BigDecimal.ONE.negate();
+
+    private KpiEventTranslator() {
+    }
+
+    /**
+     * Returns the changes {@code body} implies; empty for events that move no figure.
+     *
+     * @param fallbackId identifies the message when the payload carries no id of its own
+     * @throws IllegalArgumentException when a field the event needs is missing or malformed
+     */
+    static List<KpiDelta> translate(String routingKey, JsonNode body, String fallbackId, Instant now) {
+        List<KpiDelta> deltas = new ArrayList<>(2);
+        if (routingKey == null) {
+            return deltas;
+        }
+        switch (routingKey) {
+            case EMPLOYEE_CREATED -> {
+                String employee = "employee:" + text(body, "employeeId");
+                deltas.add(new KpiDelta(employee + ":created", KpiField.TOTAL_EMPLOYEES, ONE));
+                deltas.add(new KpiDelta(employee + ":created", KpiField.ACTIVE_EMPLOYEES, ONE));
+            }
+            // one employee leaving can be announced by more than one of these; the
+            // shared key makes it count once. An approval does not touch pending
+            // resignations: submissions publish nothing to add them, so taking them
+            // off here would only drift the figure down between reconciliations
+            case RESIGNATION_APPROVED, EMPLOYEE_TERMINATED, EMPLOYEE_EXITED -> deltas.add(exit(body));
+            case INVOICE_ISSUED -> {
+                String key = "invoice:" + text(body, "invoiceId") + ":issued";
+                BigDecimal open = decimal(body, "totalAmount").subtract(optionalDecimal(body, "paidAmount"));
+                if (open.signum() > 0) {
+                    deltas.add(new KpiDelta(key, KpiField.OUTSTANDING_RECEIVABLES, open));
+                    if (overdue(body, now)) {
+                        deltas.add(new KpiDelta(key, KpiField.OVERDUE_RECEIVABLES, open));
+                    }
+                }
+            }
+            case INVOICE_PAYMENT_RECORDED -> {
+                // paidAmount is the invoice's running total, so it tells payments of
+                // the same amount apart
+                String key = body.hasNonNull("paidAmount")
+                        ? "invoice:" + text(body, "invoiceId") + ":paid:" + decimal(body, "paidAmount").stripTrailingZeros()
+                        : "payment:" + fallbackId;
+                BigDecimal amount = decimal(body, "amount").negate();
+                deltas.add(new KpiDelta(key, KpiField.OUTSTANDING_RECEIVABLES, amount));
+                if (overdue(body, now)) {
+                    deltas.add(new KpiDelta(key, KpiField.OVERDUE_RECEIVABLES, amount));
+                }
+            }
+            case EXPENSE_RECORDED -> {
+                if (YearMonth.from(instant(body, "incurredOn").atOffset(ZoneOffset.UTC))
+                        .equals(YearMonth.from(now.atOffset(ZoneOffset.UTC)))) {
+                    deltas.add(new KpiDelta("expense:" + text(body, "expenseId"), KpiField.CURRENT_MONTH_EXPENSES,
+                            decimal(body, "amount")));
+                }
+            }
+            case STOCK_TRANSACTION_RECORDED -> deltas.add(new KpiDelta(
+                    "stock:" + optionalText(body, "transactionId", fallbackId), KpiField.QUANTITY_ON_HAND,
+                    stockChange(body)));
+            default -> {
+                // bound by a wildcard but moves no figure, e.g. a future hr.employee.* event
+            }
+        }
+        return deltas;
+    }
+
+    private static KpiDelta exit(JsonNode body) {
+        return new KpiDelta("employee:" + text(body, "employeeId") + ":exit", KpiField.ACTIVE_EMPLOYEES, MINUS_ONE);
+    }
+
+    /**
+     * Signed on-hand change, as InventoryService's StockService applies it. Transfers
+     * arrive as an out and an in, which cancel in the total.
+     */
+    private static BigDecimal stockChange(JsonNode body) {
+        BigDecimal quantity = decimal(body, "quantity");
+        String type = text(body, "transactionType");
+        return switch (type) {
+            case "Receipt", "TransferIn" -> quantity.abs();
+            case "Issue", "TransferOut" -> quantity.abs().negate();
+            case "Adjustment" -> quantity;
+            default -> throw new IllegalArgumentException("Unknown transactionType " + type);
+        };
+    }
+
+    private static boolean overdue(JsonNode body, Instant now) {
+        return body.hasNonNull("dueDate") && instant(body, "dueDate").isBefore(now);
+    }
+
+    private static String text(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        if (value == null || value.isNull() || value.asText().isBlank()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+        return value.asText();
+    }
+
+    private static String optionalText(JsonNode body, String field, String fallback) {
+        return body.hasNonNull(field) ? text(body, field) : fallback;
+    }
+
+    private static BigDecimal decimal(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+        try {
+            return value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed " + field, ex);
+        }
+    }
+
+    private static BigDecimal optionalDecimal(JsonNode body, String field) {
+        return body.hasNonNull(field) ? decimal(body, field) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Reads a .NET {@code DateTime}; see {@link DotNetDates#instant}.
+     */
+    private static Instant instant(JsonNode body, String field) {
+        Instant instant = DotNetDates.instant(text(body, field));
+        if (instant == null) {
+            throw new IllegalArgumentException("Malformed " + field);
+        }
+        return instant;
+    }
+}
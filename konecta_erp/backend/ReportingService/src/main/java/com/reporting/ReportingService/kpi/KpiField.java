@@ -0,0 +1,16 @@
+package com.reporting.ReportingService.kpi;
+
+/**
+ * Summary figures that domain events can move. The rest (departments, pending
+ * resignations, budget utilization, payroll, warehouses, items below safety
+ * stock) only change on reconciliation; pending resignations because no event
+ * announces a submission, only the approval that ends one.
+ */
+enum KpiField {
+    TOTAL_EMPLOYEES,
+    ACTIVE_EMPLOYEES,
+    OUTSTANDING_RECEIVABLES,
+    OVERDUE_RECEIVABLES,
+    CURRENT_MONTH_EXPENSES,
+    QUANTITY_ON_HAND
+}
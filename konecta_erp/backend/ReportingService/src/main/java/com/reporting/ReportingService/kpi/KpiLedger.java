@@ -0,0 +1,264 @@
+package com.reporting.ReportingService.kpi;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.KpiEventsProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.stream.OverviewDiff;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory finance, HR and inventory summaries kept current by domain events.
+ * Every change rebuilds one immutable {@link OverviewDto}, so reading the overview
+ * is a field read however often it is asked for.
+ * <p>
+ * A section is served once it has been seeded, by a reconciliation or from a
+ * checkpoint; until then callers fall back to the summary endpoints. Events only
+ * add to or subtract from figures, so they apply in any order, and each business
+ * fact is applied once: its key is remembered for the last {@code dedupe-capacity}
+ * facts. Counts and amounts never go below zero.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class KpiLedger {
+    private static final String FINANCE = "finance";
+    private static final String HR = "hr";
+    private static final String INVENTORY = "inventory";
+
+    private final Logger logger = LoggerFactory.getLogger(KpiLedger.class);
+    private final int dedupeCapacity;
+    private final Set<String> recentKeys = new LinkedHashSet<>();
+    private final MeterRegistry registry;
+    private final Counter applied;
+    private final Counter duplicate;
+    private final Counter ignored;
+    private final Map<String, Counter> reconciliations = new LinkedHashMap<>();
+
+    private FinanceSummaryDto finance = new FinanceSummaryDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+            BigDecimal.ZERO, BigDecimal.ZERO);
+    private HrSummaryDto hr = new HrSummaryDto(0, 0, 0, 0);
+    private InventorySummaryDto inventory = new InventorySummaryDto(0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    private volatile boolean financeSeeded;
+    private volatile boolean hrSeeded;
+    private volatile boolean inventorySeeded;
+    private volatile OverviewDto overview;
+    private volatile long revision;
+
+    public KpiLedger(KpiEventsProperties properties, MeterRegistry registry) {
+        this.dedupeCapacity = properties.dedupeCapacity();
+        this.registry = registry;
+        this.applied = Counter.builder("reporting.kpi.events").tag("outcome", "applied").register(registry);
+        this.duplicate = Counter.builder("reporting.kpi.events").tag("outcome", "duplicate").register(registry);
+        this.ignored = Counter.builder("reporting.kpi.events").tag("outcome", "ignored").register(registry);
+        publish(Instant.now());
+    }
+
+    /**
+     * Applies the changes of one event. Changes whose key was already applied are dropped.
+     *
+     * @return whether any figure moved
+     */
+    public synchronized boolean apply(List<KpiDelta> deltas) {
+        if (deltas.isEmpty()) {
+            ignored.increment();
+            return false;
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (KpiDelta delta : deltas) {
+            if (!recentKeys.contains(delta.key())) {
+                keys.add(delta.key());
+                change(delta.field(), delta.amount());
+            }
+        }
+        if (keys.isEmpty()) {
+            duplicate.increment();
+            return false;
+        }
+        for (String key : keys) {
+            remember(key);
+        }
+        applied.increment();
+        publish(Instant.now());
+        return true;
+    }
+
+    /**
+     * Replaces the finance section with figures pulled from its summary endpoint.
+     *
+     * @return whether that changed the figures, i.e. the section was unseeded or had drifted
+     */
+    public synchronized boolean reconcile(FinanceSummaryDto pulled) {
+        boolean drifted = drifted(FINANCE, financeSeeded, finance, pulled);
+        finance = pulled;
+        financeSeeded = true;
+        if (drifted) {
+            publish(Instant.now());
+        }
+        return drifted;
+    }
+
+    public synchronized boolean reconcile(HrSummaryDto pulled) {
+        boolean drifted = drifted(HR, hrSeeded, hr, pulled);
+        hr = pulled;
+        hrSeeded = true;
+        if (drifted) {
+            publish(Instant.now());
+        }
+        return drifted;
+    }
+
+    public synchronized boolean reconcile(InventorySummaryDto pulled) {
+        boolean drifted = drifted(INVENTORY, inventorySeeded, inventory, pulled);
+        inventory = pulled;
+        inventorySeeded = true;
+        if (drifted) {
+            publish(Instant.now());
+        }
+        return drifted;
+    }
+
+    /**
+     * The current overview; meaningful once {@link #ready()}.
+     */
+    public OverviewDto overview() {
+        return overview;
+    }
+
+    /**
+     * Whether every section has been seeded.
+     */
+    public boolean ready() {
+        return financeSeeded && hrSeeded && inventorySeeded;
+    }
+
+    /**
+     * The finance figures, or null until the section is seeded.
+     */
+    public FinanceSummaryDto finance() {
+        return financeSeeded ? overview.finance() : null;
+    }
+
+    public HrSummaryDto hr() {
+        return hrSeeded ? overview.hr() : null;
+    }
+
+    public InventorySummaryDto inventory() {
+        return inventorySeeded ? overview.inventory() : null;
+    }
+
+    /**
+     * Incremented on every change, so a checkpoint is only written when there is something new.
+     */
+    public long revision() {
+        return revision;
+    }
+
+    synchronized KpiCheckpoint checkpoint() {
+        return new KpiCheckpoint(overview.lastUpdatedUtc(), financeSeeded ? finance : null,
+                hrSeeded ? hr : null, inventorySeeded ? inventory : null, List.copyOf(recentKeys));
+    }
+
+    /**
+     * Seeds the ledger from a checkpoint; sections it does not hold stay unseeded.
+     */
+    synchronized void restore(KpiCheckpoint checkpoint) {
+        if (checkpoint.finance() != null) {
+            finance = checkpoint.finance();
+            financeSeeded = true;
+        }
+        if (checkpoint.hr() != null) {
+            hr = checkpoint.hr();
+            hrSeeded = true;
+        }
+        if (checkpoint.inventory() != null) {
+            inventory = checkpoint.inventory();
+            inventorySeeded = true;
+        }
+        recentKeys.clear();
+        checkpoint.recentKeys().forEach(this::remember);
+        publish(checkpoint.lastUpdatedUtc());
+    }
+
+    private void change(KpiField field, BigDecimal amount) {
+        switch (field) {
+            case TOTAL_EMPLOYEES -> hr = new HrSummaryDto(count(hr.totalEmployees(), amount), hr.activeEmployees(),
+                    hr.departments(), hr.pendingResignations());
+            case ACTIVE_EMPLOYEES -> hr = new HrSummaryDto(hr.totalEmployees(), count(hr.activeEmployees(), amount),
+                    hr.departments(), hr.pendingResignations());
+            case OUTSTANDING_RECEIVABLES -> finance = new FinanceSummaryDto(money(finance.outstandingReceivables(), amount),
+                    finance.overdueReceivables(), finance.currentMonthExpenseTotal(), finance.budgetUtilization(),
+                    finance.upcomingPayrollCommitment());
+            case OVERDUE_RECEIVABLES -> finance = new FinanceSummaryDto(finance.outstandingReceivables(),
+                    money(finance.overdueReceivables(), amount), finance.currentMonthExpenseTotal(),
+                    finance.budgetUtilization(), finance.upcomingPayrollCommitment());
+            case CURRENT_MONTH_EXPENSES -> finance = new FinanceSummaryDto(finance.outstandingReceivables(),
+                    finance.overdueReceivables(), money(finance.currentMonthExpenseTotal(), amount),
+                    finance.budgetUtilization(), finance.upcomingPayrollCommitment());
+            case QUANTITY_ON_HAND -> inventory = new InventorySummaryDto(inventory.totalActiveItems(),
+                    inventory.totalWarehouses(), nonNegative(inventory.totalQuantityOnHand().add(amount)),
+                    inventory.totalQuantityReserved(), inventory.itemsBelowSafetyStock());
+        }
+    }
+
+    private void remember(String key) {
+        recentKeys.remove(key);
+        recentKeys.add(key);
+        if (recentKeys.size() > dedupeCapacity) {
+            recentKeys.remove(recentKeys.iterator().next());
+        }
+    }
+
+    private boolean drifted(String section, boolean seeded, Record current, Record pulled) {
+        String outcome;
+        boolean drifted = false;
+        if (!seeded) {
+            outcome = "seeded";
+        } else {
+            Map<String, Object> changes = OverviewDiff.fields(current, pulled);
+            drifted = !changes.isEmpty();
+            outcome = drifted ? "drift" : "match";
+            if (drifted) {
+                logger.info("KPI ledger {} section drifted from its source; corrected to {}", section, changes);
+            }
+        }
+        reconciliations.computeIfAbsent(section + "/" + outcome, key -> Counter.builder("reporting.kpi.reconciliations")
+                .tag("section", section)
+                .tag("outcome", key.substring(key.indexOf('/') + 1))
+                .register(registry)).increment();
+        return drifted || !seeded;
+    }
+
+    private void publish(Instant updatedAt) {
+        overview = new OverviewDto(finance, hr, inventory, updatedAt, List.of());
+        revision++;
+    }
+
+    private static int count(int value, BigDecimal amount) {
+        return Math.max(0, value + amount.intValue());
+    }
+
+    private static BigDecimal money(BigDecimal value, BigDecimal amount) {
+        return nonNegative(value.add(amount)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal nonNegative(BigDecimal value) {
+        return value.signum() < 0 ? BigDecimal.ZERO : value;
+    }
+}
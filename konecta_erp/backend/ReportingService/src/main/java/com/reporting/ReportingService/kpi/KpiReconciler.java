@@ -0,0 +1,72 @@
+package com.reporting.ReportingService.kpi;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.client.FinanceClient;
+import com.reporting.ReportingService.client.HrClient;
+import com.reporting.ReportingService.client.InventoryClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Periodically replaces the {@link KpiLedger} sections with the figures from the
+ * summary endpoints. This seeds the ledger after startup, catches events that were
+ * lost or never published, and moves the figures no event carries, such as
+ * overdue receivables as due dates pass.
+ * <p>
+ * Calls go to the clients directly rather than through the snapshot cache, whose
+ * entries may be older than the events already applied. An event applied while
+ * its section is being fetched can be overwritten by figures that predate it;
+ * that drift lasts until the next reconciliation.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class KpiReconciler {
+    private final Logger logger = LoggerFactory.getLogger(KpiReconciler.class);
+    private final KpiLedger ledger;
+    private final FinanceClient financeClient;
+    private final HrClient hrClient;
+    private final InventoryClient inventoryClient;
+    private final MeterRegistry registry;
+
+    public KpiReconciler(KpiLedger ledger, FinanceClient financeClient, HrClient hrClient,
+            InventoryClient inventoryClient, MeterRegistry registry) {
+        this.ledger = ledger;
+        this.financeClient = financeClient;
+        this.hrClient = hrClient;
+        this.inventoryClient = inventoryClient;
+        this.registry = registry;
+    }
+
+    @Scheduled(initialDelayString = "${reporting.kpi-events.reconcile-initial-delay:5s}",
+            fixedDelayString = "${reporting.kpi-events.reconcile-interval:5m}")
+    public void reconcile() {
+        reconcile("finance", financeClient::getFinanceSummary, ledger::reconcile);
+        reconcile("hr", hrClient::getSummary, ledger::reconcile);
+        reconcile("inventory", inventoryClient::getSummary, ledger::reconcile);
+    }
+
+    private <T> void reconcile(String section, Supplier<T> source, Consumer<T> target) {
+        T pulled;
+        try {
+            pulled = source.get();
+        } catch (RuntimeException ex) {
+            Counter.builder("reporting.kpi.reconciliations")
+                    .tag("section", section)
+                    .tag("outcome", "failed")
+                    .register(registry)
+                    .increment();
+            logger.warn("Could not reconcile KPI ledger {} section: {}", section, ex.getMessage());
+            return;
+        }
+        target.accept(pulled);
+    }
+}
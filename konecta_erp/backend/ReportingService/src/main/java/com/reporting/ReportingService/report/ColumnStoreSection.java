@@ -0,0 +1,51 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.reporting.ReportingService.columnar.ColumnQuery;
+import com.reporting.ReportingService.columnar.ColumnStore;
+import com.reporting.ReportingService.dto.AggregationResultDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.util.DetailSheet;
+
+/**
+ * A table section answered by one {@link ColumnStore} query. The section is left
+ * out while the store is disabled or its dataset has not been loaded yet, and when
+ * the query matches nothing.
+ */
+abstract class ColumnStoreSection implements ReportSection {
+    private final ObjectProvider<ColumnStore> columnStore;
+    private final String title;
+    private final List<String> headers;
+    private final int[] columnWidths;
+
+    ColumnStoreSection(ObjectProvider<ColumnStore> columnStore, String title, List<String> headers,
+            int[] columnWidths) {
+        this.columnStore = columnStore;
+        this.title = title;
+        this.headers = headers;
+        this.columnWidths = columnWidths;
+    }
+
+    /**
+     * The query whose result columns line up with the section headers.
+     */
+    abstract ColumnQuery query();
+
+    @Override
+    public SectionContent prepare(OverviewDto overview) {
+        ColumnStore store = columnStore.getIfAvailable();
+        ColumnQuery query = query();
+        if (store == null || !store.loaded(query.dataset())) {
+            return null;
+        }
+        AggregationResultDto result = store.query(query);
+        if (result.matchedRows() == 0) {
+            return null;
+        }
+        List<List<?>> rows = List.copyOf(result.rows());
+        return SectionContent.table(new DetailSheet(title, headers, columnWidths, rows));
+    }
+}
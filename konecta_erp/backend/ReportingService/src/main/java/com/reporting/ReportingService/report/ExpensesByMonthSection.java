@@ -0,0 +1,42 @@
+package com.reporting.ReportingService.report;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.columnar.ColumnQuery;
+import com.reporting.ReportingService.columnar.ColumnStore;
+import com.reporting.ReportingService.columnar.Dataset;
+
+/**
+ * Expense totals for the current month and the eleven before it, oldest first.
+ * Months without expenses are not listed.
+ */
+@Component
+public class ExpensesByMonthSection extends ColumnStoreSection {
+    static final int MONTHS = 12;
+
+    public ExpensesByMonthSection(ObjectProvider<ColumnStore> columnStore) {
+        super(columnStore, "Expenses by Month", List.of("Month", "Total", "Expenses"), new int[] { 12, 18, 12 });
+    }
+
+    @Override
+    public String id() {
+        return "expenses-by-month";
+    }
+
+    @Override
+    public int getOrder() {
+        return 500;
+    }
+
+    @Override
+    ColumnQuery query() {
+        YearMonth first = YearMonth.now(ZoneOffset.UTC).minusMonths(MONTHS - 1);
+        return ColumnQuery.parse(Dataset.EXPENSES, List.of("incurredOn:ge:" + first.atDay(1)),
+                List.of("incurredMonth"), List.of("sum:amount", "count"), "incurredMonth asc", MONTHS, MONTHS);
+    }
+}
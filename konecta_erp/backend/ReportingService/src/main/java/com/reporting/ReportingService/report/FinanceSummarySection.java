@@ -0,0 +1,38 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.SectionContent.Fact;
+
+@Component
+public class FinanceSummarySection implements ReportSection {
+
+    @Override
+    public String id() {
+        return "finance";
+    }
+
+    @Override
+    public int getOrder() {
+        return 100;
+    }
+
+    @Override
+    public SectionContent prepare(OverviewDto overview) {
+        return layout(overview);
+    }
+
+    static SectionContent layout(OverviewDto overview) {
+        FinanceSummaryDto finance = overview.finance();
+        return SectionContent.facts("Finance Summary", ReportDocument.unavailableNote(overview, "finance"), List.of(
+                new Fact("Outstanding Receivables", finance.outstandingReceivables()),
+                new Fact("Overdue Receivables", finance.overdueReceivables()),
+                new Fact("Current Month Expense Total", finance.currentMonthExpenseTotal()),
+                new Fact("Budget Utilization", finance.budgetUtilization()),
+                new Fact("Upcoming Payroll Commitment", finance.upcomingPayrollCommitment())));
+    }
+}
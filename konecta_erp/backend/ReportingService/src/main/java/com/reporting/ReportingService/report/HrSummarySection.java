@@ -0,0 +1,37 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.SectionContent.Fact;
+
+@Component
+public class HrSummarySection implements ReportSection {
+
+    @Override
+    public String id() {
+        return "hr";
+    }
+
+    @Override
+    public int getOrder() {
+        return 200;
+    }
+
+    @Override
+    public SectionContent prepare(OverviewDto overview) {
+        return layout(overview);
+    }
+
+    static SectionContent layout(OverviewDto overview) {
+        HrSummaryDto hr = overview.hr();
+        return SectionContent.facts("HR Summary", ReportDocument.unavailableNote(overview, "hr"), List.of(
+                new Fact("Total Employees", hr.totalEmployees()),
+                new Fact("Active Employees", hr.activeEmployees()),
+                new Fact("Departments", hr.departments()),
+                new Fact("Pending Resignations", hr.pendingResignations())));
+    }
+}
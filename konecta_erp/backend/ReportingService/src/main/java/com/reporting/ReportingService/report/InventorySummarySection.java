@@ -0,0 +1,39 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.SectionContent.Fact;
+
+@Component
+public class InventorySummarySection implements ReportSection {
+
+    @Override
+    public String id() {
+        return "inventory";
+    }
+
+    @Override
+    public int getOrder() {
+        return 300;
+    }
+
+    @Override
+    public SectionContent prepare(OverviewDto overview) {
+        return layout(overview);
+    }
+
+    static SectionContent layout(OverviewDto overview) {
+        InventorySummaryDto inventory = overview.inventory();
+        return SectionContent.facts("Inventory Summary", ReportDocument.unavailableNote(overview, "inventory"),
+                List.of(
+                        new Fact("Total Active Items", inventory.totalActiveItems()),
+                        new Fact("Total Warehouses", inventory.totalWarehouses()),
+                        new Fact("Total Quantity On Hand", inventory.totalQuantityOnHand()),
+                        new Fact("Total Quantity Reserved", inventory.totalQuantityReserved()),
+                        new Fact("Items Below Safety Stock", inventory.itemsBelowSafetyStock())));
+    }
+}
@@ -0,0 +1,41 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.columnar.ColumnQuery;
+import com.reporting.ReportingService.columnar.ColumnStore;
+import com.reporting.ReportingService.columnar.Dataset;
+
+/**
+ * Customers with the largest open balances.
+ */
+@Component
+public class ReceivablesByCustomerSection extends ColumnStoreSection {
+    static final int CUSTOMERS = 15;
+
+    private static final ColumnQuery QUERY = ColumnQuery.parse(Dataset.INVOICES, List.of("balanceDue:gt:0"),
+            List.of("customerName"), List.of("sum:balanceDue", "count"), null, CUSTOMERS, CUSTOMERS);
+
+    public ReceivablesByCustomerSection(ObjectProvider<ColumnStore> columnStore) {
+        super(columnStore, "Receivables by Customer", List.of("Customer", "Balance Due", "Open Invoices"),
+                new int[] { 40, 18, 14 });
+    }
+
+    @Override
+    public String id() {
+        return "receivables-by-customer";
+    }
+
+    @Override
+    public int getOrder() {
+        return 400;
+    }
+
+    @Override
+    ColumnQuery query() {
+        return QUERY;
+    }
+}
@@ -0,0 +1,95 @@
+package com.reporting.ReportingService.report;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.SectionContent.Fact;
+import com.reporting.ReportingService.util.DetailSheet;
+
+/**
+ * Everything an export renders, in order, ready to be assembled into a PDF or a
+ * workbook without further fetching.
+ *
+ * @param title       document title
+ * @param generatedAt figures as of this time, printed at the end of the overview
+ * @param sections    prepared sections in document order
+ */
+public record ReportDocument(
+        String title,
+        Instant generatedAt,
+        List<SectionContent> sections) {
+
+    public static final String DEFAULT_TITLE = "ERP System Overview Report";
+
+    /**
+     * The built-in summary sections of {@code overview} followed by {@code detailSheets}, prepared inline.
+     */
+    public static ReportDocument of(OverviewDto overview, List<DetailSheet> detailSheets) {
+        List<SectionContent> sections = new ArrayList<>();
+        sections.add(FinanceSummarySection.layout(overview));
+        sections.add(HrSummarySection.layout(overview));
+        sections.add(InventorySummarySection.layout(overview));
+        for (DetailSheet sheet : detailSheets) {
+            sections.add(SectionContent.table(sheet));
+        }
+        return new ReportDocument(DEFAULT_TITLE, overview.lastUpdatedUtc(), List.copyOf(sections));
+    }
+
+    /**
+     * Content hash of what the document shows. {@code generatedAt} is left out so
+     * two documents with the same figures hash the same.
+     */
+    public String fingerprint() {
+        MessageDigest digest = sha256();
+        update(digest, title);
+        for (SectionContent section : sections) {
+            update(digest, section.title());
+            update(digest, section.note());
+            for (Fact fact : section.facts()) {
+                update(digest, fact.label());
+                update(digest, fact.value());
+            }
+            for (DetailSheet table : section.tables()) {
+                update(digest, table.name());
+                update(digest, table.headers());
+                for (List<?> row : table.rows()) {
+                    for (Object value : row) {
+                        update(digest, value);
+                    }
+                    update(digest, "\n");
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String unavailableNote(OverviewDto overview, String section) {
+        return overview.partialSections() != null && overview.partialSections().contains(section)
+                ? "Figures were unavailable when this report was generated and are shown as zero."
+                : null;
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        // 1.50 and 1.5 render the same, so they must hash the same
+        String text = value instanceof BigDecimal decimal
+                ? decimal.stripTrailingZeros().toPlainString()
+                : String.valueOf(value);
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
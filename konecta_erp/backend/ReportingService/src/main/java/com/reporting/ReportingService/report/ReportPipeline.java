@@ -0,0 +1,161 @@
+package com.reporting.ReportingService.report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.ReportSectionProperties;
+import com.reporting.ReportingService.dto.OverviewDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Prepares every {@link ReportSection} concurrently and assembles the results in
+ * section order, so a report costs its slowest section instead of the sum of
+ * them. A section that fails or is not ready by the deadline is logged and left
+ * out; the rest of the report is still produced. A section past the deadline is
+ * cancelled and its worker interrupted, and each section's outcome is recorded
+ * once, whichever comes first.
+ * <p>
+ * With every worker busy, a section is prepared on the calling thread once the
+ * others have been handed out. That preparation runs to completion: the deadline
+ * only bounds the wait for the sections on the workers, measured from the start.
+ */
+@Component
+public class ReportPipeline {
+    private final List<ReportSection> sections;
+    private final Executor executor;
+    private final ReportSectionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Logger logger = LoggerFactory.getLogger(ReportPipeline.class);
+
+    public ReportPipeline(List<ReportSection> sections, @Qualifier("reportSectionExecutor") Executor executor,
+            ReportSectionProperties properties, MeterRegistry meterRegistry) {
+        List<ReportSection> ordered = new ArrayList<>(sections);
+        AnnotationAwareOrderComparator.sort(ordered);
+        this.sections = List.copyOf(ordered);
+        this.executor = executor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ReportDocument prepare(OverviewDto overview) {
+        long started = System.nanoTime();
+        long deadline = started + properties.timeout().toNanos();
+        List<Preparation> preparations = new ArrayList<>(sections.size());
+        List<Preparation> rejected = new ArrayList<>();
+        for (ReportSection section : sections) {
+            Preparation preparation = new Preparation(section, overview);
+            preparations.add(preparation);
+            try {
+                executor.execute(preparation);
+            } catch (RejectedExecutionException ex) {
+                rejected.add(preparation);
+            }
+        }
+        // every worker is busy: prepare these here rather than drop them
+        rejected.forEach(Preparation::run);
+
+        List<SectionContent> contents = new ArrayList<>(sections.size());
+        for (Preparation preparation : preparations) {
+            SectionContent content = preparation.await(started, deadline);
+            if (content != null && !content.isEmpty()) {
+                contents.add(content);
+            }
+        }
+        return new ReportDocument(ReportDocument.DEFAULT_TITLE, overview.lastUpdatedUtc(), List.copyOf(contents));
+    }
+
+    /**
+     * Runs {@code section}, recording its outcome unless the deadline has already
+     * been recorded for it.
+     */
+    private SectionContent prepare(ReportSection section, OverviewDto overview, AtomicBoolean settled) throws Exception {
+        long started = System.nanoTime();
+        try {
+            SectionContent content = section.prepare(overview);
+            if (settled.compareAndSet(false, true)) {
+                record(section, content == null || content.isEmpty() ? "empty" : "prepared",
+                        System.nanoTime() - started);
+            }
+            return content;
+        } catch (Exception ex) {
+            if (settled.compareAndSet(false, true)) {
+                logger.warn("Report section {} failed and was left out: {}", section.id(), ex.getMessage());
+                record(section, "failed", System.nanoTime() - started);
+            }
+            throw ex;
+        }
+    }
+
+    private void record(ReportSection section, String outcome, long nanos) {
+        Timer.builder("reporting.report.sections")
+                .tag("section", section.id())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One section being prepared. {@code settled} is claimed by whichever comes
+     * first, the section finishing or the deadline passing, and only that one
+     * records the outcome.
+     */
+    private final class Preparation extends FutureTask<SectionContent> {
+        private final ReportSection section;
+        private final AtomicBoolean settled;
+
+        Preparation(ReportSection section, OverviewDto overview) {
+            this(section, overview, new AtomicBoolean());
+        }
+
+        private Preparation(ReportSection section, OverviewDto overview, AtomicBoolean settled) {
+            super(() -> prepare(section, overview, settled));
+            this.section = section;
+            this.settled = settled;
+        }
+
+        /**
+         * The section's content, or null when it failed or missed the deadline.
+         */
+        SectionContent await(long started, long deadline) {
+            try {
+                try {
+                    return get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException | InterruptedException ex) {
+                    if (ex instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    if (settled.compareAndSet(false, true)) {
+                        cancel(true);
+                        logger.warn("Report section {} missed its {} deadline and was left out", section.id(),
+                                properties.timeout());
+                        record(section, "timeout", System.nanoTime() - started);
+                        return null;
+                    }
+                    // it finished as the deadline passed and its result is being handed over
+                    return ex instanceof InterruptedException ? null : get();
+                }
+            } catch (ExecutionException ex) {
+                // already logged and recorded as the section finished
+                return null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.reporting.ReportingService.report;
+
+import org.springframework.core.Ordered;
+
+import com.reporting.ReportingService.dto.OverviewDto;
+
+/**
+ * One pluggable part of the exported report. Every {@code ReportSection} bean is
+ * picked up by the {@link ReportPipeline}, prepared concurrently with the others
+ * and placed in the document by {@link #getOrder()}, lowest first.
+ * <p>
+ * {@link #prepare} fetches whatever the section needs beyond the overview and
+ * lays it out; it runs on a pool thread and must not touch the output document.
+ */
+public interface ReportSection extends Ordered {
+
+    /**
+     * Short identifier used in logs and metric tags.
+     */
+    String id();
+
+    /**
+     * Returns the laid-out section, or null to leave it out of this report.
+     */
+    SectionContent prepare(OverviewDto overview) throws Exception;
+}
@@ -0,0 +1,40 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import com.reporting.ReportingService.util.DetailSheet;
+
+/**
+ * A prepared report section, independent of the output format: a titled list of
+ * figures shown on the overview page or sheet, and tables shown on pages or
+ * sheets of their own. Either part may be empty.
+ *
+ * @param title  section heading
+ * @param note   shown under the heading, e.g. when the figures could not be fetched; may be null
+ * @param facts  labelled figures, in display order
+ * @param tables tables in display order; their rows should already be in memory
+ */
+public record SectionContent(
+        String title,
+        String note,
+        List<Fact> facts,
+        List<DetailSheet> tables) {
+
+    public static SectionContent facts(String title, String note, List<Fact> facts) {
+        return new SectionContent(title, note, facts, List.of());
+    }
+
+    public static SectionContent table(DetailSheet table) {
+        return new SectionContent(table.name(), null, List.of(), List.of(table));
+    }
+
+    public boolean isEmpty() {
+        return facts.isEmpty() && tables.isEmpty();
+    }
+
+    /**
+     * @param value a {@link Number} is written as a number in spreadsheets
+     */
+    public record Fact(String label, Object value) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.reporting.ReportingService.report;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.columnar.ColumnQuery;
+import com.reporting.ReportingService.columnar.ColumnStore;
+import com.reporting.ReportingService.columnar.Dataset;
+
+/**
+ * Stock on hand per warehouse, valued at standard cost, highest value first.
+ */
+@Component
+public class StockValueByWarehouseSection extends ColumnStoreSection {
+    static final int WAREHOUSES = 50;
+
+    private static final ColumnQuery QUERY = ColumnQuery.parse(Dataset.STOCK_LEVELS, List.of(),
+            List.of("warehouseCode", "warehouseName"), List.of("sum:stockValue", "sum:quantityOnHand"), null,
+            WAREHOUSES, WAREHOUSES);
+
+    public StockValueByWarehouseSection(ObjectProvider<ColumnStore> columnStore) {
+        super(columnStore, "Stock Value by Warehouse",
+                List.of("Warehouse Code", "Warehouse", "Stock Value", "Quantity On Hand"),
+                new int[] { 16, 30, 18, 18 });
+    }
+
+    @Override
+    public String id() {
+        return "stock-value-by-warehouse";
+    }
+
+    @Override
+    public int getOrder() {
+        return 600;
+    }
+
+    @Override
+    ColumnQuery query() {
+        return QUERY;
+    }
+}
@@ -0,0 +1,28 @@
+package com.reporting.ReportingService.service;
+
+import java.math.BigDecimal;
+
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+
+/**
+ * Zero-valued summaries returned in place of a section whose source is unavailable.
+ */
+final class EmptySummaries {
+
+    private EmptySummaries() {
+    }
+
+    static FinanceSummaryDto finance() {
+        return new FinanceSummaryDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    static HrSummaryDto hr() {
+        return new HrSummaryDto(0, 0, 0, 0);
+    }
+
+    static InventorySummaryDto inventory() {
+        return new InventorySummaryDto(0, 0, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.reporting.ReportingService.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.kpi.KpiLedger;
+
+/**
+ * Serves summaries from the event-fed {@link KpiLedger}: the overview is a field
+ * read instead of a fan-out to three services. Sections the ledger has not been
+ * seeded with yet, right after a first start, are read through
+ * {@link ReportingServiceImpl} as before.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(prefix = "reporting.kpi-events", name = "enabled", havingValue = "true")
+public class EventDrivenReportingService implements ReportingService {
+    private final KpiLedger ledger;
+    private final ReportingServiceImpl pull;
+
+    public EventDrivenReportingService(KpiLedger ledger, ReportingServiceImpl pull) {
+        this.ledger = ledger;
+        this.pull = pull;
+    }
+
+    @Override
+    public OverviewDto buildOverview() {
+        return ledger.ready() ? ledger.overview() : pull.buildOverview();
+    }
+
+    @Override
+    public FinanceSummaryDto getFinanceSummary() {
+        FinanceSummaryDto finance = ledger.finance();
+        return finance != null ? finance : pull.getFinanceSummary();
+    }
+
+    @Override
+    public HrSummaryDto getHrSummary() {
+        HrSummaryDto hr = ledger.hr();
+        return hr != null ? hr : pull.getHrSummary();
+    }
+
+    @Override
+    public InventorySummaryDto getInventorySummary() {
+        InventorySummaryDto inventory = ledger.inventory();
+        return inventory != null ? inventory : pull.getInventorySummary();
+    }
+}
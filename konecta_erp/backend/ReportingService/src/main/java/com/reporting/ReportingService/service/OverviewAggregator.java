@@ -0,0 +1,137 @@
+package com.reporting.ReportingService.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.OverviewProperties;
+
+/**
+ * Runs the downstream summary calls concurrently so the overview costs the
+ * slowest healthy source instead of the sum of all of them.
+ */
+@Component
+public class OverviewAggregator {
+    private final Executor executor;
+    private final OverviewProperties properties;
+    private final Logger logger = LoggerFactory.getLogger(OverviewAggregator.class);
+
+    public OverviewAggregator(@Qualifier("overviewExecutor") Executor executor, OverviewProperties properties) {
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts fetching one section. The returned future never fails: errors and
+     * the per-source deadline both resolve to a partial result. Once the section
+     * has a result the call is cancelled and its worker interrupted, so a stuck
+     * source does not keep holding a pool thread. A call the saturated pool
+     * rejects is left for {@link #awaitAll} to make on the caller's thread.
+     */
+    <T> CompletableFuture<SectionResult<T>> fetch(String section, Supplier<T> call, T fallback) {
+        Section<T> result = new Section<>(fallback);
+        FutureTask<T> task = new FutureTask<>(call::get) {
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    result.complete(SectionResult.complete(get()));
+                } catch (ExecutionException ex) {
+                    logger.warn("Failed to call {} service summary: {}", section, ex.getCause().getMessage());
+                    result.complete(SectionResult.partial(fallback));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        result.task = task;
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Overview pool saturated, fetching {} section on the caller", section);
+            result.callerRuns = true;
+        }
+
+        result.whenComplete((value, ex) -> task.cancel(true));
+        CompletableFuture.delayedExecutor(properties.sourceTimeout().toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.complete(SectionResult.partial(fallback))) {
+                logger.warn("{} service summary missed its {} deadline", section, properties.sourceTimeout());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for all sections up to the overall deadline, first making on this
+     * thread, one after another, the calls the pool rejected; this thread would
+     * only be waiting otherwise. Sections still running afterwards read as
+     * partial in {@link #resultOf}, which also cancels them.
+     */
+    void awaitAll(CompletableFuture<?>... sections) {
+        long deadline = System.nanoTime() + properties.overallTimeout().toNanos();
+        for (CompletableFuture<?> section : sections) {
+            if (section instanceof Section<?> rejected && rejected.callerRuns) {
+                rejected.runHere(deadline);
+            }
+        }
+        try {
+            CompletableFuture.allOf(sections).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("Overview exceeded its overall {} deadline, returning partial sections", properties.overallTimeout());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // fetch() never completes exceptionally; nothing to report here
+        }
+    }
+
+    /**
+     * Result of a section after {@link #awaitAll}. A section still in flight is
+     * completed as partial, which cancels its call.
+     */
+    <T> SectionResult<T> resultOf(CompletableFuture<SectionResult<T>> section, T fallback) {
+        section.complete(SectionResult.partial(fallback));
+        return section.join();
+    }
+
+    /**
+     * A section's result together with the call producing it, so a call the pool
+     * rejected can still be made by the caller.
+     */
+    private static final class Section<T> extends CompletableFuture<SectionResult<T>> {
+        private final T fallback;
+        private FutureTask<T> task;
+        private boolean callerRuns;
+
+        Section(T fallback) {
+            this.fallback = fallback;
+        }
+
+        /**
+         * Makes the call on this thread, bounded by its own deadline and by the
+         * overall {@code deadline}, either of which cancels it by interrupting
+         * this thread. That interrupt is cleared again afterwards.
+         */
+        void runHere(long deadline) {
+            CompletableFuture.delayedExecutor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)
+                    .execute(() -> complete(SectionResult.partial(fallback)));
+            boolean interrupted = Thread.currentThread().isInterrupted();
+            task.run();
+            if (!interrupted) {
+                Thread.interrupted();
+            }
+        }
+    }
+}
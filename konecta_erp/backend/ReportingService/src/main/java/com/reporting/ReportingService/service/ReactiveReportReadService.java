@@ -0,0 +1,119 @@
+package com.reporting.ReportingService.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.reporting.ReportingService.client.ReactiveSummaryClient;
+import com.reporting.ReportingService.config.OverviewProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.kpi.KpiLedger;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read path. The three summaries are fetched with {@code Mono.zip}
+ * over WebClient, so the request thread is released while they are in flight
+ * and the I/O runs on Reactor Netty's event loop. Snapshots are shared with the
+ * blocking path through {@link SummarySource}, and deadlines and fallbacks
+ * follow the same {@code reporting.overview} settings. With
+ * {@code reporting.kpi-events.enabled}, seeded sections come from the
+ * {@link KpiLedger} without any call.
+ */
+@Service
+@ConditionalOnProperty(name = "reporting.read-path", havingValue = "reactive")
+public class ReactiveReportReadService {
+    private final ReactiveSummaryClient client;
+    private final SummarySource summarySource;
+    private final KpiLedger ledger;
+    private final Duration sectionTimeout;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveReportReadService.class);
+
+    public ReactiveReportReadService(ReactiveSummaryClient client, SummarySource summarySource,
+            OverviewProperties properties, ObjectProvider<KpiLedger> ledger) {
+        this.client = client;
+        this.summarySource = summarySource;
+        this.ledger = ledger.getIfAvailable();
+        this.sectionTimeout = properties.sourceTimeout().compareTo(properties.overallTimeout()) < 0
+                ? properties.sourceTimeout()
+                : properties.overallTimeout();
+    }
+
+    public Mono<OverviewDto> overview() {
+        if (ledger != null && ledger.ready()) {
+            return Mono.just(ledger.overview());
+        }
+        return Mono.zip(
+                section("finance", fetchFinance(), EmptySummaries.finance()),
+                section("hr", fetchHr(), EmptySummaries.hr()),
+                section("inventory", fetchInventory(), EmptySummaries.inventory()))
+                .map(sections -> {
+                    List<String> partialSections = new ArrayList<>();
+                    if (sections.getT1().partial()) {
+                        partialSections.add("finance");
+                    }
+                    if (sections.getT2().partial()) {
+                        partialSections.add("hr");
+                    }
+                    if (sections.getT3().partial()) {
+                        partialSections.add("inventory");
+                    }
+                    return new OverviewDto(sections.getT1().value(), sections.getT2().value(),
+                            sections.getT3().value(), Instant.now(), List.copyOf(partialSections));
+                });
+    }
+
+    public Mono<FinanceSummaryDto> finance() {
+        return section("finance", fetchFinance(), EmptySummaries.finance()).map(SectionResult::value);
+    }
+
+    public Mono<HrSummaryDto> hr() {
+        return section("hr", fetchHr(), EmptySummaries.hr()).map(SectionResult::value);
+    }
+
+    public Mono<InventorySummaryDto> inventory() {
+        return section("inventory", fetchInventory(), EmptySummaries.inventory()).map(SectionResult::value);
+    }
+
+    // suppressCancel: a caller timing out must not cancel a load other callers are coalesced on
+    private Mono<FinanceSummaryDto> fetchFinance() {
+        if (ledger != null && ledger.finance() != null) {
+            return Mono.just(ledger.finance());
+        }
+        return Mono.fromFuture(() -> summarySource.financeAsync(() -> client.getFinanceSummary().toFuture()), true);
+    }
+
+    private Mono<HrSummaryDto> fetchHr() {
+        if (ledger != null && ledger.hr() != null) {
+            return Mono.just(ledger.hr());
+        }
+        return Mono.fromFuture(() -> summarySource.hrAsync(() -> client.getHrSummary().toFuture()), true);
+    }
+
+    private Mono<InventorySummaryDto> fetchInventory() {
+        if (ledger != null && ledger.inventory() != null) {
+            return Mono.just(ledger.inventory());
+        }
+        return Mono.fromFuture(() -> summarySource.inventoryAsync(() -> client.getInventorySummary().toFuture()),
+                true);
+    }
+
+    private <T> Mono<SectionResult<T>> section(String name, Mono<T> source, T fallback) {
+        return source.map(SectionResult::complete)
+                .timeout(sectionTimeout)
+                .onErrorResume(ex -> {
+                    logger.warn("Failed to call {} service summary: {}", name, ex.getMessage());
+                    return Mono.just(SectionResult.partial(fallback));
+                });
+    }
+}
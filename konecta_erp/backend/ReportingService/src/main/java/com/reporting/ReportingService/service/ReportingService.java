@@ -1,7 +1,5 @@
 package com.reporting.ReportingService.service;
 
-import java.io.ByteArrayInputStream;
-
 import com.reporting.ReportingService.dto.FinanceSummaryDto;
 import com.reporting.ReportingService.dto.HrSummaryDto;
 import com.reporting.ReportingService.dto.InventorySummaryDto;
@@ -15,8 +13,4 @@ public interface ReportingService {
     HrSummaryDto getHrSummary();
 
     InventorySummaryDto getInventorySummary();
-
-    ByteArrayInputStream generatePdfReport();
-
-    ByteArrayInputStream generateExcelReport();
 }
@@ -4,34 +4,52 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.reporting.ReportingService.client.*;
 import com.reporting.ReportingService.dto.*;
-import com.reporting.ReportingService.util.ExcelReportGenerator;
-import com.reporting.ReportingService.util.PdfReportGenerator;
 
-import java.io.ByteArrayInputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ReportingServiceImpl implements ReportingService {
-    private final FinanceClient financeClient;
-    private final HrClient hrClient;
-    private final InventoryClient inventoryClient;
+    private final SummarySource summarySource;
+    private final OverviewAggregator aggregator;
     private final Logger logger = LoggerFactory.getLogger(ReportingServiceImpl.class);
 
-    public ReportingServiceImpl(FinanceClient financeClient, HrClient hrClient, InventoryClient inventoryClient) {
-        this.financeClient = financeClient;
-        this.hrClient = hrClient;
-        this.inventoryClient = inventoryClient;
+    public ReportingServiceImpl(SummarySource summarySource, OverviewAggregator aggregator) {
+        this.summarySource = summarySource;
+        this.aggregator = aggregator;
     }
 
     @Override
     public OverviewDto buildOverview() {
-        FinanceSummaryDto finance = safeCallFinance();
-        HrSummaryDto hr = safeCallHr();
-        InventorySummaryDto inventory = safeCallInventory();
+        CompletableFuture<SectionResult<FinanceSummaryDto>> finance =
+                aggregator.fetch("finance", summarySource::finance, EmptySummaries.finance());
+        CompletableFuture<SectionResult<HrSummaryDto>> hr =
+                aggregator.fetch("hr", summarySource::hr, EmptySummaries.hr());
+        CompletableFuture<SectionResult<InventorySummaryDto>> inventory =
+                aggregator.fetch("inventory", summarySource::inventory, EmptySummaries.inventory());
 
-        return new OverviewDto(finance, hr, inventory, Instant.now());
+        aggregator.awaitAll(finance, hr, inventory);
+
+        SectionResult<FinanceSummaryDto> financeResult = aggregator.resultOf(finance, EmptySummaries.finance());
+        SectionResult<HrSummaryDto> hrResult = aggregator.resultOf(hr, EmptySummaries.hr());
+        SectionResult<InventorySummaryDto> inventoryResult = aggregator.resultOf(inventory, EmptySummaries.inventory());
+
+        List<String> partialSections = new ArrayList<>();
+        if (financeResult.partial()) {
+            partialSections.add("finance");
+        }
+        if (hrResult.partial()) {
+            partialSections.add("hr");
+        }
+        if (inventoryResult.partial()) {
+            partialSections.add("inventory");
+        }
+
+        return new OverviewDto(financeResult.value(), hrResult.value(), inventoryResult.value(), Instant.now(),
+                List.copyOf(partialSections));
     }
 
     @Override
@@ -49,47 +67,30 @@ public class ReportingServiceImpl implements ReportingService {
         return safeCallInventory();
     }
 
-    @Override
-    public ByteArrayInputStream generatePdfReport() {
-        OverviewDto overview = buildOverview();
-        return PdfReportGenerator.generatePdf(overview);
-    }
-
-    @Override
-    public ByteArrayInputStream generateExcelReport() {
-        OverviewDto overview = buildOverview();
-        return ExcelReportGenerator.generateExcel(overview);
-    }
-
     private FinanceSummaryDto safeCallFinance() {
         try {
-            return financeClient.getFinanceSummary();
+            return summarySource.finance();
         } catch (Exception ex) {
             logger.warn("Failed to call finance service summary: {}", ex.getMessage());
-            return new FinanceSummaryDto(
-                    java.math.BigDecimal.ZERO,
-                    java.math.BigDecimal.ZERO,
-                    java.math.BigDecimal.ZERO,
-                    java.math.BigDecimal.ZERO,
-                    java.math.BigDecimal.ZERO);
+            return EmptySummaries.finance();
         }
     }
 
     private HrSummaryDto safeCallHr() {
         try {
-            return hrClient.getSummary();
+            return summarySource.hr();
         } catch (Exception ex) {
             logger.warn("Failed to call HR service summary: {}", ex.getMessage());
-            return new HrSummaryDto(0, 0, 0, 0);
+            return EmptySummaries.hr();
         }
     }
 
     private InventorySummaryDto safeCallInventory() {
         try {
-            return inventoryClient.getSummary();
+            return summarySource.inventory();
         } catch (Exception ex) {
             logger.warn("Failed to call Inventory service summary: {}", ex.getMessage());
-            return new InventorySummaryDto(0, 0, java.math.BigDecimal.ZERO, java.math.BigDecimal.ZERO, 0);
+            return EmptySummaries.inventory();
         }
     }
 }
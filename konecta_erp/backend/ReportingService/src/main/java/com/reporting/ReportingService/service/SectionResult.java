@@ -0,0 +1,16 @@
+package com.reporting.ReportingService.service;
+
+/**
+ * Outcome of fetching one overview section. A partial result carries the
+ * zero-valued fallback because the source failed or missed its deadline.
+ */
+record SectionResult<T>(T value, boolean partial) {
+
+    static <T> SectionResult<T> complete(T value) {
+        return new SectionResult<>(value, false);
+    }
+
+    static <T> SectionResult<T> partial(T fallback) {
+        return new SectionResult<>(fallback, true);
+    }
+}
@@ -0,0 +1,81 @@
+package com.reporting.ReportingService.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.cache.SnapshotCache;
+import com.reporting.ReportingService.client.FinanceClient;
+import com.reporting.ReportingService.client.HrClient;
+import com.reporting.ReportingService.client.InventoryClient;
+import com.reporting.ReportingService.config.SnapshotCacheProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cached access to the downstream summaries. Failures propagate to the caller;
+ * fallbacks are decided by {@link ReportingServiceImpl}.
+ */
+@Component
+public class SummarySource {
+    static final String CURRENT = "current";
+
+    private final FinanceClient financeClient;
+    private final HrClient hrClient;
+    private final InventoryClient inventoryClient;
+    private final SnapshotCache<String, FinanceSummaryDto> financeSnapshots;
+    private final SnapshotCache<String, HrSummaryDto> hrSnapshots;
+    private final SnapshotCache<String, InventorySummaryDto> inventorySnapshots;
+
+    public SummarySource(FinanceClient financeClient, HrClient hrClient, InventoryClient inventoryClient,
+            SnapshotCacheProperties properties, @Qualifier("snapshotRefreshExecutor") Executor refreshExecutor,
+            MeterRegistry registry) {
+        this.financeClient = financeClient;
+        this.hrClient = hrClient;
+        this.inventoryClient = inventoryClient;
+        this.financeSnapshots = cache("finance", properties, refreshExecutor, registry);
+        this.hrSnapshots = cache("hr", properties, refreshExecutor, registry);
+        this.inventorySnapshots = cache("inventory", properties, refreshExecutor, registry);
+    }
+
+    public FinanceSummaryDto finance() {
+        return financeSnapshots.get(CURRENT, financeClient::getFinanceSummary);
+    }
+
+    public HrSummaryDto hr() {
+        return hrSnapshots.get(CURRENT, hrClient::getSummary);
+    }
+
+    public InventorySummaryDto inventory() {
+        return inventorySnapshots.get(CURRENT, inventoryClient::getSummary);
+    }
+
+    /**
+     * Non-blocking reads for callers that fetch through their own HTTP client;
+     * they share snapshots, coalescing and metrics with the Feign-backed reads.
+     */
+    public CompletableFuture<FinanceSummaryDto> financeAsync(Supplier<CompletableFuture<FinanceSummaryDto>> loader) {
+        return financeSnapshots.getAsync(CURRENT, loader);
+    }
+
+    public CompletableFuture<HrSummaryDto> hrAsync(Supplier<CompletableFuture<HrSummaryDto>> loader) {
+        return hrSnapshots.getAsync(CURRENT, loader);
+    }
+
+    public CompletableFuture<InventorySummaryDto> inventoryAsync(
+            Supplier<CompletableFuture<InventorySummaryDto>> loader) {
+        return inventorySnapshots.getAsync(CURRENT, loader);
+    }
+
+    private static <V> SnapshotCache<String, V> cache(String name, SnapshotCacheProperties properties,
+            Executor refreshExecutor, MeterRegistry registry) {
+        return new SnapshotCache<>(name, properties.ttl(), properties.staleWhileRevalidate(), refreshExecutor,
+                registry);
+    }
+}
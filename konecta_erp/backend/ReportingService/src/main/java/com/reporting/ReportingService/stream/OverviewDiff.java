@@ -0,0 +1,81 @@
+package com.reporting.ReportingService.stream;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.reporting.ReportingService.dto.OverviewDto;
+
+/**
+ * Field-level differences between two overviews, keyed by section and then by
+ * summary field, e.g. {@code {"finance": {"overdueReceivables": 1200.00}}}.
+ * <p>
+ * {@code lastUpdatedUtc} is ignored because it changes on every build. A section
+ * that appears or disappears is reported whole, {@code partialSections} as its new
+ * list, and decimals are compared by value so a changed scale is not a change.
+ */
+public final class OverviewDiff {
+
+    private OverviewDiff() {
+    }
+
+    /**
+     * Returns the changed fields of {@code next} relative to {@code previous}; empty when nothing changed.
+     */
+    static Map<String, Object> between(OverviewDto previous, OverviewDto next) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        section(changes, "finance", previous.finance(), next.finance());
+        section(changes, "hr", previous.hr(), next.hr());
+        section(changes, "inventory", previous.inventory(), next.inventory());
+        if (!Objects.equals(previous.partialSections(), next.partialSections())) {
+            changes.put("partialSections", next.partialSections());
+        }
+        return changes;
+    }
+
+    private static void section(Map<String, Object> changes, String name, Record previous, Record next) {
+        if (previous == null || next == null) {
+            if (previous != next) {
+                changes.put(name, next);
+            }
+            return;
+        }
+        Map<String, Object> fields = fields(previous, next);
+        if (!fields.isEmpty()) {
+            changes.put(name, fields);
+        }
+    }
+
+    /**
+     * Returns the fields of summary {@code next} whose value differs from {@code previous}, with their new values.
+     */
+    public static Map<String, Object> fields(Record previous, Record next) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (RecordComponent component : next.getClass().getRecordComponents()) {
+            Object before = value(component, previous);
+            Object after = value(component, next);
+            if (!same(before, after)) {
+                fields.put(component.getName(), after);
+            }
+        }
+        return fields;
+    }
+
+    private static boolean same(Object before, Object after) {
+        if (before instanceof BigDecimal a && after instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    private static Object value(RecordComponent component, Record record) {
+        try {
+            return component.getAccessor().invoke(record);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Cannot read " + component.getName(), ex);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.reporting.ReportingService.stream;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reporting.ReportingService.config.OverviewStreamProperties;
+import com.reporting.ReportingService.dto.OverviewDiffDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.exception.StreamCapacityException;
+import com.reporting.ReportingService.service.ReportingService;
+import com.reporting.ReportingService.stream.StreamSubscriber.Revision;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Shared source of the overview stream. While anyone is subscribed the overview is
+ * rebuilt once per {@code refresh-interval}, through the snapshot cache, and only a
+ * changed overview becomes a new revision; every subscriber is then sent the same
+ * pre-serialized diff. Open dashboards therefore cost one refresh per interval
+ * however many there are.
+ * <p>
+ * Event ids are {@code <epoch>-<version>}, where the epoch changes on every start,
+ * so a client reconnecting with a {@code Last-Event-ID} from before a restart is
+ * sent a snapshot rather than diffs against figures it may not have.
+ */
+@Component
+public class OverviewStream {
+    private final Logger logger = LoggerFactory.getLogger(OverviewStream.class);
+    private final ReportingService reportingService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final OverviewStreamProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final MeterRegistry registry;
+    private final Counter changed;
+    private final Counter unchanged;
+    private final Counter failed;
+    private final Map<String, Counter> events = new ConcurrentHashMap<>();
+    private final Map<String, Counter> disconnects = new ConcurrentHashMap<>();
+    private volatile Revision current;
+    private volatile OverviewDto currentOverview;
+    private volatile long refreshedNanos;
+
+    public OverviewStream(ReportingService reportingService, ObjectMapper objectMapper,
+            @Qualifier("overviewStreamExecutor") Executor executor, OverviewStreamProperties properties,
+            MeterRegistry registry) {
+        this.reportingService = reportingService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.properties = properties;
+        this.registry = registry;
+        this.changed = Counter.builder("reporting.overview.stream.refreshes").tag("outcome", "changed")
+                .register(registry);
+        this.unchanged = Counter.builder("reporting.overview.stream.refreshes").tag("outcome", "unchanged")
+                .register(registry);
+        this.failed = Counter.builder("reporting.overview.stream.refreshes").tag("outcome", "failed")
+                .register(registry);
+        Gauge.builder("reporting.overview.stream.subscribers", subscribers, Set::size).register(registry);
+    }
+
+    /**
+     * Opens a stream. The subscriber is sent the current overview as a snapshot, unless
+     * {@code lastEventId} shows it already has it, and diffs from then on.
+     *
+     * @throws StreamCapacityException when {@code max-subscribers} streams are already open
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(properties.maxConnectionAge().toMillis());
+        subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    void subscribe(SseEmitter emitter, String lastEventId) {
+        if (subscribers.size() >= properties.maxSubscribers()) {
+            disconnects("rejected").increment();
+            throw new StreamCapacityException(properties.maxSubscribers());
+        }
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, executor, this, properties.reconnectDelay(),
+                lastVersion(lastEventId));
+        emitter.onCompletion(() -> disconnected(subscriber, "closed"));
+        emitter.onTimeout(() -> disconnected(subscriber, "expired"));
+        emitter.onError(ex -> disconnected(subscriber, "closed"));
+        subscribers.add(subscriber);
+
+        Revision revision = current;
+        if (revision != null) {
+            subscriber.offer(revision);
+        }
+        if (revision == null || System.nanoTime() - refreshedNanos > properties.refreshInterval().toNanos()) {
+            refreshSoon();
+        }
+    }
+
+    /**
+     * Rebuilds the overview and pushes it when it changed. Skipped while nobody is subscribed.
+     */
+    @Scheduled(fixedDelayString = "${reporting.overview-stream.refresh-interval:30s}",
+            scheduler = "overviewStreamScheduler")
+    public void refresh() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            publish(reportingService.buildOverview());
+        } catch (RuntimeException ex) {
+            failed.increment();
+            logger.warn("Overview stream refresh failed: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Sends a comment line to idle subscribers and drops those stuck in one write
+     * for longer than {@code slow-consumer-timeout}.
+     */
+    @Scheduled(fixedRateString = "${reporting.overview-stream.heartbeat-interval:15s}",
+            scheduler = "overviewStreamScheduler")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        long timeout = properties.slowConsumerTimeout().toNanos();
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.stalled(now, timeout)) {
+                disconnected(subscriber, "slow");
+            } else {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    synchronized void publish(OverviewDto overview) {
+        refreshedNanos = System.nanoTime();
+        Revision previous = current;
+        Map<String, Object> changes = previous == null ? null : OverviewDiff.between(currentOverview, overview);
+        if (changes != null && changes.isEmpty()) {
+            unchanged.increment();
+            return;
+        }
+        long version = previous == null ? 1 : previous.version() + 1;
+        Revision next = new Revision(version, epoch + "-" + version, json(overview),
+                changes == null ? null : json(new OverviewDiffDto(overview.lastUpdatedUtc(), changes)));
+        currentOverview = overview;
+        current = next;
+        changed.increment();
+        long now = System.nanoTime();
+        long timeout = properties.slowConsumerTimeout().toNanos();
+        for (StreamSubscriber subscriber : subscribers) {
+            if (subscriber.stalled(now, timeout)) {
+                disconnected(subscriber, "slow");
+            } else {
+                subscriber.offer(next);
+            }
+        }
+    }
+
+    void disconnected(StreamSubscriber subscriber, String reason) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.close();
+            disconnects(reason).increment();
+        }
+    }
+
+    void sent(String type) {
+        events.computeIfAbsent(type, key -> Counter.builder("reporting.overview.stream.events")
+                .tag("type", key)
+                .register(registry)).increment();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private Counter disconnects(String reason) {
+        return disconnects.computeIfAbsent(reason, key -> Counter.builder("reporting.overview.stream.disconnects")
+                .tag("reason", key)
+                .register(registry));
+    }
+
+    private void refreshSoon() {
+        if (!refreshQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshQueued.set(false);
+        }
+    }
+
+    private long lastVersion(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize overview stream event", ex);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.reporting.ReportingService.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open overview stream. Events are written on the stream executor, never on
+ * the thread publishing them, and at most one write per subscriber is in flight.
+ * <p>
+ * Only the latest revision is kept while a write is in progress. When revisions
+ * are skipped that way, or the client reconnects from an unknown revision, the
+ * next event is a full snapshot instead of a diff, so a slow consumer catches up
+ * in one event rather than through a backlog.
+ */
+final class StreamSubscriber implements Runnable {
+    private static final Object HEARTBEAT = new Object();
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final OverviewStream owner;
+    private final Duration reconnectDelay;
+    private final AtomicReference<Object> pending = new AtomicReference<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long writeStartedNanos;
+    private volatile boolean writing;
+    private long lastVersion;
+    private boolean retrySent;
+
+    StreamSubscriber(SseEmitter emitter, Executor executor, OverviewStream owner, Duration reconnectDelay,
+            long lastVersion) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.owner = owner;
+        this.reconnectDelay = reconnectDelay;
+        this.lastVersion = lastVersion;
+    }
+
+    /**
+     * Queues {@code revision}, replacing a heartbeat or an older revision not yet written.
+     */
+    void offer(Revision revision) {
+        pending.accumulateAndGet(revision, (queued, offered) ->
+                queued instanceof Revision older && older.version() >= revision.version() ? queued : offered);
+        schedule();
+    }
+
+    /**
+     * Queues a heartbeat unless something else is already waiting to be written.
+     */
+    void heartbeat() {
+        if (pending.compareAndSet(null, HEARTBEAT)) {
+            schedule();
+        }
+    }
+
+    /**
+     * Whether one write has been blocked for longer than {@code timeoutNanos}.
+     */
+    boolean stalled(long now, long timeoutNanos) {
+        return writing && now - writeStartedNanos > timeoutNanos;
+    }
+
+    /**
+     * Stops delivery. A write in progress is left to finish or fail on its own thread,
+     * which then completes the response; completing it here would wait on that write.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        pending.set(null);
+        if (!scheduled.get()) {
+            emitter.complete();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            Object item;
+            while (!closed.get() && (item = pending.getAndSet(null)) != null) {
+                writeStartedNanos = System.nanoTime();
+                writing = true;
+                try {
+                    write(item);
+                } finally {
+                    writing = false;
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            owner.disconnected(this, "closed");
+        } finally {
+            scheduled.set(false);
+        }
+        if (closed.get()) {
+            emitter.complete();
+        } else if (pending.get() != null) {
+            schedule();
+        }
+    }
+
+    private void write(Object item) throws IOException {
+        if (item == HEARTBEAT) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            owner.sent("heartbeat");
+            return;
+        }
+        Revision revision = (Revision) item;
+        if (revision.version() <= lastVersion) {
+            return;
+        }
+        boolean diff = revision.diffJson() != null && revision.version() == lastVersion + 1;
+        SseEmitter.SseEventBuilder event = SseEmitter.event()
+                .id(revision.eventId())
+                .name(diff ? "diff" : "snapshot")
+                .data(diff ? revision.diffJson() : revision.snapshotJson());
+        if (!retrySent) {
+            event.reconnectTime(reconnectDelay.toMillis());
+            retrySent = true;
+        }
+        emitter.send(event);
+        lastVersion = revision.version();
+        owner.sent(diff ? "diff" : "snapshot");
+    }
+
+    private void schedule() {
+        if (closed.get() || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException ex) {
+            scheduled.set(false);
+            owner.disconnected(this, "rejected");
+        }
+    }
+
+    /**
+     * One published overview: its version, the event id clients echo back in
+     * {@code Last-Event-ID}, and the snapshot and diff payloads serialized once for
+     * every subscriber. {@code diffJson} is null for the first revision.
+     */
+    record Revision(long version, String eventId, String snapshotJson, String diffJson) {
+    }
+}
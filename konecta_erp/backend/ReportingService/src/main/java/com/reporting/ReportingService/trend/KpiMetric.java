@@ -0,0 +1,87 @@
+package com.reporting.ReportingService.trend;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.function.Function;
+
+import com.reporting.ReportingService.dto.OverviewDto;
+
+/**
+ * Figures recorded by the trend store. Each metric is one column of a segment,
+ * at its ordinal, so new metrics must only ever be added at the end. Amounts are
+ * stored as longs scaled by {@code 10^scale}; counters have a scale of zero.
+ */
+public enum KpiMetric {
+    OUTSTANDING_RECEIVABLES("outstandingReceivables", "finance", 4, o -> o.finance().outstandingReceivables()),
+    OVERDUE_RECEIVABLES("overdueReceivables", "finance", 4, o -> o.finance().overdueReceivables()),
+    CURRENT_MONTH_EXPENSE_TOTAL("currentMonthExpenseTotal", "finance", 4, o -> o.finance().currentMonthExpenseTotal()),
+    BUDGET_UTILIZATION("budgetUtilization", "finance", 4, o -> o.finance().budgetUtilization()),
+    UPCOMING_PAYROLL_COMMITMENT("upcomingPayrollCommitment", "finance", 4, o -> o.finance().upcomingPayrollCommitment()),
+    TOTAL_EMPLOYEES("totalEmployees", "hr", 0, o -> o.hr().totalEmployees()),
+    ACTIVE_EMPLOYEES("activeEmployees", "hr", 0, o -> o.hr().activeEmployees()),
+    DEPARTMENTS("departments", "hr", 0, o -> o.hr().departments()),
+    PENDING_RESIGNATIONS("pendingResignations", "hr", 0, o -> o.hr().pendingResignations()),
+    TOTAL_ACTIVE_ITEMS("totalActiveItems", "inventory", 0, o -> o.inventory().totalActiveItems()),
+    TOTAL_WAREHOUSES("totalWarehouses", "inventory", 0, o -> o.inventory().totalWarehouses()),
+    TOTAL_QUANTITY_ON_HAND("totalQuantityOnHand", "inventory", 4, o -> o.inventory().totalQuantityOnHand()),
+    TOTAL_QUANTITY_RESERVED("totalQuantityReserved", "inventory", 4, o -> o.inventory().totalQuantityReserved()),
+    ITEMS_BELOW_SAFETY_STOCK("itemsBelowSafetyStock", "inventory", 0, o -> o.inventory().itemsBelowSafetyStock());
+
+    /** Stored in place of a value whose section was partial when it was sampled. */
+    static final long MISSING = Long.MIN_VALUE;
+
+    private final String value;
+    private final String section;
+    private final int scale;
+    private final Function<OverviewDto, Number> extractor;
+
+    KpiMetric(String value, String section, int scale, Function<OverviewDto, Number> extractor) {
+        this.value = value;
+        this.section = section;
+        this.scale = scale;
+        this.extractor = extractor;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    /**
+     * The figure as a scaled long, or {@link #MISSING} when its section was not
+     * fetched in full or the value is absent.
+     */
+    long sample(OverviewDto overview) {
+        if (overview.partialSections() != null && overview.partialSections().contains(section)) {
+            return MISSING;
+        }
+        Number number = extractor.apply(overview);
+        if (number == null) {
+            return MISSING;
+        }
+        if (number instanceof BigDecimal decimal) {
+            return decimal.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        return number.longValue();
+    }
+
+    BigDecimal decode(long scaled) {
+        return BigDecimal.valueOf(scaled, scale);
+    }
+
+    /**
+     * Accepts the JSON property name or the enum name, case-insensitively.
+     */
+    public static KpiMetric fromValue(String value) {
+        String normalized = value.trim();
+        for (KpiMetric metric : values()) {
+            if (metric.value.equalsIgnoreCase(normalized) || metric.name().equalsIgnoreCase(normalized)) {
+                return metric;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported metric: " + value);
+    }
+}
@@ -0,0 +1,153 @@
+package com.reporting.ReportingService.trend;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One append-only segment file, memory-mapped and laid out by column: a header,
+ * then {@code capacity} sample timestamps, then {@code capacity} values for each
+ * metric in ordinal order. Queries read only the timestamp column and the column
+ * they ask for.
+ * <p>
+ * There is a single writer. It fills in a row's columns before bumping the row
+ * count, in the file header and in a volatile field, so readers never see a
+ * half-written row.
+ */
+final class KpiSegment {
+    private static final int MAGIC = 0x4B504953; // "KPIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COLUMNS_OFFSET = 12;
+    private static final int ROWS_OFFSET = 16;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int columns;
+    private volatile int rows;
+
+    private KpiSegment(Path file, MappedByteBuffer buffer, int capacity, int columns, int rows) {
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    static KpiSegment create(Path file, int capacity, int columns) throws IOException {
+        MappedByteBuffer buffer = map(file, size(capacity, columns), StandardOpenOption.CREATE_NEW);
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putInt(COLUMNS_OFFSET, columns);
+        buffer.putInt(ROWS_OFFSET, 0);
+        buffer.force();
+        return new KpiSegment(file, buffer, capacity, columns, 0);
+    }
+
+    static KpiSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Truncated trend segment " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int capacity = buffer.getInt(CAPACITY_OFFSET);
+            int columns = buffer.getInt(COLUMNS_OFFSET);
+            int rows = buffer.getInt(ROWS_OFFSET);
+            if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION
+                    || capacity <= 0 || columns <= 0 || rows < 0 || rows > capacity
+                    || channel.size() != HEADER_BYTES + (long) (columns + 1) * capacity * Long.BYTES) {
+                throw new IOException("Unrecognised trend segment " + file);
+            }
+            return new KpiSegment(file, buffer, capacity, columns, rows);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, long size, StandardOpenOption mode) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, mode, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Mapped buffers are int-indexed, so a segment is capped at 2 GB.
+     */
+    private static int size(int capacity, int columns) {
+        return Math.toIntExact(HEADER_BYTES + (long) (columns + 1) * capacity * Long.BYTES);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    boolean isFull() {
+        return rows == capacity;
+    }
+
+    long timestamp(int row) {
+        return buffer.getLong(HEADER_BYTES + row * Long.BYTES);
+    }
+
+    long firstTimestamp() {
+        return timestamp(0);
+    }
+
+    long lastTimestamp() {
+        return timestamp(rows - 1);
+    }
+
+    /**
+     * The stored value, or {@link KpiMetric#MISSING} for a metric added after
+     * this segment was written.
+     */
+    long value(int row, int column) {
+        if (column >= columns) {
+            return KpiMetric.MISSING;
+        }
+        return buffer.getLong(columnOffset(column) + row * Long.BYTES);
+    }
+
+    /**
+     * First row whose timestamp is at or after {@code epochMillis}, or
+     * {@code rows()} when there is none.
+     */
+    int lowerBound(long epochMillis, int rowCount) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) < epochMillis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    void append(long epochMillis, long[] values) {
+        int row = rows;
+        buffer.putLong(HEADER_BYTES + row * Long.BYTES, epochMillis);
+        for (int column = 0; column < columns; column++) {
+            long value = column < values.length ? values[column] : KpiMetric.MISSING;
+            buffer.putLong(columnOffset(column) + row * Long.BYTES, value);
+        }
+        buffer.putInt(ROWS_OFFSET, row + 1);
+        buffer.force();
+        rows = row + 1;
+    }
+
+    private int columnOffset(int column) {
+        return HEADER_BYTES + (column + 1) * capacity * Long.BYTES;
+    }
+}
@@ -0,0 +1,60 @@
+package com.reporting.ReportingService.trend;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Periodically records the current overview in the {@link TrendStore}. The
+ * overview comes through the snapshot cache, so sampling adds at most one call
+ * per source per interval.
+ */
+@Component
+@ConditionalOnProperty(prefix = "reporting.trends", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TrendSampler {
+    private final Logger logger = LoggerFactory.getLogger(TrendSampler.class);
+    private final ReportingService reportingService;
+    private final TrendStore store;
+    private final Counter recorded;
+    private final Counter skipped;
+
+    public TrendSampler(ReportingService reportingService, TrendStore store, MeterRegistry registry) {
+        this.reportingService = reportingService;
+        this.store = store;
+        this.recorded = Counter.builder("reporting.trends.samples").tag("outcome", "recorded").register(registry);
+        this.skipped = Counter.builder("reporting.trends.samples").tag("outcome", "skipped").register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${reporting.trends.initial-delay:30s}",
+            fixedDelayString = "${reporting.trends.sample-interval:5m}")
+    public void sample() {
+        OverviewDto overview = reportingService.buildOverview();
+        if (overview.partialSections().size() == 3) {
+            skipped.increment();
+            logger.warn("Skipping trend sample: no source answered");
+        } else {
+            try {
+                if (store.append(overview)) {
+                    recorded.increment();
+                } else {
+                    skipped.increment();
+                }
+            } catch (IOException ex) {
+                skipped.increment();
+                logger.error("Could not record trend sample: {}", ex.getMessage());
+            }
+        }
+        store.evictExpired(Instant.now());
+    }
+}
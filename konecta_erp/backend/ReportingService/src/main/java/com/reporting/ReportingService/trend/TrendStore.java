@@ -0,0 +1,197 @@
+package com.reporting.ReportingService.trend;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.reporting.ReportingService.config.TrendProperties;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.dto.TrendPointDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Append-only history of overview figures in memory-mapped columnar segments
+ * (see {@link KpiSegment}). Samples are appended in time order to the newest
+ * segment, and a new segment file is started when it fills up. A range query
+ * skips segments outside the range, binary-searches the timestamps of the
+ * others, and reads only the requested column. Buckets are aggregated in
+ * primitive arrays.
+ * <p>
+ * Segments survive restarts. Whole segments are dropped once their newest
+ * sample falls out of retention.
+ */
+@Component
+public class TrendStore {
+    private static final String PREFIX = "kpi-";
+    private static final String SUFFIX = ".kseg";
+
+    private final Logger logger = LoggerFactory.getLogger(TrendStore.class);
+    private final TrendProperties properties;
+    private final Path directory;
+    private final List<KpiSegment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public TrendStore(TrendProperties properties, MeterRegistry registry) throws IOException {
+        this.properties = properties;
+        this.directory = properties.storageDir() != null
+                ? properties.storageDir()
+                : Path.of(System.getProperty("java.io.tmpdir"), "reporting-trends");
+        Files.createDirectories(directory);
+        load();
+        Gauge.builder("reporting.trends.segments", segments, List::size).register(registry);
+    }
+
+    /**
+     * Records the overview's figures at its {@code lastUpdatedUtc}. Figures from
+     * partial sections are stored as missing. Returns false when the sample is not
+     * newer than the last one recorded.
+     */
+    public boolean append(OverviewDto overview) throws IOException {
+        long timestamp = overview.lastUpdatedUtc().toEpochMilli();
+        KpiMetric[] metrics = KpiMetric.values();
+        long[] values = new long[metrics.length];
+        for (KpiMetric metric : metrics) {
+            values[metric.ordinal()] = metric.sample(overview);
+        }
+
+        writeLock.lock();
+        try {
+            KpiSegment active = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (active != null && active.rows() > 0 && timestamp <= active.lastTimestamp()) {
+                return false;
+            }
+            if (active == null || active.isFull()) {
+                Path file = directory.resolve(String.format("%s%016d%s", PREFIX, timestamp, SUFFIX));
+                active = KpiSegment.create(file, properties.segmentRows(), metrics.length);
+                segments.add(active);
+            }
+            active.append(timestamp, values);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Aggregates {@code metric} over {@code [from, to)} in buckets of {@code step},
+     * aligned to {@code from}. Buckets without samples are left out.
+     */
+    public List<TrendPointDto> query(KpiMetric metric, Instant from, Instant to, Duration step) {
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+        long stepMillis = step.toMillis();
+        int buckets = Math.toIntExact((end - start + stepMillis - 1) / stepMillis);
+        int column = metric.ordinal();
+
+        int[] counts = new int[buckets];
+        long[] sums = new long[buckets];
+        long[] mins = new long[buckets];
+        long[] maxs = new long[buckets];
+        long[] lasts = new long[buckets];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+
+        for (KpiSegment segment : segments) {
+            int rows = segment.rows();
+            if (rows == 0 || segment.timestamp(rows - 1) < start || segment.firstTimestamp() >= end) {
+                continue;
+            }
+            for (int row = segment.lowerBound(start, rows); row < rows; row++) {
+                long timestamp = segment.timestamp(row);
+                if (timestamp >= end) {
+                    break;
+                }
+                long value = segment.value(row, column);
+                if (value == KpiMetric.MISSING) {
+                    continue;
+                }
+                int bucket = (int) ((timestamp - start) / stepMillis);
+                counts[bucket]++;
+                sums[bucket] += value;
+                mins[bucket] = Math.min(mins[bucket], value);
+                maxs[bucket] = Math.max(maxs[bucket], value);
+                lasts[bucket] = value;
+            }
+        }
+
+        List<TrendPointDto> points = new ArrayList<>();
+        int avgScale = Math.max(metric.scale(), 2);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            BigDecimal avg = metric.decode(sums[bucket])
+                    .divide(BigDecimal.valueOf(counts[bucket]), avgScale, RoundingMode.HALF_UP);
+            points.add(new TrendPointDto(Instant.ofEpochMilli(start + bucket * stepMillis), counts[bucket],
+                    metric.decode(mins[bucket]), metric.decode(maxs[bucket]), avg, metric.decode(lasts[bucket])));
+        }
+        return points;
+    }
+
+    /**
+     * Deletes segments whose newest sample is older than the retention period.
+     */
+    public void evictExpired(Instant now) {
+        long cutoff = now.minus(properties.retention()).toEpochMilli();
+        writeLock.lock();
+        try {
+            for (KpiSegment segment : segments) {
+                if (segment.rows() > 0 && segment.lastTimestamp() < cutoff) {
+                    segments.remove(segment);
+                    delete(segment.file());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    private void load() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (Path file : files) {
+            try {
+                KpiSegment segment = KpiSegment.open(file);
+                if (segment.rows() > 0) {
+                    segments.add(segment);
+                } else {
+                    delete(file);
+                }
+            } catch (IOException ex) {
+                logger.warn("Skipping trend segment {}: {}", file, ex.getMessage());
+            }
+        }
+        logger.info("Loaded {} trend segment(s) from {}", segments.size(), directory);
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            logger.warn("Could not delete trend segment {}: {}", file, ex.getMessage());
+        }
+    }
+}
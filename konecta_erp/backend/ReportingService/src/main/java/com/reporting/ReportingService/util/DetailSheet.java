@@ -0,0 +1,19 @@
+package com.reporting.ReportingService.util;
+
+import java.util.List;
+
+/**
+ * A tabular sheet appended after the overview. Rows are pulled one at a time
+ * while writing, so the source can be a lazily paged upstream listing.
+ *
+ * @param name         sheet name as shown in Excel
+ * @param headers      column captions
+ * @param columnWidths column widths in characters; missing entries fall back to a default
+ * @param rows         row values in header order; {@link Number} cells are written as numbers
+ */
+public record DetailSheet(
+        String name,
+        List<String> headers,
+        int[] columnWidths,
+        Iterable<List<?>> rows) {
+}
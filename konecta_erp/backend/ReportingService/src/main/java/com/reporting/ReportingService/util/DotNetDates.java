@@ -0,0 +1,42 @@
+package com.reporting.ReportingService.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads {@code DateTime} values as the .NET services serialize them: an offset
+ * date-time, a local one (which the services store as UTC), or a plain date.
+ */
+public final class DotNetDates {
+
+    private DotNetDates() {
+    }
+
+    /**
+     * Returns the instant, or null for a null, blank or unreadable value.
+     */
+    public static Instant instant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException ignored) {
+            // fall through to the offset-less forms
+        }
+        try {
+            return LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException ignored) {
+            // fall through to a plain date
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+}
@@ -1,93 +1,155 @@
 package com.reporting.ReportingService.util;
 
 import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.ReportDocument;
+import com.reporting.ReportingService.report.SectionContent;
+import com.reporting.ReportingService.report.SectionContent.Fact;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 public class ExcelReportGenerator {
 
-    public static ByteArrayInputStream generateExcel(OverviewDto overview) {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("ERP Overview");
+    /** Rows kept in memory per sheet; older rows are flushed to a temp file. */
+    static final int ROW_ACCESS_WINDOW = 100;
+
+    private static final int DEFAULT_COLUMN_WIDTH = 18;
+
+    // Labels sit in even columns and values in odd ones; widths fit the longest
+    // label ("Upcoming Payroll Commitment") so autoSizeColumn is not needed.
+    private static final int[] OVERVIEW_COLUMN_WIDTHS = { 30, 18, 30, 18, 30, 18, 30, 18, 30, 18 };
 
-            int rowIdx = 0;
+    /**
+     * Writes the document straight to {@code out}: one overview sheet with every section's
+     * figures, then one sheet per table. Heap use is bounded by {@link #ROW_ACCESS_WINDOW}
+     * rows per sheet regardless of table size. The stream is not closed.
+     */
+    public static void writeExcel(ReportDocument report, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
             CellStyle headerStyle = workbook.createCellStyle();
             Font headerFont = workbook.createFont();
             headerFont.setBold(true);
             headerStyle.setFont(headerFont);
 
-            // Finance 
-            Row financeHeader = sheet.createRow(rowIdx++);
-            financeHeader.createCell(0).setCellValue("Finance Summary");
-            financeHeader.getCell(0).setCellStyle(headerStyle);
-
-            Row financeRow = sheet.createRow(rowIdx++);
-            financeRow.createCell(0).setCellValue("Outstanding Receivables");
-            financeRow.createCell(1).setCellValue(overview.finance().outstandingReceivables().doubleValue());
-            financeRow.createCell(2).setCellValue("Overdue Receivables");
-            financeRow.createCell(3).setCellValue(overview.finance().overdueReceivables().doubleValue());
-            financeRow.createCell(4).setCellValue("Current Month Expense Total");
-            financeRow.createCell(5).setCellValue(overview.finance().currentMonthExpenseTotal().doubleValue());
-            financeRow.createCell(6).setCellValue("Budget Utilization");
-            financeRow.createCell(7).setCellValue(overview.finance().budgetUtilization().doubleValue());
-            financeRow.createCell(8).setCellValue("Upcoming Payroll Commitment");
-            financeRow.createCell(9).setCellValue(overview.finance().upcomingPayrollCommitment().doubleValue());
-            rowIdx++;
+            writeOverviewSheet(workbook.createSheet("ERP Overview"), report, headerStyle);
+            for (SectionContent section : report.sections()) {
+                for (DetailSheet detail : section.tables()) {
+                    writeDetailSheet(workbook.createSheet(detail.name()), detail, headerStyle);
+                }
+            }
 
-            // HR 
-            Row hrHeader = sheet.createRow(rowIdx++);
-            hrHeader.createCell(0).setCellValue("HR Summary");
-            hrHeader.getCell(0).setCellStyle(headerStyle);
-
-            Row hrRow = sheet.createRow(rowIdx++);
-            hrRow.createCell(0).setCellValue("Total Employees");
-            hrRow.createCell(1).setCellValue(overview.hr().totalEmployees());
-            hrRow.createCell(2).setCellValue("Active Employees");
-            hrRow.createCell(3).setCellValue(overview.hr().activeEmployees());
-            hrRow.createCell(4).setCellValue("Departments");
-            hrRow.createCell(5).setCellValue(overview.hr().departments());
-            hrRow.createCell(6).setCellValue("Pending Resignations");
-            hrRow.createCell(7).setCellValue(overview.hr().pendingResignations());
-            rowIdx++;
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.close();
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * Writes the overview summaries followed by {@code detailSheets}.
+     */
+    public static void writeExcel(OverviewDto overview, List<DetailSheet> detailSheets, OutputStream out)
+            throws IOException {
+        writeExcel(ReportDocument.of(overview, detailSheets), out);
+    }
+
+    public static void writeExcel(OverviewDto overview, OutputStream out) throws IOException {
+        writeExcel(overview, List.of(), out);
+    }
+
+    /**
+     * Buffers the workbook in memory. Prefer {@link #writeExcel(OverviewDto, OutputStream)}
+     * when the destination stream is available.
+     */
+    public static ByteArrayInputStream generateExcel(OverviewDto overview) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeExcel(overview, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /**
+     * One header row per section, its note if any, then its figures as label/value pairs across a row.
+     */
+    private static void writeOverviewSheet(Sheet sheet, ReportDocument report, CellStyle headerStyle) {
+        applyColumnWidths(sheet, OVERVIEW_COLUMN_WIDTHS, OVERVIEW_COLUMN_WIDTHS.length);
+
+        int rowIdx = 0;
+        for (SectionContent section : report.sections()) {
+            if (section.facts().isEmpty()) {
+                continue;
+            }
+            Row header = sheet.createRow(rowIdx++);
+            header.createCell(0).setCellValue(section.title());
+            header.getCell(0).setCellStyle(headerStyle);
+            if (section.note() != null) {
+                sheet.createRow(rowIdx++).createCell(0).setCellValue(section.note());
+            }
 
-            // Inventory 
-            Row invHeader = sheet.createRow(rowIdx++);
-            invHeader.createCell(0).setCellValue("Inventory Summary");
-            invHeader.getCell(0).setCellStyle(headerStyle);
-
-            Row invRow = sheet.createRow(rowIdx++);
-            invRow.createCell(0).setCellValue("Total Active Items");
-            invRow.createCell(1).setCellValue(overview.inventory().totalActiveItems());
-            invRow.createCell(2).setCellValue("Total Warehouses");
-            invRow.createCell(3).setCellValue(overview.inventory().totalWarehouses());
-            invRow.createCell(4).setCellValue("Total Quantity On Hand");
-            invRow.createCell(5).setCellValue(overview.inventory().totalQuantityOnHand().doubleValue());
-            invRow.createCell(6).setCellValue("Total Quantity Reserved");
-            invRow.createCell(7).setCellValue(overview.inventory().totalQuantityReserved().doubleValue());
-            invRow.createCell(8).setCellValue("Items Below Safety Stock");
-            invRow.createCell(9).setCellValue(overview.inventory().itemsBelowSafetyStock());
+            Row facts = sheet.createRow(rowIdx++);
+            int col = 0;
+            for (Fact fact : section.facts()) {
+                facts.createCell(col++).setCellValue(fact.label());
+                setCellValue(facts.createCell(col++), fact.value());
+            }
             rowIdx++;
+        }
+
+        // Generated Timestamp
+        Row tsRow = sheet.createRow(rowIdx++);
+        tsRow.createCell(0).setCellValue("Generated At (UTC)");
+        tsRow.createCell(1).setCellValue(report.generatedAt().toString());
+    }
 
-            // Generated Timestamp
-            Row tsRow = sheet.createRow(rowIdx++);
-            tsRow.createCell(0).setCellValue("Generated At (UTC)");
-            tsRow.createCell(1).setCellValue(overview.lastUpdatedUtc().toString());
+    private static void writeDetailSheet(SXSSFSheet sheet, DetailSheet detail, CellStyle headerStyle) {
+        int columns = detail.headers().size();
+        applyColumnWidths(sheet, detail.columnWidths(), columns);
 
-            // Autosize columns for clean output
-            for (int i = 0; i < 10; i++) {
-                sheet.autoSizeColumn(i);
+        int rowIdx = 0;
+        Row header = sheet.createRow(rowIdx++);
+        for (int col = 0; col < columns; col++) {
+            Cell cell = header.createCell(col);
+            cell.setCellValue(detail.headers().get(col));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+
+        for (List<?> values : detail.rows()) {
+            Row row = sheet.createRow(rowIdx++);
+            for (int col = 0; col < values.size(); col++) {
+                setCellValue(row.createCell(col), values.get(col));
             }
+        }
+    }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            workbook.write(out);
-            return new ByteArrayInputStream(out.toByteArray());
+    private static void setCellValue(Cell cell, Object value) {
+        if (value == null) {
+            cell.setBlank();
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
+    private static void applyColumnWidths(Sheet sheet, int[] widths, int columns) {
+        for (int col = 0; col < columns; col++) {
+            int chars = widths != null && col < widths.length ? widths[col] : DEFAULT_COLUMN_WIDTH;
+            sheet.setColumnWidth(col, chars * 256);
         }
     }
 }
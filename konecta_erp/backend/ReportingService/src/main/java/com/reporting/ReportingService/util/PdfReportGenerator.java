@@ -3,68 +3,185 @@ package com.reporting.ReportingService.util;
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
 import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.exception.ReportGenerationException;
+import com.reporting.ReportingService.report.ReportDocument;
+import com.reporting.ReportingService.report.SectionContent;
+import com.reporting.ReportingService.report.SectionContent.Fact;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 public class PdfReportGenerator {
 
-    public static ByteArrayInputStream generatePdf(OverviewDto overview) {
+    /** Detail rows added to a table before it is flushed to the writer. */
+    static final int TABLE_FLUSH_ROWS = 200;
+
+    // Standard Type1 fonts are not embedded, so one BaseFont per face can be
+    // shared by every document instead of resolving it through FontFactory.
+    private static final BaseFont HELVETICA = baseFont(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_BOLD = baseFont(BaseFont.HELVETICA_BOLD);
+    private static final BaseFont HELVETICA_OBLIQUE = baseFont(BaseFont.HELVETICA_OBLIQUE);
+
+    private static final Font TITLE_FONT = new Font(HELVETICA_BOLD, 18);
+    private static final Font SECTION_FONT = new Font(HELVETICA_BOLD, 14, Font.NORMAL, BaseColor.BLUE);
+    private static final Font BODY_FONT = new Font(HELVETICA, 12);
+    private static final Font NOTE_FONT = new Font(HELVETICA_OBLIQUE, 10, Font.NORMAL, BaseColor.DARK_GRAY);
+    private static final Font TABLE_HEADER_FONT = new Font(HELVETICA_BOLD, 9);
+    private static final Font TABLE_FONT = new Font(HELVETICA, 9);
+    private static final Font FOOTER_FONT = new Font(HELVETICA, 8, Font.NORMAL, BaseColor.GRAY);
+
+    /**
+     * Renders the document straight to {@code out}: the title, every section's figures,
+     * the generation time, then each table on pages of its own. Completed pages are
+     * written as the document grows and the stream is not closed.
+     *
+     * @throws ReportGenerationException if iText rejects the layout
+     */
+    public static void writePdf(ReportDocument report, OutputStream out) throws IOException {
         Document document = new Document();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
 
         try {
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            writer.setPageEvent(new PageFooter());
             document.open();
 
             // Title
-            Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
-            Paragraph title = new Paragraph("ERP System Overview Report", titleFont);
+            Paragraph title = new Paragraph(report.title(), TITLE_FONT);
             title.setAlignment(Element.ALIGN_CENTER);
             document.add(title);
             document.add(Chunk.NEWLINE);
 
-            // Finance Summary
-            addSectionHeader(document, "Finance Summary");
-            document.add(new Paragraph("Outstanding Receivables: " + overview.finance().outstandingReceivables()));
-            document.add(new Paragraph("Overdue Receivables: " + overview.finance().overdueReceivables()));
-            document.add(new Paragraph("Current Month Expense Total: " + overview.finance().currentMonthExpenseTotal()));
-            document.add(new Paragraph("Budget Utilization: " + overview.finance().budgetUtilization()));
-            document.add(new Paragraph("Upcoming Payroll Commitment: " + overview.finance().upcomingPayrollCommitment()));
-            document.add(Chunk.NEWLINE);
-
-            // HR Summary
-            addSectionHeader(document, "HR Summary");
-            document.add(new Paragraph("Total Employees: " + overview.hr().totalEmployees()));
-            document.add(new Paragraph("Active Employees: " + overview.hr().activeEmployees()));
-            document.add(new Paragraph("Departments: " + overview.hr().departments()));
-            document.add(new Paragraph("Pending Resignations: " + overview.hr().pendingResignations()));
-            document.add(Chunk.NEWLINE);
-
-            // Inventory Summary
-            addSectionHeader(document, "Inventory Summary");
-            document.add(new Paragraph("Total Active Items: " + overview.inventory().totalActiveItems()));
-            document.add(new Paragraph("Total Warehouses: " + overview.inventory().totalWarehouses()));
-            document.add(new Paragraph("Total Quantity On Hand: " + overview.inventory().totalQuantityOnHand()));
-            document.add(new Paragraph("Total Quantity Reserved: " + overview.inventory().totalQuantityReserved()));
-            document.add(new Paragraph("Items Below Safety Stock: " + overview.inventory().itemsBelowSafetyStock()));
-            document.add(Chunk.NEWLINE);
+            for (SectionContent section : report.sections()) {
+                if (section.facts().isEmpty()) {
+                    continue;
+                }
+                addSectionHeader(document, section.title());
+                if (section.note() != null) {
+                    document.add(new Paragraph(section.note(), NOTE_FONT));
+                }
+                for (Fact fact : section.facts()) {
+                    addLine(document, fact.label() + ": " + fact.value());
+                }
+                document.add(Chunk.NEWLINE);
+            }
 
             // Timestamp
-            document.add(new Paragraph("Generated At (UTC): " + overview.lastUpdatedUtc()));
+            addLine(document, "Generated At (UTC): " + report.generatedAt());
+
+            for (SectionContent section : report.sections()) {
+                for (DetailSheet detail : section.tables()) {
+                    document.newPage();
+                    addSectionHeader(document, detail.name());
+                    addDetailTable(document, detail);
+                }
+            }
 
             document.close();
         } catch (DocumentException e) {
-            e.printStackTrace();
+            throw new ReportGenerationException("Failed to render PDF report", e);
         }
+        out.flush();
+    }
 
+    /**
+     * Renders the overview summaries followed by {@code detailTables}.
+     */
+    public static void writePdf(OverviewDto overview, List<DetailSheet> detailTables, OutputStream out)
+            throws IOException {
+        writePdf(ReportDocument.of(overview, detailTables), out);
+    }
+
+    public static void writePdf(OverviewDto overview, OutputStream out) throws IOException {
+        writePdf(overview, List.of(), out);
+    }
+
+    /**
+     * Buffers the document in memory. Prefer {@link #writePdf(OverviewDto, OutputStream)}
+     * when the destination stream is available.
+     */
+    public static ByteArrayInputStream generatePdf(OverviewDto overview) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writePdf(overview, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return new ByteArrayInputStream(out.toByteArray());
     }
 
     private static void addSectionHeader(Document document, String headerText) throws DocumentException {
-        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14, BaseColor.BLUE);
-        Paragraph header = new Paragraph(headerText, headerFont);
+        Paragraph header = new Paragraph(headerText, SECTION_FONT);
         header.setSpacingBefore(10);
         header.setSpacingAfter(5);
         document.add(header);
     }
+
+    private static void addLine(Document document, String text) throws DocumentException {
+        document.add(new Paragraph(text, BODY_FONT));
+    }
+
+    /**
+     * Adds the rows as an incomplete table, handing it to the document every
+     * {@link #TABLE_FLUSH_ROWS} rows so finished pages can be written out
+     * instead of holding the whole table in memory.
+     */
+    private static void addDetailTable(Document document, DetailSheet detail) throws DocumentException {
+        int columns = detail.headers().size();
+        PdfPTable table = new PdfPTable(columns);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        if (detail.columnWidths() != null && detail.columnWidths().length == columns) {
+            table.setWidths(detail.columnWidths());
+        }
+
+        for (String header : detail.headers()) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, TABLE_HEADER_FONT));
+            cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+            table.addCell(cell);
+        }
+
+        int pending = 0;
+        for (List<?> values : detail.rows()) {
+            for (int col = 0; col < columns; col++) {
+                Object value = col < values.size() ? values.get(col) : null;
+                PdfPCell cell = new PdfPCell(new Phrase(value == null ? "" : value.toString(), TABLE_FONT));
+                if (value instanceof Number) {
+                    cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+                }
+                table.addCell(cell);
+            }
+            if (++pending == TABLE_FLUSH_ROWS) {
+                document.add(table);
+                pending = 0;
+            }
+        }
+
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private static BaseFont baseFont(String name) {
+        try {
+            return BaseFont.createFont(name, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        } catch (DocumentException | IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Stamps "Page N" at the bottom of every page, so multi-page detail tables stay readable when printed.
+     */
+    private static final class PageFooter extends PdfPageEventHelper {
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            Phrase footer = new Phrase("Page " + writer.getPageNumber(), FOOTER_FONT);
+            ColumnText.showTextAligned(writer.getDirectContent(), Element.ALIGN_CENTER, footer,
+                    (document.left() + document.right()) / 2, document.bottom() - 20, 0);
+        }
+    }
 }
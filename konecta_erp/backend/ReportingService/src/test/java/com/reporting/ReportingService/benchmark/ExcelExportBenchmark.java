@@ -0,0 +1,125 @@
+package com.reporting.ReportingService.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.util.DetailSheet;
+import com.reporting.ReportingService.util.ExcelReportGenerator;
+
+/**
+ * Compares the in-memory XSSF generator the service used to ship
+ * ({@link BaselineExcelReportGenerator}) with the streaming SXSSF writer, with
+ * and without a large detail sheet. Both produce the same cells.
+ * <p>
+ * Run {@link #main} from the IDE (or with the test classpath) after
+ * {@code mvn test-compile}. The GC profiler reports allocation per export
+ * ({@code gc.alloc.rate.norm}); the heap cap on the fork makes the baseline
+ * fail first as the detail sheet grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class ExcelExportBenchmark {
+
+    @Param({ "0", "5000", "50000" })
+    public int detailRows;
+
+    private OverviewDto overview;
+
+    @Setup
+    public void setUp() {
+        overview = new OverviewDto(
+                new FinanceSummaryDto(new BigDecimal("125000.50"), new BigDecimal("8200.00"),
+                        new BigDecimal("43000.25"), new BigDecimal("0.71"), new BigDecimal("98000.00")),
+                new HrSummaryDto(420, 401, 12, 3),
+                new InventorySummaryDto(1800, 4, new BigDecimal("92000"), new BigDecimal("3100"), 27),
+                Instant.parse("2025-01-01T00:00:00Z"),
+                List.of());
+    }
+
+    @Benchmark
+    public void streamingSxssf(Blackhole blackhole) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        ExcelReportGenerator.writeExcel(overview, detailRows > 0 ? List.of(invoiceSheet(detailRows)) : List.of(),
+                out);
+        blackhole.consume(out.count);
+    }
+
+    @Benchmark
+    public void inMemoryXssf(Blackhole blackhole) throws IOException {
+        blackhole.consume(BaselineExcelReportGenerator.generateExcel(overview,
+                detailRows > 0 ? invoiceSheet(detailRows) : null));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ExcelExportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    private static DetailSheet invoiceSheet(int rows) {
+        List<List<?>> invoices = new AbstractList<>() {
+            @Override
+            public List<?> get(int index) {
+                return invoiceRow(index);
+            }
+
+            @Override
+            public int size() {
+                return rows;
+            }
+        };
+        return new DetailSheet("Invoices", List.of("Invoice", "Customer", "Amount", "Status"),
+                new int[] { 14, 30, 14, 12 }, invoices);
+    }
+
+    private static List<?> invoiceRow(int index) {
+        return List.of("INV-" + index, "Customer " + (index % 500), 100 + index % 9000, index % 7 == 0 ? "Overdue" : "Open");
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
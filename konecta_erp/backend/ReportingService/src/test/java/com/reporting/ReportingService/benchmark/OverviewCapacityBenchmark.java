@@ -0,0 +1,166 @@
+package com.reporting.ReportingService.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.reporting.ReportingService.config.OverviewProperties;
+import com.reporting.ReportingService.config.SnapshotCacheProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.service.OverviewAggregator;
+import com.reporting.ReportingService.service.ReportingService;
+import com.reporting.ReportingService.service.ReportingServiceImpl;
+import com.reporting.ReportingService.service.SummarySource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Concurrent-request capacity of the overview endpoint with platform and virtual
+ * threads. Each operation is a burst of {@code concurrentRequests} overviews whose
+ * three sources each block for {@code sourceLatencyMillis}, dispatched the way
+ * Tomcat would: a 200-thread request pool and the default fan-out pool in
+ * {@code platform} mode, a virtual thread per request and per section call in
+ * {@code virtual} mode.
+ * <p>
+ * The {@code complete} and {@code partial} counters show how many overviews came
+ * back with every section; in platform mode the calls a saturated fan-out pool
+ * rejects are made on the request threads, which shows in the average time
+ * rather than in partial sections. The {@code virtual}
+ * mode needs a Java 21 runtime: run {@link #main} with {@code -jvm} pointing at
+ * one, or with the test classpath on a 21 JDK after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverviewCapacityBenchmark {
+    private static final int REQUEST_THREADS = 200;
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "200", "1000" })
+    public int concurrentRequests;
+
+    @Param({ "50" })
+    public int sourceLatencyMillis;
+
+    private Executor requestExecutor;
+    private ExecutorService requestPool;
+    private ThreadPoolTaskExecutor fanOutPool;
+    private ReportingService service;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long complete;
+        public long partial;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            complete = 0;
+            partial = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        OverviewProperties defaults = new OverviewProperties(Duration.ofSeconds(5), Duration.ofSeconds(6), 12, 64);
+        Executor fanOut;
+        if ("virtual".equals(mode)) {
+            VirtualThreadTaskExecutor virtual = new VirtualThreadTaskExecutor("bench-");
+            requestExecutor = virtual;
+            fanOut = virtual;
+        } else {
+            requestPool = Executors.newFixedThreadPool(REQUEST_THREADS);
+            requestExecutor = requestPool;
+            fanOutPool = new ThreadPoolTaskExecutor();
+            fanOutPool.setCorePoolSize(defaults.poolSize());
+            fanOutPool.setMaxPoolSize(defaults.poolSize());
+            fanOutPool.setQueueCapacity(defaults.queueCapacity());
+            fanOutPool.initialize();
+            fanOut = fanOutPool;
+        }
+        SnapshotCacheProperties noCaching = new SnapshotCacheProperties(Duration.ZERO, Duration.ZERO, 1);
+        SummarySource source = new SummarySource(
+                () -> blockThen(new FinanceSummaryDto(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN,
+                        BigDecimal.ONE, BigDecimal.TEN)),
+                () -> blockThen(new HrSummaryDto(10, 9, 3, 1)),
+                () -> blockThen(new InventorySummaryDto(5, 2, BigDecimal.TEN, BigDecimal.ONE, 1)),
+                noCaching, fanOut, new SimpleMeterRegistry());
+        service = new ReportingServiceImpl(source, new OverviewAggregator(fanOut, defaults));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (requestPool != null) {
+            requestPool.shutdownNow();
+        }
+        if (fanOutPool != null) {
+            fanOutPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public void burst(Outcomes outcomes) {
+        List<CompletableFuture<OverviewDto>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(CompletableFuture.supplyAsync(service::buildOverview, requestExecutor));
+        }
+        for (CompletableFuture<OverviewDto> response : responses) {
+            if (response.join().partialSections().isEmpty()) {
+                outcomes.complete++;
+            } else {
+                outcomes.partial++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OverviewCapacityBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private <T> T blockThen(T value) {
+        try {
+            Thread.sleep(sourceLatencyMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
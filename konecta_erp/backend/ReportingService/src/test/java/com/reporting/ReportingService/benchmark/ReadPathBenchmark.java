@@ -0,0 +1,243 @@
+package com.reporting.ReportingService.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reporting.ReportingService.client.ReactiveSummaryClient;
+import com.reporting.ReportingService.config.OverviewProperties;
+import com.reporting.ReportingService.config.ReactiveClientProperties;
+import com.reporting.ReportingService.config.SnapshotCacheProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.kpi.KpiLedger;
+import com.reporting.ReportingService.service.OverviewAggregator;
+import com.reporting.ReportingService.service.ReactiveReportReadService;
+import com.reporting.ReportingService.service.ReportingServiceImpl;
+import com.reporting.ReportingService.service.SummarySource;
+
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Load comparison of the two {@code reporting.read-path} settings for the
+ * overview endpoint, over real HTTP against a local upstream that answers each
+ * summary after {@code sourceLatencyMillis}. The upstream delays on a timer
+ * rather than a thread, so it is not the bottleneck at any concurrency.
+ * <p>
+ * Each operation is a burst of {@code concurrentRequests} overviews. In
+ * {@code servlet} mode they are dispatched the way Tomcat would, onto a
+ * 200-thread request pool, and fan out over Feign and the pooled HttpClient 5
+ * transport through the default overview pool. In {@code reactive} mode they are
+ * subscribed from the benchmark thread and fan out over WebClient. The
+ * {@code complete} and {@code partial} counters show how many overviews came back
+ * with every section, and {@code peakThreads} the most live JVM threads seen
+ * during the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+    private static final int REQUEST_THREADS = 200;
+    private static final String FINANCE = "{\"outstandingReceivables\":1000.00,\"overdueReceivables\":200.00,"
+            + "\"currentMonthExpenseTotal\":50.00,\"budgetUtilization\":0.40,\"upcomingPayrollCommitment\":9000.00}";
+    private static final String HR = "{\"totalEmployees\":10,\"activeEmployees\":9,\"departments\":3,"
+            + "\"pendingResignations\":2}";
+    private static final String INVENTORY = "{\"totalActiveItems\":5,\"totalWarehouses\":2,"
+            + "\"totalQuantityOnHand\":100,\"totalQuantityReserved\":10,\"itemsBelowSafetyStock\":1}";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Param({ "servlet", "reactive" })
+    public String mode;
+
+    @Param({ "200", "1000" })
+    public int concurrentRequests;
+
+    @Param({ "50" })
+    public int sourceLatencyMillis;
+
+    private DisposableServer upstream;
+    private ExecutorService requestPool;
+    private ThreadPoolTaskExecutor fanOutPool;
+    private CloseableHttpClient pooledClient;
+    private ReportingServiceImpl servlet;
+    private ReactiveReportReadService reactive;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long complete;
+        public long partial;
+        public long peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            complete = 0;
+            partial = 0;
+            THREADS.resetPeakThreadCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            peakThreads = THREADS.getPeakThreadCount();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        Duration latency = Duration.ofMillis(sourceLatencyMillis);
+        upstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/finance-summary", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.delay(latency).thenReturn(FINANCE)))
+                        .get("/api/hr-summary", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.delay(latency).thenReturn(HR)))
+                        .get("/api/inventory-summary", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.delay(latency).thenReturn(INVENTORY))))
+                .bindNow();
+        String url = "http://127.0.0.1:" + upstream.port();
+
+        OverviewProperties defaults = new OverviewProperties(Duration.ofSeconds(5), Duration.ofSeconds(6), 12, 64);
+        SnapshotCacheProperties noCaching = new SnapshotCacheProperties(Duration.ZERO, Duration.ZERO, 1);
+        if ("servlet".equals(mode)) {
+            requestPool = Executors.newFixedThreadPool(REQUEST_THREADS);
+            fanOutPool = new ThreadPoolTaskExecutor();
+            fanOutPool.setCorePoolSize(defaults.poolSize());
+            fanOutPool.setMaxPoolSize(defaults.poolSize());
+            fanOutPool.setQueueCapacity(defaults.queueCapacity());
+            fanOutPool.initialize();
+            // the same pool limits the service's Feign transport is configured with
+            pooledClient = HttpClients.custom()
+                    .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(60)
+                            .setMaxConnPerRoute(20)
+                            .build())
+                    .build();
+            Summaries summaries = Feign.builder()
+                    .client(new ApacheHttp5Client(pooledClient))
+                    .target(Summaries.class, url);
+            ObjectMapper mapper = new ObjectMapper();
+            SummarySource source = new SummarySource(
+                    () -> read(mapper, summaries.finance(), FinanceSummaryDto.class),
+                    () -> read(mapper, summaries.hr(), HrSummaryDto.class),
+                    () -> read(mapper, summaries.inventory(), InventorySummaryDto.class),
+                    noCaching, fanOutPool, new SimpleMeterRegistry());
+            servlet = new ReportingServiceImpl(source, new OverviewAggregator(fanOutPool, defaults));
+        } else {
+            ReactiveSummaryClient client = new ReactiveSummaryClient(WebClient.builder(),
+                    new ReactiveClientProperties(Duration.ofSeconds(5), Duration.ofSeconds(10), 1,
+                            Duration.ofMillis(100)),
+                    url, url, url);
+            SummarySource source = new SummarySource(null, null, null, noCaching, Runnable::run,
+                    new SimpleMeterRegistry());
+            reactive = new ReactiveReportReadService(client, source, defaults,
+                    new DefaultListableBeanFactory().getBeanProvider(KpiLedger.class));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (requestPool != null) {
+            requestPool.shutdownNow();
+        }
+        if (fanOutPool != null) {
+            fanOutPool.shutdown();
+        }
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public void burst(Outcomes outcomes) {
+        List<CompletableFuture<OverviewDto>> responses = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses.add(servlet != null
+                    ? CompletableFuture.supplyAsync(servlet::buildOverview, requestPool)
+                    : reactive.overview().toFuture());
+        }
+        for (CompletableFuture<OverviewDto> response : responses) {
+            if (response.join().partialSections().isEmpty()) {
+                outcomes.complete++;
+            } else {
+                outcomes.partial++;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ReadPathBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+    private static <T> T read(ObjectMapper mapper, String json, Class<T> type) {
+        try {
+            return mapper.readValue(json, type);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    interface Summaries {
+        @RequestLine("GET /api/finance-summary")
+        String finance();
+
+        @RequestLine("GET /api/hr-summary")
+        String hr();
+
+        @RequestLine("GET /api/inventory-summary")
+        String inventory();
+    }
+}
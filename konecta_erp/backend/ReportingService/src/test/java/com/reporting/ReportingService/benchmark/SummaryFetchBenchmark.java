@@ -0,0 +1,157 @@
+package com.reporting.ReportingService.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.sun.net.httpserver.HttpServer;
+
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+
+/**
+ * Per-call cost of a summary fetch over each Feign transport, against a local
+ * endpoint that answers immediately with a finance-summary sized JSON body.
+ * Loopback connects are nearly free, so the first request on every new connection
+ * is charged {@code connectCostMicros}, standing in for the TCP and TLS handshakes
+ * to a service on another host; the connections opened per trial are printed at
+ * teardown.
+ * <p>
+ * {@code default} is Feign's {@link Client.Default} (HttpURLConnection, whose
+ * keep-alive cache holds at most five idle connections per host), {@code hc5} the
+ * pooled Apache HttpClient 5 transport the service now uses, and {@code http2} the
+ * JDK client. {@code sequential} shows the steady-state overhead of one caller;
+ * {@code concurrent} runs 16 callers, the shape of overview fan-outs under load,
+ * where connections that do not fit the keep-alive cache are opened per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummaryFetchBenchmark {
+    private static final byte[] SUMMARY = ("{\"totalRevenue\":125000.00,\"totalExpenses\":48210.50,"
+            + "\"netIncome\":76789.50,\"outstandingInvoices\":9120.00,\"cashBalance\":310455.25}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "default", "hc5", "http2" })
+    public String transport;
+
+    @Param({ "0", "1000" })
+    public long connectCostMicros;
+
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CloseableHttpClient pooledClient;
+    private Summaries client;
+
+    @Setup
+    public void setUp() throws IOException {
+        // without TCP_NODELAY the stub's split header/body writes stall on delayed ACKs
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        serverThreads = Executors.newFixedThreadPool(32);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.createContext("/api/finance-summary", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            if (connections.add(exchange.getRemoteAddress()) && connectCostMicros > 0) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(connectCostMicros));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, SUMMARY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(SUMMARY);
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        client = Feign.builder()
+                .client(transport())
+                .target(Summaries.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s opened %d connections%n", transport, connections.size());
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public String sequential() {
+        return client.finance();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String concurrent() {
+        return client.finance();
+    }
+
+    private Client transport() {
+        return switch (transport) {
+            case "default" -> new Client.Default(null, null);
+            case "hc5" -> {
+                pooledClient = HttpClients.custom()
+                        .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                                .setMaxConnTotal(60)
+                                .setMaxConnPerRoute(20)
+                                .build())
+                        .build();
+                yield new ApacheHttp5Client(pooledClient);
+            }
+            case "http2" -> new Http2Client();
+            default -> throw new IllegalArgumentException(transport);
+        };
+    }
+
+    interface Summaries {
+        @RequestLine("GET /api/finance-summary")
+        String finance();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SummaryFetchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
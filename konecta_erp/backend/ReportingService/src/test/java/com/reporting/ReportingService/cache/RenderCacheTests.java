@@ -0,0 +1,227 @@
+package com.reporting.ReportingService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.reporting.ReportingService.config.RenderCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RenderCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void aMissIsRenderedToTheCallerAndLaterRequestsAreServedFromTheCache() throws IOException {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(1 << 20, 1 << 20), registry);
+        byte[] artifact = bytes(150_000, 'a');
+
+        byte[] first = write(cache, "pdf-1", artifact);
+        byte[] second = write(cache, "pdf-1", artifact);
+
+        assertThat(first).isEqualTo(artifact);
+        assertThat(second).isEqualTo(artifact);
+        assertThat(renders).hasValue(1);
+        assertThat(cache.renderedAt("pdf-1")).isPresent();
+        assertThat(requests("miss")).isEqualTo(1.0);
+        assertThat(requests("hit")).isEqualTo(1.0);
+        assertThat(registry.get("reporting.render.cache.bytes").gauge().value()).isEqualTo(150_000.0);
+    }
+
+    @Test
+    void concurrentMissesForOneKeyShareASingleRender() throws Exception {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(1 << 20, 1 << 20), registry);
+        byte[] artifact = bytes(1_000, 'b');
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream leaderOut = new ByteArrayOutputStream();
+
+        Thread leader = new Thread(() -> {
+            try {
+                cache.writeTo("xlsx-1", out -> {
+                    renders.incrementAndGet();
+                    rendering.countDown();
+                    awaitQuietly(release);
+                    out.write(artifact);
+                }, leaderOut);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        leader.start();
+        assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ByteArrayOutputStream followerOut = new ByteArrayOutputStream();
+        Thread follower = new Thread(() -> {
+            try {
+                cache.writeTo("xlsx-1", out -> {
+                    renders.incrementAndGet();
+                    out.write(artifact);
+                }, followerOut);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        follower.start();
+        awaitState(follower, Thread.State.WAITING);
+
+        release.countDown();
+        leader.join(5_000);
+        follower.join(5_000);
+
+        assertThat(renders).hasValue(1);
+        assertThat(leaderOut.toByteArray()).isEqualTo(artifact);
+        assertThat(followerOut.toByteArray()).isEqualTo(artifact);
+        assertThat(requests("miss")).isEqualTo(2.0);
+    }
+
+    @Test
+    void requestsWaitingForARenderDoNotWaitForTheFirstCallersClient() throws Exception {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(1 << 20, 1 << 20), registry);
+        byte[] artifact = bytes(100_000, 'd');
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch unstall = new CountDownLatch(1);
+        // a client that stops reading as soon as anything is sent to it
+        OutputStream slowClient = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                stalled.countDown();
+                awaitQuietly(unstall);
+                super.write(b, off, len);
+            }
+        };
+
+        Thread leader = new Thread(() -> {
+            try {
+                cache.writeTo("pdf-2", out -> {
+                    renders.incrementAndGet();
+                    out.write(artifact);
+                }, slowClient);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        leader.start();
+        try {
+            assertThat(stalled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(write(cache, "pdf-2", artifact)).isEqualTo(artifact);
+            assertThat(renders).hasValue(1);
+        } finally {
+            unstall.countDown();
+            leader.join(5_000);
+        }
+    }
+
+    @Test
+    void requestsWaitingForAnOversizedRenderRenderForThemselvesOnceItOverflows() throws Exception {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(1 << 20, 100_000), registry);
+        byte[] artifact = bytes(300_000, 'e');
+        CountDownLatch overflowed = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ByteArrayOutputStream leaderOut = new ByteArrayOutputStream();
+
+        Thread leader = new Thread(() -> {
+            try {
+                cache.writeTo("pdf-big", out -> {
+                    renders.incrementAndGet();
+                    out.write(artifact, 0, 200_000);
+                    overflowed.countDown();
+                    awaitQuietly(finish);
+                    out.write(artifact, 200_000, 100_000);
+                }, leaderOut);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        leader.start();
+        try {
+            assertThat(overflowed.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(write(cache, "pdf-big", artifact)).isEqualTo(artifact);
+            assertThat(renders).hasValue(2);
+        } finally {
+            finish.countDown();
+            leader.join(5_000);
+        }
+        assertThat(leaderOut.toByteArray()).isEqualTo(artifact);
+    }
+
+    @Test
+    void artifactsOverTheEntryLimitAreStreamedButNotCached() throws IOException {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(1 << 20, 100_000), registry);
+        byte[] artifact = bytes(300_000, 'c');
+
+        assertThat(write(cache, "pdf-big", artifact)).isEqualTo(artifact);
+        assertThat(write(cache, "pdf-big", artifact)).isEqualTo(artifact);
+
+        assertThat(renders).hasValue(2);
+        assertThat(cache.renderedAt("pdf-big")).isEmpty();
+        assertThat(registry.get("reporting.render.cache.bytes").gauge().value()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedArtifactsAreEvictedOnceTheCacheIsFull() throws IOException {
+        RenderCache cache = new RenderCache(new RenderCacheProperties(250, 250), registry);
+        write(cache, "a", bytes(100, 'a'));
+        write(cache, "b", bytes(100, 'b'));
+        write(cache, "a", bytes(100, 'a'));
+        write(cache, "c", bytes(100, 'c'));
+
+        assertThat(cache.renderedAt("a")).isPresent();
+        assertThat(cache.renderedAt("b")).isEmpty();
+        assertThat(cache.renderedAt("c")).isPresent();
+        assertThat(registry.get("reporting.render.cache.evictions").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("reporting.render.cache.bytes").gauge().value()).isEqualTo(200.0);
+    }
+
+    private byte[] write(RenderCache cache, String key, byte[] artifact) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeTo(key, target -> {
+            renders.incrementAndGet();
+            // written in small pieces, as the generators do
+            for (int offset = 0; offset < artifact.length; offset += 4096) {
+                target.write(artifact, offset, Math.min(4096, artifact.length - offset));
+            }
+        }, out);
+        return out.toByteArray();
+    }
+
+    private double requests(String result) {
+        return registry.get("reporting.render.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static byte[] bytes(int size, char fill) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) fill);
+        bytes[size - 1] = '\n';
+        return bytes;
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(thread.getState()).isEqualTo(state);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.reporting.ReportingService.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SnapshotCacheTests {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void freshSnapshotIsServedWithoutCallingTheLoader() {
+        SnapshotCache<String, Integer> cache = cache(Duration.ofSeconds(30), Duration.ZERO, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("k", loads::incrementAndGet);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        Integer value = cache.get("k", loads::incrementAndGet);
+
+        assertThat(value).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+        assertThat(registry.get("reporting.snapshot.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileRefreshingInBackground() {
+        SnapshotCache<String, Integer> cache = cache(Duration.ofSeconds(30), Duration.ofMinutes(2), Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("k", loads::incrementAndGet);
+        clock.addAndGet(Duration.ofSeconds(45).toNanos());
+
+        assertThat(cache.get("k", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("k", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        SnapshotCache<String, Integer> cache = cache(Duration.ofSeconds(30), Duration.ZERO, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(executor.submit(() -> cache.get("k", () -> {
+                loads.incrementAndGet();
+                awaitQuietly(release);
+                return 42;
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<Integer> caller : callers) {
+            assertThat(caller.get(2, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        SnapshotCache<String, Integer> cache = cache(Duration.ofSeconds(30), Duration.ZERO, Runnable::run);
+
+        assertThatThrownBy(() -> cache.get("k", () -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("k", () -> 7)).isEqualTo(7);
+    }
+
+    private SnapshotCache<String, Integer> cache(Duration ttl, Duration stale, Executor refreshExecutor) {
+        return new SnapshotCache<>("test", ttl, stale, refreshExecutor, registry, clock::get);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
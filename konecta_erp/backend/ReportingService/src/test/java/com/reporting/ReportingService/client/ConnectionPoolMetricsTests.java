@@ -0,0 +1,112 @@
+package com.reporting.ReportingService.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import feign.Feign;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConnectionPoolMetricsTests {
+    private static final String SUMMARY = "{\"totalRevenue\":1250.00}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private HttpServer server;
+    private PoolingHttpClientConnectionManager pool;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/finance-summary", exchange -> {
+            byte[] body = gzip(SUMMARY);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnPerRoute(4)
+                .build();
+        httpClient = HttpClients.custom().setConnectionManager(pool).build();
+        URI url = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        new ConnectionPoolMetrics(pool, Map.of("finance", url, "hr", URI.create("http://hr.local"))).bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void repeatedCallsReuseOneKeepAliveConnectionAndDecodeGzip() {
+        Summaries client = Feign.builder()
+                .client(new ApacheHttp5Client(httpClient))
+                .target(Summaries.class, "http://127.0.0.1:" + server.getAddress().getPort());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(client.finance()).isEqualTo(SUMMARY);
+        }
+
+        assertThat(connections("finance", "idle")).isEqualTo(1.0);
+        assertThat(connections("finance", "leased")).isZero();
+        assertThat(registry.get("reporting.http.pool.saturation").tag("client", "finance").gauge().value()).isZero();
+    }
+
+    @Test
+    void leasedConnectionsCountTowardsSaturationOfTheirRouteOnly() throws Exception {
+        HttpGet request = new HttpGet("http://127.0.0.1:" + server.getAddress().getPort() + "/api/finance-summary");
+        ClassicHttpResponse response = httpClient.executeOpen(null, request, null);
+        try {
+            assertThat(connections("finance", "leased")).isEqualTo(1.0);
+            assertThat(registry.get("reporting.http.pool.saturation").tag("client", "finance").gauge().value())
+                    .isEqualTo(0.25);
+            assertThat(registry.get("reporting.http.pool.saturation").tag("client", "hr").gauge().value()).isZero();
+        } finally {
+            response.close();
+        }
+    }
+
+    private double connections(String client, String state) {
+        return registry.get("reporting.http.pool.connections").tag("client", client).tag("state", state)
+                .gauge().value();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    interface Summaries {
+        @RequestLine("GET /api/finance-summary")
+        String finance();
+    }
+}
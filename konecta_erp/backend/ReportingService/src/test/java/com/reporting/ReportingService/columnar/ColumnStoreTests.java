@@ -0,0 +1,202 @@
+package com.reporting.ReportingService.columnar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.columnar.ColumnTable.RefreshResult;
+import com.reporting.ReportingService.config.ColumnStoreProperties;
+import com.reporting.ReportingService.detail.RowCursor;
+import com.reporting.ReportingService.dto.AggregationResultDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ColumnStoreTests {
+
+    private static final int MAX_LIMIT = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    // small leaves so a 100k-row scan is split across many fork-join tasks
+    private final ColumnStore store = new ColumnStore(pool, new ColumnStoreProperties(true, "", Duration.ZERO,
+            Duration.ofMinutes(5), 500, 4, 1000, MAX_LIMIT), new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void groupedAggregatesMatchARowByRowComputation() throws IOException {
+        List<ObjectNode> expenses = expenses(100_000, new Random(7));
+        store.refresh(Dataset.EXPENSES, cursor(expenses));
+
+        AggregationResultDto result = store.query(ColumnQuery.parse(Dataset.EXPENSES,
+                List.of("status:ne:rejected", "incurredOn:ge:2026-03-01"), List.of("category"),
+                List.of("sum:amount", "count", "avg:amount", "max:amount"), "category", MAX_LIMIT, MAX_LIMIT));
+
+        Map<String, BigDecimal> sums = new TreeMap<>();
+        Map<String, Long> counts = new TreeMap<>();
+        Map<String, BigDecimal> maxima = new TreeMap<>();
+        for (ObjectNode expense : expenses) {
+            if (expense.get("status").asText().equals("Rejected")
+                    || expense.get("incurredOn").asText().compareTo("2026-03-01") < 0) {
+                continue;
+            }
+            String category = expense.get("category").asText();
+            BigDecimal amount = expense.get("amount").decimalValue();
+            sums.merge(category, amount, BigDecimal::add);
+            counts.merge(category, 1L, Long::sum);
+            maxima.merge(category, amount, BigDecimal::max);
+        }
+
+        assertThat(result.columns()).containsExactly("category", "sum:amount", "count", "avg:amount", "max:amount");
+        assertThat(result.scannedRows()).isEqualTo(100_000);
+        assertThat(result.matchedRows()).isEqualTo(counts.values().stream().mapToLong(Long::longValue).sum());
+        assertThat(result.rows()).hasSize(sums.size());
+        for (List<Object> row : result.rows()) {
+            String category = (String) row.get(0);
+            assertThat((BigDecimal) row.get(1)).isEqualByComparingTo(sums.get(category));
+            assertThat(row.get(2)).isEqualTo(counts.get(category));
+            assertThat((BigDecimal) row.get(3)).isEqualByComparingTo(sums.get(category)
+                    .divide(BigDecimal.valueOf(counts.get(category)), 4, RoundingMode.HALF_UP));
+            assertThat((BigDecimal) row.get(4)).isEqualByComparingTo(maxima.get(category));
+        }
+        assertThat(result.rows()).extracting(row -> (String) row.get(0)).isSorted();
+    }
+
+    @Test
+    void topNRanksGroupsAndKeepsRowsMissingTheGroupValue() throws IOException {
+        store.refresh(Dataset.EXPENSES, cursor(List.of(
+                expense(1, "Travel", "Air Co", "Approved", "2026-05-01", "900.00"),
+                expense(2, "Travel", null, "Approved", "2026-05-02", "50.00"),
+                expense(3, "Office", "Paper Co", "Approved", "2026-05-03", "120.50"),
+                expense(4, "Meals", "Diner", "Approved", "2026-06-01", "80"),
+                expense(5, "Office", "Paper Co", "Approved", "2026-06-02", "10"))));
+
+        AggregationResultDto top = store.query(ColumnQuery.parse(Dataset.EXPENSES, List.of(),
+                List.of("category"), List.of("sum:amount"), null, 2, MAX_LIMIT));
+        assertThat(top.rows()).containsExactly(
+                List.of("Travel", new BigDecimal("950")), List.of("Office", new BigDecimal("130.5")));
+        assertThat(top.groups()).isEqualTo(3);
+
+        AggregationResultDto byVendor = store.query(ColumnQuery.parse(Dataset.EXPENSES,
+                List.of("vendor:ne:Diner"), List.of("incurredMonth", "vendor"), List.of(), "count asc", 10,
+                MAX_LIMIT));
+        assertThat(byVendor.rows()).containsExactly(
+                listOf("2026-05", "Air Co", 1L), listOf("2026-05", "Paper Co", 1L),
+                listOf("2026-05", null, 1L), listOf("2026-06", "Paper Co", 1L));
+    }
+
+    @Test
+    void refreshWritesOnlyChangedRowsAndDropsRemovedOnes() throws IOException {
+        List<ObjectNode> expenses = expenses(2_000, new Random(11));
+        assertThat(store.refresh(Dataset.EXPENSES, cursor(expenses)))
+                .isEqualTo(new RefreshResult(2_000, 0, 0, 0));
+        long version = store.describe(Dataset.EXPENSES).version();
+
+        assertThat(store.refresh(Dataset.EXPENSES, cursor(expenses))).isEqualTo(new RefreshResult(0, 0, 2_000, 0));
+        assertThat(store.describe(Dataset.EXPENSES).version()).isEqualTo(version);
+
+        List<ObjectNode> next = new ArrayList<>(expenses.subList(0, 1_000));
+        next.set(0, next.get(0).deepCopy().put("amount", new BigDecimal("123456.78")));
+        next.add(expense(999_999, "Travel", "New Vendor", "Approved", "2026-07-01", "1.00"));
+        assertThat(store.refresh(Dataset.EXPENSES, cursor(next))).isEqualTo(new RefreshResult(1, 1, 999, 1_000));
+        assertThat(store.describe(Dataset.EXPENSES).version()).isEqualTo(version + 1);
+
+        AggregationResultDto total = store.query(ColumnQuery.parse(Dataset.EXPENSES, List.of(), List.of(),
+                List.of("count", "sum:amount"), null, 1, MAX_LIMIT));
+        BigDecimal expected = next.stream().map(expense -> expense.get("amount").decimalValue())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(total.scannedRows()).isEqualTo(1_001);
+        assertThat(total.rows().get(0).get(0)).isEqualTo(1_001L);
+        assertThat((BigDecimal) total.rows().get(0).get(1)).isEqualByComparingTo(expected);
+        assertThat(store.query(ColumnQuery.parse(Dataset.EXPENSES, List.of("vendor:eq:new vendor"), List.of(),
+                List.of("count"), null, 1, MAX_LIMIT)).rows()).containsExactly(List.of(1L));
+    }
+
+    @Test
+    void stockLevelsAreFlattenedPerWarehouse() throws IOException {
+        ObjectNode item = objectMapper.createObjectNode().put("id", 4).put("sku", "SKU-4").put("name", "Bolt")
+                .put("status", "Active").put("standardCost", new BigDecimal("2.50"));
+        item.putArray("stockLevels")
+                .add(objectMapper.createObjectNode().put("warehouseId", 1).put("warehouseCode", "MAIN")
+                        .put("quantityOnHand", 10))
+                .add(objectMapper.createObjectNode().put("warehouseId", 2).put("warehouseCode", "EAST")
+                        .put("quantityOnHand", 4));
+        store.refresh(Dataset.STOCK_LEVELS, cursor(List.of(item)));
+
+        AggregationResultDto result = store.query(ColumnQuery.parse(Dataset.STOCK_LEVELS, List.of(),
+                List.of("warehouseCode"), List.of("sum:stockValue"), "warehouseCode", 10, MAX_LIMIT));
+        assertThat(result.rows()).containsExactly(List.of("EAST", new BigDecimal("10")),
+                List.of("MAIN", new BigDecimal("25")));
+    }
+
+    @Test
+    void queriesTheDatasetCannotAnswerAreRejected() {
+        assertThatThrownBy(() -> ColumnQuery.parse(Dataset.EXPENSES, List.of(), List.of("amount"), List.of(),
+                null, 10, MAX_LIMIT)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("amount");
+        assertThatThrownBy(() -> ColumnQuery.parse(Dataset.EXPENSES, List.of(), List.of(),
+                List.of("sum:category"), null, 10, MAX_LIMIT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ColumnQuery.parse(Dataset.EXPENSES, List.of("amount:contains:1"), List.of(),
+                List.of(), null, 10, MAX_LIMIT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ColumnQuery.parse(Dataset.EXPENSES, List.of(), List.of("category"),
+                List.of("count"), "sum:amount", 10, MAX_LIMIT)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ColumnQuery.parse(Dataset.EXPENSES, List.of(), List.of(), List.of(), null,
+                MAX_LIMIT + 1, MAX_LIMIT)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<ObjectNode> expenses(int count, Random random) {
+        String[] statuses = { "Approved", "Pending", "Rejected", "Paid" };
+        List<ObjectNode> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String vendor = random.nextInt(10) == 0 ? null : "Vendor " + random.nextInt(50);
+            LocalDate day = LocalDate.of(2026, 1, 1).plusDays(random.nextInt(180));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            expenses.add(expense(i, "Category " + random.nextInt(12), vendor, statuses[random.nextInt(4)],
+                    day.toString(), amount.toPlainString()));
+        }
+        return expenses;
+    }
+
+    private ObjectNode expense(int id, String category, String vendor, String status, String day, String amount) {
+        return objectMapper.createObjectNode().put("id", id).put("category", category).put("vendor", vendor)
+                .put("status", status).put("incurredOn", day + "T00:00:00").put("amount", new BigDecimal(amount));
+    }
+
+    private static List<Object> listOf(Object... values) {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    private static RowCursor cursor(List<ObjectNode> records) {
+        Iterator<ObjectNode> iterator = records.iterator();
+        return new RowCursor() {
+            @Override
+            public ObjectNode next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package com.reporting.ReportingService.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.config.DetailReportProperties;
+import com.reporting.ReportingService.detail.DetailReportService;
+import com.reporting.ReportingService.detail.RowCursor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DetailReportsControllerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        List<ObjectNode> invoices = List.of(
+                invoice("INV-1", "Acme, Inc"),
+                invoice("INV-2", "Acme"));
+        DetailReportService service = new DetailReportService((records, authorization) -> cursor(invoices),
+                objectMapper, new DetailReportProperties(200, 2, 256, 1000), new SimpleMeterRegistry());
+        mockMvc = MockMvcBuilders.standaloneSetup(new DetailReportsController(service)).build();
+    }
+
+    @Test
+    void aSingleFilterWhoseValueHasACommaIsNotSplit() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/details/overdue-invoices")
+                .param("format", "csv")
+                .param("fields", "invoiceNumber,customerName")
+                .param("filter", "customerName:eq:Acme, Inc"))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(content().string("invoiceNumber,customerName\r\nINV-1,\"Acme, Inc\"\r\n"));
+    }
+
+    @Test
+    void repeatedFiltersAllApply() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/details/overdue-invoices")
+                .param("format", "csv")
+                .param("fields", "invoiceNumber")
+                .param("filter", "customerName:eq:Acme, Inc", "balanceDue:ge:1"))
+                .andExpect(status().isOk())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(content().string("invoiceNumber\r\nINV-1\r\n"));
+    }
+
+    private ObjectNode invoice(String number, String customer) {
+        ObjectNode invoice = objectMapper.createObjectNode().put("invoiceNumber", number)
+                .put("customerName", customer).put("dueDate", "2020-01-31T00:00:00").put("currency", "USD");
+        invoice.put("totalAmount", new BigDecimal("100.00")).put("paidAmount", BigDecimal.ZERO);
+        return invoice;
+    }
+
+    private static RowCursor cursor(List<ObjectNode> rows) {
+        Iterator<ObjectNode> iterator = rows.iterator();
+        return new RowCursor() {
+            @Override
+            public ObjectNode next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
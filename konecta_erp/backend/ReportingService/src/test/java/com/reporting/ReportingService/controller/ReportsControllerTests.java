@@ -0,0 +1,114 @@
+package com.reporting.ReportingService.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.reporting.ReportingService.cache.RenderCache;
+import com.reporting.ReportingService.config.RenderCacheProperties;
+import com.reporting.ReportingService.config.ReportSectionProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.export.ReportExporter;
+import com.reporting.ReportingService.report.FinanceSummarySection;
+import com.reporting.ReportingService.report.HrSummarySection;
+import com.reporting.ReportingService.report.InventorySummarySection;
+import com.reporting.ReportingService.report.ReportPipeline;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportsControllerTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(new BigDecimal("1000.00"),
+            new BigDecimal("200.00"), new BigDecimal("50.00"), new BigDecimal("0.40"), new BigDecimal("9000.00"));
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 2);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(5, 2, new BigDecimal("100"),
+            new BigDecimal("10"), 1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReportingService reportingService = reportingService();
+        Executor inline = Runnable::run;
+        ReportPipeline pipeline = new ReportPipeline(
+                List.of(new FinanceSummarySection(), new HrSummarySection(), new InventorySummarySection()), inline,
+                new ReportSectionProperties(1, Duration.ofSeconds(5)), registry);
+        ReportExporter exporter = new ReportExporter(reportingService,
+                new RenderCache(new RenderCacheProperties(64L << 20, 8L << 20), registry), pipeline);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReportsController(exporter, null)).build();
+    }
+
+    @Test
+    void exportCarriesValidatorsAndARevalidatedCopyIsAnswered304WithoutRendering() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/export/pdf")).andReturn();
+        MvcResult first = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"pdf-");
+        assertThat(first.getResponse().getContentAsByteArray()).startsWith("%PDF".getBytes());
+
+        mockMvc.perform(get("/api/reports/export/pdf").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        assertThat(registry.get("reporting.render.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("reporting.render.cache.requests").tag("result", "hit").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void aChangedReportGetsANewEtagSoAStaleCopyIsSentInFull() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/reports/export/excel")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"xlsx-outdated\"")).andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"xlsx-")));
+    }
+
+    private ReportingService reportingService() {
+        return new ReportingService() {
+            @Override
+            public OverviewDto buildOverview() {
+                return new OverviewDto(FINANCE, HR, INVENTORY, Instant.now(), List.of());
+            }
+
+            @Override
+            public FinanceSummaryDto getFinanceSummary() {
+                return FINANCE;
+            }
+
+            @Override
+            public HrSummaryDto getHrSummary() {
+                return HR;
+            }
+
+            @Override
+            public InventorySummaryDto getInventorySummary() {
+                return INVENTORY;
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.reporting.ReportingService.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.reporting.ReportingService.client.ReactiveSummaryClient;
+import com.reporting.ReportingService.config.OverviewProperties;
+import com.reporting.ReportingService.config.ReactiveClientProperties;
+import com.reporting.ReportingService.config.SnapshotCacheProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.kpi.KpiLedger;
+import com.reporting.ReportingService.service.ReactiveReportReadService;
+import com.reporting.ReportingService.service.ReportingService;
+import com.reporting.ReportingService.service.SummarySource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+class SummaryControllerTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(new BigDecimal("1000.00"),
+            new BigDecimal("200.00"), new BigDecimal("50.00"), new BigDecimal("0.40"), new BigDecimal("9000.00"));
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 2);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(5, 2, new BigDecimal("100"),
+            new BigDecimal("10"), 1);
+
+    private DisposableServer upstream;
+
+    @AfterEach
+    void tearDown() {
+        if (upstream != null) {
+            upstream.disposeNow();
+        }
+    }
+
+    @Test
+    void servletEndpointsAnswerOnTheRequestThreadWithoutAnAsyncDispatch() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SummaryController(reportingService())).build();
+
+        mockMvc.perform(get("/api/reports/overview"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.finance.outstandingReceivables").value(1000.00))
+                .andExpect(jsonPath("$.hr.totalEmployees").value(10))
+                .andExpect(jsonPath("$.inventory.totalWarehouses").value(2))
+                .andExpect(jsonPath("$.partialSections").isEmpty());
+        mockMvc.perform(get("/api/reports/finance"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(jsonPath("$.budgetUtilization").value(0.40));
+        mockMvc.perform(get("/api/reports/hr"))
+                .andExpect(jsonPath("$.pendingResignations").value(2));
+        mockMvc.perform(get("/api/reports/inventory"))
+                .andExpect(jsonPath("$.itemsBelowSafetyStock").value(1));
+    }
+
+    @Test
+    void reactiveEndpointsFetchTheSummariesOverHttpAndMarkFailedSectionsPartial() throws Exception {
+        upstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/finance-summary", (request, response) -> json(response, """
+                                {"outstandingReceivables":1000.00,"overdueReceivables":200.00,\
+                                "currentMonthExpenseTotal":50.00,"budgetUtilization":0.40,\
+                                "upcomingPayrollCommitment":9000.00}"""))
+                        .get("/api/hr-summary", (request, response) -> json(response, """
+                                {"totalEmployees":10,"activeEmployees":9,"departments":3,\
+                                "pendingResignations":2}"""))
+                        .get("/api/inventory-summary", (request, response) -> response
+                                .status(HttpResponseStatus.SERVICE_UNAVAILABLE).send()))
+                .bindNow();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ReactiveSummaryController(reactiveReadService()))
+                .build();
+
+        MvcResult overview = mockMvc.perform(get("/api/reports/overview"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(overview))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.finance.upcomingPayrollCommitment").value(9000.00))
+                .andExpect(jsonPath("$.hr.activeEmployees").value(9))
+                .andExpect(jsonPath("$.inventory.totalActiveItems").value(0))
+                .andExpect(jsonPath("$.partialSections").value("inventory"));
+
+        MvcResult hr = mockMvc.perform(get("/api/reports/hr")).andReturn();
+        mockMvc.perform(asyncDispatch(hr))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departments").value(3));
+    }
+
+    private ReactiveReportReadService reactiveReadService() {
+        String url = "http://127.0.0.1:" + upstream.port();
+        ReactiveSummaryClient client = new ReactiveSummaryClient(WebClient.builder(),
+                new ReactiveClientProperties(Duration.ofSeconds(1), Duration.ofSeconds(2), 0, Duration.ofMillis(10)),
+                url, url, url);
+        Executor inline = Runnable::run;
+        SummarySource summarySource = new SummarySource(
+                () -> {
+                    throw new IllegalStateException("blocking client used on the reactive path");
+                },
+                () -> {
+                    throw new IllegalStateException("blocking client used on the reactive path");
+                },
+                () -> {
+                    throw new IllegalStateException("blocking client used on the reactive path");
+                },
+                new SnapshotCacheProperties(Duration.ZERO, Duration.ZERO, 1), inline, new SimpleMeterRegistry());
+        return new ReactiveReportReadService(client, summarySource,
+                new OverviewProperties(Duration.ofSeconds(2), Duration.ofSeconds(3), 1, 1),
+                new DefaultListableBeanFactory().getBeanProvider(KpiLedger.class));
+    }
+
+    private static Mono<Void> json(HttpServerResponse response, String body) {
+        return response.header("Content-Type", "application/json").sendString(Mono.just(body)).then();
+    }
+
+    private ReportingService reportingService() {
+        return new ReportingService() {
+            @Override
+            public OverviewDto buildOverview() {
+                return new OverviewDto(FINANCE, HR, INVENTORY, Instant.now(), List.of());
+            }
+
+            @Override
+            public FinanceSummaryDto getFinanceSummary() {
+                return FINANCE;
+            }
+
+            @Override
+            public HrSummaryDto getHrSummary() {
+                return HR;
+            }
+
+            @Override
+            public InventorySummaryDto getInventorySummary() {
+                return INVENTORY;
+            }
+        };
+    }
+}
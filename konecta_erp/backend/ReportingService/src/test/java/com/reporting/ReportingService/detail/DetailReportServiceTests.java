@@ -0,0 +1,326 @@
+package com.reporting.ReportingService.detail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reporting.ReportingService.config.DetailReportProperties;
+
+import feign.Feign;
+import feign.RequestLine;
+import feign.Response;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+class DetailReportServiceTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private DisposableServer upstream;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (upstream != null) {
+            upstream.disposeNow();
+        }
+    }
+
+    @Test
+    void overdueInvoicesAreFilteredProjectedAndWrittenAsCsv() throws IOException {
+        StubSource source = new StubSource(List.of(
+                invoice("INV-1", "Acme, Inc.", "100.00", "40.00", "2020-01-31T00:00:00"),
+                invoice("INV-2", "Paid Up", "50.00", "50.00", "2020-01-31T00:00:00"),
+                invoice("INV-3", "Not Due", "75.00", "0", "2999-01-31T00:00:00"),
+                invoice("INV-4", "Small \"Co\"", "12.5", "0", "2020-03-01")));
+        DetailReport report = DetailReport.OVERDUE_INVOICES;
+        RowQuery query = RowQuery.parse(report, List.of("balanceDue:ge:10"), "invoiceNumber,customerName,balanceDue");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service(source, 256).open(report, query, "Bearer t").writeTo(DetailFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("invoiceNumber,customerName,balanceDue\r\n"
+                + "INV-1,\"Acme, Inc.\",60.00\r\n"
+                + "INV-4,\"Small \"\"Co\"\"\",12.5\r\n");
+        assertThat(source.authorization).isEqualTo("Bearer t");
+        assertThat(source.closed).isTrue();
+        assertThat(registry.get("reporting.details.streams").tags("report", "overdue-invoices", "outcome",
+                "completed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void headcountIsGroupedByDepartmentAndWrittenAsNdjson() throws IOException {
+        StubSource source = new StubSource(List.of(
+                employee("d-2", "Sales", 0), employee("d-1", "Engineering", 0),
+                employee("d-1", "Engineering", 1), employee("d-1", "Engineering", 3)));
+        DetailReport report = DetailReport.HEADCOUNT_BY_DEPARTMENT;
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service(source, 256).open(report, RowQuery.parse(report, List.of(), null), null)
+                .writeTo(DetailFormat.NDJSON, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "{\"departmentId\":\"d-1\",\"departmentName\":\"Engineering\",\"totalEmployees\":3,"
+                        + "\"activeEmployees\":1,\"onLeaveEmployees\":1,\"exitedEmployees\":1}",
+                "{\"departmentId\":\"d-2\",\"departmentName\":\"Sales\",\"totalEmployees\":1,"
+                        + "\"activeEmployees\":1,\"onLeaveEmployees\":0,\"exitedEmployees\":0}");
+    }
+
+    @Test
+    void nextPageIsFetchedWhileTheCurrentOneIsRead() throws IOException, InterruptedException {
+        CountDownLatch secondPageRequested = new CountDownLatch(1);
+        List<Integer> pages = new ArrayList<>();
+        PagedCursor cursor = new PagedCursor((page, size) -> {
+            synchronized (pages) {
+                pages.add(page);
+            }
+            if (page == 2) {
+                secondPageRequested.countDown();
+            }
+            return cursor(page <= 2 ? rows(page, size) : rows(page, 1));
+        }, 3, executor);
+
+        assertThat(cursor.next().get("n").asText()).isEqualTo("1-0");
+        // the first page has not been fully read, yet the second is already on its way
+        assertThat(secondPageRequested.await(5, TimeUnit.SECONDS)).isTrue();
+
+        int read = 1;
+        while (cursor.next() != null) {
+            read++;
+        }
+        assertThat(read).isEqualTo(7);
+        assertThat(pages).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void clientDisconnectClosesTheUpstreamAndStopsPrefetching() throws IOException {
+        AtomicInteger loaded = new AtomicInteger();
+        StubSource source = new StubSource(null) {
+            @Override
+            public RowCursor open(RecordSet records, String authorization) throws IOException {
+                PagedCursor pages = new PagedCursor((page, size) -> {
+                    loaded.incrementAndGet();
+                    return cursor(rows(page, size));
+                }, 10, Runnable::run);
+                return track(pages);
+            }
+        };
+        DetailReport report = DetailReport.STOCK_TRANSACTIONS;
+        OutputStream gone = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> service(source, 5).open(report, RowQuery.parse(report, List.of(), null), null)
+                .writeTo(DetailFormat.NDJSON, gone)).isInstanceOf(IOException.class);
+
+        assertThat(source.closed).isTrue();
+        // the page being written and the one fetched ahead of it, nothing more
+        assertThat(loaded.get()).isEqualTo(2);
+        assertThat(registry.get("reporting.details.streams").tags("report", "stock-transactions", "outcome",
+                "cancelled").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void closingAbortsThePageBeingFetchedAheadAndFreesItsWorker() throws Exception {
+        CountDownLatch secondPageReading = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        CountDownLatch workerFreed = new CountDownLatch(1);
+        PagedCursor cursor = new PagedCursor((page, size) -> page == 1 ? cursor(rows(page, size)) : new RowCursor() {
+            @Override
+            public ObjectNode next() throws IOException {
+                // a response body that never arrives, like a stalled upstream
+                secondPageReading.countDown();
+                try {
+                    aborted.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new SocketException("Socket closed");
+            }
+
+            @Override
+            public void abort() {
+                aborted.countDown();
+            }
+
+            @Override
+            public void close() {
+                workerFreed.countDown();
+            }
+        }, 3, executor);
+
+        assertThat(cursor.next()).isNotNull();
+        assertThat(secondPageReading.await(5, TimeUnit.SECONDS)).isTrue();
+        cursor.close();
+
+        assertThat(aborted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(workerFreed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cursor.next()).isNull();
+    }
+
+    @Test
+    void anAbandonedResponseIsDroppedInsteadOfReadToTheEnd() throws IOException {
+        // an array that takes five seconds to send, one record every 50 ms
+        upstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> response.sendString(Flux.concat(Flux.just("["),
+                        Flux.interval(Duration.ofMillis(50)).take(100).map(i -> "{\"n\":" + i + "},"),
+                        Flux.just("{}]"))))
+                .bindNow();
+        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            Records records = Feign.builder()
+                    .client(new ApacheHttp5Client(httpClient))
+                    .target(Records.class, "http://127.0.0.1:" + upstream.port());
+            Response response = records.list();
+            JsonArrayCursor cursor = new JsonArrayCursor(response.body().asInputStream(), response,
+                    objectMapper.reader());
+            assertThat(cursor.next().get("n").asInt()).isZero();
+
+            long started = System.nanoTime();
+            cursor.close();
+            assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void aReportPastTheRowLimitEndsWithATruncationMarker() throws IOException {
+        DetailReport report = DetailReport.STOCK_TRANSACTIONS;
+        RowQuery query = RowQuery.parse(report, List.of(), "quantity");
+        DetailReportService service = new DetailReportService(new StubSource(rows(1, 5)), objectMapper,
+                new DetailReportProperties(200, 2, 256, 3), registry);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        service.open(report, query, null).writeTo(DetailFormat.NDJSON, ndjson);
+        assertThat(ndjson.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "{\"quantity\":0}", "{\"quantity\":1}", "{\"quantity\":2}", "{\"truncated\":true,\"rowLimit\":3}");
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        service.open(report, query, null).writeTo(DetailFormat.CSV, csv);
+        assertThat(csv.toString(StandardCharsets.UTF_8))
+                .isEqualTo("quantity\r\n0\r\n1\r\n2\r\n# truncated at 3 rows\r\n");
+        assertThat(registry.get("reporting.details.streams").tags("report", "stock-transactions", "outcome",
+                "truncated").counter().count()).isEqualTo(2.0);
+
+        // exactly at the limit is complete, with no marker
+        ByteArrayOutputStream exact = new ByteArrayOutputStream();
+        new DetailReportService(new StubSource(rows(1, 3)), objectMapper, new DetailReportProperties(200, 2, 256, 3),
+                registry).open(report, query, null).writeTo(DetailFormat.NDJSON, exact);
+        assertThat(exact.toString(StandardCharsets.UTF_8)).doesNotContain("truncated");
+    }
+
+    @Test
+    void unknownColumnsAndOperatorsAreRejected() {
+        assertThatThrownBy(() -> RowQuery.parse(DetailReport.STOCK_TRANSACTIONS, List.of(), "sku,quantity"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("sku");
+        assertThatThrownBy(() -> RowQuery.parse(DetailReport.STOCK_TRANSACTIONS, List.of("quantity:between:1"),
+                null)).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("between");
+    }
+
+    private DetailReportService service(RecordSource source, int flushRows) {
+        return new DetailReportService(source, objectMapper, new DetailReportProperties(200, 2, flushRows, 1000),
+                registry);
+    }
+
+    private ObjectNode invoice(String number, String customer, String total, String paid, String dueDate) {
+        ObjectNode invoice = objectMapper.createObjectNode().put("invoiceNumber", number)
+                .put("customerName", customer).put("dueDate", dueDate).put("currency", "USD");
+        invoice.put("totalAmount", new BigDecimal(total)).put("paidAmount", new BigDecimal(paid));
+        return invoice;
+    }
+
+    private ObjectNode employee(String departmentId, String departmentName, int status) {
+        return objectMapper.createObjectNode().put("departmentId", departmentId)
+                .put("departmentName", departmentName).put("status", status);
+    }
+
+    private static RowCursor cursor(List<ObjectNode> rows) {
+        Iterator<ObjectNode> iterator = rows.iterator();
+        return new RowCursor() {
+            @Override
+            public ObjectNode next() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private List<ObjectNode> rows(int page, int count) {
+        List<ObjectNode> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(objectMapper.createObjectNode().put("n", page + "-" + i).put("quantity", i));
+        }
+        return rows;
+    }
+
+    /**
+     * Serves fixed records and records whether the cursor it handed out was closed.
+     */
+    private static class StubSource implements RecordSource {
+        private final List<ObjectNode> records;
+        volatile String authorization;
+        volatile boolean closed;
+
+        StubSource(List<ObjectNode> records) {
+            this.records = records;
+        }
+
+        @Override
+        public RowCursor open(RecordSet records, String authorization) throws IOException {
+            this.authorization = authorization;
+            return track(cursor(this.records));
+        }
+
+        RowCursor track(RowCursor cursor) {
+            return new RowCursor() {
+                @Override
+                public ObjectNode next() throws IOException {
+                    return cursor.next();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    closed = true;
+                    cursor.close();
+                }
+            };
+        }
+    }
+
+    interface Records {
+        @RequestLine("GET /records")
+        Response list();
+    }
+}
@@ -0,0 +1,240 @@
+package com.reporting.ReportingService.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.reporting.ReportingService.cache.RenderCache;
+import com.reporting.ReportingService.config.ExportProperties;
+import com.reporting.ReportingService.controller.ExportJobsController;
+import com.reporting.ReportingService.config.RenderCacheProperties;
+import com.reporting.ReportingService.config.ReportSectionProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.exception.ExportQueueFullException;
+import com.reporting.ReportingService.report.FinanceSummarySection;
+import com.reporting.ReportingService.report.HrSummarySection;
+import com.reporting.ReportingService.report.InventorySummarySection;
+import com.reporting.ReportingService.report.ReportPipeline;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportJobServiceTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(new BigDecimal("1000.00"),
+            new BigDecimal("200.00"), new BigDecimal("50.00"), new BigDecimal("0.40"), new BigDecimal("9000.00"));
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 2);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(5, 2, new BigDecimal("100"),
+            new BigDecimal("10"), 1);
+
+    @TempDir
+    Path storage;
+
+    private final AtomicInteger overviews = new AtomicInteger();
+    private final CountDownLatch firstFetchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstFetch = new CountDownLatch(1);
+    private final List<String> renderOrder = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>());
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstFetch.countDown();
+        worker.shutdownNow();
+    }
+
+    @Test
+    void waitingJobsRunByPriorityThenSubmissionOrderWithoutFetchingOnSubmit() throws Exception {
+        ReportJobService service = service(32, Duration.ofHours(1));
+        ExportJob running = service.submit(ExportFormat.PDF, ExportPriority.NORMAL);
+        awaitQuietly(firstFetchStarted);
+
+        ExportJob low = service.submit(ExportFormat.EXCEL, ExportPriority.LOW);
+        ExportJob normal = service.submit(ExportFormat.EXCEL, ExportPriority.NORMAL);
+        ExportJob highPdf = service.submit(ExportFormat.PDF, ExportPriority.HIGH);
+        ExportJob highExcel = service.submit(ExportFormat.EXCEL, ExportPriority.HIGH);
+        assertThat(overviews).hasValue(1);
+
+        releaseFirstFetch.countDown();
+        awaitFinished(low);
+
+        assertThat(renderOrder).containsExactly(running.id(), highPdf.id(), highExcel.id(), normal.id(), low.id());
+        assertThat(List.of(running, low, normal, highPdf, highExcel))
+                .allMatch(job -> job.status() == ExportStatus.COMPLETED);
+    }
+
+    @Test
+    void identicalSubmissionsShareTheJobUntilItStarts() throws Exception {
+        ReportJobService service = service(32, Duration.ofHours(1));
+        ExportJob running = service.submit(ExportFormat.PDF, ExportPriority.NORMAL);
+        awaitQuietly(firstFetchStarted);
+
+        ExportJob waiting = service.submit(ExportFormat.PDF, ExportPriority.NORMAL);
+        assertThat(waiting).isNotSameAs(running);
+        assertThat(service.submit(ExportFormat.PDF, ExportPriority.NORMAL)).isSameAs(waiting);
+        assertThat(service.submit(ExportFormat.PDF, ExportPriority.HIGH)).isNotSameAs(waiting);
+        assertThat(registry.get("reporting.export.jobs").tag("outcome", "deduplicated").counter().count())
+                .isEqualTo(1.0);
+
+        releaseFirstFetch.countDown();
+        awaitFinished(waiting);
+        assertThat(service.submit(ExportFormat.PDF, ExportPriority.NORMAL)).isNotSameAs(waiting);
+    }
+
+    @Test
+    void submissionsBeyondTheQueueCapacityAreRejected() {
+        ReportJobService service = service(2, Duration.ofHours(1));
+        service.submit(ExportFormat.PDF, ExportPriority.NORMAL);
+        awaitQuietly(firstFetchStarted);
+        service.submit(ExportFormat.PDF, ExportPriority.LOW);
+        service.submit(ExportFormat.EXCEL, ExportPriority.LOW);
+
+        assertThatThrownBy(() -> service.submit(ExportFormat.EXCEL, ExportPriority.HIGH))
+                .isInstanceOf(ExportQueueFullException.class);
+        assertThat(registry.get("reporting.export.jobs").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+        assertThat(overviews).hasValue(1);
+        assertThat(registry.get("reporting.export.queue.depth").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void expiredArtifactsAreDeletedWithoutCuttingOffAnOpenDownload() throws Exception {
+        releaseFirstFetch.countDown();
+        ReportJobService service = service(32, Duration.ofMillis(200));
+        ExportJob job = service.submit(ExportFormat.PDF, ExportPriority.NORMAL);
+        awaitFinished(job);
+        Path artifact = job.artifact();
+        assertThat(artifact).exists();
+
+        try (InputStream download = service.openArtifact(job).orElseThrow()) {
+            Thread.sleep(300);
+            service.evictExpired();
+
+            assertThat(service.find(job.id())).isEmpty();
+            assertThat(artifact).doesNotExist();
+            assertThat(service.openArtifact(job)).isEmpty();
+            byte[] body = download.readAllBytes();
+            assertThat(body).hasSize((int) job.sizeBytes());
+            assertThat(new String(body, 0, 4)).isEqualTo("%PDF");
+        }
+        assertThat(Files.list(storage)).isEmpty();
+    }
+
+    @Test
+    void jobResponsesAreNeverStoredByCaches() throws Exception {
+        releaseFirstFetch.countDown();
+        ReportJobService service = service(32, Duration.ofHours(1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ExportJobsController(service)).build();
+
+        String location = mockMvc.perform(post("/api/reports/export/jobs").param("format", "pdf"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        awaitFinished(service.find(location.substring(location.lastIndexOf('/') + 1)).orElseThrow());
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+        mockMvc.perform(get(location + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    private ReportJobService service(int queueCapacity, Duration retention) {
+        try {
+            ExportProperties properties = new ExportProperties(1, queueCapacity, storage, retention,
+                    512L << 20, Duration.ofMinutes(5));
+            Executor inline = Runnable::run;
+            ReportPipeline pipeline = new ReportPipeline(
+                    List.of(new FinanceSummarySection(), new HrSummarySection(), new InventorySummarySection()),
+                    inline, new ReportSectionProperties(1, Duration.ofSeconds(5)), registry);
+            ReportingService reportingService = reportingService();
+            ReportExporter exporter = new ReportExporter(reportingService,
+                    new RenderCache(new RenderCacheProperties(64L << 20, 8L << 20), registry), pipeline);
+            ArtifactStore artifactStore = new ArtifactStore(properties) {
+                @Override
+                public Path write(String fileName, ArtifactWriter writer) throws IOException {
+                    renderOrder.add(fileName.substring(0, fileName.indexOf('.')));
+                    return super.write(fileName, writer);
+                }
+            };
+            return new ReportJobService(reportingService, exporter, artifactStore, properties, worker, registry);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ReportingService reportingService() {
+        return new ReportingService() {
+            @Override
+            public OverviewDto buildOverview() {
+                if (overviews.incrementAndGet() == 1) {
+                    firstFetchStarted.countDown();
+                    awaitQuietly(releaseFirstFetch);
+                }
+                return new OverviewDto(FINANCE, HR, INVENTORY, Instant.now(), List.of());
+            }
+
+            @Override
+            public FinanceSummaryDto getFinanceSummary() {
+                return FINANCE;
+            }
+
+            @Override
+            public HrSummaryDto getHrSummary() {
+                return HR;
+            }
+
+            @Override
+            public InventorySummaryDto getInventorySummary() {
+                return INVENTORY;
+            }
+        };
+    }
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.reporting.ReportingService.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+
+import com.reporting.ReportingService.cache.RenderCache;
+import com.reporting.ReportingService.config.PrerenderProperties;
+import com.reporting.ReportingService.config.RenderCacheProperties;
+import com.reporting.ReportingService.config.ReportSectionProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.FinanceSummarySection;
+import com.reporting.ReportingService.report.HrSummarySection;
+import com.reporting.ReportingService.report.InventorySummarySection;
+import com.reporting.ReportingService.report.ReportPipeline;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportPrerendererTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(new BigDecimal("1000.00"),
+            new BigDecimal("200.00"), new BigDecimal("50.00"), new BigDecimal("0.40"), new BigDecimal("9000.00"));
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(5, 2, new BigDecimal("100"),
+            new BigDecimal("10"), 1);
+
+    private final AtomicReference<HrSummaryDto> hr = new AtomicReference<>(new HrSummaryDto(10, 9, 3, 2));
+    private final AtomicInteger overviews = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private RenderCache renderCache;
+    private ReportExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        renderCache = new RenderCache(new RenderCacheProperties(64L << 20, 8L << 20), registry);
+        Executor inline = Runnable::run;
+        ReportPipeline pipeline = new ReportPipeline(
+                List.of(new FinanceSummarySection(), new HrSummarySection(), new InventorySummarySection()), inline,
+                new ReportSectionProperties(1, Duration.ofSeconds(5)), registry);
+        exporter = new ReportExporter(reportingService(), renderCache, pipeline);
+    }
+
+    @Test
+    void startupRenderWarmsTheCacheBeforeTheInstanceReportsUp() throws Exception {
+        ReportPrerenderer prerenderer = prerenderer(Duration.ofMinutes(2));
+        PrerenderHealthIndicator health = new PrerenderHealthIndicator(prerenderer);
+        assertThat(health.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        prerenderer.prerender("startup");
+
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(health.health().getDetails()).containsKeys("pdf", "xlsx");
+        assertThat(overviews).hasValue(1);
+        for (ExportFormat format : ExportFormat.values()) {
+            assertThat(registry.get("reporting.prerender.duration")
+                    .tags("format", format.extension(), "trigger", "startup", "outcome", "rendered").timer().count())
+                    .isEqualTo(1);
+            assertThat(registry.get("reporting.prerender.artifact.age").tag("format", format.extension())
+                    .timeGauge().value()).isGreaterThanOrEqualTo(0.0);
+        }
+
+        // a download of the same figures is served from the pre-rendered artifact
+        exporter.prepare(ExportFormat.PDF).writeTo(new ByteArrayOutputStream());
+        assertThat(registry.get("reporting.render.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void scheduledRenderReusesUnchangedArtifactsAndRendersNewFigures() {
+        ReportPrerenderer prerenderer = prerenderer(Duration.ofMinutes(2));
+        prerenderer.prerender("startup");
+        Instant firstRender = prerenderer.renderedAt(ExportFormat.EXCEL).orElseThrow();
+
+        prerenderer.prerender("scheduled");
+        assertThat(prerenderer.renderedAt(ExportFormat.EXCEL)).contains(firstRender);
+        assertThat(registry.get("reporting.prerender.duration")
+                .tags("format", "xlsx", "trigger", "scheduled", "outcome", "cached").timer().count()).isEqualTo(1);
+
+        hr.set(new HrSummaryDto(11, 10, 3, 2));
+        prerenderer.prerender("scheduled");
+        assertThat(registry.get("reporting.prerender.duration")
+                .tags("format", "xlsx", "trigger", "scheduled", "outcome", "rendered").timer().count()).isEqualTo(1);
+        assertThat(prerenderer.renderedAt(ExportFormat.EXCEL).orElseThrow()).isAfterOrEqualTo(firstRender);
+    }
+
+    @Test
+    void aStuckWarmUpStopsHoldingTheInstanceOutAfterItsTimeout() {
+        PrerenderHealthIndicator health = new PrerenderHealthIndicator(prerenderer(Duration.ZERO));
+
+        assertThat(health.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private ReportPrerenderer prerenderer(Duration warmUpTimeout) {
+        return new ReportPrerenderer(reportingService(), exporter, renderCache, new ConcurrentTaskScheduler(),
+                new PrerenderProperties(true, "-", "UTC", warmUpTimeout), registry);
+    }
+
+    private ReportingService reportingService() {
+        return new ReportingService() {
+            @Override
+            public OverviewDto buildOverview() {
+                overviews.incrementAndGet();
+                return new OverviewDto(FINANCE, hr.get(), INVENTORY, Instant.now(), List.of());
+            }
+
+            @Override
+            public FinanceSummaryDto getFinanceSummary() {
+                return FINANCE;
+            }
+
+            @Override
+            public HrSummaryDto getHrSummary() {
+                return hr.get();
+            }
+
+            @Override
+            public InventorySummaryDto getInventorySummary() {
+                return INVENTORY;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package com.reporting.ReportingService.kpi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.MessageProperties;
+
+/**
+ * Stand-in for one RabbitMQ topic exchange with one bound queue. Routing follows
+ * AMQP topic rules ({@code *} one word, {@code #} zero or more), messages carry no
+ * message id, as HrService publishes them, and every delivery is synchronous. A
+ * redelivery hands the consumer the same message again, as the broker does after
+ * a consumer dies before acknowledging.
+ */
+final class InProcessBroker {
+    private final List<String> bindings;
+    private final MessageListener consumer;
+    private final List<Message> delivered = new ArrayList<>();
+
+    InProcessBroker(List<String> bindings, MessageListener consumer) {
+        this.bindings = List.copyOf(bindings);
+        this.consumer = consumer;
+    }
+
+    /**
+     * Publishes {@code json}; returns whether a binding routed it to the queue.
+     */
+    boolean publish(String routingKey, String json) {
+        if (bindings.stream().noneMatch(binding -> matches(binding.split("\\."), 0, routingKey.split("\\."), 0))) {
+            return false;
+        }
+        MessageProperties properties = new MessageProperties();
+        properties.setReceivedRoutingKey(routingKey);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        Message message = new Message(json.getBytes(StandardCharsets.UTF_8), properties);
+        delivered.add(message);
+        consumer.onMessage(message);
+        return true;
+    }
+
+    /**
+     * Delivers every message delivered so far once more.
+     */
+    void redeliverAll() {
+        for (Message message : List.copyOf(delivered)) {
+            message.getMessageProperties().setRedelivered(true);
+            consumer.onMessage(message);
+        }
+    }
+
+    private static boolean matches(String[] pattern, int p, String[] words, int w) {
+        if (p == pattern.length) {
+            return w == words.length;
+        }
+        if (pattern[p].equals("#")) {
+            for (int skip = w; skip <= words.length; skip++) {
+                if (matches(pattern, p + 1, words, skip)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return w < words.length && (pattern[p].equals("*") || pattern[p].equals(words[w]))
+                && matches(pattern, p + 1, words, w + 1);
+    }
+}
@@ -0,0 +1,159 @@
+package com.reporting.ReportingService.kpi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reporting.ReportingService.config.KpiEventsProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class KpiEventsTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(new BigDecimal("1000.00"),
+            new BigDecimal("200.00"), new BigDecimal("50.00"), new BigDecimal("0.40"), new BigDecimal("9000.00"));
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 2);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(5, 2, new BigDecimal("100"),
+            new BigDecimal("10"), 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final AtomicReference<HrSummaryDto> hrSource = new AtomicReference<>(HR);
+    private SimpleMeterRegistry registry;
+    private KpiLedger ledger;
+    private InProcessBroker broker;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ledger = new KpiLedger(properties(), registry);
+        broker = new InProcessBroker(KpiEventListener.BINDINGS, new KpiEventListener(ledger, objectMapper, registry));
+    }
+
+    @Test
+    void eventsMoveTheSeededFiguresAndTheOverviewIsReadFromMemory() {
+        assertThat(ledger.ready()).isFalse();
+        reconciler().reconcile();
+        assertThat(ledger.ready()).isTrue();
+
+        assertThat(broker.publish("hr.employee.created", "{\"employeeId\":\"e-11\",\"fullName\":\"New Hire\"}"))
+                .isTrue();
+        broker.publish("finance.invoice.issued",
+                "{\"invoiceId\":7,\"totalAmount\":300.50,\"paidAmount\":100,\"dueDate\":\"2000-01-31T00:00:00\"}");
+        broker.publish("finance.expense.recorded", "{\"expenseId\":3,\"amount\":\"25.25\",\"incurredOn\":\""
+                + Instant.now() + "\"}");
+        broker.publish("inventory.stock.transaction.recorded",
+                "{\"transactionId\":\"t-1\",\"transactionType\":\"Issue\",\"quantity\":4}");
+        // routed elsewhere, never reaches the queue
+        assertThat(broker.publish("finance.compensation.bonuses", "{\"employeeId\":\"e-1\"}")).isFalse();
+
+        OverviewDto overview = ledger.overview();
+        assertThat(overview.hr()).isEqualTo(new HrSummaryDto(11, 10, 3, 2));
+        assertThat(overview.finance().outstandingReceivables()).isEqualByComparingTo("1200.50");
+        assertThat(overview.finance().overdueReceivables()).isEqualByComparingTo("400.50");
+        assertThat(overview.finance().currentMonthExpenseTotal()).isEqualByComparingTo("75.25");
+        assertThat(overview.inventory().totalQuantityOnHand()).isEqualByComparingTo("96");
+        assertThat(overview.partialSections()).isEmpty();
+        assertThat(ledger.overview()).isSameAs(overview);
+        assertThat(registry.get("reporting.kpi.events").tag("outcome", "applied").counter().count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void redeliveredAndOverlappingEventsAreAppliedOnce() {
+        reconciler().reconcile();
+
+        broker.publish("hr.employee.resignation.approved",
+                "{\"resignationRequestId\":\"r-1\",\"employeeId\":\"e-1\",\"effectiveDate\":\"2026-01-31T00:00:00\"}");
+        // the same departure announced again by a second event
+        broker.publish("hr.employee.terminated", "{\"employeeId\":\"e-1\",\"eligibleForRehire\":false}");
+        broker.publish("finance.invoice.payment.recorded", "{\"invoiceId\":7,\"amount\":50,\"paidAmount\":50}");
+        broker.publish("finance.invoice.payment.recorded", "{\"invoiceId\":7,\"amount\":50,\"paidAmount\":100}");
+        broker.redeliverAll();
+
+        assertThat(ledger.hr()).isEqualTo(new HrSummaryDto(10, 8, 3, 2));
+        assertThat(ledger.finance().outstandingReceivables()).isEqualByComparingTo("900.00");
+        assertThat(registry.get("reporting.kpi.events").tag("outcome", "applied").counter().count()).isEqualTo(3.0);
+        assertThat(registry.get("reporting.kpi.events").tag("outcome", "duplicate").counter().count())
+                .isEqualTo(5.0);
+    }
+
+    @Test
+    void pendingResignationsOnlyMoveOnReconciliation() {
+        reconciler().reconcile();
+
+        // submissions publish nothing, so approvals alone would count the figure down past the truth
+        for (int i = 1; i <= 3; i++) {
+            broker.publish("hr.employee.resignation.approved",
+                    "{\"resignationRequestId\":\"r-" + i + "\",\"employeeId\":\"e-" + i + "\"}");
+        }
+        assertThat(ledger.hr()).isEqualTo(new HrSummaryDto(10, 6, 3, 2));
+
+        hrSource.set(new HrSummaryDto(10, 6, 3, 1));
+        reconciler().reconcile();
+        assertThat(ledger.hr().pendingResignations()).isEqualTo(1);
+    }
+
+    @Test
+    void reconciliationCorrectsDriftAndUnreadableEventsAreDropped() {
+        reconciler().reconcile();
+        broker.publish("hr.employee.created", "{\"employeeId\":\"e-11\"}");
+        broker.publish("hr.employee.created", "{\"fullName\":\"no id\"}");
+        broker.publish("inventory.stock.transaction.recorded", "not json");
+
+        // the source also saw a resignation submitted, which publishes no event
+        hrSource.set(new HrSummaryDto(11, 10, 3, 3));
+        reconciler().reconcile();
+
+        assertThat(ledger.hr()).isEqualTo(new HrSummaryDto(11, 10, 3, 3));
+        assertThat(registry.get("reporting.kpi.reconciliations").tags("section", "hr", "outcome", "drift").counter()
+                .count()).isEqualTo(1.0);
+        assertThat(registry.get("reporting.kpi.reconciliations").tags("section", "finance", "outcome", "match")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("reporting.kpi.events").tag("outcome", "invalid").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void restartResumesFromTheCheckpointAndStillRecognizesAppliedEvents() {
+        reconciler().reconcile();
+        broker.publish("hr.employee.created", "{\"employeeId\":\"e-11\"}");
+        new KpiCheckpointer(ledger, objectMapper, properties(), registry).checkpoint();
+
+        KpiLedger restarted = new KpiLedger(properties(), new SimpleMeterRegistry());
+        new KpiCheckpointer(restarted, objectMapper, properties(), new SimpleMeterRegistry());
+        InProcessBroker redelivering = new InProcessBroker(KpiEventListener.BINDINGS,
+                new KpiEventListener(restarted, objectMapper, new SimpleMeterRegistry()));
+        redelivering.publish("hr.employee.created", "{\"employeeId\":\"e-11\"}");
+
+        assertThat(restarted.ready()).isTrue();
+        assertThat(restarted.hr()).isEqualTo(new HrSummaryDto(11, 10, 3, 2));
+        assertThat(restarted.finance()).isEqualTo(FINANCE);
+        assertThat(restarted.overview().lastUpdatedUtc()).isEqualTo(ledger.overview().lastUpdatedUtc());
+    }
+
+    private KpiReconciler reconciler() {
+        return new KpiReconciler(ledger, () -> FINANCE, hrSource::get, () -> INVENTORY, registry);
+    }
+
+    private KpiEventsProperties properties() {
+        return new KpiEventsProperties(true, "konecta.erp", "reporting.kpi-events", 1, Duration.ofSeconds(5),
+                Duration.ofMinutes(5), directory.resolve("checkpoint.json"), Duration.ofSeconds(30), 1000);
+    }
+}
@@ -0,0 +1,239 @@
+package com.reporting.ReportingService.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.reporting.ReportingService.config.ReportSectionProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.report.SectionContent.Fact;
+import com.reporting.ReportingService.util.DetailSheet;
+import com.reporting.ReportingService.util.ExcelReportGenerator;
+import com.reporting.ReportingService.util.PdfReportGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportPipelineTests {
+
+    private static final OverviewDto OVERVIEW = new OverviewDto(
+            new FinanceSummaryDto(new BigDecimal("1500.00"), BigDecimal.ONE, BigDecimal.TEN, new BigDecimal("0.5"),
+                    BigDecimal.TEN),
+            new HrSummaryDto(10, 9, 3, 1),
+            new InventorySummaryDto(5, 2, BigDecimal.TEN, BigDecimal.ONE, 1),
+            Instant.parse("2025-01-01T00:00:00Z"),
+            List.of("hr"));
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sectionsArePreparedConcurrentlyAndAssembledInOrder() {
+        // each section waits for the other to start, so they can only finish if both run at once
+        CountDownLatch started = new CountDownLatch(2);
+        ReportSection second = section("second", 20, () -> {
+            started.countDown();
+            awaitQuietly(started);
+            return SectionContent.facts("Second", null, List.of(new Fact("B", 2)));
+        });
+        ReportSection first = section("first", 10, () -> {
+            started.countDown();
+            awaitQuietly(started);
+            return SectionContent.facts("First", null, List.of(new Fact("A", 1)));
+        });
+
+        ReportDocument document = pipeline(Duration.ofSeconds(5), second, first).prepare(OVERVIEW);
+
+        assertThat(document.sections()).extracting(SectionContent::title).containsExactly("First", "Second");
+        assertThat(document.generatedAt()).isEqualTo(OVERVIEW.lastUpdatedUtc());
+        assertThat(registry.get("reporting.report.sections").tag("outcome", "prepared").timers()).hasSize(2);
+    }
+
+    @Test
+    void failingSlowAndEmptySectionsAreLeftOut() {
+        CountDownLatch never = new CountDownLatch(1);
+        ReportDocument document = pipeline(Duration.ofMillis(200),
+                section("failing", 10, () -> {
+                    throw new IllegalStateException("upstream down");
+                }),
+                section("slow", 20, () -> {
+                    never.await();
+                    return SectionContent.facts("Slow", null, List.of(new Fact("S", 1)));
+                }),
+                section("empty", 30, () -> null),
+                section("kept", 40, () -> SectionContent.facts("Kept", null, List.of(new Fact("K", 1)))))
+                .prepare(OVERVIEW);
+
+        assertThat(document.sections()).extracting(SectionContent::title).containsExactly("Kept");
+        assertThat(registry.get("reporting.report.sections").tags("section", "failing", "outcome", "failed").timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("reporting.report.sections").tags("section", "slow", "outcome", "timeout").timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("reporting.report.sections").tags("section", "empty", "outcome", "empty").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void aSectionPastTheDeadlineIsInterruptedAndOnlyRecordedAsATimeout() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ReportDocument document = pipeline(Duration.ofMillis(200),
+                section("slow", 10, () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException ex) {
+                        interrupted.countDown();
+                    }
+                    // finishing after the deadline must not count as prepared
+                    return SectionContent.facts("Slow", null, List.of(new Fact("S", 1)));
+                }))
+                .prepare(OVERVIEW);
+
+        assertThat(document.sections()).isEmpty();
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("reporting.report.sections").tag("section", "slow").timers())
+                .extracting(timer -> timer.getId().getTag("outcome"))
+                .containsExactly("timeout");
+    }
+
+    @Test
+    void withEveryWorkerBusyASectionIsPreparedByTheCallerToCompletion() {
+        ThreadPoolExecutor single = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        AtomicReference<Thread> inlineThread = new AtomicReference<>();
+        CountDownLatch inlineStarted = new CountDownLatch(1);
+        try {
+            ReportPipeline pipeline = new ReportPipeline(List.of(
+                    // holds the only worker until the rejected section is running
+                    section("pooled", 10, () -> {
+                        awaitQuietly(inlineStarted);
+                        return SectionContent.facts("Pooled", null, List.of(new Fact("P", 1)));
+                    }),
+                    section("inline", 20, () -> {
+                        inlineThread.set(Thread.currentThread());
+                        inlineStarted.countDown();
+                        Thread.sleep(300);
+                        return SectionContent.facts("Inline", null, List.of(new Fact("I", 1)));
+                    })),
+                    single, new ReportSectionProperties(1, Duration.ofMillis(100)), registry);
+
+            ReportDocument document = pipeline.prepare(OVERVIEW);
+
+            assertThat(inlineThread).hasValue(Thread.currentThread());
+            assertThat(document.sections()).extracting(SectionContent::title).containsExactly("Pooled", "Inline");
+            assertThat(registry.get("reporting.report.sections").tag("outcome", "prepared").timers()).hasSize(2);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void pdfAndWorkbookShowEverySectionInOrder() throws Exception {
+        DetailSheet table = new DetailSheet("Expenses by Month", List.of("Month", "Total"), new int[] { 12, 18 },
+                List.of(List.of("2024-12", new BigDecimal("250.50"))));
+        ReportDocument document = pipeline(Duration.ofSeconds(5),
+                new FinanceSummarySection(), new HrSummarySection(), new InventorySummarySection(),
+                section("expenses", 500, () -> SectionContent.table(table)))
+                .prepare(OVERVIEW);
+
+        ByteArrayOutputStream workbookBytes = new ByteArrayOutputStream();
+        ExcelReportGenerator.writeExcel(document, workbookBytes);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(workbookBytes.toByteArray()))) {
+            assertThat(workbook.getSheetAt(0).getRow(0).getCell(0).getStringCellValue()).isEqualTo("Finance Summary");
+            assertThat(workbook.getSheetAt(0).getRow(1).getCell(1).getNumericCellValue()).isEqualTo(1500.0);
+            assertThat(workbook.getSheetAt(0).getRow(4).getCell(0).getStringCellValue())
+                    .isEqualTo(ReportDocument.unavailableNote(OVERVIEW, "hr"));
+            assertThat(workbook.getSheetAt(1).getSheetName()).isEqualTo("Expenses by Month");
+            assertThat(workbook.getSheetAt(1).getRow(1).getCell(1).getNumericCellValue()).isEqualTo(250.5);
+        }
+
+        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
+        PdfReportGenerator.writePdf(document, pdfBytes);
+        PdfReader reader = new PdfReader(pdfBytes.toByteArray());
+        try {
+            assertThat(PdfTextExtractor.getTextFromPage(reader, 1))
+                    .contains("Finance Summary", "HR Summary", "Inventory Summary", "Outstanding Receivables: 1500.00");
+            assertThat(PdfTextExtractor.getTextFromPage(reader, 2)).contains("Expenses by Month", "250.50");
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    void fingerprintFollowsTheFiguresNotTheTimestamp() {
+        ReportDocument document = ReportDocument.of(OVERVIEW, List.of());
+        OverviewDto later = new OverviewDto(OVERVIEW.finance(), OVERVIEW.hr(), OVERVIEW.inventory(),
+                Instant.parse("2025-06-01T00:00:00Z"), OVERVIEW.partialSections());
+        OverviewDto rescaled = new OverviewDto(new FinanceSummaryDto(new BigDecimal("1500"), BigDecimal.ONE,
+                BigDecimal.TEN, new BigDecimal("0.50"), BigDecimal.TEN), OVERVIEW.hr(), OVERVIEW.inventory(),
+                OVERVIEW.lastUpdatedUtc(), OVERVIEW.partialSections());
+        OverviewDto changed = new OverviewDto(OVERVIEW.finance(), new HrSummaryDto(11, 9, 3, 1), OVERVIEW.inventory(),
+                OVERVIEW.lastUpdatedUtc(), OVERVIEW.partialSections());
+
+        assertThat(ReportDocument.of(later, List.of()).fingerprint()).isEqualTo(document.fingerprint());
+        assertThat(ReportDocument.of(rescaled, List.of()).fingerprint()).isEqualTo(document.fingerprint());
+        assertThat(ReportDocument.of(changed, List.of()).fingerprint()).isNotEqualTo(document.fingerprint());
+    }
+
+    private ReportPipeline pipeline(Duration timeout, ReportSection... sections) {
+        return new ReportPipeline(List.of(sections), executor, new ReportSectionProperties(4, timeout), registry);
+    }
+
+    private static ReportSection section(String id, int order, Preparation preparation) {
+        return new ReportSection() {
+            @Override
+            public String id() {
+                return id;
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public SectionContent prepare(OverviewDto overview) throws Exception {
+                return preparation.prepare();
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Preparation {
+        SectionContent prepare() throws Exception;
+    }
+}
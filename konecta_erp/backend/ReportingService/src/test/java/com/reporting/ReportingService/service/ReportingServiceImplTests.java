@@ -0,0 +1,234 @@
+package com.reporting.ReportingService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.reporting.ReportingService.client.FinanceClient;
+import com.reporting.ReportingService.client.HrClient;
+import com.reporting.ReportingService.client.InventoryClient;
+import com.reporting.ReportingService.config.OverviewProperties;
+import com.reporting.ReportingService.config.SnapshotCacheProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+
+class ReportingServiceImplTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(
+            BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN);
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 1);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(
+            5, 2, BigDecimal.TEN, BigDecimal.ONE, 1);
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void overviewCostsTheSlowestSourceNotTheSum() {
+        ReportingService service = service(
+                () -> sleepThen(300, FINANCE),
+                () -> sleepThen(300, HR),
+                () -> sleepThen(300, INVENTORY),
+                Duration.ofSeconds(2), Duration.ofSeconds(3));
+
+        long start = System.nanoTime();
+        OverviewDto overview = service.buildOverview();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(elapsedMillis).isLessThan(800);
+        assertThat(overview.finance()).isEqualTo(FINANCE);
+        assertThat(overview.hr()).isEqualTo(HR);
+        assertThat(overview.inventory()).isEqualTo(INVENTORY);
+        assertThat(overview.partialSections()).isEmpty();
+    }
+
+    @Test
+    void sourceMissingItsDeadlineIsReportedPartial() {
+        ReportingService service = service(
+                () -> sleepThen(5_000, FINANCE),
+                () -> HR,
+                () -> INVENTORY,
+                Duration.ofMillis(200), Duration.ofSeconds(3));
+
+        long start = System.nanoTime();
+        OverviewDto overview = service.buildOverview();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(overview.finance().outstandingReceivables()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(overview.hr()).isEqualTo(HR);
+        assertThat(overview.partialSections()).containsExactly("finance");
+    }
+
+    @Test
+    void overallDeadlineCapsTheResponse() {
+        ReportingService service = service(
+                () -> sleepThen(5_000, FINANCE),
+                () -> sleepThen(5_000, HR),
+                () -> INVENTORY,
+                Duration.ofSeconds(4), Duration.ofMillis(250));
+
+        long start = System.nanoTime();
+        OverviewDto overview = service.buildOverview();
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(overview.inventory()).isEqualTo(INVENTORY);
+        assertThat(overview.partialSections()).containsExactlyInAnyOrder("finance", "hr");
+    }
+
+    @Test
+    void failingSourceIsReportedPartial() {
+        ReportingService service = service(
+                () -> FINANCE,
+                () -> {
+                    throw new IllegalStateException("hr down");
+                },
+                () -> INVENTORY,
+                Duration.ofSeconds(1), Duration.ofSeconds(2));
+
+        OverviewDto overview = service.buildOverview();
+
+        assertThat(overview.hr()).isEqualTo(new HrSummaryDto(0, 0, 0, 0));
+        assertThat(overview.partialSections()).isEqualTo(List.of("hr"));
+    }
+
+    @Test
+    void callsPastTheDeadlineAreInterruptedAndGiveTheirThreadBack() throws Exception {
+        // as sized in production: no queue, so a thread still held by an abandoned call would reject the next one
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(3, 3, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        AtomicInteger interrupted = new AtomicInteger();
+        try {
+            ReportingService service = service(
+                    () -> {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException ex) {
+                            interrupted.incrementAndGet();
+                        }
+                        return FINANCE;
+                    },
+                    () -> HR,
+                    () -> INVENTORY,
+                    Duration.ofSeconds(4), Duration.ofMillis(150), pool);
+
+            for (int round = 1; round <= 3; round++) {
+                OverviewDto overview = service.buildOverview();
+
+                assertThat(overview.partialSections()).containsExactly("finance");
+                assertThat(overview.hr()).isEqualTo(HR);
+                assertThat(overview.inventory()).isEqualTo(INVENTORY);
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                while (pool.getActiveCount() > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                assertThat(interrupted).hasValue(round);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void callsASaturatedPoolRejectsAreMadeOnTheCallerInsteadOfReportedPartial() {
+        // the only worker is taken by finance, so hr and inventory are rejected
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        Thread caller = Thread.currentThread();
+        AtomicInteger onCaller = new AtomicInteger();
+        try {
+            ReportingService service = service(
+                    () -> sleepThen(100, FINANCE),
+                    () -> {
+                        if (Thread.currentThread() == caller) {
+                            onCaller.incrementAndGet();
+                        }
+                        return HR;
+                    },
+                    () -> {
+                        if (Thread.currentThread() == caller) {
+                            onCaller.incrementAndGet();
+                        }
+                        return INVENTORY;
+                    },
+                    Duration.ofSeconds(2), Duration.ofSeconds(3), pool);
+
+            OverviewDto overview = service.buildOverview();
+
+            assertThat(overview.partialSections()).isEmpty();
+            assertThat(overview.hr()).isEqualTo(HR);
+            assertThat(overview.inventory()).isEqualTo(INVENTORY);
+            assertThat(onCaller).hasValue(2);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void aCallerRunCallPastItsDeadlineIsCancelledWithoutLeavingTheCallerInterrupted() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        try {
+            ReportingService service = service(
+                    () -> FINANCE,
+                    () -> sleepThen(10_000, HR),
+                    () -> INVENTORY,
+                    Duration.ofMillis(150), Duration.ofSeconds(3), pool);
+
+            long start = System.nanoTime();
+            OverviewDto overview = service.buildOverview();
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+            assertThat(overview.partialSections()).contains("hr");
+            assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private ReportingService service(FinanceClient finance, HrClient hr, InventoryClient inventory,
+            Duration sourceTimeout, Duration overallTimeout) {
+        return service(finance, hr, inventory, sourceTimeout, overallTimeout, executor);
+    }
+
+    private ReportingService service(FinanceClient finance, HrClient hr, InventoryClient inventory,
+            Duration sourceTimeout, Duration overallTimeout, ExecutorService executor) {
+        OverviewProperties properties = new OverviewProperties(sourceTimeout, overallTimeout, 4, 16);
+        SnapshotCacheProperties noCaching = new SnapshotCacheProperties(Duration.ZERO, Duration.ZERO, 1);
+        SummarySource summarySource = new SummarySource(finance, hr, inventory, noCaching, executor,
+                new SimpleMeterRegistry());
+        return new ReportingServiceImpl(summarySource, new OverviewAggregator(executor, properties));
+    }
+
+    private static <T> T sleepThen(long millis, T value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
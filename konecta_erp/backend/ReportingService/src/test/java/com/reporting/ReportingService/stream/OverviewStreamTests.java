@@ -0,0 +1,179 @@
+package com.reporting.ReportingService.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.reporting.ReportingService.config.OverviewStreamProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.service.ReportingService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OverviewStreamTests {
+
+    private static final FinanceSummaryDto FINANCE = new FinanceSummaryDto(
+            BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN);
+    private static final HrSummaryDto HR = new HrSummaryDto(10, 9, 3, 1);
+    private static final InventorySummaryDto INVENTORY = new InventorySummaryDto(
+            5, 2, BigDecimal.TEN, BigDecimal.ONE, 1);
+
+    private final AtomicReference<OverviewDto> overview = new AtomicReference<>(overview(HR));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void subscribersShareOneRefreshAndReceiveOnlyChangedFields() {
+        OverviewStream stream = stream(Runnable::run, Duration.ofSeconds(10));
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        stream.subscribe(first, null);
+        stream.subscribe(second, null);
+
+        stream.refresh();
+        overview.set(overview(new HrSummaryDto(11, 9, 3, 1)));
+        stream.refresh();
+
+        assertThat(first.events).hasSize(2);
+        assertThat(first.events.get(0)).contains("event:snapshot", "retry:5000", "\"totalEmployees\":10");
+        assertThat(first.events.get(1)).contains("event:diff", "\"changes\":{\"hr\":{\"totalEmployees\":11}}")
+                .doesNotContain("finance");
+        assertThat(second.events).isEqualTo(first.events);
+        assertThat(registry.get("reporting.overview.stream.refreshes").tag("outcome", "unchanged").counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void reconnectingWithTheCurrentEventIdSkipsTheSnapshot() {
+        OverviewStream stream = stream(Runnable::run, Duration.ofSeconds(10));
+        RecordingEmitter first = new RecordingEmitter(null);
+        stream.subscribe(first, null);
+        String lastEventId = first.events.get(0).lines().filter(line -> line.startsWith("id:"))
+                .findFirst().orElseThrow().substring(3);
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        stream.subscribe(resumed, lastEventId);
+        RecordingEmitter unknown = new RecordingEmitter(null);
+        stream.subscribe(unknown, "0-1");
+
+        assertThat(resumed.events).isEmpty();
+        assertThat(unknown.events).singleElement().asString().contains("event:snapshot");
+    }
+
+    @Test
+    void slowConsumerIsDroppedWithoutHoldingUpTheOthers() throws Exception {
+        OverviewStream stream = stream(executor, Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(slow, null);
+        stream.subscribe(fast, null);
+        stream.publish(overview(HR));
+        Thread.sleep(100);
+
+        overview.set(overview(new HrSummaryDto(12, 9, 3, 1)));
+        stream.publish(overview.get());
+        Thread.sleep(100);
+
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+        assertThat(fast.events).hasSize(2);
+        assertThat(fast.events.get(1)).contains("event:diff");
+        assertThat(registry.get("reporting.overview.stream.disconnects").tag("reason", "slow").counter().count())
+                .isEqualTo(1.0);
+        release.countDown();
+        assertThat(slow.completed.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.events).hasSize(1);
+    }
+
+    private OverviewStream stream(Executor streamExecutor, Duration slowConsumerTimeout) {
+        OverviewStreamProperties properties = new OverviewStreamProperties(Duration.ofSeconds(30),
+                Duration.ofSeconds(15), Duration.ofSeconds(5), Duration.ofMinutes(30), 100, 1, slowConsumerTimeout);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new OverviewStream(new StubReportingService(), objectMapper, streamExecutor, properties, registry);
+    }
+
+    private static OverviewDto overview(HrSummaryDto hr) {
+        return new OverviewDto(FINANCE, hr, INVENTORY, Instant.now(), List.of());
+    }
+
+    private final class StubReportingService implements ReportingService {
+        @Override
+        public OverviewDto buildOverview() {
+            return overview.get();
+        }
+
+        @Override
+        public FinanceSummaryDto getFinanceSummary() {
+            return FINANCE;
+        }
+
+        @Override
+        public HrSummaryDto getHrSummary() {
+            return overview.get().hr();
+        }
+
+        @Override
+        public InventorySummaryDto getInventorySummary() {
+            return INVENTORY;
+        }
+    }
+
+    /**
+     * Records events as their wire text; when given a latch, every send blocks on it
+     * the way a write to a client that stopped reading would.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch blockSends;
+
+        RecordingEmitter(CountDownLatch blockSends) {
+            this.blockSends = blockSends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (blockSends != null) {
+                try {
+                    blockSends.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(ex);
+                }
+            }
+            events.add(builder.build().stream().map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.reporting.ReportingService.trend;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.reporting.ReportingService.config.TrendProperties;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+import com.reporting.ReportingService.dto.TrendPointDto;
+
+class TrendStoreTests {
+    private static final Instant T0 = Instant.parse("2025-03-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void downsamplesIntoAlignedBuckets() throws IOException {
+        TrendStore store = store(100);
+        for (int minute = 0; minute < 120; minute += 10) {
+            store.append(overview(T0.plus(Duration.ofMinutes(minute)), "0." + (10 + minute / 10), 100 + minute));
+        }
+
+        List<TrendPointDto> points = store.query(KpiMetric.BUDGET_UTILIZATION, T0, T0.plus(Duration.ofHours(2)),
+                Duration.ofHours(1));
+
+        assertThat(points).hasSize(2);
+        TrendPointDto first = points.get(0);
+        assertThat(first.bucketStartUtc()).isEqualTo(T0);
+        assertThat(first.samples()).isEqualTo(6);
+        assertThat(first.min()).isEqualByComparingTo("0.10");
+        assertThat(first.max()).isEqualByComparingTo("0.15");
+        assertThat(first.avg()).isEqualByComparingTo("0.125");
+        assertThat(points.get(1).last()).isEqualByComparingTo("0.21");
+    }
+
+    @Test
+    void rollsSegmentsAndReloadsThemAfterRestart() throws IOException {
+        TrendStore store = store(4);
+        for (int minute = 0; minute < 10; minute++) {
+            store.append(overview(T0.plus(Duration.ofMinutes(minute)), "0.5", minute));
+        }
+        assertThat(store.segmentCount()).isEqualTo(3);
+
+        TrendStore reopened = store(4);
+        List<TrendPointDto> points = reopened.query(KpiMetric.TOTAL_EMPLOYEES, T0.plus(Duration.ofMinutes(3)),
+                T0.plus(Duration.ofMinutes(9)), Duration.ofMinutes(1));
+
+        assertThat(reopened.segmentCount()).isEqualTo(3);
+        assertThat(points).extracting(TrendPointDto::last)
+                .extracting(BigDecimal::intValue)
+                .containsExactly(3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    void partialSectionsAndOutOfOrderSamplesAreNotRecorded() throws IOException {
+        TrendStore store = store(100);
+        store.append(overview(T0, "0.4", 10));
+        OverviewDto financeDown = new OverviewDto(zeroFinance(), new HrSummaryDto(11, 11, 1, 0),
+                null, T0.plusSeconds(60), List.of("finance", "inventory"));
+        store.append(financeDown);
+
+        assertThat(store.append(overview(T0.plusSeconds(30), "0.9", 99))).isFalse();
+        Instant end = T0.plusSeconds(120);
+        assertThat(store.query(KpiMetric.BUDGET_UTILIZATION, T0, end, Duration.ofMinutes(2)).get(0).samples())
+                .isEqualTo(1);
+        assertThat(store.query(KpiMetric.TOTAL_EMPLOYEES, T0, end, Duration.ofMinutes(2)).get(0).samples())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void expiredSegmentsAreDeleted() throws IOException {
+        TrendStore store = store(2);
+        for (int day = 0; day < 6; day++) {
+            store.append(overview(T0.plus(Duration.ofDays(day)), "0.5", day));
+        }
+
+        store.evictExpired(T0.plus(Duration.ofDays(12)));
+
+        assertThat(store.segmentCount()).isEqualTo(1);
+        assertThat(store.query(KpiMetric.TOTAL_EMPLOYEES, T0, T0.plus(Duration.ofDays(6)), Duration.ofDays(1)))
+                .hasSize(2);
+    }
+
+    private TrendStore store(int segmentRows) throws IOException {
+        TrendProperties properties = new TrendProperties(true, directory, Duration.ofSeconds(30),
+                Duration.ofMinutes(5), segmentRows, Duration.ofDays(7), 2000);
+        return new TrendStore(properties, new SimpleMeterRegistry());
+    }
+
+    private static OverviewDto overview(Instant at, String budgetUtilization, int employees) {
+        FinanceSummaryDto finance = new FinanceSummaryDto(BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN,
+                new BigDecimal(budgetUtilization), BigDecimal.TEN);
+        InventorySummaryDto inventory = new InventorySummaryDto(5, 2, BigDecimal.TEN, BigDecimal.ONE, 1);
+        return new OverviewDto(finance, new HrSummaryDto(employees, employees, 3, 0), inventory, at, List.of());
+    }
+
+    private static FinanceSummaryDto zeroFinance() {
+        return new FinanceSummaryDto(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO);
+    }
+}
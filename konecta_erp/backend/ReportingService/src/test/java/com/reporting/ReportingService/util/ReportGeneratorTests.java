@@ -0,0 +1,117 @@
+package com.reporting.ReportingService.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.reporting.ReportingService.benchmark.BaselineExcelReportGenerator;
+import com.reporting.ReportingService.dto.FinanceSummaryDto;
+import com.reporting.ReportingService.dto.HrSummaryDto;
+import com.reporting.ReportingService.dto.InventorySummaryDto;
+import com.reporting.ReportingService.dto.OverviewDto;
+
+class ReportGeneratorTests {
+
+    private static final OverviewDto OVERVIEW = new OverviewDto(
+            new FinanceSummaryDto(new BigDecimal("1500.00"), BigDecimal.ONE, BigDecimal.TEN, new BigDecimal("0.5"),
+                    BigDecimal.TEN),
+            new HrSummaryDto(10, 9, 3, 1),
+            new InventorySummaryDto(5, 2, BigDecimal.TEN, BigDecimal.ONE, 1),
+            Instant.parse("2025-01-01T00:00:00Z"),
+            List.of());
+
+    @Test
+    void excelStreamsOverviewAndDetailSheets() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExcelReportGenerator.writeExcel(OVERVIEW, List.of(stockSheet(1_000)), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getSheet("ERP Overview").getRow(1).getCell(1).getNumericCellValue())
+                    .isEqualTo(1500.0);
+            Sheet stock = workbook.getSheet("Stock");
+            assertThat(stock.getLastRowNum()).isEqualTo(1_000);
+            assertThat(stock.getRow(1_000).getCell(0).getStringCellValue()).isEqualTo("SKU-999");
+        }
+    }
+
+    @Test
+    void excelHasTheSameSheetsHeadersAndValuesAsTheBaselineGenerator() throws Exception {
+        DetailSheet stock = stockSheet(250);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ExcelReportGenerator.writeExcel(OVERVIEW, List.of(stock), out);
+
+        try (XSSFWorkbook streamed = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()));
+                XSSFWorkbook baseline = new XSSFWorkbook(BaselineExcelReportGenerator.generateExcel(OVERVIEW, stock))) {
+            assertThat(cells(streamed)).isEqualTo(cells(baseline));
+            assertThat(cells(streamed).get("Stock").get(0)).containsExactly("Item", "Warehouse", "On Hand");
+            assertThat(streamed.getSheet("ERP Overview").getRow(0).getCell(0).getCellStyle().getFont().getBold())
+                    .isTrue();
+        }
+    }
+
+    @Test
+    void pdfSpansPagesForLongDetailTables() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        PdfReportGenerator.writePdf(OVERVIEW, List.of(stockSheet(1_000)), out);
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        try {
+            assertThat(reader.getNumberOfPages()).isGreaterThan(2);
+            assertThat(PdfTextExtractor.getTextFromPage(reader, 1)).contains("Finance Summary", "Page 1");
+            assertThat(PdfTextExtractor.getTextFromPage(reader, reader.getNumberOfPages())).contains("SKU-999");
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Every sheet's cells as text, by sheet name, with trailing blank cells dropped.
+     */
+    private static Map<String, List<List<String>>> cells(Workbook workbook) {
+        DataFormatter formatter = new DataFormatter();
+        Map<String, List<List<String>>> sheets = new LinkedHashMap<>();
+        for (Sheet sheet : workbook) {
+            List<List<String>> rows = new ArrayList<>();
+            for (int r = 0; r <= sheet.getLastRowNum(); r++) {
+                Row row = sheet.getRow(r);
+                List<String> values = new ArrayList<>();
+                for (int c = 0; row != null && c < row.getLastCellNum(); c++) {
+                    values.add(formatter.formatCellValue(row.getCell(c)));
+                }
+                while (!values.isEmpty() && values.get(values.size() - 1).isEmpty()) {
+                    values.remove(values.size() - 1);
+                }
+                rows.add(values);
+            }
+            sheets.put(sheet.getSheetName(), rows);
+        }
+        return sheets;
+    }
+
+    private static DetailSheet stockSheet(int rows) {
+        List<List<?>> values = IntStream.range(0, rows)
+                .<List<?>>mapToObj(i -> List.of("SKU-" + i, "Warehouse " + (i % 4), i % 50))
+                .toList();
+        return new DetailSheet("Stock", List.of("Item", "Warehouse", "On Hand"), new int[] { 12, 20, 10 }, values);
+    }
+}